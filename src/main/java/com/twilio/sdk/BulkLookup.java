@@ -0,0 +1,337 @@
+package com.twilio.sdk;
+
+import com.twilio.sdk.internal.RequestFailures;
+import com.twilio.sdk.resource.instance.lookups.PhoneNumber;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Looks up many phone numbers at once, returning each result as soon as it completes.
+ *
+ * Numbers are normalized and deduplicated before any lookup is made, so a list
+ * holding the same number in several formats costs one lookup; each result
+ * lists every input it answers. Lookups are made by a fixed number of threads,
+ * optionally under a rate limit, and go through the client's {@link LookupCache}
+ * when one is installed: cached numbers are answered without a request and
+ * without waiting for the rate limit. Completed results are buffered up to the
+ * configured size, after which lookups pause until the consumer catches up.
+ *
+ * <pre>
+ * BulkLookup lookup = client.lookupAll(numbers, new LookupOptions().concurrency(16));
+ * try {
+ *     for (BulkLookup.Result result : lookup) {
+ *         if (result.isFound()) {
+ *             ...
+ *         }
+ *     }
+ * } finally {
+ *     lookup.close();
+ * }
+ * </pre>
+ *
+ * Results are taken by one consuming thread at a time; {@link #close()} stops
+ * lookups not yet made.
+ */
+public class BulkLookup implements Iterable<BulkLookup.Result> {
+
+	/**
+	 * The outcome of looking up one distinct number.
+	 */
+	public static final class Result {
+		private final String number;
+		private final List<String> inputs;
+		private final PhoneNumber phoneNumber;
+		private final Exception exception;
+
+		private Result(final String number, final List<String> inputs, final PhoneNumber phoneNumber,
+		               final Exception exception) {
+			this.number = number;
+			this.inputs = Collections.unmodifiableList(inputs);
+			this.phoneNumber = phoneNumber;
+			this.exception = exception;
+		}
+
+		/**
+		 * @return the normalized number that was looked up
+		 */
+		public String getNumber() {
+			return number;
+		}
+
+		/**
+		 * @return the inputs that normalized to this number, in input order
+		 */
+		public List<String> getInputs() {
+			return inputs;
+		}
+
+		/**
+		 * @return the loaded phone number, or null if the lookup failed
+		 */
+		public PhoneNumber getPhoneNumber() {
+			return phoneNumber;
+		}
+
+		/**
+		 * @return the failure, a {@link TwilioRestException} with status 404 if the
+		 * number does not exist, or null if the lookup succeeded
+		 */
+		public Exception getException() {
+			return exception;
+		}
+
+		/**
+		 * @return true if the number exists
+		 */
+		public boolean isFound() {
+			return phoneNumber != null;
+		}
+
+		/**
+		 * @return true if the lookup answered that the number does not exist
+		 */
+		public boolean isNotFound() {
+			return exception instanceof TwilioRestException && ((TwilioRestException) exception).getStatus() == 404;
+		}
+
+		@Override
+		public String toString() {
+			return number + (phoneNumber != null ? " found" : " failed: " + exception);
+		}
+	}
+
+	private final LookupsClient client;
+	private final String countryCode;
+	private final boolean includeCarrierInfo;
+	private final int maxRetries;
+	private final long initialBackoff;
+	private final RateLimiter rateLimiter;
+	private final ConcurrentLinkedQueue<Map.Entry<String, List<String>>> pending;
+	private final BlockingQueue<Result> results;
+	private final AtomicInteger remaining;
+	private final int size;
+	private final ExecutorService executor;
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong cached = new AtomicLong();
+	private final AtomicLong retries = new AtomicLong();
+	private final AtomicLong failures = new AtomicLong();
+
+	BulkLookup(final LookupsClient client, final Collection<String> numbers, final LookupOptions options) {
+		this.client = client;
+		this.countryCode = options.getCountryCode();
+		this.includeCarrierInfo = options.isIncludeCarrierInfo();
+		this.maxRetries = options.getMaxRetries();
+		this.initialBackoff = options.getInitialBackoff();
+		this.rateLimiter = options.getRatePerSecond() > 0 ? new RateLimiter(options.getRatePerSecond()) : null;
+		this.results = new LinkedBlockingQueue<Result>(options.getBufferSize());
+
+		// numbers that normalize alike are looked up once, keeping every input
+		Map<String, List<String>> distinct = new LinkedHashMap<String, List<String>>();
+		for (final String input : numbers) {
+			String number = LookupCache.normalize(input);
+			List<String> inputs = distinct.get(number);
+			if (inputs == null) {
+				inputs = new ArrayList<String>(1);
+				distinct.put(number, inputs);
+			}
+			inputs.add(input);
+		}
+		this.pending = new ConcurrentLinkedQueue<Map.Entry<String, List<String>>>(distinct.entrySet());
+		this.size = distinct.size();
+		this.remaining = new AtomicInteger(size);
+
+		int threads = Math.max(1, Math.min(options.getConcurrency(), size));
+		final AtomicInteger threadNumber = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+			public Thread newThread(final Runnable r) {
+				Thread thread = new Thread(r, "twilio-bulk-lookup-" + threadNumber.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		for (int i = 0; i < threads; i++) {
+			executor.execute(new Runnable() {
+				public void run() {
+					drain();
+				}
+			});
+		}
+		executor.shutdown();
+	}
+
+	/**
+	 * @return the number of distinct numbers, and so of results
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Wait for the next completed result.
+	 *
+	 * @return the result, or null once every result has been taken
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public Result take() throws InterruptedException {
+		if (remaining.getAndDecrement() <= 0) {
+			remaining.incrementAndGet();
+			return null;
+		}
+		try {
+			return results.take();
+		} catch (final InterruptedException e) {
+			remaining.incrementAndGet();
+			throw e;
+		}
+	}
+
+	/**
+	 * Iterate over the results as they complete. The iterator throws a
+	 * RuntimeException wrapping the InterruptedException if interrupted while waiting.
+	 */
+	public Iterator<Result> iterator() {
+		return new Iterator<Result>() {
+			private Result next;
+
+			public boolean hasNext() {
+				if (next == null) {
+					try {
+						next = take();
+					} catch (final InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new RuntimeException(e);
+					}
+				}
+				return next != null;
+			}
+
+			public Result next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				Result result = next;
+				next = null;
+				return result;
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Stop making lookups. Results already completed may still be taken; results
+	 * not completed never will be, so stop taking results after closing.
+	 */
+	public void close() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * @return the number of requests made to the API, including retries
+	 */
+	public long getRequestCount() {
+		return requests.get();
+	}
+
+	/**
+	 * @return the number of numbers answered by the client's cache
+	 */
+	public long getCachedCount() {
+		return cached.get();
+	}
+
+	/**
+	 * @return the number of retried requests
+	 */
+	public long getRetryCount() {
+		return retries.get();
+	}
+
+	/**
+	 * @return the number of failed lookups, including numbers that do not exist
+	 */
+	public long getFailureCount() {
+		return failures.get();
+	}
+
+	private void drain() {
+		Map.Entry<String, List<String>> entry;
+		while ((entry = pending.poll()) != null) {
+			Result result;
+			try {
+				result = lookup(entry.getKey(), entry.getValue());
+			} catch (final InterruptedException e) {
+				return;
+			} catch (final Throwable t) {
+				// every number must get a result, or take() waits for it forever
+				failures.incrementAndGet();
+				Exception cause = t instanceof Exception ? (Exception) t : new RuntimeException(t);
+				result = new Result(entry.getKey(), entry.getValue(), null, cause);
+			}
+			try {
+				results.put(result);
+			} catch (final InterruptedException e) {
+				return;
+			}
+		}
+	}
+
+	private Result lookup(final String number, final List<String> inputs) throws InterruptedException {
+		if (number.length() == 0 || "+".equals(number)) {
+			failures.incrementAndGet();
+			return new Result(number, inputs, null, new IllegalArgumentException("Not a phone number: " + inputs.get(0)));
+		}
+
+		LookupCache cache = client.getCache();
+		String type = includeCarrierInfo ? "carrier" : null;
+		boolean hit = cache != null && cache.contains(LookupCache.key(number, countryCode, type));
+		long backoff = initialBackoff;
+		for (int attempt = 0; ; attempt++) {
+			if (!hit) {
+				if (rateLimiter != null) {
+					rateLimiter.acquire();
+				}
+				requests.incrementAndGet();
+			}
+			PhoneNumber phoneNumber = client.getPhoneNumber(number, countryCode, includeCarrierInfo);
+			try {
+				// loads the number, through the cache if there is one
+				phoneNumber.getCountryCode();
+				if (hit) {
+					cached.incrementAndGet();
+				}
+				return new Result(number, inputs, phoneNumber, null);
+			} catch (final RuntimeException e) {
+				Exception cause = e.getCause() instanceof TwilioRestException ? (TwilioRestException) e.getCause() : e;
+				// server errors are already retried by the client
+				if (!hit && attempt < maxRetries && RequestFailures.isRateLimited(cause)) {
+					retries.incrementAndGet();
+					backoff = RequestFailures.backoff(backoff, Long.MAX_VALUE);
+					continue;
+				}
+				if (hit) {
+					cached.incrementAndGet();
+				}
+				failures.incrementAndGet();
+				return new Result(number, inputs, null, cause);
+			}
+		}
+	}
+}
@@ -1,38 +1,106 @@
 package com.twilio.sdk;
 
-import org.apache.commons.codec.binary.Base64;
-import org.apache.commons.lang3.StringUtils;
 import org.json.simple.JSONValue;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.io.UnsupportedEncodingException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.List;
+import java.util.Collection;
 import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 
 public class CapabilityToken {
+
+    private static volatile TokenCache tokenCache;
+
+    // the signer of the last secret this token was signed with
+    private volatile Signer signer;
+
+    /**
+     * Install a cache that capability tokens are reused from while they are
+     * still valid for long enough. Pass null to always generate new tokens.
+     *
+     * @param cache the cache to use, or null to disable caching
+     */
+    public static void setTokenCache(TokenCache cache) {
+        tokenCache = cache;
+    }
+
+    /**
+     * @return the installed token cache, or null if tokens are not cached
+     */
+    public static TokenCache getTokenCache() {
+        return tokenCache;
+    }
+
+    /**
+     * Build the key a token is cached under. The grants are sorted and
+     * de-duplicated, so equivalent capabilities share a key regardless of
+     * the order they were configured in.
+     *
+     * The secret is only included as a digest, so the long-lived cache never
+     * holds it.
+     *
+     * @param key the secret used to sign the token
+     * @param ttl the requested lifetime of the token
+     * @param issuer the issuer of the token
+     * @param grants the scopes or policies granted by the token
+     * @return the canonical cache key
+     */
+    protected static String tokenCacheKey(String key, long ttl, String issuer, Collection<String> grants) {
+        return tokenCacheKey(TokenSigner.digest(key), ttl, issuer, new TreeSet<String>(grants));
+    }
+
+    /**
+     * Build the key a token signed by a signer is cached under.
+     *
+     * @param signer the signer of the token
+     * @param ttl the requested lifetime of the token
+     * @param issuer the issuer of the token
+     * @param grants the scopes or policies granted by the token, sorted and de-duplicated
+     * @return the canonical cache key
+     */
+    protected static String tokenCacheKey(TokenSigner signer, long ttl, String issuer, SortedSet<String> grants) {
+        return tokenCacheKey(signer.getSecretDigest(), ttl, issuer, grants);
+    }
+
+    private static String tokenCacheKey(String keyDigest, long ttl, String issuer, SortedSet<String> grants) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(issuer).append('\n').append(ttl).append('\n').append(keyDigest);
+        for (String grant : grants) {
+            sb.append('\n').append(grant);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Get the signer for a secret. The signer is kept while the secret stays
+     * the same, so minting does not digest the secret or look the signer up
+     * again.
+     *
+     * @param key the secret used to sign tokens
+     * @return a signer that may be used concurrently
+     */
+    protected TokenSigner getSigner(String key) {
+        Signer current = signer;
+        if (current == null || !current.key.equals(key)) {
+            current = new Signer(key, TokenSigner.getInstance(key));
+            signer = current;
+        }
+        return current.signer;
+    }
+
     protected static String jwtEncode(Map<String, Object> payload, String key)
             throws InvalidKeyException, NoSuchAlgorithmException,
             UnsupportedEncodingException {
 
-        Map<String, Object> header = new LinkedHashMap<String, Object>();
-        header.put("typ", "JWT");
-        header.put("alg", "HS256");
-
-        List<String> segments = new ArrayList<String>();
-        segments.add(encodeBase64(jsonEncode(header)));
-        segments.add(encodeBase64(jsonEncode(payload)));
-
-        String signingInput = StringUtils.join(segments, ".");
-        String signature = sign(signingInput, key);
-        segments.add(signature);
+        return jwtEncode(payload, TokenSigner.getInstance(key));
+    }
 
-        return StringUtils.join(segments, ".");
+    protected static String jwtEncode(Map<String, Object> payload, TokenSigner signer) {
+        return signer.sign(jsonEncode(payload));
     }
 
     private static String jsonEncode(Object object) {
@@ -40,31 +108,16 @@ public class CapabilityToken {
         return json.replace("\\/", "/");
     }
 
-    private static String encodeBase64(String data)
-            throws UnsupportedEncodingException {
-        return encodeBase64(data.getBytes("UTF-8"));
-    }
+    private static final class Signer {
 
-    private static String encodeBase64(byte[] data)
-            throws UnsupportedEncodingException {
-        String encodedString = new String(Base64.encodeBase64(data));
-        String safeString = encodedString.replace('+', '-').replace('/', '_')
-                .replace("=", "");
-        return safeString;
-    }
+        private final String key;
 
-    // see
-    // http://discussion.forum.nokia.com/forum/showthread.php?130974-Help-required-How-to-generate-a-MAC-(HMAC-SHA1)-with-Java
-    private static String sign(String data, String key)
-            throws NoSuchAlgorithmException, InvalidKeyException,
-            UnsupportedEncodingException {
-        SecretKeySpec signingKey = new SecretKeySpec(key.getBytes("UTF-8"),
-                "HmacSHA256");
-        Mac mac = Mac.getInstance("HmacSHA256");
-        mac.init(signingKey);
-        byte[] rawHmac = mac.doFinal(data.getBytes("UTF-8"));
-        String result = encodeBase64(rawHmac);
-        return result;
+        private final TokenSigner signer;
+
+        private Signer(String key, TokenSigner signer) {
+            this.key = key;
+            this.signer = signer;
+        }
     }
 
     @SuppressWarnings("serial")
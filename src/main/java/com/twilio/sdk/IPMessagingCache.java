@@ -0,0 +1,284 @@
+package com.twilio.sdk;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the Services, Channels, Users and Roles loaded through a
+ * {@link TwilioIPMessagingClient}.
+ *
+ * Entries are keyed by resource location, e.g.
+ * <code>/v1/Services/IS.../Channels/CH...</code>, and kept for the TTL. When
+ * the cache is full the least recently used entry is evicted. Resources
+ * created or updated through the client are written through to the cache, and
+ * deleted ones are removed along with everything cached beneath them, so a
+ * deleted Service takes its Channels, Users and Roles with it. Changes made
+ * elsewhere, e.g. by another process or through the REST API directly, are
+ * only seen once the entry expires or the resource is refreshed. Entries keep
+ * the validators the resource was loaded with, so a resource loaded from the
+ * cache refreshes with a conditional request, and a changed resource is
+ * written back.
+ *
+ * Install a cache with {@link TwilioIPMessagingClient#setCache(IPMessagingCache)};
+ * resources are then loaded from it without any change to calling code.
+ */
+public class IPMessagingCache {
+
+	/** The default number of seconds a resource is cached for. */
+	public static final long DEFAULT_TTL = 300;
+
+	/** The default maximum number of cached resources. */
+	public static final int DEFAULT_MAX_SIZE = 10000;
+
+	private final long ttl;
+
+	private final int maxSize;
+
+	// access ordered, so iteration starts at the least recently used entry
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * Create a cache with the default TTL and size.
+	 */
+	public IPMessagingCache() {
+		this(DEFAULT_TTL, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Create a cache.
+	 *
+	 * @param ttl seconds a resource is cached for
+	 * @param maxSize the maximum number of cached resources
+	 */
+	public IPMessagingCache(final long ttl, final int maxSize) {
+		if (ttl < 1) {
+			throw new IllegalArgumentException("ttl must be at least 1");
+		}
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("maxSize must be at least 1");
+		}
+		this.ttl = ttl;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Get the properties of a resource from the cache, or load and cache them.
+	 *
+	 * @param client the client to load with
+	 * @param path the resource location
+	 * @return the properties of the resource
+	 * @throws TwilioRestException if the resource is not cached and could not be loaded
+	 */
+	public Map<String, Object> load(final TwilioClient client, final String path) throws TwilioRestException {
+		return fetch(client, path).getProperties();
+	}
+
+	/**
+	 * Get a resource with its validators from the cache, or load and cache it.
+	 *
+	 * @param client the client to load with
+	 * @param path the resource location
+	 * @return the cached resource
+	 * @throws TwilioRestException if the resource is not cached and could not be loaded
+	 */
+	public Entry fetch(final TwilioClient client, final String path) throws TwilioRestException {
+		Entry entry = getEntry(path);
+		if (entry == null) {
+			TwilioRestResponse response = client.safeRequest(path, "GET", (Map<String, String>) null);
+			entry = put(path, response.toMap(), response.getHeader("ETag"), response.getHeader("Last-Modified"));
+		}
+		return entry;
+	}
+
+	/**
+	 * Get a cached resource.
+	 *
+	 * @param path the resource location
+	 * @return the properties of the resource, or null if it is not cached
+	 */
+	public Map<String, Object> get(final String path) {
+		Entry entry = getEntry(path);
+		return entry == null ? null : entry.properties;
+	}
+
+	/**
+	 * Get a cached resource with its validators.
+	 *
+	 * @param path the resource location
+	 * @return the cached resource, or null if it is not cached
+	 */
+	public Entry getEntry(final String path) {
+		synchronized (entries) {
+			Entry entry = entries.get(path);
+			if (entry != null) {
+				if (entry.expires > currentTimeMillis()) {
+					hits.incrementAndGet();
+					return entry;
+				}
+				entries.remove(path);
+				evictions.incrementAndGet();
+			}
+		}
+		misses.incrementAndGet();
+		return null;
+	}
+
+	/**
+	 * Cache a resource, replacing what was cached for it.
+	 *
+	 * @param path the resource location
+	 * @param properties the properties of the resource
+	 * @return the cached, unmodifiable, properties
+	 */
+	public Map<String, Object> put(final String path, final Map<String, Object> properties) {
+		return put(path, properties, null, null).properties;
+	}
+
+	/**
+	 * Cache a resource with the validators it was loaded with, replacing what was cached for it.
+	 *
+	 * @param path the resource location
+	 * @param properties the properties of the resource
+	 * @param etag the ETag the resource was loaded with, or null
+	 * @param lastModified the Last-Modified value the resource was loaded with, or null
+	 * @return the cached resource
+	 */
+	public Entry put(final String path, final Map<String, Object> properties, final String etag,
+	                 final String lastModified) {
+		Map<String, Object> copy = Collections.unmodifiableMap(new HashMap<String, Object>(properties));
+		Entry entry = new Entry(copy, etag, lastModified, currentTimeMillis() + ttl * 1000L);
+		synchronized (entries) {
+			entries.put(path, entry);
+			Iterator<Entry> eldest = entries.values().iterator();
+			while (entries.size() > maxSize) {
+				eldest.next();
+				eldest.remove();
+				evictions.incrementAndGet();
+			}
+		}
+		return entry;
+	}
+
+	/**
+	 * Remove a cached resource and every resource cached beneath it.
+	 *
+	 * @param path the resource location
+	 */
+	public void invalidate(final String path) {
+		String prefix = path + "/";
+		synchronized (entries) {
+			Iterator<String> paths = entries.keySet().iterator();
+			while (paths.hasNext()) {
+				String cached = paths.next();
+				if (cached.equals(path) || cached.startsWith(prefix)) {
+					paths.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Remove every cached resource.
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * @return the number of cached resources, including expired ones not yet evicted
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * @return the number of loads answered from the cache
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of loads that required a request
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	/**
+	 * @return the number of resources removed because they expired or the cache was full
+	 */
+	public long getEvictionCount() {
+		return evictions.get();
+	}
+
+	/**
+	 * @return the fraction of loads answered from the cache, or 0 if there were none
+	 */
+	public double getHitRate() {
+		long h = hits.get();
+		long total = h + misses.get();
+		return total == 0 ? 0.0 : (double) h / total;
+	}
+
+	protected long currentTimeMillis() {
+		return System.currentTimeMillis();
+	}
+
+	/**
+	 * A cached resource.
+	 */
+	public static final class Entry {
+
+		private final Map<String, Object> properties;
+
+		private final String etag;
+
+		private final String lastModified;
+
+		private final long expires;
+
+		private Entry(final Map<String, Object> properties, final String etag, final String lastModified,
+		              final long expires) {
+			this.properties = properties;
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.expires = expires;
+		}
+
+		/**
+		 * @return the unmodifiable properties of the resource
+		 */
+		public Map<String, Object> getProperties() {
+			return properties;
+		}
+
+		/**
+		 * @return the ETag the resource was loaded with, or null
+		 */
+		public String getETag() {
+			return etag;
+		}
+
+		/**
+		 * @return the Last-Modified value the resource was loaded with, or null
+		 */
+		public String getLastModified() {
+			return lastModified;
+		}
+	}
+}
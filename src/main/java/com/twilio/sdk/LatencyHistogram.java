@@ -0,0 +1,120 @@
+package com.twilio.sdk;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size histogram of durations with power-of-two microsecond buckets,
+ * from under 1µs to over 30 minutes. Recording is lock-free and allocates
+ * nothing, so it can sit on hot request paths; percentiles are accurate to
+ * within a factor of two.
+ *
+ * Histograms are thread-safe.
+ */
+public class LatencyHistogram {
+
+	private static final int BUCKETS = 32;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	private final AtomicLong count = new AtomicLong();
+
+	private final AtomicLong total = new AtomicLong();
+
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Record a duration.
+	 *
+	 * @param nanos the duration in nanoseconds
+	 */
+	public void record(final long nanos) {
+		long value = nanos < 0 ? 0 : nanos;
+		long micros = value / 1000L;
+		int bucket = micros == 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+		counts.incrementAndGet(bucket);
+		count.incrementAndGet();
+		total.addAndGet(value);
+		long current = max.get();
+		while (value > current && !max.compareAndSet(current, value)) {
+			current = max.get();
+		}
+	}
+
+	/**
+	 * Record the time elapsed since a start time.
+	 *
+	 * @param startNanos a value of {@link System#nanoTime()}
+	 */
+	public void recordSince(final long startNanos) {
+		record(System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * @return the number of recorded durations
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * @return the mean duration in milliseconds, or 0 if none were recorded
+	 */
+	public double getMeanMillis() {
+		long n = count.get();
+		return n == 0 ? 0.0 : total.get() / 1e6 / n;
+	}
+
+	/**
+	 * @return the longest duration in milliseconds
+	 */
+	public double getMaxMillis() {
+		return max.get() / 1e6;
+	}
+
+	/**
+	 * Estimate a percentile as the upper bound of the bucket it falls in.
+	 *
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the duration in milliseconds, or 0 if none were recorded
+	 */
+	public double getPercentileMillis(final double percentile) {
+		long[] snapshot = new long[BUCKETS];
+		long n = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			snapshot[i] = counts.get(i);
+			n += snapshot[i];
+		}
+		if (n == 0) {
+			return 0.0;
+		}
+		long rank = (long) Math.ceil(percentile / 100.0 * n);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += snapshot[i];
+			if (seen >= rank && snapshot[i] > 0) {
+				// bucket i holds durations below 2^i microseconds
+				return Math.min((1L << i) / 1000.0, getMaxMillis());
+			}
+		}
+		return getMaxMillis();
+	}
+
+	/**
+	 * Clear all recorded durations.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0);
+		}
+		count.set(0);
+		total.set(0);
+		max.set(0);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("count=%d mean=%.2fms p50=%.2fms p99=%.2fms max=%.2fms", getCount(), getMeanMillis(),
+		                     getPercentileMillis(50), getPercentileMillis(99), getMaxMillis());
+	}
+}
@@ -0,0 +1,455 @@
+package com.twilio.sdk;
+
+import com.twilio.sdk.internal.AtomicFile;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.codehaus.jackson.map.ObjectMapper;
+
+/**
+ * Caches phone number lookups made through a {@link LookupsClient}.
+ *
+ * Entries are keyed by the number (normalized to digits, with a leading + for
+ * E.164 numbers), the country code it was looked up with and the lookup type,
+ * so carrier lookups, which are billed, are never answered by a plain format
+ * lookup. Found numbers are kept for the TTL and numbers that do not exist
+ * (404) for the shorter negative TTL. Expired entries are evicted when they
+ * are next read, and the least recently used entry is evicted when the cache
+ * is full.
+ *
+ * A cache may be backed by a file: entries still valid are read when the cache
+ * is created and written by {@link #save()}, so a restarted process does not
+ * start cold.
+ *
+ * Install a cache with {@link LookupsClient#setCache(LookupCache)}; phone
+ * numbers are then loaded from it without any change to calling code.
+ */
+public class LookupCache {
+
+	/** The default number of seconds a found number is cached for. */
+	public static final long DEFAULT_TTL = 86400;
+
+	/** The default number of seconds a number that does not exist is cached for. */
+	public static final long DEFAULT_NEGATIVE_TTL = 3600;
+
+	/** The default maximum number of cached lookups. */
+	public static final int DEFAULT_MAX_SIZE = 100000;
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private final long ttl;
+
+	private final long negativeTtl;
+
+	private final int maxSize;
+
+	private final File file;
+
+	// access ordered, so iteration starts at the least recently used lookup
+	private final LinkedHashMap<String, Entry> entries;
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong negativeHits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * Create an in-memory cache with the default TTLs and size.
+	 */
+	public LookupCache() {
+		this(DEFAULT_TTL, DEFAULT_NEGATIVE_TTL, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Create an in-memory cache.
+	 *
+	 * @param ttl seconds a found number is cached for
+	 * @param negativeTtl seconds a number that does not exist is cached for, or 0 to not cache them
+	 * @param maxSize the maximum number of cached lookups
+	 */
+	public LookupCache(final long ttl, final long negativeTtl, final int maxSize) {
+		if (ttl < 0 || negativeTtl < 0) {
+			throw new IllegalArgumentException("ttl and negativeTtl must not be negative");
+		}
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("maxSize must be at least 1");
+		}
+		this.ttl = ttl;
+		this.negativeTtl = negativeTtl;
+		this.maxSize = maxSize;
+		this.file = null;
+		this.entries = newEntries(maxSize);
+	}
+
+	/**
+	 * Create a cache backed by a file, reading the entries it holds that are still valid.
+	 *
+	 * @param ttl seconds a found number is cached for
+	 * @param negativeTtl seconds a number that does not exist is cached for, or 0 to not cache them
+	 * @param maxSize the maximum number of cached lookups
+	 * @param file the file to read now and write on {@link #save()}; need not exist
+	 * @throws IOException if the file exists but could not be read
+	 */
+	public LookupCache(final long ttl, final long negativeTtl, final int maxSize, final File file) throws IOException {
+		if (ttl < 0 || negativeTtl < 0) {
+			throw new IllegalArgumentException("ttl and negativeTtl must not be negative");
+		}
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("maxSize must be at least 1");
+		}
+		if (file == null) {
+			throw new IllegalArgumentException("file is required");
+		}
+		this.ttl = ttl;
+		this.negativeTtl = negativeTtl;
+		this.maxSize = maxSize;
+		this.file = file;
+		this.entries = newEntries(maxSize);
+		read();
+	}
+
+	private LinkedHashMap<String, Entry> newEntries(final int maxSize) {
+		return new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+				if (size() > maxSize) {
+					evictions.incrementAndGet();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Build the key a lookup is cached under.
+	 *
+	 * @param number the number as given, in E.164 or national format
+	 * @param countryCode the country code the number was looked up with, or null
+	 * @param type the lookup type, e.g. "carrier", or null
+	 * @return the key
+	 */
+	public static String key(final String number, final String countryCode, final String type) {
+		String normalized = normalize(number);
+		StringBuilder sb = new StringBuilder(normalized.length() + 16);
+		sb.append(normalized).append('|');
+		// an E.164 number is the same number whatever country it is looked up from
+		if (countryCode != null && !normalized.startsWith("+")) {
+			sb.append(countryCode.toUpperCase());
+		}
+		sb.append('|');
+		if (type != null) {
+			sb.append(type.toLowerCase());
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Normalize a phone number to its digits, keeping a leading + (or 00) as +.
+	 *
+	 * @param number the number
+	 * @return the normalized number
+	 */
+	public static String normalize(final String number) {
+		if (number == null) {
+			return "";
+		}
+		String trimmed = number.trim();
+		StringBuilder sb = new StringBuilder(trimmed.length());
+		int start = 0;
+		if (trimmed.startsWith("+")) {
+			sb.append('+');
+			start = 1;
+		} else if (trimmed.startsWith("00")) {
+			sb.append('+');
+			start = 2;
+		}
+		for (int i = start; i < trimmed.length(); i++) {
+			char c = trimmed.charAt(i);
+			if (c >= '0' && c <= '9') {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Get a cached lookup.
+	 *
+	 * @param key the key from {@link #key(String, String, String)}
+	 * @return the properties of the phone number, or null if it is not cached
+	 * @throws TwilioRestException the cached 404 if the number is known not to exist
+	 */
+	public Map<String, Object> get(final String key) throws TwilioRestException {
+		Entry entry;
+		synchronized (entries) {
+			entry = entries.get(key);
+			if (entry != null && entry.expires <= currentTimeSeconds()) {
+				entries.remove(key);
+				evictions.incrementAndGet();
+				entry = null;
+			}
+		}
+		if (entry == null) {
+			misses.incrementAndGet();
+			return null;
+		}
+		if (entry.properties == null) {
+			negativeHits.incrementAndGet();
+			throw new TwilioRestException(entry.message, entry.errorCode, entry.moreInfo, 404);
+		}
+		hits.incrementAndGet();
+		return entry.properties;
+	}
+
+	/**
+	 * Check whether a lookup is cached, without counting a hit or miss.
+	 *
+	 * @param key the key from {@link #key(String, String, String)}
+	 * @return true if the phone number, or its 404, is cached and still valid
+	 */
+	public boolean contains(final String key) {
+		Entry entry;
+		synchronized (entries) {
+			entry = entries.get(key);
+		}
+		return entry != null && entry.expires > currentTimeSeconds();
+	}
+
+	/**
+	 * Cache a phone number that was found.
+	 *
+	 * @param key the key from {@link #key(String, String, String)}
+	 * @param properties the properties of the phone number
+	 */
+	public void put(final String key, final Map<String, Object> properties) {
+		if (ttl > 0) {
+			store(key, new Entry(Collections.unmodifiableMap(new HashMap<String, Object>(properties)), null, 0,
+			                     null, currentTimeSeconds() + ttl));
+		}
+	}
+
+	/**
+	 * Cache a phone number that does not exist.
+	 *
+	 * @param key the key from {@link #key(String, String, String)}
+	 * @param e the 404 the lookup failed with
+	 */
+	public void putNotFound(final String key, final TwilioRestException e) {
+		if (negativeTtl > 0) {
+			store(key, new Entry(null, e.getErrorMessage(), e.getErrorCode(), e.getMoreInfo(),
+			                     currentTimeSeconds() + negativeTtl));
+		}
+	}
+
+	private void store(final String key, final Entry entry) {
+		synchronized (entries) {
+			entries.put(key, entry);
+		}
+	}
+
+	/**
+	 * Remove every expired lookup.
+	 *
+	 * @return the number of lookups removed
+	 */
+	public int evictExpired() {
+		long now = currentTimeSeconds();
+		int removed = 0;
+		synchronized (entries) {
+			Iterator<Entry> values = entries.values().iterator();
+			while (values.hasNext()) {
+				if (values.next().expires <= now) {
+					values.remove();
+					removed++;
+				}
+			}
+		}
+		evictions.addAndGet(removed);
+		return removed;
+	}
+
+	/**
+	 * Remove a cached lookup.
+	 *
+	 * @param key the key from {@link #key(String, String, String)}
+	 */
+	public void invalidate(final String key) {
+		synchronized (entries) {
+			entries.remove(key);
+		}
+	}
+
+	/**
+	 * Remove every cached lookup.
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * Write the lookups that are still valid to the backing file, replacing it.
+	 *
+	 * @throws IOException if the file could not be written
+	 * @throws IllegalStateException if the cache has no backing file
+	 */
+	public void save() throws IOException {
+		if (file == null) {
+			throw new IllegalStateException("LookupCache has no backing file");
+		}
+		final long now = currentTimeSeconds();
+		final Map<String, Entry> snapshot;
+		synchronized (entries) {
+			snapshot = new LinkedHashMap<String, Entry>(entries);
+		}
+		AtomicFile.replace(file, new AtomicFile.Contents() {
+			public void writeTo(final OutputStream stream) throws IOException {
+				Writer out = new BufferedWriter(new OutputStreamWriter(stream, UTF_8));
+				for (final Map.Entry<String, Entry> e : snapshot.entrySet()) {
+					Entry entry = e.getValue();
+					if (entry.expires <= now) {
+						continue;
+					}
+					Map<String, Object> line = new LinkedHashMap<String, Object>();
+					line.put("key", e.getKey());
+					line.put("expires", entry.expires);
+					if (entry.properties != null) {
+						line.put("properties", entry.properties);
+					} else {
+						line.put("message", entry.message);
+						line.put("code", entry.errorCode);
+						line.put("more_info", entry.moreInfo);
+					}
+					out.write(MAPPER.writeValueAsString(line));
+					out.write('\n');
+				}
+				out.flush();
+			}
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private void read() throws IOException {
+		if (!file.exists()) {
+			return;
+		}
+		long now = currentTimeSeconds();
+		BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF_8));
+		try {
+			String line;
+			while ((line = in.readLine()) != null && entries.size() < maxSize) {
+				if (line.length() == 0) {
+					continue;
+				}
+				Map<String, Object> data = MAPPER.readValue(line, HashMap.class);
+				long expires = ((Number) data.get("expires")).longValue();
+				if (expires <= now) {
+					continue;
+				}
+				Map<String, Object> properties = (Map<String, Object>) data.get("properties");
+				Number code = (Number) data.get("code");
+				entries.put((String) data.get("key"),
+				            new Entry(properties == null ? null : Collections.unmodifiableMap(properties),
+				                      (String) data.get("message"), code == null ? 0 : code.intValue(),
+				                      (String) data.get("more_info"), expires));
+			}
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * @return the number of cached lookups, including numbers that do not exist
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * @return the number of lookups answered with a cached phone number
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of lookups answered with a cached 404
+	 */
+	public long getNegativeHitCount() {
+		return negativeHits.get();
+	}
+
+	/**
+	 * @return the number of lookups that required a request
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	/**
+	 * @return the number of lookups removed because they expired or the cache was full
+	 */
+	public long getEvictionCount() {
+		return evictions.get();
+	}
+
+	/**
+	 * @return the fraction of lookups answered from the cache, including 404s, or 0 if there were none
+	 */
+	public double getHitRate() {
+		long h = hits.get() + negativeHits.get();
+		long total = h + misses.get();
+		return total == 0 ? 0.0 : (double) h / total;
+	}
+
+	protected long currentTimeSeconds() {
+		return System.currentTimeMillis() / 1000L;
+	}
+
+	private static final class Entry {
+
+		// null for a number that does not exist
+		private final Map<String, Object> properties;
+
+		private final String message;
+
+		private final int errorCode;
+
+		private final String moreInfo;
+
+		private final long expires;
+
+		private Entry(final Map<String, Object> properties, final String message, final int errorCode,
+		              final String moreInfo, final long expires) {
+			this.properties = properties;
+			this.message = message;
+			this.errorCode = errorCode;
+			this.moreInfo = moreInfo;
+			this.expires = expires;
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package com.twilio.sdk;
+
+/**
+ * Options for {@link LookupsClient#lookupAll(java.util.Collection, LookupOptions)}.
+ *
+ * <pre>
+ * LookupOptions options = new LookupOptions().countryCode("US").includeCarrierInfo(true).concurrency(16);
+ * </pre>
+ */
+public class LookupOptions {
+
+	private String countryCode;
+
+	private boolean includeCarrierInfo;
+
+	private int concurrency = 8;
+
+	private double ratePerSecond = 0;
+
+	private int maxRetries = 3;
+
+	private long initialBackoff = 250L;
+
+	private int bufferSize = 1000;
+
+	/**
+	 * The country numbers in national format are looked up in; by default
+	 * national numbers are looked up as US numbers.
+	 */
+	public LookupOptions countryCode(final String countryCode) {
+		this.countryCode = countryCode;
+		return this;
+	}
+
+	/**
+	 * Whether to include carrier information, which is billed per lookup; defaults to false.
+	 */
+	public LookupOptions includeCarrierInfo(final boolean includeCarrierInfo) {
+		this.includeCarrierInfo = includeCarrierInfo;
+		return this;
+	}
+
+	/**
+	 * Number of lookups in flight at once; defaults to 8. The client's
+	 * connection pool allows 10 connections per host.
+	 */
+	public LookupOptions concurrency(final int concurrency) {
+		if (concurrency < 1) {
+			throw new IllegalArgumentException("concurrency must be at least 1");
+		}
+		this.concurrency = concurrency;
+		return this;
+	}
+
+	/**
+	 * Maximum lookups per second sent to the API, or 0 for no limit; defaults
+	 * to 0. Lookups answered by the client's {@link LookupCache} are not limited.
+	 */
+	public LookupOptions ratePerSecond(final double ratePerSecond) {
+		if (ratePerSecond < 0) {
+			throw new IllegalArgumentException("ratePerSecond must not be negative");
+		}
+		this.ratePerSecond = ratePerSecond;
+		return this;
+	}
+
+	/**
+	 * Number of retries of a lookup refused with 429 Too Many Requests; defaults
+	 * to 3. Retries back off from the initial backoff, doubling each time.
+	 * Server errors are retried by the client itself.
+	 */
+	public LookupOptions maxRetries(final int maxRetries, final long initialBackoffMillis) {
+		if (maxRetries < 0 || initialBackoffMillis < 0) {
+			throw new IllegalArgumentException("maxRetries and initialBackoffMillis must not be negative");
+		}
+		this.maxRetries = maxRetries;
+		this.initialBackoff = initialBackoffMillis;
+		return this;
+	}
+
+	/**
+	 * Number of completed results held for the consumer before lookups pause; defaults to 1000.
+	 */
+	public LookupOptions bufferSize(final int bufferSize) {
+		if (bufferSize < 1) {
+			throw new IllegalArgumentException("bufferSize must be at least 1");
+		}
+		this.bufferSize = bufferSize;
+		return this;
+	}
+
+	public String getCountryCode() {
+		return countryCode;
+	}
+
+	public boolean isIncludeCarrierInfo() {
+		return includeCarrierInfo;
+	}
+
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	public double getRatePerSecond() {
+		return ratePerSecond;
+	}
+
+	public int getMaxRetries() {
+		return maxRetries;
+	}
+
+	public long getInitialBackoff() {
+		return initialBackoff;
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+}
@@ -2,6 +2,7 @@ package com.twilio.sdk;
 
 import com.twilio.sdk.resource.instance.lookups.PhoneNumber;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -9,6 +10,8 @@ public class LookupsClient extends TwilioClient {
 
 	public static final String DEFAULT_VERSION = "v1";
 
+	private volatile LookupCache cache;
+
 	public LookupsClient(final String username, final String password) {
 		super(username, password, "https://lookups.twilio.com");
 	}
@@ -17,6 +20,23 @@ public class LookupsClient extends TwilioClient {
 		super(username, password, endpoint);
 	}
 
+	/**
+	 * Install a cache that phone numbers are loaded from while they are still
+	 * valid. Pass null to always look numbers up.
+	 *
+	 * @param cache the cache to use, or null to disable caching
+	 */
+	public void setCache(final LookupCache cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * @return the installed cache, or null if lookups are not cached
+	 */
+	public LookupCache getCache() {
+		return cache;
+	}
+
 	public PhoneNumber getPhoneNumber(final String number) {
 		return getPhoneNumber(number, null, false);
 	}
@@ -37,4 +57,28 @@ public class LookupsClient extends TwilioClient {
 
 		return new PhoneNumber(this, number, params);
 	}
+
+	/**
+	 * Look up many phone numbers in parallel with the default {@link LookupOptions}.
+	 *
+	 * @param numbers the numbers; numbers that normalize alike are looked up once
+	 * @return the lookup, whose results are taken as they complete
+	 */
+	public BulkLookup lookupAll(final Collection<String> numbers) {
+		return lookupAll(numbers, new LookupOptions());
+	}
+
+	/**
+	 * Look up many phone numbers in parallel, through the installed cache.
+	 *
+	 * @param numbers the numbers; numbers that normalize alike are looked up once
+	 * @param options concurrency, rate limit and lookup type
+	 * @return the lookup, whose results are taken as they complete
+	 */
+	public BulkLookup lookupAll(final Collection<String> numbers, final LookupOptions options) {
+		if (numbers == null) {
+			throw new IllegalArgumentException("numbers cannot be null");
+		}
+		return new BulkLookup(this, numbers, options == null ? new LookupOptions() : options);
+	}
 }
@@ -0,0 +1,381 @@
+package com.twilio.sdk;
+
+import com.twilio.sdk.resource.instance.pricing.MessagingCountry;
+import com.twilio.sdk.resource.instance.pricing.PrefixPriceTable;
+import com.twilio.sdk.resource.instance.pricing.PrefixTrie;
+import com.twilio.sdk.resource.instance.pricing.PriceMicros;
+import com.twilio.sdk.resource.instance.pricing.VoiceCountry;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local copy of the Voice and Messaging price tables, for pricing calls and
+ * messages without a request per number.
+ *
+ * {@link #refresh()} downloads every country of the {@link TwilioPricingClient#getVoiceCountries()}
+ * and {@link TwilioPricingClient#getMessagingCountries()} lists and indexes the
+ * outbound voice prefixes in a {@link PrefixTrie}, so a price resolves by the
+ * longest matching prefix in one pass over the number. The table in use is immutable
+ * and replaced atomically by each refresh; a refresh that fails leaves it in
+ * place. {@link #start(long, TimeUnit)} refreshes in the background.
+ *
+ * <pre>
+ * PricingSnapshot snapshot = pricingClient.getPricingSnapshot();
+ * snapshot.start(1, TimeUnit.DAYS);
+ *
+ * PricingSnapshot.CallPrice price = snapshot.getCallPrice("+37240123456");
+ * </pre>
+ */
+public class PricingSnapshot {
+
+	/**
+	 * The outbound price of calls to the numbers matching one prefix.
+	 */
+	public static final class CallPrice {
+		private final String isoCountry;
+		private final String prefix;
+		private final String friendlyName;
+		private final long basePrice;
+		private final long currentPrice;
+		private final String priceUnit;
+
+		private CallPrice(final String isoCountry, final String prefix, final String friendlyName,
+		                  final long basePrice, final long currentPrice, final String priceUnit) {
+			this.isoCountry = isoCountry;
+			this.prefix = prefix;
+			this.friendlyName = friendlyName;
+			this.basePrice = basePrice;
+			this.currentPrice = currentPrice;
+			this.priceUnit = priceUnit;
+		}
+
+		/**
+		 * @return the ISO 3166-1 alpha-2 code of the country the prefix belongs to
+		 */
+		public String getIsoCountry() {
+			return isoCountry;
+		}
+
+		/**
+		 * @return the matched prefix, without a leading +
+		 */
+		public String getPrefix() {
+			return prefix;
+		}
+
+		/**
+		 * @return the friendly name of the prefix group
+		 */
+		public String getFriendlyName() {
+			return friendlyName;
+		}
+
+		/**
+		 * @return the price per minute before discounts
+		 */
+		public BigDecimal getBasePrice() {
+			return PriceMicros.toBigDecimal(basePrice);
+		}
+
+		/**
+		 * @return the price per minute after discounts
+		 */
+		public BigDecimal getCurrentPrice() {
+			return PriceMicros.toBigDecimal(currentPrice);
+		}
+
+		/**
+		 * @return the price per minute before discounts, in {@link PriceMicros micro-units}
+		 */
+		public long getBasePriceMicros() {
+			return basePrice;
+		}
+
+		/**
+		 * @return the price per minute after discounts, in {@link PriceMicros micro-units}
+		 */
+		public long getCurrentPriceMicros() {
+			return currentPrice;
+		}
+
+		/**
+		 * @return the currency of the prices, e.g. "USD"
+		 */
+		public String getPriceUnit() {
+			return priceUnit;
+		}
+
+		@Override
+		public String toString() {
+			return "+" + prefix + " " + getCurrentPrice().stripTrailingZeros().toPlainString() + " " + priceUnit + "/min (" + friendlyName + ")";
+		}
+	}
+
+	/**
+	 * The indexed tables of one refresh.
+	 */
+	private static final class Table {
+		private final PrefixTrie trie;
+		private final CallPrice[] prices;
+		// the current price of each entry of prices, for lookups that need no CallPrice
+		private final long[] currentPrices;
+		private final Map<String, MessagingCountry> messagingCountries;
+		private final long loadedAt;
+
+		private Table(final PrefixTrie trie, final CallPrice[] prices,
+		              final Map<String, MessagingCountry> messagingCountries, final long loadedAt) {
+			this.trie = trie;
+			this.prices = prices;
+			this.currentPrices = new long[prices.length];
+			for (int i = 0; i < prices.length; i++) {
+				currentPrices[i] = prices[i].currentPrice;
+			}
+			this.messagingCountries = messagingCountries;
+			this.loadedAt = loadedAt;
+		}
+
+		private int resolve(final String number) {
+			return trie.indexOf(number);
+		}
+	}
+
+	/**
+	 * Builds the trie of a {@link Table}.
+	 */
+	private static final class TrieBuilder {
+		private final PrefixTrie.Builder trie = new PrefixTrie.Builder();
+		private final List<CallPrice> prices = new ArrayList<CallPrice>();
+
+		private void add(final CallPrice price) {
+			trie.add(price.getPrefix(), prices.size(), price.currentPrice);
+			prices.add(price);
+		}
+
+		private Table build(final Map<String, MessagingCountry> messagingCountries) {
+			return new Table(trie.build(), prices.toArray(new CallPrice[prices.size()]), messagingCountries,
+			                 System.currentTimeMillis());
+		}
+	}
+
+	private final TwilioPricingClient client;
+
+	private volatile Table table;
+
+	private volatile Exception lastRefreshError;
+
+	private final AtomicLong refreshes = new AtomicLong();
+
+	private final AtomicLong refreshFailures = new AtomicLong();
+
+	private ScheduledExecutorService scheduler;
+
+	/**
+	 * Create an empty snapshot; call {@link #refresh()} to load it.
+	 *
+	 * @param client the client to download prices with
+	 */
+	public PricingSnapshot(final TwilioPricingClient client) {
+		if (client == null) {
+			throw new IllegalArgumentException("client cannot be null");
+		}
+		this.client = client;
+	}
+
+	/**
+	 * Download the price tables and replace the ones in use. Lookups made
+	 * meanwhile are answered from the previous tables.
+	 *
+	 * @throws TwilioRestException if a table could not be downloaded; the previous tables stay in use
+	 */
+	public void refresh() throws TwilioRestException {
+		try {
+			TrieBuilder trie = new TrieBuilder();
+			for (final VoiceCountry listed : client.getVoiceCountries()) {
+				VoiceCountry country = client.getVoiceCountry(listed.getIsoCountry());
+				PrefixPriceTable prices = country.getOutboundPrefixPriceTable();
+				for (int i = 0; i < prices.size(); i++) {
+					trie.add(new CallPrice(country.getIsoCountry(), prices.getPrefix(i), prices.getFriendlyName(i),
+					                       prices.getBasePriceMicros(i), prices.getCurrentPriceMicros(i),
+					                       country.getPriceUnit()));
+				}
+			}
+
+			Map<String, MessagingCountry> messagingCountries = new HashMap<String, MessagingCountry>();
+			for (final MessagingCountry listed : client.getMessagingCountries()) {
+				MessagingCountry country = client.getMessagingCountry(listed.getIsoCountry());
+				// load it now, rather than when first looked up
+				country.getCountry();
+				messagingCountries.put(country.getIsoCountry(), country);
+			}
+
+			table = trie.build(Collections.unmodifiableMap(messagingCountries));
+			refreshes.incrementAndGet();
+			lastRefreshError = null;
+		} catch (final RuntimeException e) {
+			refreshFailures.incrementAndGet();
+			lastRefreshError = e;
+			// list iteration and lazy loading wrap request failures
+			if (e.getCause() instanceof TwilioRestException) {
+				throw (TwilioRestException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Refresh the tables in the background. A failed refresh is recorded in
+	 * {@link #getLastRefreshError()} and retried at the next interval.
+	 *
+	 * @param interval time between refreshes
+	 * @param unit unit of the interval
+	 */
+	public synchronized void start(final long interval, final TimeUnit unit) {
+		if (scheduler != null) {
+			throw new IllegalStateException("PricingSnapshot is already started");
+		}
+		scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			public Thread newThread(final Runnable r) {
+				Thread thread = new Thread(r, "twilio-pricing-snapshot");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		long initialDelay = table == null ? 0 : interval;
+		scheduler.scheduleWithFixedDelay(new Runnable() {
+			public void run() {
+				try {
+					refresh();
+				} catch (final Exception e) {
+					// recorded by refresh; the current tables stay in use
+				}
+			}
+		}, initialDelay, interval, unit);
+	}
+
+	/**
+	 * Stop refreshing in the background. The current tables stay in use.
+	 */
+	public synchronized void stop() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+	}
+
+	/**
+	 * Get the price of calls to a number, by the longest matching prefix.
+	 *
+	 * @param number the number in E.164 format, e.g. "+37240123456"
+	 * @return the price, or null if no prefix matches
+	 * @throws IllegalStateException if the snapshot has not been loaded
+	 */
+	public CallPrice getCallPrice(final String number) {
+		Table current = loaded();
+		int i = current.resolve(number);
+		return i < 0 ? null : current.prices[i];
+	}
+
+	/**
+	 * Get the current price per minute of calls to a number without allocating,
+	 * e.g. to compare routes.
+	 *
+	 * @param number the number in E.164 format
+	 * @return the price after discounts in {@link PriceMicros micro-units}, or -1 if no prefix matches
+	 * @throws IllegalStateException if the snapshot has not been loaded
+	 */
+	public long getCallPriceMicros(final String number) {
+		Table current = loaded();
+		int i = current.resolve(number);
+		return i < 0 ? -1 : current.currentPrices[i];
+	}
+
+	/**
+	 * Get the messaging prices of the country a number belongs to.
+	 *
+	 * @param number the number in E.164 format, e.g. "+37250123456"
+	 * @return the loaded messaging country, or null if the number or country is not priced
+	 * @throws IllegalStateException if the snapshot has not been loaded
+	 */
+	public MessagingCountry getMessagingCountry(final String number) {
+		Table current = loaded();
+		int i = current.resolve(number);
+		return i < 0 ? null : current.messagingCountries.get(current.prices[i].getIsoCountry());
+	}
+
+	/**
+	 * Get the outbound message prices of the country a number belongs to, one per carrier.
+	 *
+	 * @param number the number in E.164 format, e.g. "+37250123456"
+	 * @return the prices, empty if the number or country is not priced
+	 * @throws IllegalStateException if the snapshot has not been loaded
+	 */
+	public List<MessagingCountry.OutboundSmsPrice> getMessagePrices(final String number) {
+		MessagingCountry country = getMessagingCountry(number);
+		if (country == null || country.getCastedObject("outbound_sms_prices") == null) {
+			return Collections.emptyList();
+		}
+		return country.getOutboundSmsPrices();
+	}
+
+	private Table loaded() {
+		Table current = table;
+		if (current == null) {
+			throw new IllegalStateException("PricingSnapshot has not been loaded");
+		}
+		return current;
+	}
+
+	/**
+	 * @return true once a refresh has succeeded
+	 */
+	public boolean isLoaded() {
+		return table != null;
+	}
+
+	/**
+	 * @return the time the tables in use were downloaded, in milliseconds since the epoch, or 0 if not loaded
+	 */
+	public long getLoadedAt() {
+		Table current = table;
+		return current == null ? 0 : current.loadedAt;
+	}
+
+	/**
+	 * @return the number of indexed voice prefixes
+	 */
+	public int getPrefixCount() {
+		Table current = table;
+		return current == null ? 0 : current.trie.size();
+	}
+
+	/**
+	 * @return the number of successful refreshes
+	 */
+	public long getRefreshCount() {
+		return refreshes.get();
+	}
+
+	/**
+	 * @return the number of failed refreshes
+	 */
+	public long getRefreshFailureCount() {
+		return refreshFailures.get();
+	}
+
+	/**
+	 * @return the failure of the last refresh, or null if it succeeded
+	 */
+	public Exception getLastRefreshError() {
+		return lastRefreshError;
+	}
+}
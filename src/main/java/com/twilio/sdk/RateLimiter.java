@@ -0,0 +1,72 @@
+package com.twilio.sdk;
+
+/**
+ * Spaces out requests so that no more than a given number start per second.
+ *
+ * Callers of {@link #acquire()} are given consecutive start times one interval
+ * apart and sleep until theirs arrives. Unused time is not saved up, so an
+ * idle limiter does not allow a burst afterwards. The rate may be changed at
+ * any time, e.g. to back off when Twilio answers 429 Too Many Requests.
+ *
+ * Rate limiters are thread-safe.
+ */
+public class RateLimiter {
+
+	private long intervalNanos;
+
+	private long nextStart;
+
+	/**
+	 * @param permitsPerSecond the maximum number of requests per second, or 0 for no limit
+	 */
+	public RateLimiter(final double permitsPerSecond) {
+		setRate(permitsPerSecond);
+		this.nextStart = System.nanoTime();
+	}
+
+	/**
+	 * Change the rate; already scheduled start times are kept.
+	 *
+	 * @param permitsPerSecond the maximum number of requests per second, or 0 for no limit
+	 */
+	public synchronized void setRate(final double permitsPerSecond) {
+		if (permitsPerSecond < 0 || Double.isNaN(permitsPerSecond)) {
+			throw new IllegalArgumentException("permitsPerSecond must not be negative");
+		}
+		this.intervalNanos = permitsPerSecond == 0 ? 0L : (long) (1e9 / permitsPerSecond);
+	}
+
+	/**
+	 * @return the maximum number of requests per second, or 0 for no limit
+	 */
+	public synchronized double getRate() {
+		return intervalNanos == 0 ? 0 : 1e9 / intervalNanos;
+	}
+
+	/**
+	 * Wait until the next request may start.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public void acquire() throws InterruptedException {
+		long wait = reserve();
+		if (wait > 0) {
+			Thread.sleep(wait / 1000000L, (int) (wait % 1000000L));
+		}
+	}
+
+	/**
+	 * Reserve the next start time.
+	 *
+	 * @return how long to wait for it, in nanoseconds
+	 */
+	private synchronized long reserve() {
+		if (intervalNanos == 0) {
+			return 0L;
+		}
+		long now = System.nanoTime();
+		long start = nextStart - now > 0 ? nextStart : now;
+		nextStart = start + intervalNanos;
+		return start - now;
+	}
+}
@@ -0,0 +1,203 @@
+package com.twilio.sdk;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches signed capability tokens by their canonical scope or policy set.
+ *
+ * A cached token is handed out again as long as it has more than the
+ * configured number of seconds left before it expires, so identical
+ * capabilities generated over and over (for instance on every page load) are
+ * signed once per refresh window instead of once per request. Entries are
+ * evicted once they drop below that threshold, and the least recently used
+ * entry is evicted when the cache is full.
+ *
+ * Install a cache with {@link CapabilityToken#setTokenCache(TokenCache)};
+ * {@code TwilioCapability} and {@code TaskRouterCapability} then consult it
+ * from {@code generateToken()} without any change to calling code.
+ */
+public class TokenCache {
+
+	/** The default number of seconds a cached token must still be valid for to be reused. */
+	public static final long DEFAULT_MIN_REMAINING_TTL = 300;
+
+	/** The default maximum number of cached tokens. */
+	public static final int DEFAULT_MAX_SIZE = 10000;
+
+	private final long minRemainingTtl;
+
+	private final int maxSize;
+
+	// access ordered, so iteration starts at the least recently used token
+	private final LinkedHashMap<String, Entry> entries;
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * Create a cache with the default refresh threshold and size.
+	 */
+	public TokenCache() {
+		this(DEFAULT_MIN_REMAINING_TTL, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Create a token cache.
+	 *
+	 * @param minRemainingTtl seconds a cached token must still be valid for to be reused
+	 * @param maxSize the maximum number of cached tokens
+	 */
+	public TokenCache(final long minRemainingTtl, final int maxSize) {
+		if (minRemainingTtl < 0) {
+			throw new IllegalArgumentException("minRemainingTtl must not be negative");
+		}
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("maxSize must be at least 1");
+		}
+		this.minRemainingTtl = minRemainingTtl;
+		this.maxSize = maxSize;
+		this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+				if (size() > TokenCache.this.maxSize) {
+					evictions.incrementAndGet();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Get a cached token that is still valid for longer than the refresh
+	 * threshold.
+	 *
+	 * @param key the canonical key of the token
+	 * @return the cached token, or null if it has to be generated
+	 */
+	public String get(final String key) {
+		synchronized (entries) {
+			Entry entry = entries.get(key);
+			if (entry != null) {
+				if (entry.expires - currentTimeSeconds() > minRemainingTtl) {
+					hits.incrementAndGet();
+					return entry.token;
+				}
+				entries.remove(key);
+				evictions.incrementAndGet();
+			}
+		}
+		misses.incrementAndGet();
+		return null;
+	}
+
+	/**
+	 * Cache a freshly generated token.
+	 *
+	 * @param key the canonical key of the token
+	 * @param token the signed token
+	 * @param expires the expiration of the token, in seconds since the epoch
+	 */
+	public void put(final String key, final String token, final long expires) {
+		if (expires - currentTimeSeconds() <= minRemainingTtl) {
+			// would never be handed out again
+			return;
+		}
+		Entry entry = new Entry(token, expires);
+		synchronized (entries) {
+			entries.put(key, entry);
+		}
+	}
+
+	/**
+	 * Remove every token that is no longer valid for longer than the refresh
+	 * threshold.
+	 *
+	 * @return the number of tokens removed
+	 */
+	public int evictExpired() {
+		long threshold = currentTimeSeconds() + minRemainingTtl;
+		int removed = 0;
+		synchronized (entries) {
+			Iterator<Entry> values = entries.values().iterator();
+			while (values.hasNext()) {
+				if (values.next().expires <= threshold) {
+					values.remove();
+					removed++;
+				}
+			}
+		}
+		evictions.addAndGet(removed);
+		return removed;
+	}
+
+	/**
+	 * Remove every cached token.
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * @return the number of cached tokens
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * @return the number of lookups answered from the cache
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of lookups that required a new token
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	/**
+	 * @return the number of tokens removed because they expired or the cache was full
+	 */
+	public long getEvictionCount() {
+		return evictions.get();
+	}
+
+	/**
+	 * @return the fraction of lookups answered from the cache, or 0 if there were none
+	 */
+	public double getHitRate() {
+		long h = hits.get();
+		long total = h + misses.get();
+		return total == 0 ? 0.0 : (double) h / total;
+	}
+
+	protected long currentTimeSeconds() {
+		return System.currentTimeMillis() / 1000L;
+	}
+
+	private static final class Entry {
+
+		private final String token;
+
+		private final long expires;
+
+		private Entry(final String token, final long expires) {
+			this.token = token;
+			this.expires = expires;
+		}
+	}
+}
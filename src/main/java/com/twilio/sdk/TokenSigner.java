@@ -0,0 +1,270 @@
+package com.twilio.sdk;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Signs HS256 JSON Web Tokens for a single secret and header.
+ *
+ * The encoded header segment is computed once, and every thread keeps its own
+ * Mac already initialized with the secret, so minting a token only encodes the
+ * payload and runs the HMAC. Instances are thread-safe and meant to be shared;
+ * {@link #getInstance(String, String)} keeps a small LRU cache of signers so
+ * that capability and access tokens built for the same secret reuse them. The
+ * cache is keyed by a digest of the secret, never the secret itself.
+ */
+public class TokenSigner {
+
+	/** The JCA name of the HMAC used to sign tokens. */
+	public static final String ALGORITHM = "HmacSHA256";
+
+	/** The header used by Client and TaskRouter capability tokens. */
+	public static final String CAPABILITY_HEADER = "{\"typ\":\"JWT\",\"alg\":\"HS256\"}";
+
+	/** The header used by access tokens. */
+	public static final String ACCESS_TOKEN_HEADER = "{\"typ\":\"JWT\",\"cty\":\"twilio-fpa;v=1\",\"alg\":\"HS256\"}";
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final char[] BASE64_URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+			.toCharArray();
+
+	private static final int MAX_CACHED_SIGNERS = 256;
+
+	// access ordered, so the least recently used signer is evicted first
+	private static final Map<String, TokenSigner> SIGNERS =
+			new LinkedHashMap<String, TokenSigner>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(final Map.Entry<String, TokenSigner> eldest) {
+					return size() > MAX_CACHED_SIGNERS;
+				}
+			};
+
+	private static final ThreadLocal<MessageDigest> SHA_256 = new ThreadLocal<MessageDigest>() {
+		@Override
+		protected MessageDigest initialValue() {
+			try {
+				return MessageDigest.getInstance("SHA-256");
+			} catch (final NoSuchAlgorithmException e) {
+				throw new IllegalStateException("Unable to initialize SHA-256", e);
+			}
+		}
+	};
+
+	private final SecretKeySpec keySpec;
+
+	private final String secretDigest;
+
+	private final String headerSegment;
+
+	private final byte[] headerSegmentBytes;
+
+	private final ThreadLocal<Mac> mac = new ThreadLocal<Mac>() {
+		@Override
+		protected Mac initialValue() {
+			return newMac();
+		}
+	};
+
+	/**
+	 * Create a signer for capability tokens.
+	 *
+	 * @param secret the secret used to sign tokens
+	 */
+	public TokenSigner(final String secret) {
+		this(secret, CAPABILITY_HEADER);
+	}
+
+	/**
+	 * Create a signer that emits the given header on every token.
+	 *
+	 * @param secret the secret used to sign tokens
+	 * @param header the JSON header of the tokens; must declare alg HS256
+	 */
+	public TokenSigner(final String secret, final String header) {
+		if (secret == null) {
+			throw new IllegalArgumentException("secret is required");
+		}
+		if (header == null) {
+			throw new IllegalArgumentException("header is required");
+		}
+		this.keySpec = new SecretKeySpec(secret.getBytes(UTF_8), ALGORITHM);
+		this.secretDigest = digest(secret);
+		this.headerSegment = encodeBase64Url(header.getBytes(UTF_8)) + ".";
+		this.headerSegmentBytes = headerSegment.getBytes(UTF_8);
+
+		// fail fast on a broken JCE rather than on the first token
+		newMac();
+	}
+
+	/**
+	 * Get a shared signer for the secret and header, creating it if needed.
+	 *
+	 * @param secret the secret used to sign tokens
+	 * @param header the JSON header of the tokens
+	 * @return a signer that may be used concurrently
+	 */
+	public static TokenSigner getInstance(final String secret, final String header) {
+		if (secret == null) {
+			throw new IllegalArgumentException("secret is required");
+		}
+		String cacheKey = header + '\n' + digest(secret);
+		TokenSigner signer;
+		synchronized (SIGNERS) {
+			signer = SIGNERS.get(cacheKey);
+		}
+		if (signer == null) {
+			TokenSigner created = new TokenSigner(secret, header);
+			synchronized (SIGNERS) {
+				signer = SIGNERS.get(cacheKey);
+				if (signer == null) {
+					signer = created;
+					SIGNERS.put(cacheKey, signer);
+				}
+			}
+		}
+		return signer;
+	}
+
+	/**
+	 * Compute a digest of a secret, to key caches without holding the secret itself.
+	 *
+	 * @param secret the secret
+	 * @return the unpadded URL-safe Base64 SHA-256 of the UTF-8 secret
+	 */
+	public static String digest(final String secret) {
+		return encodeBase64Url(SHA_256.get().digest(secret.getBytes(UTF_8)));
+	}
+
+	/**
+	 * @return the {@link #digest(String)} of the secret this signer signs with
+	 */
+	public String getSecretDigest() {
+		return secretDigest;
+	}
+
+	/**
+	 * Get a shared capability token signer for the secret.
+	 *
+	 * @param secret the secret used to sign tokens
+	 * @return a signer that may be used concurrently
+	 */
+	public static TokenSigner getInstance(final String secret) {
+		return getInstance(secret, CAPABILITY_HEADER);
+	}
+
+	/**
+	 * Sign a payload.
+	 *
+	 * @param payload the JSON claims of the token
+	 * @return the compact serialization of the signed token
+	 */
+	public String sign(final String payload) {
+		return sign(payload.getBytes(UTF_8));
+	}
+
+	/**
+	 * Sign a payload.
+	 *
+	 * @param payload the UTF-8 encoded JSON claims of the token
+	 * @return the compact serialization of the signed token
+	 */
+	public String sign(final byte[] payload) {
+		// header + '.' + payload + '.' + 43 characters of signature
+		StringBuilder token = new StringBuilder(headerSegment.length() + (payload.length * 4 + 2) / 3 + 44);
+		token.append(headerSegment);
+		encodeBase64Url(payload, token);
+
+		int payloadStart = headerSegment.length();
+		int payloadEnd = token.length();
+		byte[] encodedPayload = new byte[payloadEnd - payloadStart];
+		for (int i = 0; i < encodedPayload.length; i++) {
+			encodedPayload[i] = (byte) token.charAt(payloadStart + i);
+		}
+
+		Mac hmac = mac.get();
+		hmac.update(headerSegmentBytes);
+		hmac.update(encodedPayload);
+		byte[] signature = hmac.doFinal();
+
+		token.append('.');
+		encodeBase64Url(signature, token);
+		return token.toString();
+	}
+
+	/**
+	 * Compute the raw HMAC of data with this signer's secret.
+	 *
+	 * @param data the bytes to sign
+	 * @return the signature
+	 */
+	public byte[] hmac(final byte[] data) {
+		return hmac(data, 0, data.length);
+	}
+
+	/**
+	 * Compute the raw HMAC of part of an array with this signer's secret.
+	 *
+	 * @param data the array holding the bytes to sign
+	 * @param offset the index of the first byte to sign
+	 * @param length the number of bytes to sign
+	 * @return the signature
+	 */
+	public byte[] hmac(final byte[] data, final int offset, final int length) {
+		Mac hmac = mac.get();
+		hmac.update(data, offset, length);
+		return hmac.doFinal();
+	}
+
+	/**
+	 * Encode data as unpadded URL-safe Base64, as used by JSON Web Tokens.
+	 *
+	 * @param data the bytes to encode
+	 * @return the encoded string
+	 */
+	public static String encodeBase64Url(final byte[] data) {
+		StringBuilder out = new StringBuilder((data.length * 4 + 2) / 3);
+		encodeBase64Url(data, out);
+		return out.toString();
+	}
+
+	private static void encodeBase64Url(final byte[] data, final StringBuilder out) {
+		int i = 0;
+		int full = data.length - data.length % 3;
+		while (i < full) {
+			int bits = (data[i++] & 0xff) << 16 | (data[i++] & 0xff) << 8 | (data[i++] & 0xff);
+			out.append(BASE64_URL[bits >>> 18 & 0x3f]);
+			out.append(BASE64_URL[bits >>> 12 & 0x3f]);
+			out.append(BASE64_URL[bits >>> 6 & 0x3f]);
+			out.append(BASE64_URL[bits & 0x3f]);
+		}
+
+		int remaining = data.length - full;
+		if (remaining == 1) {
+			int bits = (data[i] & 0xff) << 16;
+			out.append(BASE64_URL[bits >>> 18 & 0x3f]);
+			out.append(BASE64_URL[bits >>> 12 & 0x3f]);
+		} else if (remaining == 2) {
+			int bits = (data[i] & 0xff) << 16 | (data[i + 1] & 0xff) << 8;
+			out.append(BASE64_URL[bits >>> 18 & 0x3f]);
+			out.append(BASE64_URL[bits >>> 12 & 0x3f]);
+			out.append(BASE64_URL[bits >>> 6 & 0x3f]);
+		}
+	}
+
+	private Mac newMac() {
+		try {
+			Mac hmac = Mac.getInstance(ALGORITHM);
+			hmac.init(keySpec);
+			return hmac;
+		} catch (final GeneralSecurityException e) {
+			throw new IllegalStateException("Unable to initialize " + ALGORITHM, e);
+		}
+	}
+}
@@ -0,0 +1,368 @@
+package com.twilio.sdk;
+
+import com.twilio.sdk.CapabilityToken.DomainException;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.map.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifies HS256 JSON Web Tokens minted by this library: access tokens,
+ * Client capability tokens and TaskRouter capability tokens.
+ *
+ * Verification checks the signature with the per-thread Mac of a shared
+ * {@link TokenSigner} and reads only the exp and nbf claims of the payload.
+ * The remaining claims (grants, policies, scopes) are decoded on first access.
+ * Instances are thread-safe.
+ *
+ * <pre>
+ * TokenVerifier verifier = new TokenVerifier(secret);
+ * TokenVerifier.VerifiedToken token = verifier.verify(jwt);
+ * Map&lt;String, Object&gt; grants = token.getGrants();
+ * </pre>
+ */
+public class TokenVerifier {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	private static final ObjectMapper MAPPER = new ObjectMapper(JSON_FACTORY);
+
+	// Encoded header segments this library produces, so the common case
+	// doesn't need to decode and parse the header
+	private static final String[] KNOWN_HEADERS = {
+		TokenSigner.encodeBase64Url(TokenSigner.CAPABILITY_HEADER.getBytes(UTF_8)),
+		TokenSigner.encodeBase64Url(TokenSigner.ACCESS_TOKEN_HEADER.getBytes(UTF_8))
+	};
+
+	private static final int[] BASE64_URL_VALUES = new int[128];
+
+	static {
+		Arrays.fill(BASE64_URL_VALUES, -1);
+		String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+		for (int i = 0; i < alphabet.length(); i++) {
+			BASE64_URL_VALUES[alphabet.charAt(i)] = i;
+		}
+	}
+
+	private static final ThreadLocal<byte[]> SIGNING_INPUT = new ThreadLocal<byte[]>() {
+		@Override
+		protected byte[] initialValue() {
+			return new byte[1024];
+		}
+	};
+
+	private final TokenSigner signer;
+
+	private final long leeway;
+
+	/**
+	 * Create a verifier that allows no clock skew.
+	 *
+	 * @param secret the secret the tokens were signed with
+	 */
+	public TokenVerifier(final String secret) {
+		this(secret, 0);
+	}
+
+	/**
+	 * Create a verifier.
+	 *
+	 * @param secret the secret the tokens were signed with
+	 * @param leeway seconds of clock skew tolerated when checking exp and nbf
+	 */
+	public TokenVerifier(final String secret, final long leeway) {
+		this.signer = TokenSigner.getInstance(secret);
+		this.leeway = leeway;
+	}
+
+	/**
+	 * Check the signature and validity period of a token.
+	 *
+	 * @param token the compact serialization of the token
+	 * @return true if the token is authentic and currently valid
+	 */
+	public boolean isValid(final String token) {
+		try {
+			verify(token);
+			return true;
+		} catch (final DomainException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Check the signature and validity period of a token.
+	 *
+	 * @param token the compact serialization of the token
+	 * @return the verified token, whose claims are decoded on demand
+	 * @throws DomainException if the token is malformed, forged, expired or not yet valid
+	 */
+	public VerifiedToken verify(final String token) throws DomainException {
+		if (token == null) {
+			throw new DomainException("Token is required");
+		}
+
+		int headerEnd = token.indexOf('.');
+		int payloadEnd = headerEnd < 0 ? -1 : token.indexOf('.', headerEnd + 1);
+		if (headerEnd <= 0 || payloadEnd < 0 || token.indexOf('.', payloadEnd + 1) >= 0) {
+			throw new DomainException("Malformed token");
+		}
+
+		checkHeader(token, headerEnd);
+
+		byte[] expected = signer.hmac(signingInput(token, payloadEnd), 0, payloadEnd);
+		byte[] actual = decodeBase64Url(token, payloadEnd + 1, token.length());
+		if (actual == null || !constantTimeEquals(expected, actual)) {
+			throw new DomainException("Invalid token signature");
+		}
+
+		byte[] payload = decodeBase64Url(token, headerEnd + 1, payloadEnd);
+		if (payload == null) {
+			throw new DomainException("Malformed token payload");
+		}
+
+		VerifiedToken verified = new VerifiedToken(payload);
+		long now = currentTimeSeconds();
+		if (verified.expiration >= 0 && now >= verified.expiration + leeway) {
+			throw new DomainException("Token expired");
+		}
+		if (verified.notBefore >= 0 && now + leeway < verified.notBefore) {
+			throw new DomainException("Token not yet valid");
+		}
+		return verified;
+	}
+
+	protected long currentTimeSeconds() {
+		return System.currentTimeMillis() / 1000L;
+	}
+
+	private static void checkHeader(final String token, final int headerEnd) throws DomainException {
+		for (final String known : KNOWN_HEADERS) {
+			if (known.length() == headerEnd && token.regionMatches(0, known, 0, headerEnd)) {
+				return;
+			}
+		}
+
+		byte[] header = decodeBase64Url(token, 0, headerEnd);
+		if (header == null) {
+			throw new DomainException("Malformed token header");
+		}
+		try {
+			Map<?, ?> fields = MAPPER.readValue(header, Map.class);
+			if (!"HS256".equals(fields.get("alg"))) {
+				throw new DomainException("Unsupported token algorithm: " + fields.get("alg"));
+			}
+		} catch (final IOException e) {
+			throw new DomainException(e);
+		}
+	}
+
+	// Token characters are all ASCII, so the signing input is copied into a
+	// reusable per-thread buffer instead of being encoded into a new array
+	private static byte[] signingInput(final String token, final int length) {
+		byte[] buffer = SIGNING_INPUT.get();
+		if (buffer.length < length) {
+			buffer = new byte[Math.max(length, buffer.length * 2)];
+			SIGNING_INPUT.set(buffer);
+		}
+		for (int i = 0; i < length; i++) {
+			buffer[i] = (byte) token.charAt(i);
+		}
+		return buffer;
+	}
+
+	private static boolean constantTimeEquals(final byte[] a, final byte[] b) {
+		if (a.length != b.length) {
+			return false;
+		}
+		int mismatch = 0;
+		for (int i = 0; i < a.length; i++) {
+			mismatch |= a[i] ^ b[i];
+		}
+		return mismatch == 0;
+	}
+
+	/**
+	 * Decode unpadded URL-safe Base64.
+	 *
+	 * @return the decoded bytes, or null if the input is not valid, canonical Base64
+	 */
+	static byte[] decodeBase64Url(final String s, final int start, final int end) {
+		int length = end - start;
+		if (length % 4 == 1) {
+			return null;
+		}
+
+		byte[] out = new byte[length * 3 / 4];
+		int bits = 0;
+		int count = 0;
+		int o = 0;
+		for (int i = start; i < end; i++) {
+			char c = s.charAt(i);
+			int value = c < 128 ? BASE64_URL_VALUES[c] : -1;
+			if (value < 0) {
+				return null;
+			}
+			bits = bits << 6 | value;
+			if (++count == 4) {
+				out[o++] = (byte) (bits >> 16);
+				out[o++] = (byte) (bits >> 8);
+				out[o++] = (byte) bits;
+				bits = 0;
+				count = 0;
+			}
+		}
+
+		// the unused low bits of the last character must be zero, so every
+		// value has exactly one encoding and a signature cannot be altered
+		if (count == 2) {
+			if ((bits & 0xf) != 0) {
+				return null;
+			}
+			out[o] = (byte) (bits >> 4);
+		} else if (count == 3) {
+			if ((bits & 0x3) != 0) {
+				return null;
+			}
+			out[o++] = (byte) (bits >> 10);
+			out[o] = (byte) (bits >> 2);
+		}
+		return out;
+	}
+
+	/**
+	 * A token whose signature has been verified.
+	 */
+	public static class VerifiedToken {
+
+		private final byte[] payload;
+
+		private final long expiration;
+
+		private final long notBefore;
+
+		private volatile Map<String, Object> claims;
+
+		private VerifiedToken(final byte[] payload) throws DomainException {
+			this.payload = payload;
+
+			long exp = -1;
+			long nbf = -1;
+			try {
+				JsonParser parser = JSON_FACTORY.createJsonParser(payload);
+				if (parser.nextToken() != JsonToken.START_OBJECT) {
+					throw new DomainException("Token payload is not an object");
+				}
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					String name = parser.getCurrentName();
+					JsonToken value = parser.nextToken();
+					if ("exp".equals(name)) {
+						exp = readSeconds(parser, value);
+					} else if ("nbf".equals(name)) {
+						nbf = readSeconds(parser, value);
+					} else {
+						parser.skipChildren();
+					}
+				}
+				parser.close();
+			} catch (final IOException e) {
+				throw new DomainException(e);
+			} catch (final NumberFormatException e) {
+				throw new DomainException(e);
+			}
+			this.expiration = exp;
+			this.notBefore = nbf;
+		}
+
+		// Client capability tokens carry exp as a string
+		private static long readSeconds(final JsonParser parser, final JsonToken value) throws IOException {
+			if (value == JsonToken.VALUE_STRING) {
+				return Long.parseLong(parser.getText());
+			}
+			return parser.getLongValue();
+		}
+
+		/**
+		 * @return the expiration in seconds since the epoch, or -1 if the token doesn't expire
+		 */
+		public long getExpiration() {
+			return expiration;
+		}
+
+		/**
+		 * @return the start of the validity period in seconds since the epoch, or -1 if unset
+		 */
+		public long getNotBefore() {
+			return notBefore;
+		}
+
+		/**
+		 * Get every claim of the token. The payload is decoded on first use.
+		 *
+		 * @return the claims
+		 */
+		@SuppressWarnings("unchecked")
+		public Map<String, Object> getClaims() {
+			Map<String, Object> decoded = claims;
+			if (decoded == null) {
+				try {
+					decoded = Collections.unmodifiableMap((Map<String, Object>) MAPPER.readValue(payload, Map.class));
+				} catch (final IOException e) {
+					throw new IllegalStateException("Unable to decode verified token payload", e);
+				}
+				claims = decoded;
+			}
+			return decoded;
+		}
+
+		/**
+		 * @return the iss claim: the key sid of access tokens, the account sid of capability tokens
+		 */
+		public String getIssuer() {
+			return (String) getClaims().get("iss");
+		}
+
+		/**
+		 * @return the sub claim: the account sid of access tokens
+		 */
+		public String getSubject() {
+			return (String) getClaims().get("sub");
+		}
+
+		/**
+		 * @return the grants of an access token, keyed by grant key, or null if this is not an access token
+		 */
+		@SuppressWarnings("unchecked")
+		public Map<String, Object> getGrants() {
+			return (Map<String, Object>) getClaims().get("grants");
+		}
+
+		/**
+		 * @return the policies of a TaskRouter capability token, or null if this is not one
+		 */
+		@SuppressWarnings("unchecked")
+		public List<Map<String, Object>> getPolicies() {
+			return (List<Map<String, Object>>) getClaims().get("policies");
+		}
+
+		/**
+		 * @return the scopes of a Client capability token, or an empty list if there are none
+		 */
+		public List<String> getScopes() {
+			Object scope = getClaims().get("scope");
+			if (!(scope instanceof String) || ((String) scope).length() == 0) {
+				return Collections.emptyList();
+			}
+			return Arrays.asList(((String) scope).split(" "));
+		}
+	}
+}
@@ -30,6 +30,7 @@ import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -339,8 +340,29 @@ public abstract class TwilioClient {
 
 	public TwilioRestResponse request(final String path, final String method,
 	                                  final List<NameValuePair> paramList) throws TwilioRestException {
+		return request(path, method, paramList, null);
+	}
+
+	/**
+	 * Sends a REST Request to the Twilio REST API with additional request headers,
+	 * e.g. If-None-Match for a conditional GET.
+	 *
+	 * @param path the URL (absolute w.r.t. the endpoint URL - i.e. /2010-04-01/Accounts)
+	 * @param method the HTTP method to use
+	 * @param paramList for POST or PUT, a list of data to send, for GET will be appended to the URL as querystring
+	 * params
+	 * @param headers additional request headers, or null
+	 * @return the twilio rest response
+	 */
+	public TwilioRestResponse request(final String path, final String method, final List<NameValuePair> paramList,
+	                                  final Map<String, String> headers) throws TwilioRestException {
 
 		HttpUriRequest request = setupRequest(path, method, paramList);
+		if (headers != null) {
+			for (final Map.Entry<String, String> header : headers.entrySet()) {
+				request.setHeader(header.getKey(), header.getValue());
+			}
+		}
 
 		HttpResponse response;
 		try {
@@ -348,10 +370,14 @@ public abstract class TwilioClient {
 			HttpEntity entity = response.getEntity();
 
 			Header[] contentTypeHeaders = response.getHeaders("Content-Type");
-			String responseBody = "";
+			byte[] responseBody = null;
 
+			// the body is kept as bytes and only decoded if its text is asked for
 			if (entity != null) {
-				responseBody = EntityUtils.toString(entity);
+				responseBody = EntityUtils.toByteArray(entity);
+			}
+			if (responseBody == null) {
+				responseBody = new byte[0];
 			}
 
 			StatusLine status = response.getStatusLine();
@@ -366,6 +392,20 @@ public abstract class TwilioClient {
 				break;
 			}
 
+			Header[] allHeaders = response.getAllHeaders();
+			if (allHeaders != null) {
+				Map<String, List<String>> headerMap = new LinkedHashMap<String, List<String>>();
+				for (final Header h : allHeaders) {
+					List<String> values = headerMap.get(h.getName());
+					if (values == null) {
+						values = new ArrayList<String>(1);
+						headerMap.put(h.getName(), values);
+					}
+					values.add(h.getValue());
+				}
+				restResponse.setHeaders(headerMap);
+			}
+
 			return restResponse;
 
 		} catch (final ClientProtocolException e1) {
@@ -485,10 +525,43 @@ public abstract class TwilioClient {
 	 */
 	public TwilioRestResponse safeRequest(final String path, final String method,
 	                                      final List<NameValuePair> paramList) throws TwilioRestException {
+		return safeRequest(path, method, paramList, null);
+	}
+
+	/**
+	 * Make a request with additional request headers, handles retries + back-off for server/network errors.
+	 * A 304 Not Modified answer to a conditional request is returned, not thrown.
+	 *
+	 * @param path the URL (absolute w.r.t. the endpoint URL - i.e. /2010-04-01/Accounts)
+	 * @param method the HTTP method to use
+	 * @param vars for POST or PUT, a map of data to send, for GET will be appended to the URL as querystring params
+	 * @param headers additional request headers, or null
+	 * @return The response
+	 * @throws TwilioRestException if there's an client exception returned by the TwilioApi
+	 */
+	public TwilioRestResponse safeRequest(final String path, final String method, final Map<String, String> vars,
+	                                      final Map<String, String> headers) throws TwilioRestException {
+		return safeRequest(path, method, generateParameters(vars), headers);
+	}
+
+	/**
+	 * Make a request with additional request headers, handles retries + back-off for server/network errors.
+	 * A 304 Not Modified answer to a conditional request is returned, not thrown.
+	 *
+	 * @param path the URL (absolute w.r.t. the endpoint URL - i.e. /2010-04-01/Accounts)
+	 * @param method the HTTP method to use
+	 * @param paramList for POST or PUT, a list of data to send, for GET will be appended to the URL as querystring
+	 * params
+	 * @param headers additional request headers, or null
+	 * @return The response
+	 * @throws TwilioRestException if there's an client exception returned by the TwilioApi
+	 */
+	public TwilioRestResponse safeRequest(final String path, final String method, final List<NameValuePair> paramList,
+	                                      final Map<String, String> headers) throws TwilioRestException {
 
 		TwilioRestResponse response = null;
 		for (int retry = 0; retry < numRetries; retry++) {
-			response = request(path, method, paramList);
+			response = request(path, method, paramList, headers);
 			if (response.isClientError()) {
 				throw TwilioRestException.parseResponse(response);
 			} else if (response.isServerError()) {
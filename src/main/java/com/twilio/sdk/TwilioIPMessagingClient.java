@@ -1,11 +1,15 @@
 package com.twilio.sdk;
 
+import com.twilio.sdk.ipmessaging.ChatImporter;
+import com.twilio.sdk.ipmessaging.ImportRecord;
 import com.twilio.sdk.resource.instance.ipmessaging.Credential;
 import com.twilio.sdk.resource.instance.ipmessaging.Service;
 import com.twilio.sdk.resource.list.ipmessaging.CredentialList;
 import com.twilio.sdk.resource.list.ipmessaging.ServiceList;
 import org.apache.http.NameValuePair;
 
+import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -17,6 +21,8 @@ public class TwilioIPMessagingClient extends TwilioClient {
 	/** The Constant DEFAULT_VERSION. */
 	public static final String DEFAULT_VERSION = "v1";
 
+	private volatile IPMessagingCache cache;
+
 	public TwilioIPMessagingClient(String username, String password) {
 		this(username, password, "https://ip-messaging.twilio.com");
 	}
@@ -25,6 +31,23 @@ public class TwilioIPMessagingClient extends TwilioClient {
 		super(username, password, endpoint);
 	}
 
+	/**
+	 * Install a cache that Services, Channels, Users and Roles are loaded from
+	 * while they are still valid. Pass null to always load them.
+	 *
+	 * @param cache the cache to use, or null to disable caching
+	 */
+	public void setCache(final IPMessagingCache cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * @return the installed cache, or null if resources are not cached
+	 */
+	public IPMessagingCache getCache() {
+		return cache;
+	}
+
 	/**
 	 * Initialize services endpoint without filters
 	 *
@@ -126,4 +149,30 @@ public class TwilioIPMessagingClient extends TwilioClient {
 	public Credential getCredential(String credentialSid) {
 		return new Credential(this, credentialSid);
 	}
-}
+
+	/**
+	 * Configure an import of channels, members and messages into a service
+	 *
+	 * @param serviceSid The service sid
+	 * @return The importer builder
+	 */
+	public ChatImporter.Builder getChatImporter(String serviceSid) {
+		return new ChatImporter.Builder(this, serviceSid);
+	}
+
+	/**
+	 * Import channels, members and messages into a service with the default settings, keeping
+	 * progress in memory
+	 *
+	 * @param serviceSid The service sid
+	 * @param records The records to import
+	 * @return The import report
+	 * @throws TwilioRestException thrown if the channels could not be listed
+	 * @throws IOException thrown if progress could not be saved
+	 * @throws InterruptedException thrown if interrupted
+	 */
+	public ChatImporter.Report importRecords(String serviceSid, Iterator<ImportRecord> records)
+			throws TwilioRestException, IOException, InterruptedException {
+		return getChatImporter(serviceSid).build().run(records);
+	}
+}
\ No newline at end of file
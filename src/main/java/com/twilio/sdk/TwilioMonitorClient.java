@@ -4,9 +4,11 @@ import com.twilio.sdk.resource.instance.monitor.Alert;
 import com.twilio.sdk.resource.instance.monitor.Event;
 import com.twilio.sdk.resource.list.monitor.AlertList;
 import com.twilio.sdk.resource.list.monitor.EventList;
+import com.twilio.sdk.monitor.MonitorTailer;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
 
 public class TwilioMonitorClient extends TwilioClient {
 
@@ -69,4 +71,29 @@ public class TwilioMonitorClient extends TwilioClient {
 		return getAlerts(new HashMap<String, String>(0));
 	}
 
+	/**
+	 * Get a tailer that delivers new Alerts to a bounded queue, each once. The tailer keeps its checkpoint in
+	 * memory; use {@link MonitorTailer#alerts(TwilioMonitorClient)} for more options.
+	 *
+	 * @param queue the queue receiving the alerts
+	 * @param policy what to do when the queue is full
+	 * @return the tailer, not yet started
+	 */
+	public MonitorTailer<Alert> getAlertTailer(final BlockingQueue<Alert> queue,
+	                                           final MonitorTailer.BackpressurePolicy policy) {
+		return MonitorTailer.alerts(this).queue(queue, policy).build();
+	}
+
+	/**
+	 * Get a tailer that delivers new Events to a bounded queue, each once. The tailer keeps its checkpoint in
+	 * memory; use {@link MonitorTailer#events(TwilioMonitorClient)} for more options.
+	 *
+	 * @param queue the queue receiving the events
+	 * @param policy what to do when the queue is full
+	 * @return the tailer, not yet started
+	 */
+	public MonitorTailer<Event> getEventTailer(final BlockingQueue<Event> queue,
+	                                           final MonitorTailer.BackpressurePolicy policy) {
+		return MonitorTailer.events(this).queue(queue, policy).build();
+	}
 }
@@ -107,5 +107,18 @@ public class TwilioPricingClient extends TwilioClient {
         return new MessagingCountry(this, isoCountry);
     }
 
+    /**
+     * Download the Voice and Messaging price tables into a local snapshot that
+     * prices numbers without further requests.
+     *
+     * @return the loaded snapshot; call {@link PricingSnapshot#start} to keep it up to date
+     * @throws TwilioRestException if the tables could not be downloaded
+     */
+    public PricingSnapshot getPricingSnapshot() throws TwilioRestException {
+        PricingSnapshot snapshot = new PricingSnapshot(this);
+        snapshot.refresh();
+        return snapshot;
+    }
+
 
 }
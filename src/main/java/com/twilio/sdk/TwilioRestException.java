@@ -80,8 +80,10 @@ public class TwilioRestException extends Exception {
 		int errorCode = 0;
 		int status = 0;
 		if (response.isJson()) {
-			message = (String) data.get("message");
-			
+			if (data.get("message") != null) {
+				message = (String) data.get("message");
+			}
+
 			if (data.get("code") != null) {
 				errorCode = (Integer) data.get("code");
 			}
@@ -93,6 +95,10 @@ public class TwilioRestException extends Exception {
 			}
 		}
 		// TODO xml
+		if (status == 0) {
+			// the body did not say, e.g. because it could not be parsed
+			status = response.getHttpStatus();
+		}
 
 		return new TwilioRestException(message, errorCode, moreInfo, status);
 	}
@@ -1,12 +1,17 @@
 package com.twilio.sdk;
 
+import com.twilio.sdk.parser.BinaryResponseParser;
 import com.twilio.sdk.parser.JsonResponseParser;
 import com.twilio.sdk.parser.ResponseParser;
 import com.twilio.sdk.parser.XmlResponseParser;
 
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.TreeMap;
 
 // TODO: Auto-generated Javadoc
 /*
@@ -42,8 +47,13 @@ import java.util.regex.Pattern;
  */
 public class TwilioRestResponse {
 
-	/** The response text. */
-	private String responseText;
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	/** The response text, decoded from the body on first use. */
+	private volatile String responseText;
+
+	/** The raw response body, or null if the response was built from text. */
+	private volatile byte[] responseBody;
 
 	/** The http status. */
 	private int httpStatus;
@@ -60,6 +70,9 @@ public class TwilioRestResponse {
 	/** The content type. */
 	private String contentType;
 
+	/** The response headers, by case-insensitive name. */
+	private Map<String, List<String>> headers = Collections.emptyMap();
+
 	/**
 	 * Instantiates a new twilio rest response.
 	 *
@@ -68,12 +81,32 @@ public class TwilioRestResponse {
 	 * @param status the status
 	 */
 	public TwilioRestResponse(final String url, final String text, final int status) {
-		Pattern p = Pattern.compile("([^?]+)\\??(.*)");
-		Matcher m = p.matcher(url);
-		m.matches();
-		this.url = m.group(1);
-		queryString = m.group(2);
+		this(url, status);
 		responseText = text;
+	}
+
+	/**
+	 * Instantiates a new twilio rest response holding the raw body, which is
+	 * only decoded if its text is asked for.
+	 *
+	 * @param url the url
+	 * @param body the response body, decoded with the charset of the content type, or UTF-8
+	 * @param status the status
+	 */
+	public TwilioRestResponse(final String url, final byte[] body, final int status) {
+		this(url, status);
+		responseBody = body;
+	}
+
+	private TwilioRestResponse(final String url, final int status) {
+		int query = url.indexOf('?');
+		if (query < 0) {
+			this.url = url;
+			queryString = "";
+		} else {
+			this.url = url.substring(0, query);
+			queryString = url.substring(query + 1);
+		}
 		httpStatus = status;
 		error = (status >= 400);
 	}
@@ -85,7 +118,16 @@ public class TwilioRestResponse {
 	 * @return the response body
 	 */
 	public String getResponseText() {
-		return responseText;
+		String text = responseText;
+		if (text == null) {
+			byte[] body = responseBody;
+			if (body == null) {
+				return null;
+			}
+			text = new String(body, getCharset());
+			responseText = text;
+		}
+		return text;
 	}
 
 	/**
@@ -95,6 +137,48 @@ public class TwilioRestResponse {
 	 */
 	public void setResponseText(final String responseText) {
 		this.responseText = responseText;
+		this.responseBody = null;
+	}
+
+	/**
+	 * Get the raw response body, without decoding it. The array is not copied
+	 * and must not be modified.
+	 *
+	 * @return the response body, or null if there is none
+	 */
+	public byte[] getResponseBytes() {
+		byte[] body = responseBody;
+		if (body == null) {
+			String text = responseText;
+			if (text == null) {
+				return null;
+			}
+			body = text.getBytes(getCharset());
+			responseBody = body;
+		}
+		return body;
+	}
+
+	/**
+	 * Get the charset of the response body, from the content type.
+	 *
+	 * @return the declared charset, or UTF-8 if none or an unsupported one is declared
+	 */
+	public Charset getCharset() {
+		if (contentType != null) {
+			int index = contentType.toLowerCase().indexOf("charset=");
+			if (index >= 0) {
+				String name = contentType.substring(index + 8);
+				int end = name.indexOf(';');
+				name = (end < 0 ? name : name.substring(0, end)).trim().replace("\"", "");
+				try {
+					return Charset.forName(name);
+				} catch (final IllegalArgumentException e) {
+					// unknown or unsupported charset
+				}
+			}
+		}
+		return UTF_8;
 	}
 
 	/**
@@ -196,6 +280,72 @@ public class TwilioRestResponse {
 		this.contentType = contentType;
 	}
 
+	/**
+	 * Get the first value of a response header
+	 *
+	 * @param name the header name, in any case
+	 * @return the first value, or null if the response had no such header
+	 */
+	public String getHeader(final String name) {
+		List<String> values = headers.get(name);
+		return values == null ? null : values.get(0);
+	}
+
+	/**
+	 * Get every value of a response header
+	 *
+	 * @param name the header name, in any case
+	 * @return the values in the order received, empty if the response had no such header
+	 */
+	public List<String> getHeaders(final String name) {
+		List<String> values = headers.get(name);
+		return values == null ? Collections.<String>emptyList() : values;
+	}
+
+	/**
+	 * Get all response headers
+	 *
+	 * @return the values of each header, by case-insensitive name
+	 */
+	public Map<String, List<String>> getHeaders() {
+		return headers;
+	}
+
+	/**
+	 * Sets the response headers.
+	 *
+	 * @param headers the values of each header, by name
+	 */
+	public void setHeaders(final Map<String, List<String>> headers) {
+		Map<String, List<String>> copy = new TreeMap<String, List<String>>(String.CASE_INSENSITIVE_ORDER);
+		if (headers != null) {
+			for (final Map.Entry<String, List<String>> e : headers.entrySet()) {
+				if (e.getValue() == null || e.getValue().isEmpty()) {
+					continue;
+				}
+				List<String> values = copy.get(e.getKey());
+				if (values == null) {
+					values = new ArrayList<String>(e.getValue().size());
+					copy.put(e.getKey(), values);
+				}
+				values.addAll(e.getValue());
+			}
+		}
+		for (final Map.Entry<String, List<String>> e : copy.entrySet()) {
+			e.setValue(Collections.unmodifiableList(e.getValue()));
+		}
+		this.headers = Collections.unmodifiableMap(copy);
+	}
+
+	/**
+	 * Determines if the response was a 304 Not Modified answer to a conditional request
+	 *
+	 * @return true if the resource did not change
+	 */
+	public boolean isNotModified() {
+		return getHttpStatus() == 304;
+	}
+
 	/**
 	 * Method to determine if the response content type was a JSON type
 	 *
@@ -239,9 +389,19 @@ public class TwilioRestResponse {
 	 *
 	 * @return a normalized Map of objects. Repeated elements are List values,
 	 *         sub-objects are Map values. All other types are String values.
+	 *         A body that cannot be parsed maps to an empty Map.
 	 */
 	public Map<String, Object> toMap() {
 		ResponseParser parser = getParser();
+		byte[] body = getResponseBytes();
+		if (parser instanceof BinaryResponseParser && body != null) {
+			try {
+				return ((BinaryResponseParser) parser).parse(body, getCharset());
+			} catch (final IllegalArgumentException e) {
+				// a malformed body, e.g. an error page from a proxy, has no properties
+				return new HashMap<String, Object>();
+			}
+		}
 		return parser.parse(this);
 	}
 
@@ -23,9 +23,18 @@ import com.twilio.sdk.resource.list.taskrouter.TaskQueueListStatistics;
 import com.twilio.sdk.resource.list.taskrouter.WorkerList;
 import com.twilio.sdk.resource.list.taskrouter.WorkflowList;
 import com.twilio.sdk.resource.list.taskrouter.WorkspaceList;
-
+import com.twilio.sdk.tailer.CheckpointStore;
+import com.twilio.sdk.taskrouter.EventTailer;
+import com.twilio.sdk.taskrouter.ReservationDispatcher;
+import com.twilio.sdk.taskrouter.TaskBatchWriter;
+import com.twilio.sdk.taskrouter.WorkerActivityTransition;
+import com.twilio.sdk.taskrouter.WorkspaceMirror;
+import com.twilio.sdk.taskrouter.WorkspaceSnapshot;
+
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 /**
  * The client class that access http://taskrouter.twilio.com.
@@ -96,6 +105,66 @@ public class TwilioTaskRouterClient extends TwilioClient {
 		return taskList.create(workflowSid, attributes, priority, timeout);
 	}
 
+	/**
+	 * Get a writer that creates and updates {@link com.twilio.sdk.resource.instance.taskrouter.Task}s in bulk.
+	 * Use {@link TaskBatchWriter.Builder} for more options.
+	 *
+	 * @param workspaceSid the workspace sid
+	 * @param concurrency the number of requests in flight at once
+	 * @param ratePerSecond the maximum number of requests per second, or 0 for no limit
+	 * @return the writer, with its threads started
+	 */
+	public TaskBatchWriter getTaskBatchWriter(final String workspaceSid, final int concurrency,
+	                                          final double ratePerSecond) {
+		return new TaskBatchWriter.Builder(this, workspaceSid).concurrency(concurrency).ratePerSecond(ratePerSecond)
+				.build();
+	}
+
+	/**
+	 * Get a dispatcher that hands new Reservations to a handler. Accept and reject are sent through the priority
+	 * client; give it an HttpClient with its own connection pool and they never wait behind other requests made
+	 * with this client. Use {@link ReservationDispatcher.Builder} for more options.
+	 *
+	 * @param workspaceSid the workspace sid
+	 * @param handler the handler
+	 * @param priorityClient the client accept and reject are sent with
+	 * @return the dispatcher, with its threads started
+	 */
+	public ReservationDispatcher getReservationDispatcher(final String workspaceSid,
+	                                                      final ReservationDispatcher.Handler handler,
+	                                                      final TwilioTaskRouterClient priorityClient) {
+		return new ReservationDispatcher.Builder(priorityClient, workspaceSid, handler).build();
+	}
+
+	/**
+	 * Get a local, indexed copy of the Workers, Activities and TaskQueues of a Workspace. Call
+	 * {@link WorkspaceMirror#start()} to load it and keep it current. Use {@link WorkspaceMirror.Builder} for more
+	 * options.
+	 *
+	 * @param workspaceSid the workspace sid
+	 * @return the mirror
+	 */
+	public WorkspaceMirror getWorkspaceMirror(final String workspaceSid) {
+		return new WorkspaceMirror.Builder(this, workspaceSid).build();
+	}
+
+	/**
+	 * Move many {@link com.twilio.sdk.resource.instance.taskrouter.Worker}s to an Activity, with bounded
+	 * concurrency and a rate that adapts to 429 Too Many Requests responses. Use
+	 * {@link WorkerActivityTransition.Builder} for more options.
+	 *
+	 * @param workspaceSid the workspace sid
+	 * @param workerSids the sids of the workers
+	 * @param activitySid the sid of the activity to move them to
+	 * @return the workers moved and the failures of the rest
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public WorkerActivityTransition.Report transitionWorkers(final String workspaceSid,
+	                                                         final Collection<String> workerSids,
+	                                                         final String activitySid) throws InterruptedException {
+		return new WorkerActivityTransition.Builder(this, workspaceSid, activitySid).build().run(workerSids);
+	}
+
 	/**
 	 * Create a {@link com.twilio.sdk.resource.instance.taskrouter.Worker}.
 	 *
@@ -306,6 +375,31 @@ public class TwilioTaskRouterClient extends TwilioClient {
         return list;
     }
 
+    /**
+     * Get an event tailer that delivers new events of a workspace to a listener.
+     * The tailer keeps its checkpoint in memory; use {@link EventTailer.Builder} for more options.
+     *
+     * @param workspaceSid the workspace sid
+     * @param listener the listener receiving the events
+     * @return the tailer, not yet started
+     */
+    public EventTailer getEventTailer(final String workspaceSid, final EventTailer.Listener listener) {
+        return new EventTailer.Builder(this, workspaceSid).listener(listener).build();
+    }
+
+    /**
+     * Get an event tailer that delivers new events of a workspace to a listener.
+     *
+     * @param workspaceSid the workspace sid
+     * @param listener the listener receiving the events
+     * @param checkpointStore the store the tailer resumes from and saves its checkpoint to
+     * @return the tailer, not yet started
+     */
+    public EventTailer getEventTailer(final String workspaceSid, final EventTailer.Listener listener,
+                                      final CheckpointStore checkpointStore) {
+        return new EventTailer.Builder(this, workspaceSid).listener(listener).checkpointStore(checkpointStore).build();
+    }
+
 	/**
 	 * Get a reservation instance by sid.
 	 *
@@ -639,4 +733,29 @@ public class TwilioTaskRouterClient extends TwilioClient {
 		return workspaceStatistics;
 	}
 
+	/**
+	 * Take a snapshot of the statistics of every task queue, of the workers and of the workspace.
+	 *
+	 * @param workspaceSid the workspace sid
+	 * @return the snapshot
+	 * @throws TwilioRestException if any of the statistics could not be fetched
+	 */
+	public WorkspaceSnapshot getWorkspaceSnapshot(final String workspaceSid) throws TwilioRestException {
+		return WorkspaceSnapshot.take(this, workspaceSid);
+	}
+
+	/**
+	 * Take a snapshot of the statistics of every task queue, of the workers and of the workspace.
+	 *
+	 * @param workspaceSid the workspace sid
+	 * @param filters statistics filters such as Minutes or StartDate, or null
+	 * @param executor the executor to fetch the statistics concurrently with, or null for temporary threads
+	 * @return the snapshot
+	 * @throws TwilioRestException if any of the statistics could not be fetched
+	 */
+	public WorkspaceSnapshot getWorkspaceSnapshot(final String workspaceSid, final Map<String, String> filters,
+	                                              final ExecutorService executor) throws TwilioRestException {
+		return WorkspaceSnapshot.take(this, workspaceSid, filters, executor);
+	}
+
 }
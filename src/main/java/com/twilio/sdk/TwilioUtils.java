@@ -66,24 +66,8 @@ public class TwilioUtils {
 	        Mac mac = Mac.getInstance("HmacSHA1");
 	        mac.init(signingKey);
 	
-	        //sort the params alphabetically, and append the key and value of each to the url
-	        StringBuffer data = new StringBuffer(url);
-	        if (params != null) {
-	            List<String> sortedKeys = new ArrayList<String>( params.keySet());
-	            Collections.sort(sortedKeys);
-	
-	            for (String s: sortedKeys) {
-	                data.append(s);
-	                String v = "";
-	                if (params.get(s) != null) {
-	                    v = params.get(s);
-	                }
-	                data.append(v);
-	            }
-	        }
-	
 	        //compute the hmac on input data bytes
-	        byte[] rawHmac = mac.doFinal(data.toString().getBytes("UTF-8"));
+	        byte[] rawHmac = mac.doFinal(buildValidationData(url, params).getBytes("UTF-8"));
 	
 	        //base64-encode the hmac
 	        String signature = new String(Base64.encodeBase64(rawHmac));
@@ -98,6 +82,27 @@ public class TwilioUtils {
         }
     }
 
+    /**
+     * Build the string that Twilio signs for a webhook request: the full url
+     * followed by each POST parameter name and value, sorted by name.
+     */
+    static String buildValidationData(String url, Map<String,String> params) {
+        StringBuilder data = new StringBuilder(url);
+        if (params != null) {
+            List<String> sortedKeys = new ArrayList<String>(params.keySet());
+            Collections.sort(sortedKeys);
+
+            for (String s: sortedKeys) {
+                data.append(s);
+                String v = params.get(s);
+                if (v != null) {
+                    data.append(v);
+                }
+            }
+        }
+        return data.toString();
+    }
+
     /**
      * Securely compare two strings, using constant time to avoid timing
      * attacks.  We can't use MessageDigest.isEqual because it didn't do
@@ -0,0 +1,257 @@
+package com.twilio.sdk;
+
+import org.apache.commons.codec.binary.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Validates Twilio webhook signatures for many accounts at once.
+ *
+ * Each account SID maps to one or more active auth tokens, newest first. The
+ * HMAC key for every token is derived once when the token is registered, so
+ * validating a request only builds the signed data once and then checks it
+ * against each active token in turn. Rotating a token swaps in a new immutable
+ * key set, so validations running concurrently with a rotation always see
+ * either the old or the new set and are never locked out.
+ *
+ * <pre>
+ * WebhookValidatorRegistry registry = new WebhookValidatorRegistry();
+ * registry.register(accountSid, authToken);
+ * ...
+ * registry.rotate(accountSid, newAuthToken); // old token stays valid
+ * ...
+ * registry.retirePrevious(accountSid);       // only the new token is valid
+ * </pre>
+ */
+public class WebhookValidatorRegistry {
+
+	private static final String ALGORITHM = "HmacSHA1";
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	/** The default number of tokens kept active per account: current and previous. */
+	public static final int DEFAULT_MAX_ACTIVE_TOKENS = 2;
+
+	private final int maxActiveTokens;
+
+	private final ConcurrentMap<String, SigningKey[]> keys = new ConcurrentHashMap<String, SigningKey[]>();
+
+	/**
+	 * Create a registry that keeps the current and previous token active for
+	 * every account.
+	 */
+	public WebhookValidatorRegistry() {
+		this(DEFAULT_MAX_ACTIVE_TOKENS);
+	}
+
+	/**
+	 * Create a registry that keeps up to maxActiveTokens tokens active for
+	 * every account.
+	 *
+	 * @param maxActiveTokens the number of tokens, newest first, that are accepted per account
+	 */
+	public WebhookValidatorRegistry(final int maxActiveTokens) {
+		if (maxActiveTokens < 1) {
+			throw new IllegalArgumentException("maxActiveTokens must be at least 1");
+		}
+		this.maxActiveTokens = maxActiveTokens;
+	}
+
+	/**
+	 * Register an account with a single active token, replacing any tokens
+	 * previously registered for it.
+	 *
+	 * @param accountSid the account the webhook requests are sent for
+	 * @param authToken the auth token Twilio signs the requests with
+	 */
+	public void register(final String accountSid, final String authToken) {
+		checkAccountSid(accountSid);
+		keys.put(accountSid, new SigningKey[] { new SigningKey(authToken) });
+	}
+
+	/**
+	 * Make newAuthToken the current token for the account. The previously
+	 * current tokens stay valid, up to the configured number of active tokens,
+	 * until they are retired.
+	 *
+	 * @param accountSid the account the webhook requests are sent for
+	 * @param newAuthToken the new auth token
+	 */
+	public void rotate(final String accountSid, final String newAuthToken) {
+		checkAccountSid(accountSid);
+		SigningKey key = new SigningKey(newAuthToken);
+
+		while (true) {
+			SigningKey[] current = keys.get(accountSid);
+			if (current == null) {
+				if (keys.putIfAbsent(accountSid, new SigningKey[] { key }) == null) {
+					return;
+				}
+				continue;
+			}
+
+			int size = 1;
+			SigningKey[] rotated = new SigningKey[Math.min(current.length + 1, maxActiveTokens)];
+			rotated[0] = key;
+			for (int i = 0; i < current.length && size < rotated.length; i++) {
+				if (!current[i].token.equals(newAuthToken)) {
+					rotated[size++] = current[i];
+				}
+			}
+			if (size < rotated.length) {
+				SigningKey[] trimmed = new SigningKey[size];
+				System.arraycopy(rotated, 0, trimmed, 0, size);
+				rotated = trimmed;
+			}
+
+			if (keys.replace(accountSid, current, rotated)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Stop accepting every token for the account except the current one.
+	 *
+	 * @param accountSid the account to retire tokens for
+	 */
+	public void retirePrevious(final String accountSid) {
+		while (true) {
+			SigningKey[] current = keys.get(accountSid);
+			if (current == null || current.length == 1) {
+				return;
+			}
+			if (keys.replace(accountSid, current, new SigningKey[] { current[0] })) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Stop accepting requests for the account.
+	 *
+	 * @param accountSid the account to remove
+	 */
+	public void remove(final String accountSid) {
+		keys.remove(accountSid);
+	}
+
+	/**
+	 * Check whether any tokens are registered for the account.
+	 *
+	 * @param accountSid the account to look up
+	 * @return true if requests for the account can be validated
+	 */
+	public boolean isRegistered(final String accountSid) {
+		return keys.containsKey(accountSid);
+	}
+
+	/**
+	 * Get the number of tokens currently accepted for the account.
+	 *
+	 * @param accountSid the account to look up
+	 * @return the number of active tokens, or 0 if the account is not registered
+	 */
+	public int getActiveTokenCount(final String accountSid) {
+		SigningKey[] current = keys.get(accountSid);
+		return current == null ? 0 : current.length;
+	}
+
+	/**
+	 * Validate a webhook request against every active token of the account.
+	 *
+	 * @param accountSid the AccountSid parameter of the request
+	 * @param expectedSignature the value of the X-Twilio-Signature header
+	 * @param url the full url Twilio requested, including the query string
+	 * @param params the POST parameters of the request
+	 * @return true if the signature matches any active token of the account
+	 */
+	public boolean validateRequest(final String accountSid, final String expectedSignature, final String url,
+	                               final Map<String, String> params) {
+		if (accountSid == null || expectedSignature == null) {
+			return false;
+		}
+
+		SigningKey[] active = keys.get(accountSid);
+		if (active == null) {
+			return false;
+		}
+
+		byte[] data = TwilioUtils.buildValidationData(url, params).getBytes(UTF_8);
+		boolean valid = false;
+		for (final SigningKey key : active) {
+			// check every key so the time taken doesn't reveal which token matched
+			valid |= TwilioUtils.secureCompare(key.sign(data), expectedSignature);
+		}
+		return valid;
+	}
+
+	private static void checkAccountSid(final String accountSid) {
+		if (accountSid == null) {
+			throw new IllegalArgumentException("accountSid is required");
+		}
+	}
+
+	/**
+	 * Key material for a single auth token. The initialized Mac is kept as a
+	 * prototype and cloned for each signature, which skips the key schedule.
+	 */
+	private static final class SigningKey {
+
+		private final String token;
+
+		private final SecretKeySpec keySpec;
+
+		private final Mac prototype;
+
+		private final boolean cloneable;
+
+		private SigningKey(final String token) {
+			if (token == null) {
+				throw new IllegalArgumentException("authToken is required");
+			}
+			this.token = token;
+			this.keySpec = new SecretKeySpec(token.getBytes(UTF_8), ALGORITHM);
+			this.prototype = newMac();
+
+			boolean canClone;
+			try {
+				prototype.clone();
+				canClone = true;
+			} catch (final CloneNotSupportedException e) {
+				canClone = false;
+			}
+			this.cloneable = canClone;
+		}
+
+		private Mac newMac() {
+			try {
+				Mac mac = Mac.getInstance(ALGORITHM);
+				mac.init(keySpec);
+				return mac;
+			} catch (final GeneralSecurityException e) {
+				throw new IllegalStateException("Unable to initialize " + ALGORITHM, e);
+			}
+		}
+
+		private String sign(final byte[] data) {
+			Mac mac;
+			if (cloneable) {
+				try {
+					mac = (Mac) prototype.clone();
+				} catch (final CloneNotSupportedException e) {
+					mac = newMac();
+				}
+			} else {
+				mac = newMac();
+			}
+			return new String(Base64.encodeBase64(mac.doFinal(data)), UTF_8);
+		}
+	}
+}
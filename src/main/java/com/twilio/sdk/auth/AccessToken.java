@@ -1,15 +1,14 @@
 package com.twilio.sdk.auth;
 
-import io.jsonwebtoken.JwtBuilder;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import com.twilio.sdk.TokenSigner;
+import org.codehaus.jackson.map.ObjectMapper;
 
-import java.nio.charset.Charset;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -23,6 +22,8 @@ import java.util.Set;
  */
 public class AccessToken {
 
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
 	private final String accountSid;
 	private final String keySid;
 	private final String secret;
@@ -47,12 +48,8 @@ public class AccessToken {
 	}
 
 	public String toJWT() {
-		Map<String, Object> headers = new HashMap<String, Object>();
-		headers.put("typ", "JWT");
-		headers.put("cty", "twilio-fpa;v=1");
-
-		Date now = new Date();
-		int timestamp = (int)(Math.floor(now.getTime() / 1000.0f));
+		long now = System.currentTimeMillis();
+		int timestamp = (int)(Math.floor(now / 1000.0f));
 		Map<String, Object> grantPayload = new HashMap<String, Object>();
 
 		if (this.identity != null) {
@@ -63,21 +60,23 @@ public class AccessToken {
 			grantPayload.put(grant.getGrantKey(), grant.getPayload());
 		}
 
-		JwtBuilder builder =
-			Jwts.builder()
-				.signWith(SignatureAlgorithm.HS256, secret.getBytes(Charset.forName("UTF-8")))
-				.setHeaderParams(headers)
-				.setId(this.keySid + "-" + timestamp)
-				.setIssuer(this.keySid)
-				.setSubject(this.accountSid)
-				.setExpiration(new Date(now.getTime() + ttl * 1000))
-				.claim("grants", grantPayload);
+		Map<String, Object> claims = new LinkedHashMap<String, Object>();
+		claims.put("jti", this.keySid + "-" + timestamp);
+		claims.put("iss", this.keySid);
+		claims.put("sub", this.accountSid);
+		claims.put("exp", (now + ttl * 1000L) / 1000L);
+		claims.put("grants", grantPayload);
 
 		if (this.nbf != null) {
-			builder.setNotBefore(new Date((long)this.nbf * 1000));
+			claims.put("nbf", this.nbf);
 		}
 
-		return builder.compact();
+		try {
+			return TokenSigner.getInstance(secret, TokenSigner.ACCESS_TOKEN_HEADER)
+				.sign(MAPPER.writeValueAsBytes(claims));
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to serialize access token claims", e);
+		}
 	}
 
 	/** Builder used to construct a Access Token */
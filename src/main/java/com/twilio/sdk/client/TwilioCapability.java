@@ -1,5 +1,6 @@
 package com.twilio.sdk.client;
 
+import com.twilio.sdk.TokenCache;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.UnsupportedEncodingException;
@@ -9,12 +10,21 @@ import java.util.*;
 /**
  * This class represents a token that will grant someone access to resources
  * within Twilio.
+ *
+ * Capabilities configured through the allowXXXX methods are mutable and must
+ * not be shared between threads. Capabilities created with a {@link Builder}
+ * are immutable: their scope string is computed once, and they can generate
+ * any number of tokens concurrently.
  */
 public class TwilioCapability extends com.twilio.sdk.CapabilityToken {
 
-	private String accountSid;
-	private String authToken;
-	private List<String> scopes;
+	private final String accountSid;
+	private final String authToken;
+	private final List<String> scopes;
+
+	// Canonical scope string of a capability created by a Builder, null if
+	// this capability is still mutable
+	private final String scope;
 
 	// Default Data
 	// private String defaultClientName = null;
@@ -44,7 +54,14 @@ public class TwilioCapability extends com.twilio.sdk.CapabilityToken {
 		this.accountSid = accountSid;
 		this.authToken = authToken;
 		this.scopes = new ArrayList<String>();
+		this.scope = null;
+	}
 
+	private TwilioCapability(TwilioCapability source) {
+		this.accountSid = source.accountSid;
+		this.authToken = source.authToken;
+		this.scopes = Collections.emptyList();
+		this.scope = StringUtils.join(new TreeSet<String>(source.buildScopes()), ' ');
 	}
 
 	private String buildScopeString(String serivce, String priviledge,
@@ -87,6 +104,7 @@ public class TwilioCapability extends com.twilio.sdk.CapabilityToken {
 	 *            overwrite.
 	 */
 	public void allowClientOutgoing(String appSid, Map<String, String> params) {
+		checkMutable();
 		this.buildOutgoingScope = true;
 		this.outgoingParams = params;
 		this.appSid = appSid;
@@ -143,6 +161,7 @@ public class TwilioCapability extends com.twilio.sdk.CapabilityToken {
 	 * @param clientName
 	 */
 	public void allowClientIncoming(String clientName) {
+		checkMutable();
 		// Save the default client name
 		this.incomingClientName = clientName;
 		this.buildIncomingScope = true;
@@ -155,6 +174,7 @@ public class TwilioCapability extends com.twilio.sdk.CapabilityToken {
 	 *            key/value filters to apply to the event stream
 	 */
 	public void allowEventStream(Map<String, String> filters) {
+		checkMutable();
 		Map<String, String> value = new LinkedHashMap<String, String>();
 		value.put("path", "/2010-04-01/Events");
 		if (filters != null) {
@@ -188,23 +208,63 @@ public class TwilioCapability extends com.twilio.sdk.CapabilityToken {
 
 		// Build these scopes lazily when we generate tokens so we know
 		// if we have a default or incoming client name to use
-		buildIncomingScope();
-		buildOutgoingScope();
+		List<String> tokenScopes = this.scope != null
+				? Collections.singletonList(this.scope)
+				: buildScopes();
+
+		TokenCache cache = getTokenCache();
+		String cacheKey = null;
+		if (cache != null) {
+			cacheKey = tokenCacheKey(getSigner(this.authToken), ttl, this.accountSid,
+					new TreeSet<String>(tokenScopes));
+			String cached = cache.get(cacheKey);
+			if (cached != null) {
+				return cached;
+			}
+		}
 
 		try {
+			long expires = ((new Date()).getTime() / 1000) + ttl;
 			Map<String, Object> payload = new LinkedHashMap<String, Object>();
 			payload.put("iss", this.accountSid);
-			payload.put("exp", String.valueOf(((new Date()).getTime() / 1000) + ttl));
-			payload.put("scope", StringUtils.join(this.scopes, ' '));
+			payload.put("exp", String.valueOf(expires));
+			payload.put("scope", StringUtils.join(tokenScopes, ' '));
 
-			return jwtEncode(payload, this.authToken);
+			String token = jwtEncode(payload, getSigner(this.authToken));
+			if (cache != null) {
+				cache.put(cacheKey, token, expires);
+			}
+			return token;
 		} catch (Exception e) {
 			e.printStackTrace();
 			throw new DomainException(e);
 		}
 	}
 
-	private void buildOutgoingScope() {
+	/**
+	 * Get the scope string embedded in the tokens of an immutable capability.
+	 *
+	 * @return the canonical scope string, or null if this capability was not
+	 *         created by a {@link Builder}
+	 */
+	public String getScope() {
+		return this.scope;
+	}
+
+	private void checkMutable() {
+		if (this.scope != null) {
+			throw new UnsupportedOperationException("Capabilities created by a Builder are immutable");
+		}
+	}
+
+	private List<String> buildScopes() {
+		List<String> allScopes = new ArrayList<String>(this.scopes);
+		buildIncomingScope(allScopes);
+		buildOutgoingScope(allScopes);
+		return allScopes;
+	}
+
+	private void buildOutgoingScope(List<String> scopes) {
 		if (this.buildOutgoingScope) {
 			Map<String, String> values = new HashMap<String, String>();
 
@@ -225,12 +285,11 @@ public class TwilioCapability extends com.twilio.sdk.CapabilityToken {
 				values.put("appParams", paramsJoined);
 			}
 
-			this.scopes
-					.add(this.buildScopeString("client", "outgoing", values));
+			scopes.add(this.buildScopeString("client", "outgoing", values));
 		}
 	}
 
-	private void buildIncomingScope() {
+	private void buildIncomingScope(List<String> scopes) {
 		if (this.buildIncomingScope) {
 			Map<String, String> value = new LinkedHashMap<String, String>();
 
@@ -242,7 +301,72 @@ public class TwilioCapability extends com.twilio.sdk.CapabilityToken {
 				throw new IllegalStateException("No client name set");
 			}
 
-			this.scopes.add(this.buildScopeString("client", "incoming", value));
+			scopes.add(this.buildScopeString("client", "incoming", value));
+		}
+	}
+
+	/**
+	 * Builds immutable capabilities that can be shared between threads.
+	 *
+	 * <pre>
+	 * TwilioCapability capability = new TwilioCapability.Builder(accountSid, authToken)
+	 *     .allowClientIncoming("alice")
+	 *     .allowClientOutgoing(appSid)
+	 *     .build();
+	 * </pre>
+	 */
+	public static class Builder {
+		private final TwilioCapability capability;
+
+		/**
+		 * @param accountSid
+		 *            the account sid to which the tokens are granted access
+		 * @param authToken
+		 *            the secret key used to sign the tokens
+		 */
+		public Builder(String accountSid, String authToken) {
+			this.capability = new TwilioCapability(accountSid, authToken);
+		}
+
+		/**
+		 * @see TwilioCapability#allowClientOutgoing(String)
+		 */
+		public Builder allowClientOutgoing(String appSid) {
+			this.capability.allowClientOutgoing(appSid);
+			return this;
+		}
+
+		/**
+		 * @see TwilioCapability#allowClientOutgoing(String, Map)
+		 */
+		public Builder allowClientOutgoing(String appSid, Map<String, String> params) {
+			this.capability.allowClientOutgoing(appSid, params);
+			return this;
+		}
+
+		/**
+		 * @see TwilioCapability#allowClientIncoming(String)
+		 */
+		public Builder allowClientIncoming(String clientName) {
+			this.capability.allowClientIncoming(clientName);
+			return this;
+		}
+
+		/**
+		 * @see TwilioCapability#allowEventStream(Map)
+		 */
+		public Builder allowEventStream(Map<String, String> filters) {
+			this.capability.allowEventStream(filters);
+			return this;
+		}
+
+		/**
+		 * Compute the scope string and create an immutable capability.
+		 *
+		 * @return a capability that can generate tokens concurrently
+		 */
+		public TwilioCapability build() {
+			return new TwilioCapability(this.capability);
 		}
 	}
 
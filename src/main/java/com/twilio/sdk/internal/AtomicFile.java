@@ -0,0 +1,64 @@
+package com.twilio.sdk.internal;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Replaces files by writing a temporary file beside them and renaming it over
+ * the original, so a reader, or a process restarted after a crash, sees either
+ * the old contents or the new ones and never a partial write. The temporary
+ * file is synced to disk before it is renamed.
+ *
+ * For use within the SDK only; this is not part of its public API.
+ */
+public final class AtomicFile {
+
+	/**
+	 * Writes the new contents of a file.
+	 */
+	public interface Contents {
+
+		/**
+		 * @param out the stream to write to; closed by the caller
+		 * @throws IOException if the contents could not be written
+		 */
+		void writeTo(OutputStream out) throws IOException;
+	}
+
+	private AtomicFile() {
+	}
+
+	/**
+	 * Replace a file, or create it if it does not exist.
+	 *
+	 * @param file the file
+	 * @param contents writes the new contents
+	 * @throws IOException if the file could not be written or replaced
+	 */
+	public static void replace(final File file, final Contents contents) throws IOException {
+		// unique, so concurrent replacements of the same file do not write over each other
+		File temp = File.createTempFile("." + file.getName() + "-", ".tmp", file.getAbsoluteFile().getParentFile());
+		FileOutputStream out = new FileOutputStream(temp);
+		boolean written = false;
+		try {
+			contents.writeTo(out);
+			// on disk before the rename, so a crash cannot leave a renamed but empty file
+			out.getFD().sync();
+			written = true;
+		} finally {
+			out.close();
+			if (!written) {
+				temp.delete();
+			}
+		}
+		if (!temp.renameTo(file)) {
+			// renameTo does not replace existing files on every platform
+			if (!file.delete() || !temp.renameTo(file)) {
+				temp.delete();
+				throw new IOException("Could not replace " + file);
+			}
+		}
+	}
+}
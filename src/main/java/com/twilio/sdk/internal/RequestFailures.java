@@ -0,0 +1,71 @@
+package com.twilio.sdk.internal;
+
+import com.twilio.sdk.TwilioRestException;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Classifies the failures of requests made through {@link com.twilio.sdk.TwilioClient}
+ * for the bulk writers, which retry the transient ones, and paces their retries.
+ *
+ * For use within the SDK only; this is not part of its public API.
+ */
+public final class RequestFailures {
+
+	private static final Random RANDOM = new Random();
+
+	private RequestFailures() {
+	}
+
+	/**
+	 * @param e the failure
+	 * @return the HTTP status of a failed request, or 0 if there was no response
+	 */
+	public static int status(final Exception e) {
+		if (e instanceof TwilioRestException) {
+			TwilioRestException rest = (TwilioRestException) e;
+			// safeRequest reports exhausted server errors with the HTTP status as the error code
+			return rest.getStatus() != 0 ? rest.getStatus() : rest.getErrorCode();
+		}
+		return 0;
+	}
+
+	/**
+	 * @param e the failure
+	 * @return true for 429 Too Many Requests
+	 */
+	public static boolean isRateLimited(final Exception e) {
+		return status(e) == 429;
+	}
+
+	/**
+	 * @param e the failure
+	 * @return true for 429, 5xx and I/O failures
+	 */
+	public static boolean isTransient(final Exception e) {
+		if (e instanceof TwilioRestException) {
+			int status = status(e);
+			return status == 429 || status >= 500 && status < 600;
+		}
+		return e instanceof RuntimeException && e.getCause() instanceof IOException;
+	}
+
+	/**
+	 * Wait before a retry, then double the backoff.
+	 *
+	 * The wait is half the backoff plus a random part of up to the other half
+	 * (equal jitter), so retrying threads spread out without ever retrying
+	 * immediately.
+	 *
+	 * @param backoff the current backoff, in milliseconds
+	 * @param maxBackoff the most the backoff may grow to, in milliseconds
+	 * @return the backoff for the next retry
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public static long backoff(final long backoff, final long maxBackoff) throws InterruptedException {
+		long half = backoff / 2;
+		Thread.sleep(half + (long) (RANDOM.nextDouble() * (backoff - half + 1)));
+		return backoff >= maxBackoff / 2 ? maxBackoff : backoff * 2;
+	}
+}
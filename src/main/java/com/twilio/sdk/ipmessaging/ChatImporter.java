@@ -0,0 +1,631 @@
+package com.twilio.sdk.ipmessaging;
+
+import com.twilio.sdk.RateLimiter;
+import com.twilio.sdk.TwilioIPMessagingClient;
+import com.twilio.sdk.TwilioRestException;
+import com.twilio.sdk.TwilioRestResponse;
+import com.twilio.sdk.internal.AtomicFile;
+import com.twilio.sdk.internal.RequestFailures;
+import com.twilio.sdk.resource.instance.ipmessaging.Channel;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Imports channels, members and messages into an IP Messaging Service, e.g. to
+ * migrate chat history.
+ *
+ * Records are read from a stream and routed to a fixed number of lanes by
+ * channel. Each lane makes its requests one at a time, so the records of a
+ * channel, and so its messages, are created in stream order while different
+ * channels are imported in parallel. Channels are looked up by UniqueName and
+ * created on their first record if they do not exist.
+ *
+ * Progress is checkpointed as the number of records of each channel that
+ * completed, and saved to a {@link ProgressStore} every checkpoint interval
+ * and at the end. Running the same stream again skips what a previous run
+ * completed, so an import that failed or was interrupted resumes where it
+ * stopped. If the process dies, the records completed since the last save and
+ * those in flight are imported again: at most the checkpoint interval plus the
+ * concurrency, 18 records with the defaults. Lower the interval to tighten the
+ * bound at the cost of more saves. A record that fails, other than by rate
+ * limiting, stops the import of its channel, whose remaining records are
+ * skipped until the next run.
+ *
+ * <pre>
+ * ChatImporter importer = new ChatImporter.Builder(client, serviceSid)
+ *     .progressStore(new ChatImporter.FileProgressStore(new File("import.progress")))
+ *     .build();
+ * ChatImporter.Report report = importer.run(records);
+ * </pre>
+ */
+public class ChatImporter {
+
+	/**
+	 * Persists the progress of an import.
+	 */
+	public interface ProgressStore {
+
+		/**
+		 * @return the number of completed records by channel UniqueName, empty if there is none
+		 * @throws IOException if the progress could not be read
+		 */
+		Map<String, Long> load() throws IOException;
+
+		/**
+		 * @param progress the number of completed records by channel UniqueName
+		 * @throws IOException if the progress could not be written
+		 */
+		void save(Map<String, Long> progress) throws IOException;
+	}
+
+	/**
+	 * Keeps the progress in memory only, e.g. to resume within one process.
+	 */
+	public static class MemoryProgressStore implements ProgressStore {
+		private volatile Map<String, Long> progress = Collections.emptyMap();
+
+		public Map<String, Long> load() {
+			return progress;
+		}
+
+		public void save(final Map<String, Long> progress) {
+			this.progress = Collections.unmodifiableMap(new HashMap<String, Long>(progress));
+		}
+	}
+
+	/**
+	 * Keeps the progress in a properties file, replaced atomically on every save.
+	 */
+	public static class FileProgressStore implements ProgressStore {
+		private final File file;
+
+		/**
+		 * @param file the progress file, created on the first save
+		 */
+		public FileProgressStore(final File file) {
+			this.file = file;
+		}
+
+		public Map<String, Long> load() throws IOException {
+			Map<String, Long> progress = new HashMap<String, Long>();
+			if (!file.exists()) {
+				return progress;
+			}
+			Properties properties = new Properties();
+			InputStream in = new FileInputStream(file);
+			try {
+				properties.load(in);
+			} finally {
+				in.close();
+			}
+			for (final String channel : properties.stringPropertyNames()) {
+				try {
+					progress.put(channel, Long.valueOf(properties.getProperty(channel)));
+				} catch (final NumberFormatException e) {
+					throw new IOException("Invalid progress in " + file + " for " + channel);
+				}
+			}
+			return progress;
+		}
+
+		public void save(final Map<String, Long> progress) throws IOException {
+			final Properties properties = new Properties();
+			for (final Map.Entry<String, Long> entry : progress.entrySet()) {
+				properties.setProperty(entry.getKey(), entry.getValue().toString());
+			}
+
+			AtomicFile.replace(file, new AtomicFile.Contents() {
+				public void writeTo(final OutputStream out) throws IOException {
+					properties.store(out, null);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Configures a {@link ChatImporter}.
+	 */
+	public static class Builder {
+		private final TwilioIPMessagingClient client;
+		private final String serviceSid;
+		private ProgressStore progressStore = new MemoryProgressStore();
+		private int concurrency = 8;
+		private int laneCapacity = 1000;
+		private int checkpointInterval = 10;
+		private double ratePerSecond = 0;
+		private int maxRetries = 5;
+		private long initialBackoff = 250L;
+		private long maxBackoff = 10000L;
+		private boolean scanChannels = true;
+
+		/**
+		 * @param client the client
+		 * @param serviceSid the sid of the Service to import into
+		 */
+		public Builder(final TwilioIPMessagingClient client, final String serviceSid) {
+			if (StringUtils.isBlank(serviceSid)) {
+				throw new IllegalArgumentException("The serviceSid for a ChatImporter cannot be null");
+			}
+			this.client = client;
+			this.serviceSid = serviceSid;
+		}
+
+		/**
+		 * Persist progress in a store; defaults to memory.
+		 */
+		public Builder progressStore(final ProgressStore progressStore) {
+			this.progressStore = progressStore;
+			return this;
+		}
+
+		/**
+		 * Number of lanes, and so of requests in flight at once; defaults to 8.
+		 * The client's connection pool allows 10 connections per host.
+		 */
+		public Builder concurrency(final int concurrency) {
+			this.concurrency = concurrency;
+			return this;
+		}
+
+		/**
+		 * Number of records waiting in each lane before reading the stream pauses; defaults to 1000.
+		 */
+		public Builder laneCapacity(final int laneCapacity) {
+			this.laneCapacity = laneCapacity;
+			return this;
+		}
+
+		/**
+		 * Number of completed records between progress saves; defaults to 10. After a crash, up to
+		 * this many completed records, plus those in flight, are imported again.
+		 */
+		public Builder checkpointInterval(final int checkpointInterval) {
+			this.checkpointInterval = checkpointInterval;
+			return this;
+		}
+
+		/**
+		 * Maximum requests per second across all lanes, or 0 for no limit; defaults to 0.
+		 */
+		public Builder ratePerSecond(final double ratePerSecond) {
+			this.ratePerSecond = ratePerSecond;
+			return this;
+		}
+
+		/**
+		 * Number of retries of a request refused with 429 Too Many Requests; defaults to 5.
+		 * A request that fails with a server error or no response is not retried, as it may
+		 * have been applied; its record fails.
+		 */
+		public Builder maxRetries(final int maxRetries) {
+			this.maxRetries = maxRetries;
+			return this;
+		}
+
+		/**
+		 * Backoff before the first retry, doubled for each further retry up to max; defaults to 250ms and 10s.
+		 */
+		public Builder backoff(final long initial, final long max, final TimeUnit unit) {
+			this.initialBackoff = unit.toMillis(initial);
+			this.maxBackoff = unit.toMillis(max);
+			return this;
+		}
+
+		/**
+		 * Whether to list the Service's channels before importing, to find those
+		 * that exist by UniqueName; defaults to true. Only disable it when every
+		 * channel of the stream is new.
+		 */
+		public Builder scanChannels(final boolean scanChannels) {
+			this.scanChannels = scanChannels;
+			return this;
+		}
+
+		/**
+		 * @return the importer, ready to {@link ChatImporter#run(Iterator)}
+		 */
+		public ChatImporter build() {
+			if (progressStore == null || concurrency < 1 || laneCapacity < 1 || checkpointInterval < 1
+					|| ratePerSecond < 0 || maxRetries < 0 || initialBackoff < 0 || maxBackoff < initialBackoff) {
+				throw new IllegalStateException("Invalid progress store, concurrency, capacity, interval, rate, "
+						+ "retries or backoff");
+			}
+			return new ChatImporter(this);
+		}
+	}
+
+	/**
+	 * The outcome of an import.
+	 */
+	public static final class Report {
+		private final long channelsCreated;
+		private final long membersCreated;
+		private final long messagesCreated;
+		private final long resumed;
+		private final long skipped;
+		private final long retries;
+		private final Map<String, Exception> failures;
+		private final long elapsedMillis;
+
+		private Report(final long channelsCreated, final long membersCreated, final long messagesCreated,
+		               final long resumed, final long skipped, final long retries,
+		               final Map<String, Exception> failures, final long elapsedMillis) {
+			this.channelsCreated = channelsCreated;
+			this.membersCreated = membersCreated;
+			this.messagesCreated = messagesCreated;
+			this.resumed = resumed;
+			this.skipped = skipped;
+			this.retries = retries;
+			this.failures = Collections.unmodifiableMap(failures);
+			this.elapsedMillis = elapsedMillis;
+		}
+
+		/**
+		 * @return the number of channels created
+		 */
+		public long getChannelsCreated() {
+			return channelsCreated;
+		}
+
+		/**
+		 * @return the number of members added
+		 */
+		public long getMembersCreated() {
+			return membersCreated;
+		}
+
+		/**
+		 * @return the number of messages posted
+		 */
+		public long getMessagesCreated() {
+			return messagesCreated;
+		}
+
+		/**
+		 * @return the number of records skipped because a previous run completed them
+		 */
+		public long getResumedCount() {
+			return resumed;
+		}
+
+		/**
+		 * @return the number of records not imported because an earlier record of their channel failed
+		 */
+		public long getSkippedCount() {
+			return skipped;
+		}
+
+		/**
+		 * @return the number of retried requests
+		 */
+		public long getRetryCount() {
+			return retries;
+		}
+
+		/**
+		 * @return the failure that stopped each channel, by channel UniqueName
+		 */
+		public Map<String, Exception> getFailures() {
+			return failures;
+		}
+
+		/**
+		 * @return true if every record was imported
+		 */
+		public boolean isComplete() {
+			return failures.isEmpty();
+		}
+
+		/**
+		 * @return the duration of the import in milliseconds
+		 */
+		public long getElapsedMillis() {
+			return elapsedMillis;
+		}
+
+		@Override
+		public String toString() {
+			return "channels=" + channelsCreated + " members=" + membersCreated + " messages=" + messagesCreated
+					+ " resumed=" + resumed + " skipped=" + skipped + " failedChannels=" + failures.size()
+					+ " elapsed=" + elapsedMillis + "ms";
+		}
+	}
+
+	/**
+	 * A record and its position among the records of its channel.
+	 */
+	private static final class Item {
+		private final ImportRecord record;
+		private final long sequence;
+
+		private Item(final ImportRecord record, final long sequence) {
+			this.record = record;
+			this.sequence = sequence;
+		}
+	}
+
+	private static final Item END = new Item(null, 0);
+
+	private final TwilioIPMessagingClient client;
+	private final String serviceSid;
+	private final ProgressStore progressStore;
+	private final int concurrency;
+	private final int laneCapacity;
+	private final int checkpointInterval;
+	private final double ratePerSecond;
+	private final int maxRetries;
+	private final long initialBackoff;
+	private final long maxBackoff;
+	private final boolean scanChannels;
+
+	private ChatImporter(final Builder builder) {
+		this.client = builder.client;
+		this.serviceSid = builder.serviceSid;
+		this.progressStore = builder.progressStore;
+		this.concurrency = builder.concurrency;
+		this.laneCapacity = builder.laneCapacity;
+		this.checkpointInterval = builder.checkpointInterval;
+		this.ratePerSecond = builder.ratePerSecond;
+		this.maxRetries = builder.maxRetries;
+		this.initialBackoff = builder.initialBackoff;
+		this.maxBackoff = builder.maxBackoff;
+		this.scanChannels = builder.scanChannels;
+	}
+
+	/**
+	 * Import records and wait until every record has been imported or skipped.
+	 * To resume an import, run the same records again, in the same order per channel.
+	 *
+	 * @param records the records
+	 * @return the report
+	 * @throws TwilioRestException if the Service's channels could not be listed
+	 * @throws IOException if the progress could not be loaded or saved
+	 * @throws InterruptedException if interrupted; progress made so far is saved
+	 */
+	public Report run(final Iterator<ImportRecord> records)
+			throws TwilioRestException, IOException, InterruptedException {
+		return new Run().execute(records);
+	}
+
+	/**
+	 * The state of one {@link #run(Iterator)}.
+	 */
+	private final class Run {
+		private final Map<String, String> channelSids = new ConcurrentHashMap<String, String>();
+		private final Map<String, Long> progress = new ConcurrentHashMap<String, Long>();
+		private final Map<String, Exception> failures = new ConcurrentHashMap<String, Exception>();
+		private final RateLimiter rateLimiter = ratePerSecond > 0 ? new RateLimiter(ratePerSecond) : null;
+		private final AtomicLong channelsCreated = new AtomicLong();
+		private final AtomicLong membersCreated = new AtomicLong();
+		private final AtomicLong messagesCreated = new AtomicLong();
+		private final AtomicLong skipped = new AtomicLong();
+		private final AtomicLong retries = new AtomicLong();
+		private final AtomicLong completed = new AtomicLong();
+		private volatile IOException saveError;
+
+		private Report execute(final Iterator<ImportRecord> records)
+				throws TwilioRestException, IOException, InterruptedException {
+			long start = System.nanoTime();
+			progress.putAll(progressStore.load());
+			if (scanChannels) {
+				scan();
+			}
+
+			final CountDownLatch done = new CountDownLatch(concurrency);
+			final AtomicInteger threadNumber = new AtomicInteger();
+			ExecutorService executor = Executors.newFixedThreadPool(concurrency, new ThreadFactory() {
+				public Thread newThread(final Runnable r) {
+					Thread thread = new Thread(r, "twilio-chat-importer-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			final List<BlockingQueue<Item>> lanes = new ArrayList<BlockingQueue<Item>>(concurrency);
+			for (int i = 0; i < concurrency; i++) {
+				final BlockingQueue<Item> lane = new ArrayBlockingQueue<Item>(laneCapacity);
+				lanes.add(lane);
+				executor.execute(new Runnable() {
+					public void run() {
+						try {
+							drain(lane);
+						} finally {
+							done.countDown();
+						}
+					}
+				});
+			}
+
+			long resumed = 0;
+			try {
+				// the position of each record among the records of its channel
+				Map<String, Long> sequences = new HashMap<String, Long>();
+				while (records.hasNext()) {
+					ImportRecord record = records.next();
+					String channel = record.getChannel();
+					Long previous = sequences.get(channel);
+					long sequence = previous == null ? 1 : previous + 1;
+					sequences.put(channel, sequence);
+
+					Long completedBefore = progress.get(channel);
+					if (completedBefore != null && sequence <= completedBefore) {
+						resumed++;
+						continue;
+					}
+					lanes.get((channel.hashCode() & Integer.MAX_VALUE) % concurrency).put(new Item(record, sequence));
+				}
+				for (final BlockingQueue<Item> lane : lanes) {
+					lane.put(END);
+				}
+				done.await();
+			} finally {
+				executor.shutdownNow();
+				save();
+			}
+			if (saveError != null) {
+				throw saveError;
+			}
+			return new Report(channelsCreated.get(), membersCreated.get(), messagesCreated.get(), resumed,
+			                  skipped.get(), retries.get(), new LinkedHashMap<String, Exception>(failures),
+			                  TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		}
+
+		private void scan() throws TwilioRestException {
+			try {
+				for (final Channel channel : client.getService(serviceSid).getChannels()) {
+					if (channel.getUniqueName() != null) {
+						channelSids.put(channel.getUniqueName(), channel.getSid());
+					}
+				}
+			} catch (final RuntimeException e) {
+				// list iteration wraps request failures
+				if (e.getCause() instanceof TwilioRestException) {
+					throw (TwilioRestException) e.getCause();
+				}
+				throw e;
+			}
+		}
+
+		private void drain(final BlockingQueue<Item> lane) {
+			try {
+				Item item;
+				while ((item = lane.take()) != END) {
+					String channel = item.record.getChannel();
+					if (failures.containsKey(channel)) {
+						skipped.incrementAndGet();
+						continue;
+					}
+					try {
+						apply(item.record);
+					} catch (final InterruptedException e) {
+						return;
+					} catch (final Exception e) {
+						failures.put(channel, e);
+						continue;
+					}
+					progress.put(channel, item.sequence);
+					if (completed.incrementAndGet() % checkpointInterval == 0) {
+						save();
+					}
+				}
+			} catch (final InterruptedException e) {
+				// stopped
+			}
+		}
+
+		private void apply(final ImportRecord record) throws Exception {
+			String channel = record.getChannel();
+			String channelSid = channelSids.get(channel);
+			if (record.getType() == ImportRecord.Type.CHANNEL) {
+				if (channelSid == null) {
+					create(channel, record.getParams());
+				} else if (!record.getParams().isEmpty()) {
+					update(channelSid, record.getParams());
+				}
+				return;
+			}
+
+			if (channelSid == null) {
+				channelSid = create(channel, Collections.<String, String>emptyMap());
+			}
+			String path = "/" + TwilioIPMessagingClient.DEFAULT_VERSION + "/Services/" + serviceSid + "/Channels/"
+					+ channelSid + (record.getType() == ImportRecord.Type.MEMBER ? "/Members" : "/Messages");
+			request(path, record.getParams());
+			if (record.getType() == ImportRecord.Type.MEMBER) {
+				membersCreated.incrementAndGet();
+			} else {
+				messagesCreated.incrementAndGet();
+			}
+		}
+
+		private String create(final String channel, final Map<String, String> params) throws Exception {
+			Map<String, String> createParams = new HashMap<String, String>(params);
+			createParams.put("UniqueName", channel);
+			if (!createParams.containsKey("FriendlyName")) {
+				createParams.put("FriendlyName", channel);
+			}
+			String path = "/" + TwilioIPMessagingClient.DEFAULT_VERSION + "/Services/" + serviceSid + "/Channels";
+			String sid = (String) request(path, createParams).get("sid");
+			channelSids.put(channel, sid);
+			channelsCreated.incrementAndGet();
+			return sid;
+		}
+
+		private void update(final String channelSid, final Map<String, String> params) throws Exception {
+			request("/" + TwilioIPMessagingClient.DEFAULT_VERSION + "/Services/" + serviceSid + "/Channels/"
+					+ channelSid, params);
+		}
+
+		/**
+		 * Make a request, retrying only 429 Too Many Requests, which the server
+		 * refused before acting on it. A create that failed with a server error
+		 * or no response may still have succeeded, so it is not posted again.
+		 */
+		private Map<String, Object> request(final String path, final Map<String, String> params) throws Exception {
+			long backoff = initialBackoff;
+			for (int attempt = 0; ; attempt++) {
+				if (rateLimiter != null) {
+					rateLimiter.acquire();
+				}
+				try {
+					return sendOnce(path, params).toMap();
+				} catch (final TwilioRestException e) {
+					if (attempt < maxRetries && RequestFailures.isRateLimited(e)) {
+						retries.incrementAndGet();
+						backoff = RequestFailures.backoff(backoff, maxBackoff);
+						continue;
+					}
+					throw e;
+				}
+			}
+		}
+
+		/**
+		 * Make a single request. safeRequest would retry server errors itself,
+		 * posting the record again.
+		 */
+		private TwilioRestResponse sendOnce(final String path, final Map<String, String> params)
+				throws TwilioRestException {
+			TwilioRestResponse response = client.request(path, "POST", params);
+			if (response.isClientError()) {
+				throw TwilioRestException.parseResponse(response);
+			} else if (response.isServerError()) {
+				throw new TwilioRestException("Cannot fetch: POST " + path, response.getHttpStatus());
+			}
+			return response;
+		}
+
+		private void save() {
+			synchronized (progressStore) {
+				try {
+					progressStore.save(new HashMap<String, Long>(progress));
+				} catch (final IOException e) {
+					saveError = e;
+				}
+			}
+		}
+	}
+}
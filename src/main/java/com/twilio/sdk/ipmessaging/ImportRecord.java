@@ -0,0 +1,119 @@
+package com.twilio.sdk.ipmessaging;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * One channel, member or message to import with a {@link ChatImporter}.
+ *
+ * Every record names its channel by UniqueName; the importer creates channels
+ * that do not exist yet. Records are immutable.
+ */
+public final class ImportRecord {
+
+	/**
+	 * The kind of a record.
+	 */
+	public enum Type {
+		/** Create the channel, or update it if it exists. */
+		CHANNEL,
+		/** Add a member to the channel. */
+		MEMBER,
+		/** Post a message to the channel. */
+		MESSAGE
+	}
+
+	private final Type type;
+	private final String channel;
+	private final Map<String, String> params;
+
+	private ImportRecord(final Type type, final String channel, final Map<String, String> params) {
+		if (StringUtils.isBlank(channel)) {
+			throw new IllegalArgumentException("The channel of an ImportRecord cannot be null");
+		}
+		this.type = type;
+		this.channel = channel;
+		this.params = params == null ? Collections.<String, String>emptyMap()
+		                             : Collections.unmodifiableMap(new HashMap<String, String>(params));
+	}
+
+	/**
+	 * @param uniqueName the UniqueName of the channel
+	 * @param params channel parameters, e.g. FriendlyName, Type or Attributes
+	 * @return the record
+	 */
+	public static ImportRecord channel(final String uniqueName, final Map<String, String> params) {
+		return new ImportRecord(Type.CHANNEL, uniqueName, params);
+	}
+
+	/**
+	 * @param uniqueName the UniqueName of the channel
+	 * @param identity the identity of the member
+	 * @return the record
+	 */
+	public static ImportRecord member(final String uniqueName, final String identity) {
+		Map<String, String> params = new HashMap<String, String>();
+		params.put("Identity", identity);
+		return new ImportRecord(Type.MEMBER, uniqueName, params);
+	}
+
+	/**
+	 * @param uniqueName the UniqueName of the channel
+	 * @param params member parameters, e.g. Identity and RoleSid
+	 * @return the record
+	 */
+	public static ImportRecord member(final String uniqueName, final Map<String, String> params) {
+		return new ImportRecord(Type.MEMBER, uniqueName, params);
+	}
+
+	/**
+	 * @param uniqueName the UniqueName of the channel
+	 * @param from the identity of the author
+	 * @param body the message body
+	 * @return the record
+	 */
+	public static ImportRecord message(final String uniqueName, final String from, final String body) {
+		Map<String, String> params = new HashMap<String, String>();
+		params.put("From", from);
+		params.put("Body", body);
+		return new ImportRecord(Type.MESSAGE, uniqueName, params);
+	}
+
+	/**
+	 * @param uniqueName the UniqueName of the channel
+	 * @param params message parameters, e.g. From, Body and Attributes
+	 * @return the record
+	 */
+	public static ImportRecord message(final String uniqueName, final Map<String, String> params) {
+		return new ImportRecord(Type.MESSAGE, uniqueName, params);
+	}
+
+	/**
+	 * @return the kind of record
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * @return the UniqueName of the channel
+	 */
+	public String getChannel() {
+		return channel;
+	}
+
+	/**
+	 * @return the parameters of the create or update request
+	 */
+	public Map<String, String> getParams() {
+		return params;
+	}
+
+	@Override
+	public String toString() {
+		return type + " " + channel + " " + params;
+	}
+}
@@ -0,0 +1,372 @@
+package com.twilio.sdk.monitor;
+
+import com.twilio.sdk.LatencyHistogram;
+import com.twilio.sdk.TwilioMonitorClient;
+import com.twilio.sdk.resource.instance.monitor.Alert;
+import com.twilio.sdk.resource.instance.monitor.Event;
+import com.twilio.sdk.resource.list.monitor.AlertList;
+import com.twilio.sdk.resource.list.monitor.EventList;
+import com.twilio.sdk.tailer.AbstractTailer;
+import com.twilio.sdk.tailer.Checkpoint;
+import com.twilio.sdk.tailer.CheckpointStore;
+import com.twilio.sdk.tailer.MemoryCheckpointStore;
+
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follows the {@link Alert}s or {@link Event}s of an account incrementally,
+ * delivering each one once in date order, so ingestion costs one request per
+ * poll plus one per page of new items, however long it runs.
+ *
+ * This is the Monitor counterpart of the TaskRouter
+ * {@link com.twilio.sdk.taskrouter.EventTailer}, and shares its
+ * {@link AbstractTailer} polling: every poll requests the items since the last
+ * checkpoint minus an overlap window, skips those already delivered by a
+ * bounded LRU of recent sids, and saves the checkpoint to a
+ * {@link CheckpointStore} after each poll.
+ *
+ * Items are handed to a {@link Listener} on the polling thread, or offered to a
+ * bounded queue under a {@link BackpressurePolicy} that decides what happens
+ * when the consumer falls behind. The tailer tracks how far behind it is: the
+ * delay from an item's date to its delivery, and the age of the checkpoint.
+ *
+ * <pre>
+ * BlockingQueue&lt;Alert&gt; alerts = new ArrayBlockingQueue&lt;Alert&gt;(10000);
+ * MonitorTailer&lt;Alert&gt; tailer = MonitorTailer.alerts(client)
+ *     .queue(alerts, MonitorTailer.BackpressurePolicy.PAUSE)
+ *     .checkpointStore(new FileCheckpointStore(new File("alerts.checkpoint")))
+ *     .build();
+ * tailer.start();
+ * </pre>
+ *
+ * @param <T> Alert or Event
+ */
+public class MonitorTailer<T> extends AbstractTailer<T> {
+
+	/**
+	 * Receives tailed items.
+	 *
+	 * @param <T> Alert or Event
+	 */
+	public interface Listener<T> {
+
+		/**
+		 * Handle an item. Throwing stops delivery until the next poll, which starts
+		 * again with this item.
+		 *
+		 * @param item the alert or event
+		 * @throws Exception if the item could not be handled
+		 */
+		void onItem(T item) throws Exception;
+	}
+
+	/**
+	 * What a tailer delivering to a queue does when the queue is full.
+	 */
+	public enum BackpressurePolicy {
+		/** Wait for space, holding up the poll; nothing is lost. */
+		BLOCK,
+		/** Stop delivering until the next poll, which fetches the rest again; nothing is lost and the poll never waits. */
+		PAUSE,
+		/**
+		 * Discard the item that does not fit. It is not remembered as delivered,
+		 * so the overlap of the next poll may offer it again.
+		 */
+		DROP_NEWEST,
+		/** Discard the oldest queued item to make room. */
+		DROP_OLDEST
+	}
+
+	/**
+	 * Lists the items of one Monitor resource.
+	 */
+	private interface Source<T> {
+		Iterable<T> list(TwilioMonitorClient client, Map<String, String> filters);
+
+		Calendar date(T item);
+
+		String sid(T item);
+	}
+
+	private static final Source<Alert> ALERTS = new Source<Alert>() {
+		public AlertList list(final TwilioMonitorClient client, final Map<String, String> filters) {
+			return client.getAlerts(filters);
+		}
+
+		public Calendar date(final Alert alert) {
+			// the date an alert became visible, which StartDate filters on
+			return alert.getDateCreated();
+		}
+
+		public String sid(final Alert alert) {
+			return alert.getSid();
+		}
+	};
+
+	private static final Source<Event> EVENTS = new Source<Event>() {
+		public EventList list(final TwilioMonitorClient client, final Map<String, String> filters) {
+			return client.getEvents(filters);
+		}
+
+		public Calendar date(final Event event) {
+			return event.getEventDate();
+		}
+
+		public String sid(final Event event) {
+			return event.getSid();
+		}
+	};
+
+	/**
+	 * @param client the client
+	 * @return a builder for a tailer of the account's Alerts
+	 */
+	public static Builder<Alert> alerts(final TwilioMonitorClient client) {
+		return new Builder<Alert>(client, ALERTS, "alerts");
+	}
+
+	/**
+	 * @param client the client
+	 * @return a builder for a tailer of the account's Events
+	 */
+	public static Builder<Event> events(final TwilioMonitorClient client) {
+		return new Builder<Event>(client, EVENTS, "events");
+	}
+
+	/**
+	 * Configures a {@link MonitorTailer}.
+	 *
+	 * @param <T> Alert or Event
+	 */
+	public static class Builder<T> {
+		private final TwilioMonitorClient client;
+		private final Source<T> source;
+		private final String name;
+		private Listener<T> listener;
+		private BlockingQueue<T> queue;
+		private BackpressurePolicy policy;
+		private CheckpointStore checkpointStore = new MemoryCheckpointStore();
+		private Map<String, String> filters = new HashMap<String, String>();
+		private Calendar startDate;
+		private int overlapSeconds = 120;
+		private long pollInterval = 60000L;
+		private int dedupeSize = 10000;
+
+		private Builder(final TwilioMonitorClient client, final Source<T> source, final String name) {
+			if (client == null) {
+				throw new IllegalArgumentException("The client for a MonitorTailer cannot be null");
+			}
+			this.client = client;
+			this.source = source;
+			this.name = name;
+		}
+
+		/**
+		 * Deliver items to a listener, on the polling thread.
+		 */
+		public Builder<T> listener(final Listener<T> listener) {
+			this.listener = listener;
+			this.queue = null;
+			return this;
+		}
+
+		/**
+		 * Deliver items to a bounded queue.
+		 *
+		 * @param queue the queue
+		 * @param policy what to do when the queue is full
+		 */
+		public Builder<T> queue(final BlockingQueue<T> queue, final BackpressurePolicy policy) {
+			if (queue == null || policy == null) {
+				throw new IllegalArgumentException("queue and policy are required");
+			}
+			this.queue = queue;
+			this.policy = policy;
+			this.listener = null;
+			return this;
+		}
+
+		/**
+		 * Persist the checkpoint in a store; defaults to memory.
+		 */
+		public Builder<T> checkpointStore(final CheckpointStore checkpointStore) {
+			this.checkpointStore = checkpointStore;
+			return this;
+		}
+
+		/**
+		 * Additional filters, e.g. LogLevel for Alerts or ResourceSid for Events.
+		 */
+		public Builder<T> filters(final Map<String, String> filters) {
+			this.filters = new HashMap<String, String>(filters);
+			return this;
+		}
+
+		/**
+		 * Where to start when the store has no checkpoint; defaults to now.
+		 */
+		public Builder<T> startDate(final Calendar startDate) {
+			this.startDate = startDate;
+			return this;
+		}
+
+		/**
+		 * How far before the checkpoint each poll starts; defaults to 120 seconds,
+		 * as Alerts are buffered before they become visible.
+		 */
+		public Builder<T> overlapSeconds(final int overlapSeconds) {
+			this.overlapSeconds = overlapSeconds;
+			return this;
+		}
+
+		/**
+		 * Delay between polls when started; defaults to 60 seconds.
+		 */
+		public Builder<T> pollInterval(final long pollInterval, final TimeUnit unit) {
+			this.pollInterval = unit.toMillis(pollInterval);
+			return this;
+		}
+
+		/**
+		 * Number of recent sids remembered for deduplication; defaults to 10000.
+		 */
+		public Builder<T> dedupeSize(final int dedupeSize) {
+			this.dedupeSize = dedupeSize;
+			return this;
+		}
+
+		/**
+		 * @return the configured tailer, not yet started
+		 */
+		public MonitorTailer<T> build() {
+			if (listener == null && queue == null) {
+				throw new IllegalStateException("A listener or queue is required");
+			}
+			return new MonitorTailer<T>(this);
+		}
+	}
+
+	private final TwilioMonitorClient client;
+	private final Source<T> source;
+	private final Listener<T> listener;
+	private final BlockingQueue<T> queue;
+	private final BackpressurePolicy policy;
+
+	private volatile long droppedCount;
+	private volatile long pausedCount;
+	private volatile long lastDeliveryLagMillis = -1;
+	private final LatencyHistogram deliveryLag = new LatencyHistogram();
+
+	private MonitorTailer(final Builder<T> builder) {
+		super(builder.checkpointStore, builder.filters, builder.startDate, builder.overlapSeconds,
+				builder.pollInterval, builder.dedupeSize, "twilio-monitor-tailer-" + builder.name);
+		this.client = builder.client;
+		this.source = builder.source;
+		this.listener = builder.listener;
+		this.queue = builder.queue;
+		this.policy = builder.policy;
+	}
+
+	@Override
+	protected Iterable<T> list(final Map<String, String> params) {
+		return source.list(client, params);
+	}
+
+	@Override
+	protected Checkpoint position(final T item) {
+		Calendar date = source.date(item);
+		return new Checkpoint(date == null ? 0L : date.getTimeInMillis(), source.sid(item));
+	}
+
+	@Override
+	protected Delivery deliver(final T item) throws Exception {
+		Delivery delivery = offer(item);
+		if (delivery == Delivery.RETRY) {
+			// the queue is full; the next poll fetches this item again
+			pausedCount++;
+		} else if (delivery == Delivery.DELIVERED) {
+			long lag = System.currentTimeMillis() - position(item).getEventDate();
+			lastDeliveryLagMillis = lag;
+			deliveryLag.record(TimeUnit.MILLISECONDS.toNanos(Math.max(0L, lag)));
+		}
+		return delivery;
+	}
+
+	private Delivery offer(final T item) throws Exception {
+		if (listener != null) {
+			listener.onItem(item);
+			return Delivery.DELIVERED;
+		}
+		switch (policy) {
+			case BLOCK:
+				queue.put(item);
+				return Delivery.DELIVERED;
+			case PAUSE:
+				return queue.offer(item) ? Delivery.DELIVERED : Delivery.RETRY;
+			case DROP_NEWEST:
+				if (!queue.offer(item)) {
+					droppedCount++;
+					return Delivery.DROPPED;
+				}
+				return Delivery.DELIVERED;
+			default:
+				while (!queue.offer(item)) {
+					if (queue.poll() != null) {
+						droppedCount++;
+					}
+				}
+				return Delivery.DELIVERED;
+		}
+	}
+
+	/**
+	 * How far behind the tailer is: the time since the date of the last
+	 * delivered item. This grows while nothing new happens, so read it together
+	 * with {@link #getLastPollMillis()}.
+	 *
+	 * @return the age of the checkpoint in milliseconds, or -1 before the first poll
+	 */
+	public long getCheckpointAgeMillis() {
+		Checkpoint current = getCheckpoint();
+		return current == null ? -1 : System.currentTimeMillis() - current.getEventDate();
+	}
+
+	/**
+	 * @return the delay from the date of the last delivered item to its delivery, in milliseconds, or -1 if none
+	 */
+	public long getLastDeliveryLagMillis() {
+		return lastDeliveryLagMillis;
+	}
+
+	/**
+	 * @return the distribution of the delay from each item's date to its delivery
+	 */
+	public LatencyHistogram getDeliveryLag() {
+		return deliveryLag;
+	}
+
+	/**
+	 * @return the number of items waiting in the queue, or 0 when delivering to a listener
+	 */
+	public int getQueueSize() {
+		return queue == null ? 0 : queue.size();
+	}
+
+	/**
+	 * @return the number of items discarded by {@link BackpressurePolicy#DROP_NEWEST} or {@link BackpressurePolicy#DROP_OLDEST}
+	 */
+	public long getDroppedCount() {
+		return droppedCount;
+	}
+
+	/**
+	 * @return the number of polls cut short by a full queue under {@link BackpressurePolicy#PAUSE}
+	 */
+	public long getPausedCount() {
+		return pausedCount;
+	}
+}
@@ -0,0 +1,34 @@
+package com.twilio.sdk.parser;
+
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Map;
+
+/**
+ * A {@link ResponseParser} that can also parse a raw response body, without
+ * decoding it to a String first. Callers check for it with instanceof and fall
+ * back to {@link ResponseParser#parse(com.twilio.sdk.TwilioRestResponse)}
+ * otherwise, so parsers that only implement ResponseParser keep working.
+ */
+public interface BinaryResponseParser extends ResponseParser {
+
+	/**
+	 * Parses a raw response body.
+	 *
+	 * @param body the response body
+	 * @param charset the charset of the body, or null for the parser's default
+	 * @return the map
+	 * @throws IllegalArgumentException if the body could not be parsed
+	 */
+	public Map<String, Object> parse(byte[] body, Charset charset);
+
+	/**
+	 * Parses a response body as it is read from a stream. The stream is not closed.
+	 *
+	 * @param in the response body
+	 * @param charset the charset of the body, or null for the parser's default
+	 * @return the map
+	 * @throws IllegalArgumentException if the body could not be read or parsed
+	 */
+	public Map<String, Object> parse(InputStream in, Charset charset);
+}
@@ -2,10 +2,15 @@ package com.twilio.sdk.parser;
 
 import com.twilio.sdk.TwilioRestResponse;
 import org.codehaus.jackson.JsonParseException;
+import org.codehaus.jackson.JsonParser;
 import org.codehaus.jackson.map.JsonMappingException;
 import org.codehaus.jackson.map.ObjectMapper;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -13,9 +18,63 @@ import java.util.Map;
 /**
  * The Class JsonResponseParser.
  */
-public class JsonResponseParser implements ResponseParser {
-	public Map<String, Object> parse(TwilioRestResponse response) {		
-		return this.parseJson(response.getResponseText());
+public class JsonResponseParser implements BinaryResponseParser {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	/** Shared, as an ObjectMapper is thread safe once configured and costly to create. */
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	public Map<String, Object> parse(TwilioRestResponse response) {
+		byte[] body = response.getResponseBytes();
+		if (body == null) {
+			return new HashMap<String, Object>();
+		}
+		try {
+			return this.parse(body, response.getCharset());
+		} catch (IllegalArgumentException e) {
+			// a malformed body, e.g. an error page from a proxy, has no properties
+			return new HashMap<String, Object>();
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see com.twilio.sdk.parser.BinaryResponseParser#parse(byte[], java.nio.charset.Charset)
+	 */
+	public Map<String, Object> parse(byte[] body, Charset charset) {
+		if (charset != null && !UTF_8.equals(charset)) {
+			return this.parse(new ByteArrayInputStream(body), charset);
+		}
+
+		try {
+			// Jackson decodes UTF-8 bytes itself, without an intermediate String
+			return this.parse(MAPPER.getJsonFactory().createJsonParser(body));
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to parse JSON response body", e);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see com.twilio.sdk.parser.BinaryResponseParser#parse(java.io.InputStream, java.nio.charset.Charset)
+	 */
+	public Map<String, Object> parse(InputStream in, Charset charset) {
+		try {
+			if (charset == null || UTF_8.equals(charset)) {
+				return this.parse(MAPPER.getJsonFactory().createJsonParser(in));
+			}
+			return this.parse(MAPPER.getJsonFactory().createJsonParser(new InputStreamReader(in, charset)));
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to parse JSON response body", e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> parse(JsonParser parser) throws IOException {
+		// an empty body, e.g. of a DELETE, has no properties
+		if (parser.nextToken() == null) {
+			return new HashMap<String, Object>();
+		}
+		return MAPPER.readValue(parser, HashMap.class);
 	}
 
 	/**
@@ -29,7 +88,7 @@ public class JsonResponseParser implements ResponseParser {
 		Map<String, Object> ret = new HashMap<String, Object>();
 
 		try {
-			ret = new ObjectMapper().readValue(jsonString, HashMap.class);
+			ret = MAPPER.readValue(jsonString, HashMap.class);
 		} catch (JsonParseException e) {
 			// TODO Auto-generated catch block
 			e.printStackTrace();
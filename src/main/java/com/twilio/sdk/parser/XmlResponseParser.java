@@ -11,8 +11,11 @@ import org.xml.sax.SAXException;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringReader;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -22,12 +25,34 @@ import java.util.Map;
 /**
  * The Class XmlResponseParser.
  */
-public class XmlResponseParser implements ResponseParser {
+public class XmlResponseParser implements BinaryResponseParser {
 	public Map<String, Object> parse(TwilioRestResponse response) {
-		Map<String, Object> xmlMap = this.parseXml(response.getResponseText());
+		byte[] body = response.getResponseBytes();
+		if (body == null) {
+			return new HashMap<String, Object>();
+		}
+		return this.parse(body, response.getCharset());
+	}
+
+	/* (non-Javadoc)
+	 * @see com.twilio.sdk.parser.BinaryResponseParser#parse(byte[], java.nio.charset.Charset)
+	 */
+	public Map<String, Object> parse(byte[] body, Charset charset) {
+		return this.parse(new ByteArrayInputStream(body), charset);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.twilio.sdk.parser.BinaryResponseParser#parse(java.io.InputStream, java.nio.charset.Charset)
+	 */
+	public Map<String, Object> parse(InputStream in, Charset charset) {
+		InputSource source = new InputSource(in);
+		if (charset != null) {
+			source.setEncoding(charset.name());
+		}
+		Map<String, Object> xmlMap = this.parseXml(source);
 
 		flattenMap(xmlMap, null, null);
-		
+
 		return xmlMap;
 	}
 
@@ -60,6 +85,16 @@ public class XmlResponseParser implements ResponseParser {
 	 * @return the map
 	 */
 	protected Map<String, Object> parseXml(String xmlString) {
+		return parseXml(new InputSource(new StringReader(xmlString)));
+	}
+
+	/**
+	 * Parses the xml.
+	 *
+	 * @param source the xml source, a byte or character stream
+	 * @return the map
+	 */
+	protected Map<String, Object> parseXml(InputSource source) {
 
 		Map<String, Object> ret = new HashMap<String, Object>();
 
@@ -76,8 +111,7 @@ public class XmlResponseParser implements ResponseParser {
 			factory.setExpandEntityReferences(false);
 
 			builder = factory.newDocumentBuilder();
-			Document d = builder.parse(new InputSource(new StringReader(
-					xmlString)));
+			Document d = builder.parse(source);
 
 			Node resp = d.getFirstChild(); // TwilioResponse
 			NodeList nodes = resp.getChildNodes();
@@ -1,6 +1,7 @@
 package com.twilio.sdk.resource;
 
 import java.text.ParseException;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -154,6 +155,15 @@ public abstract class InstanceResource<C extends TwilioClient> extends Resource<
 	}
 
 
+	/**
+	 * Gets every property currently loaded, without loading the resource.
+	 *
+	 * @return an unmodifiable view of the properties
+	 */
+	protected Map<String, Object> getProperties() {
+		return Collections.unmodifiableMap(properties);
+	}
+
 	/**
 	 * Sets the property as an Object
 	 *
@@ -184,6 +194,39 @@ public abstract class InstanceResource<C extends TwilioClient> extends Resource<
 		this.getClient().safeRequest(this.getResourceLocation(), "POST", params);
 	}
 
+	/**
+	 * Reload the resource from the server. If it was loaded with an ETag or
+	 * Last-Modified validator the request is conditional, and when the server
+	 * answers 304 Not Modified the properties already parsed are kept without
+	 * downloading the resource again, which keeps polling loops cheap.
+	 *
+	 * @return true if the resource was reloaded, false if it had not changed
+	 * @throws TwilioRestException the twilio rest exception
+	 */
+	public boolean refresh() throws TwilioRestException {
+		if (!isLoaded()) {
+			load(filters);
+			return true;
+		}
+
+		String etag = getETag();
+		String lastModified = getLastModified();
+		Map<String, String> headers = new HashMap<String, String>();
+		if (etag != null) {
+			headers.put("If-None-Match", etag);
+		}
+		if (lastModified != null) {
+			headers.put("If-Modified-Since", lastModified);
+		}
+		TwilioRestResponse response = getClient().safeRequest(getResourceLocation(), "GET", filters, headers);
+		if (response.isNotModified()) {
+			return false;
+		}
+		parseResponse(response);
+		setValidators(response);
+		return true;
+	}
+
 	/* (non-Javadoc)
 	 * @see com.twilio.sdk.resource.Resource#parseResponse(com.twilio.sdk.TwilioRestResponse)
 	 */
@@ -60,9 +60,48 @@ public abstract class Resource<C extends TwilioClient> {
 		TwilioRestResponse response = getClient().safeRequest(path, "GET", params);
 
 		parseResponse(response);
+		setValidators(response);
 		loaded = true;
 	}
 
+	/**
+	 * Keep the validators of a response, for later conditional requests.
+	 *
+	 * @param response the response the resource was parsed from
+	 */
+	protected void setValidators(final TwilioRestResponse response) {
+		setValidators(response.getHeader("ETag"), response.getHeader("Last-Modified"));
+	}
+
+	/**
+	 * Keep validators recorded elsewhere, e.g. with a cached copy of the resource.
+	 *
+	 * @param etag the ETag, or null
+	 * @param lastModified the Last-Modified value, or null
+	 */
+	protected void setValidators(final String etag, final String lastModified) {
+		this.etag = etag;
+		this.lastModified = lastModified;
+	}
+
+	/**
+	 * Gets the entity tag the resource was last loaded with.
+	 *
+	 * @return the ETag, or null if the resource was not loaded or the server sent none
+	 */
+	public String getETag() {
+		return etag;
+	}
+
+	/**
+	 * Gets the modification date the resource was last loaded with.
+	 *
+	 * @return the Last-Modified value as sent, or null if the resource was not loaded or the server sent none
+	 */
+	public String getLastModified() {
+		return lastModified;
+	}
+
 	/**
 	 * Parses the response.
 	 *
@@ -76,6 +115,11 @@ public abstract class Resource<C extends TwilioClient> {
 	/** The loaded. */
 	private boolean loaded;
 
+	/** The validators of the last load, for conditional requests. */
+	private volatile String etag;
+
+	private volatile String lastModified;
+
 	/**
 	 * Checks if is loaded.
 	 *
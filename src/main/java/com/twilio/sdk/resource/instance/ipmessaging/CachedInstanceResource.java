@@ -0,0 +1,106 @@
+package com.twilio.sdk.resource.instance.ipmessaging;
+
+import com.twilio.sdk.IPMessagingCache;
+import com.twilio.sdk.TwilioIPMessagingClient;
+import com.twilio.sdk.TwilioRestException;
+import com.twilio.sdk.TwilioRestResponse;
+import com.twilio.sdk.resource.NextGenInstanceResource;
+import org.apache.http.NameValuePair;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An ip messaging resource that is loaded through the client's
+ * {@link IPMessagingCache}, if one is installed. Updates are written through
+ * to the cache, and a delete removes the resource and everything cached
+ * beneath it. Resources loaded from the cache keep the validators they were
+ * cached with, so {@link #refresh()} is conditional, and a refreshed resource
+ * is written back to the cache.
+ */
+public abstract class CachedInstanceResource extends NextGenInstanceResource<TwilioIPMessagingClient> {
+
+	public CachedInstanceResource(final TwilioIPMessagingClient client) {
+		super(client);
+	}
+
+	public CachedInstanceResource(final TwilioIPMessagingClient client, final Map<String, Object> properties) {
+		super(client, properties);
+	}
+
+	/**
+	 * Deletes the resource
+	 *
+	 * @return True iff the delete is successful
+	 */
+	public boolean delete() throws TwilioRestException {
+		TwilioRestResponse response = this.getClient()
+				.safeRequest(this.getResourceLocation(), "DELETE", (Map) null);
+		IPMessagingCache cache = getClient().getCache();
+		if (cache != null) {
+			cache.invalidate(getResourceLocation());
+		}
+		return !response.isError();
+	}
+
+	/**
+	 * Update the resource, writing it through to the client's {@link IPMessagingCache}, if one is installed
+	 *
+	 * @param params The params to update
+	 * @throws TwilioRestException thrown when an error occurs
+	 */
+	@Override
+	public void update(final Map<String, String> params) throws TwilioRestException {
+		cacheUpdate(getClient().safeRequest(getResourceLocation(), "POST", params));
+	}
+
+	/**
+	 * Update the resource, writing it through to the client's {@link IPMessagingCache}, if one is installed
+	 *
+	 * @param params The params to update
+	 * @throws TwilioRestException thrown when an error occurs
+	 */
+	@Override
+	public void update(final List<NameValuePair> params) throws TwilioRestException {
+		cacheUpdate(getClient().safeRequest(getResourceLocation(), "POST", params));
+	}
+
+	private void cacheUpdate(final TwilioRestResponse response) {
+		IPMessagingCache cache = getClient().getCache();
+		if (cache != null) {
+			cache.put(getResourceLocation(), response.toMap());
+		}
+	}
+
+	/**
+	 * Load from the client's {@link IPMessagingCache}, if one is installed, and
+	 * otherwise load the resource and cache it.
+	 */
+	@Override
+	protected void load(final Map<String, String> params) throws TwilioRestException {
+		IPMessagingCache cache = getClient().getCache();
+		if (cache == null || (params != null && !params.isEmpty())) {
+			super.load(params);
+			return;
+		}
+		IPMessagingCache.Entry cached = cache.fetch(getClient(), getResourceLocation());
+		for (final Map.Entry<String, Object> e : cached.getProperties().entrySet()) {
+			setProperty(e.getKey(), e.getValue());
+		}
+		setValidators(cached.getETag(), cached.getLastModified());
+		setLoaded(true);
+	}
+
+	/**
+	 * Keep the validators of a response the resource was just parsed from, and
+	 * write the resource back to the client's {@link IPMessagingCache}, if one is installed.
+	 */
+	@Override
+	protected void setValidators(final TwilioRestResponse response) {
+		super.setValidators(response);
+		IPMessagingCache cache = getClient().getCache();
+		if (cache != null && (filters == null || filters.isEmpty())) {
+			cache.put(getResourceLocation(), getProperties(), getETag(), getLastModified());
+		}
+	}
+}
@@ -2,8 +2,6 @@ package com.twilio.sdk.resource.instance.ipmessaging;
 
 import com.twilio.sdk.TwilioIPMessagingClient;
 import com.twilio.sdk.TwilioRestException;
-import com.twilio.sdk.TwilioRestResponse;
-import com.twilio.sdk.resource.NextGenInstanceResource;
 import com.twilio.sdk.resource.list.ipmessaging.MemberList;
 import com.twilio.sdk.resource.list.ipmessaging.MessageList;
 import org.apache.commons.lang3.StringUtils;
@@ -16,7 +14,7 @@ import java.util.Map;
 /**
  * Represents a single channel resource
  */
-public class Channel extends NextGenInstanceResource<TwilioIPMessagingClient> {
+public class Channel extends CachedInstanceResource {
 
 	private static final String SERVICE_SID_PROPERTY = "service_sid";
 	private static final String UNIQUE_NAME_PROPERTY = "unique_name";
@@ -227,17 +225,6 @@ public class Channel extends NextGenInstanceResource<TwilioIPMessagingClient> {
 		return getMessages().create(params);
 	}
 
-	/**
-	 * Deletes the channel
-	 *
-	 * @return True iff the delete is successful
-	 */
-	public boolean delete() throws TwilioRestException {
-		TwilioRestResponse response = this.getClient()
-				.safeRequest(this.getResourceLocation(), "DELETE", (Map) null);
-		return !response.isError();
-	}
-
 	@Override
 	protected String getResourceLocation() {
 		return "/" + TwilioIPMessagingClient.DEFAULT_VERSION + "/Services/" + getServiceSid() + "/Channels/" + getSid();
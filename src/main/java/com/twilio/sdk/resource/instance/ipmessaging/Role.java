@@ -1,9 +1,6 @@
 package com.twilio.sdk.resource.instance.ipmessaging;
 
 import com.twilio.sdk.TwilioIPMessagingClient;
-import com.twilio.sdk.TwilioRestException;
-import com.twilio.sdk.TwilioRestResponse;
-import com.twilio.sdk.resource.NextGenInstanceResource;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Calendar;
@@ -13,7 +10,7 @@ import java.util.Map;
 /**
  * Represent a single role resource in ip messaging
  */
-public class Role extends NextGenInstanceResource<TwilioIPMessagingClient> {
+public class Role extends CachedInstanceResource {
 
 	private static final String SERVICE_SID_PROPERTY = "service_sid";
 
@@ -116,17 +113,6 @@ public class Role extends NextGenInstanceResource<TwilioIPMessagingClient> {
 		return getProperty("url");
 	}
 
-	/**
-	 * Deletes the Role
-	 *
-	 * @return True iff the delete is successful
-	 */
-	public boolean delete() throws TwilioRestException {
-		TwilioRestResponse response = this.getClient()
-				.safeRequest(this.getResourceLocation(), "DELETE", (Map) null);
-		return !response.isError();
-	}
-
 	@Override
 	protected String getResourceLocation() {
 		return "/" + TwilioIPMessagingClient.DEFAULT_VERSION + "/Services/" + getServiceSid() + "/Roles/" + getSid();
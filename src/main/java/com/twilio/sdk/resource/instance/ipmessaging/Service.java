@@ -9,8 +9,6 @@ import org.apache.http.NameValuePair;
 
 import com.twilio.sdk.TwilioIPMessagingClient;
 import com.twilio.sdk.TwilioRestException;
-import com.twilio.sdk.TwilioRestResponse;
-import com.twilio.sdk.resource.NextGenInstanceResource;
 import com.twilio.sdk.resource.list.ipmessaging.ChannelList;
 import com.twilio.sdk.resource.list.ipmessaging.RoleList;
 import com.twilio.sdk.resource.list.ipmessaging.UserList;
@@ -18,7 +16,7 @@ import com.twilio.sdk.resource.list.ipmessaging.UserList;
 /**
  * Represents service for ip messaging
  */
-public class Service extends NextGenInstanceResource<TwilioIPMessagingClient> {
+public class Service extends CachedInstanceResource {
 
 	private static final String READ_STATUS_ENABLED_PROPERTY = "read_status_enabled";
 	private static final String CONSUMPTION_REPORT_INTERVAL_PROPERTY = "consumption_report_interval";
@@ -261,17 +259,6 @@ public class Service extends NextGenInstanceResource<TwilioIPMessagingClient> {
 		return getUsers().create(params);
 	}
 
-	/**
-	 * Deletes the service
-	 *
-	 * @return True iff the delete is successful
-	 */
-	public boolean delete() throws TwilioRestException {
-		TwilioRestResponse response = this.getClient()
-				.safeRequest(this.getResourceLocation(), "DELETE", (Map) null);
-		return !response.isError();
-	}
-
 	/**
 	 * Create a channel
 	 *
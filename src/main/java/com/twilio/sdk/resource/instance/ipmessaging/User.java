@@ -1,9 +1,6 @@
 package com.twilio.sdk.resource.instance.ipmessaging;
 
 import com.twilio.sdk.TwilioIPMessagingClient;
-import com.twilio.sdk.TwilioRestException;
-import com.twilio.sdk.TwilioRestResponse;
-import com.twilio.sdk.resource.NextGenInstanceResource;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Calendar;
@@ -12,7 +9,7 @@ import java.util.Map;
 /**
  * Represents a single user resource for ip messaging
  */
-public class User extends NextGenInstanceResource<TwilioIPMessagingClient> {
+public class User extends CachedInstanceResource {
 
 	private static final String SERVICE_SID_PROPERTY = "service_sid";
 
@@ -105,17 +102,6 @@ public class User extends NextGenInstanceResource<TwilioIPMessagingClient> {
 		return getProperty("url");
 	}
 
-	/**
-	 * Deletes the user
-	 *
-	 * @return True iff the delete is successful
-	 */
-	public boolean delete() throws TwilioRestException {
-		TwilioRestResponse response = this.getClient()
-				.safeRequest(this.getResourceLocation(), "DELETE", (Map) null);
-		return !response.isError();
-	}
-
 	@Override
 	protected String getResourceLocation() {
 		return "/" + TwilioIPMessagingClient.DEFAULT_VERSION + "/Services/" + getServiceSid() + "/Users/" + getSid();
@@ -1,6 +1,9 @@
 package com.twilio.sdk.resource.instance.lookups;
 
+import com.twilio.sdk.LookupCache;
 import com.twilio.sdk.LookupsClient;
+import com.twilio.sdk.TwilioRestException;
+import com.twilio.sdk.TwilioRestResponse;
 import com.twilio.sdk.resource.NextGenInstanceResource;
 
 import java.util.Map;
@@ -107,6 +110,46 @@ public class PhoneNumber extends NextGenInstanceResource<LookupsClient> {
 		return null;
 	}
 
+	/**
+	 * Load from the client's {@link LookupCache}, if one is installed, and
+	 * otherwise look the number up and cache the result, including a 404.
+	 */
+	@Override
+	protected void load(final Map<String, String> params) throws TwilioRestException {
+		LookupCache cache = getClient().getCache();
+		if (cache == null) {
+			super.load(params);
+			return;
+		}
+
+		String number = getPhoneNumber();
+		String type = params == null ? null : params.get("Type");
+		String key = LookupCache.key(number, params == null ? null : params.get("CountryCode"), type);
+		Map<String, Object> cached = cache.get(key);
+		if (cached == null) {
+			TwilioRestResponse response;
+			try {
+				response = getClient().safeRequest(getResourceLocation(), "GET", params);
+			} catch (final TwilioRestException e) {
+				if (e.getStatus() == 404) {
+					cache.putNotFound(key, e);
+				}
+				throw e;
+			}
+			cached = response.toMap();
+			cache.put(key, cached);
+			String e164 = (String) cached.get("phone_number");
+			if (e164 != null && !e164.equals(number)) {
+				// later lookups of the E.164 form hit too
+				cache.put(LookupCache.key(e164, null, type), cached);
+			}
+		}
+		for (final Map.Entry<String, Object> e : cached.entrySet()) {
+			setProperty(e.getKey(), e.getValue());
+		}
+		setLoaded(true);
+	}
+
 	public String getResourceLocation() {
 		return "/" + LookupsClient.DEFAULT_VERSION + "/PhoneNumbers/" + getPhoneNumber();
 	}
@@ -1,6 +1,7 @@
 package com.twilio.sdk.resource.instance.pricing;
 
 import com.twilio.sdk.TwilioPricingClient;
+import com.twilio.sdk.TwilioRestResponse;
 import com.twilio.sdk.resource.NextGenInstanceResource;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -19,6 +20,10 @@ import java.util.Map;
  */
 public class MessagingCountry extends NextGenInstanceResource<TwilioPricingClient> {
 
+    private volatile NumberTypePriceTable outboundSmsPriceTable;
+
+    private volatile NumberTypePriceTable inboundSmsPriceTable;
+
     public MessagingCountry(final TwilioPricingClient client) {
         this(client, new HashMap<String, Object>());
     }
@@ -35,6 +40,14 @@ public class MessagingCountry extends NextGenInstanceResource<TwilioPricingClien
         super(client, properties);
     }
 
+    @Override
+    protected void parseResponse(final TwilioRestResponse response) {
+        super.parseResponse(response);
+        // decoded again from the new properties
+        outboundSmsPriceTable = null;
+        inboundSmsPriceTable = null;
+    }
+
     @Override
     protected String getResourceLocation() {
         return "/" + TwilioPricingClient.DEFAULT_VERSION + "/Messaging/Countries/" + getIsoCountry();
@@ -98,6 +111,40 @@ public class MessagingCountry extends NextGenInstanceResource<TwilioPricingClien
         return getMessagingPrices(priceData);
     }
 
+    /**
+     * Get the outbound SMS prices of this country as a compact table, one row
+     * per carrier and number type, with prices in micro-units. The table is
+     * decoded on the first call and reused until the country is refreshed.
+     *
+     * @return the prices by carrier and number type, empty if the country has none
+     */
+    public NumberTypePriceTable getOutboundSmsPriceTable() {
+        NumberTypePriceTable table = outboundSmsPriceTable;
+        if (table == null) {
+            List<Map<String, Object>> priceData = getCastedObject("outbound_sms_prices");
+            table = NumberTypePriceTable.parseCarriers(priceData);
+            outboundSmsPriceTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * Get the inbound SMS prices of this country as a compact table, with
+     * prices in micro-units. The table is decoded on the first call and reused
+     * until the country is refreshed.
+     *
+     * @return the prices by number type, empty if the country has none
+     */
+    public NumberTypePriceTable getInboundSmsPriceTable() {
+        NumberTypePriceTable table = inboundSmsPriceTable;
+        if (table == null) {
+            List<Map<String, Object>> priceData = getCastedObject("inbound_sms_prices");
+            table = NumberTypePriceTable.parse(priceData);
+            inboundSmsPriceTable = table;
+        }
+        return table;
+    }
+
     private List<MessagingPrice> getMessagingPrices(List<Map<String, String>> priceData) {
         List<MessagingPrice> prices = new ArrayList<MessagingPrice>();
 
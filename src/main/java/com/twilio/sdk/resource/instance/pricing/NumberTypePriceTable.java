@@ -0,0 +1,182 @@
+package com.twilio.sdk.resource.instance.pricing;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prices by number type, decoded once into parallel arrays with prices in
+ * {@link PriceMicros micro-units}. Optionally each row also names the mobile
+ * carrier it applies to, as outbound SMS prices do.
+ *
+ * Tables are immutable and thread-safe.
+ */
+public final class NumberTypePriceTable {
+
+    static final NumberTypePriceTable EMPTY = new NumberTypePriceTable(new NumberType[0], new long[0], new long[0],
+                                                                       null, null, null);
+
+    private final NumberType[] numberTypes;
+    private final long[] basePrices;
+    private final long[] currentPrices;
+    private final String[] mccs;
+    private final String[] mncs;
+    private final String[] carriers;
+
+    private NumberTypePriceTable(final NumberType[] numberTypes, final long[] basePrices, final long[] currentPrices,
+                                 final String[] mccs, final String[] mncs, final String[] carriers) {
+        this.numberTypes = numberTypes;
+        this.basePrices = basePrices;
+        this.currentPrices = currentPrices;
+        this.mccs = mccs;
+        this.mncs = mncs;
+        this.carriers = carriers;
+    }
+
+    /**
+     * Decode a list of prices with "number_type", "base_price" and "current_price".
+     */
+    static NumberTypePriceTable parse(final List<Map<String, Object>> priceData) {
+        if (priceData == null) {
+            return EMPTY;
+        }
+        final int size = priceData.size();
+        final NumberType[] types = new NumberType[size];
+        final long[] base = new long[size];
+        final long[] current = new long[size];
+        for (int i = 0; i < size; i++) {
+            decode(priceData.get(i), i, types, base, current);
+        }
+        return new NumberTypePriceTable(types, base, current, null, null, null);
+    }
+
+    /**
+     * Decode "outbound_sms_prices": carriers, each with a list of prices by number type.
+     */
+    @SuppressWarnings("unchecked")
+    static NumberTypePriceTable parseCarriers(final List<Map<String, Object>> carrierData) {
+        if (carrierData == null) {
+            return EMPTY;
+        }
+        int size = 0;
+        for (final Map<String, Object> carrier : carrierData) {
+            final List<?> prices = (List<?>) carrier.get("prices");
+            size += prices == null ? 0 : prices.size();
+        }
+        final NumberType[] types = new NumberType[size];
+        final long[] base = new long[size];
+        final long[] current = new long[size];
+        final String[] mccs = new String[size];
+        final String[] mncs = new String[size];
+        final String[] carriers = new String[size];
+        int i = 0;
+        for (final Map<String, Object> carrier : carrierData) {
+            final List<Map<String, Object>> prices = (List<Map<String, Object>>) carrier.get("prices");
+            if (prices == null) {
+                continue;
+            }
+            final String mcc = String.valueOf(carrier.get("mcc"));
+            final String mnc = String.valueOf(carrier.get("mnc"));
+            final String name = String.valueOf(carrier.get("carrier"));
+            for (final Map<String, Object> p : prices) {
+                decode(p, i, types, base, current);
+                mccs[i] = mcc;
+                mncs[i] = mnc;
+                carriers[i] = name;
+                i++;
+            }
+        }
+        return new NumberTypePriceTable(types, base, current, mccs, mncs, carriers);
+    }
+
+    private static void decode(final Map<String, Object> p, final int i, final NumberType[] types, final long[] base,
+                               final long[] current) {
+        types[i] = NumberType.valueOf(((String) p.get("number_type")).toUpperCase());
+        base[i] = PriceMicros.parse((String) p.get("base_price"));
+        current[i] = PriceMicros.parse((String) p.get("current_price"));
+    }
+
+    /**
+     * @return the number of rows
+     */
+    public int size() {
+        return numberTypes.length;
+    }
+
+    /**
+     * @param i the row
+     * @return the number type the price applies to
+     */
+    public NumberType getNumberType(final int i) {
+        return numberTypes[i];
+    }
+
+    /**
+     * @param i the row
+     * @return the price before discounts, in micro-units
+     */
+    public long getBasePriceMicros(final int i) {
+        return basePrices[i];
+    }
+
+    /**
+     * @param i the row
+     * @return the price after discounts, in micro-units
+     */
+    public long getCurrentPriceMicros(final int i) {
+        return currentPrices[i];
+    }
+
+    /**
+     * @param i the row
+     * @return the mobile country code of the carrier, or null if prices are not by carrier
+     */
+    public String getMcc(final int i) {
+        return mccs == null ? null : mccs[i];
+    }
+
+    /**
+     * @param i the row
+     * @return the mobile network code of the carrier, or null if prices are not by carrier
+     */
+    public String getMnc(final int i) {
+        return mncs == null ? null : mncs[i];
+    }
+
+    /**
+     * @param i the row
+     * @return the name of the carrier, or null if prices are not by carrier
+     */
+    public String getCarrier(final int i) {
+        return carriers == null ? null : carriers[i];
+    }
+
+    /**
+     * @param numberType the number type
+     * @return the first row for the number type, or -1 if there is none
+     */
+    public int indexOf(final NumberType numberType) {
+        for (int i = 0; i < numberTypes.length; i++) {
+            if (numberTypes[i] == numberType) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the highest current price for a number type, e.g. to bound the cost
+     * of a message whatever carrier it is delivered to.
+     *
+     * @param numberType the number type
+     * @return the price after discounts in micro-units, or -1 if there is none for the type
+     */
+    public long getMaxCurrentPriceMicros(final NumberType numberType) {
+        long max = -1;
+        for (int i = 0; i < numberTypes.length; i++) {
+            if (numberTypes[i] == numberType && currentPrices[i] > max) {
+                max = currentPrices[i];
+            }
+        }
+        return max;
+    }
+}
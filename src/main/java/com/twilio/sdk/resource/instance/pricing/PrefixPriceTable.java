@@ -0,0 +1,159 @@
+package com.twilio.sdk.resource.instance.pricing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outbound call prices by number prefix, decoded once into parallel arrays
+ * with prices in {@link PriceMicros micro-units}. Row i is one prefix; prefixes
+ * listed together in a prefix group share its name and prices. Prefixes are
+ * also indexed in a {@link PrefixTrie}, so matching a number takes one step per
+ * digit.
+ *
+ * Tables are immutable and thread-safe.
+ */
+public final class PrefixPriceTable {
+
+    static final PrefixPriceTable EMPTY = new PrefixPriceTable(new String[0], new String[0], new long[0], new long[0]);
+
+    private final String[] prefixes;
+    private final String[] friendlyNames;
+    private final long[] basePrices;
+    private final long[] currentPrices;
+
+    private final PrefixTrie trie;
+
+    private PrefixPriceTable(final String[] prefixes, final String[] friendlyNames, final long[] basePrices,
+                             final long[] currentPrices) {
+        this.prefixes = prefixes;
+        this.friendlyNames = friendlyNames;
+        this.basePrices = basePrices;
+        this.currentPrices = currentPrices;
+
+        final PrefixTrie.Builder builder = new PrefixTrie.Builder();
+        for (int i = 0; i < prefixes.length; i++) {
+            builder.add(prefixes[i], i, currentPrices[i]);
+        }
+        this.trie = builder.build();
+    }
+
+    /**
+     * Decode the "outbound_prefix_prices" of a Voice country.
+     */
+    @SuppressWarnings("unchecked")
+    static PrefixPriceTable parse(final List<Map<String, Object>> priceData) {
+        if (priceData == null) {
+            return EMPTY;
+        }
+        final List<String> prefixes = new ArrayList<String>();
+        final List<Integer> groups = new ArrayList<Integer>();
+        final long[] groupBase = new long[priceData.size()];
+        final long[] groupCurrent = new long[priceData.size()];
+        final String[] groupNames = new String[priceData.size()];
+        for (int g = 0; g < priceData.size(); g++) {
+            final Map<String, Object> p = priceData.get(g);
+            groupNames[g] = (String) p.get("friendly_name");
+            groupBase[g] = PriceMicros.parse((String) p.get("base_price"));
+            groupCurrent[g] = PriceMicros.parse((String) p.get("current_price"));
+            final List<String> prefixList = (List<String>) p.get("prefix_list");
+            if (prefixList == null) {
+                continue;
+            }
+            for (final String entry : prefixList) {
+                // entries sometimes hold several comma separated prefixes
+                for (final String prefix : entry.split(",")) {
+                    final String digits = digits(prefix);
+                    if (digits.length() > 0) {
+                        prefixes.add(digits);
+                        groups.add(g);
+                    }
+                }
+            }
+        }
+
+        final int size = prefixes.size();
+        final String[] names = new String[size];
+        final long[] base = new long[size];
+        final long[] current = new long[size];
+        for (int i = 0; i < size; i++) {
+            final int g = groups.get(i);
+            names[i] = groupNames[g];
+            base[i] = groupBase[g];
+            current[i] = groupCurrent[g];
+        }
+        return new PrefixPriceTable(prefixes.toArray(new String[size]), names, base, current);
+    }
+
+    private static String digits(final String s) {
+        final StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return the number of prefixes
+     */
+    public int size() {
+        return prefixes.length;
+    }
+
+    /**
+     * @param i the row
+     * @return the prefix, digits only, e.g. "37240"
+     */
+    public String getPrefix(final int i) {
+        return prefixes[i];
+    }
+
+    /**
+     * @param i the row
+     * @return the friendly name of the prefix group
+     */
+    public String getFriendlyName(final int i) {
+        return friendlyNames[i];
+    }
+
+    /**
+     * @param i the row
+     * @return the price per minute before discounts, in micro-units
+     */
+    public long getBasePriceMicros(final int i) {
+        return basePrices[i];
+    }
+
+    /**
+     * @param i the row
+     * @return the price per minute after discounts, in micro-units
+     */
+    public long getCurrentPriceMicros(final int i) {
+        return currentPrices[i];
+    }
+
+    /**
+     * Find the longest prefix matching a number. A prefix listed more than once
+     * matches the row with the higher current price.
+     *
+     * @param number the number in E.164 format; a leading 00 and formatting characters are ignored
+     * @return the row of the longest matching prefix, or -1 if none matches
+     */
+    public int indexOf(final String number) {
+        return trie.indexOf(number);
+    }
+
+    /**
+     * Get the current price of calls to a number.
+     *
+     * @param number the number in E.164 format
+     * @return the price per minute after discounts in micro-units, or -1 if no prefix matches
+     */
+    public long getCurrentPriceMicros(final String number) {
+        final int i = indexOf(number);
+        return i < 0 ? -1 : currentPrices[i];
+    }
+}
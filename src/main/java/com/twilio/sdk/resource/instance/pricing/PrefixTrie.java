@@ -0,0 +1,126 @@
+package com.twilio.sdk.resource.instance.pricing;
+
+import java.util.Arrays;
+
+/**
+ * A digit trie of number prefixes, matching the longest prefix of a number in
+ * one step per digit. Shared by {@link PrefixPriceTable} and
+ * {@link com.twilio.sdk.PricingSnapshot}, so both resolve a number to the same
+ * price.
+ *
+ * Each prefix maps to a row of the caller's price arrays. A prefix listed more
+ * than once keeps the row with the higher current price, so estimates never
+ * undershoot. Numbers are matched after dropping a leading + or 00
+ * international prefix; spaces, dashes, parentheses and other formatting are
+ * ignored.
+ *
+ * Tries are immutable and thread-safe.
+ */
+public final class PrefixTrie {
+
+    /**
+     * Builds a {@link PrefixTrie}.
+     */
+    public static final class Builder {
+        private int[] children = new int[10 * 64];
+        private int[] rows = new int[64];
+        // the current price of the row at each node, to settle prefixes listed twice
+        private long[] prices = new long[64];
+        private int nodes = 1;
+        private int size;
+
+        public Builder() {
+            rows[0] = -1;
+        }
+
+        /**
+         * Add a prefix.
+         *
+         * @param prefix the prefix, digits only
+         * @param row the row of the prefix
+         * @param currentPriceMicros the current price of the row, in {@link PriceMicros micro-units}
+         * @return this builder
+         */
+        public Builder add(final String prefix, final int row, final long currentPriceMicros) {
+            int node = 0;
+            for (int i = 0; i < prefix.length(); i++) {
+                final char c = prefix.charAt(i);
+                if (c < '0' || c > '9') {
+                    throw new IllegalArgumentException("Not a digit prefix: " + prefix);
+                }
+                final int slot = node * 10 + c - '0';
+                if (children[slot] == 0) {
+                    if (nodes == rows.length) {
+                        rows = Arrays.copyOf(rows, nodes * 2);
+                        prices = Arrays.copyOf(prices, nodes * 2);
+                        children = Arrays.copyOf(children, nodes * 20);
+                    }
+                    rows[nodes] = -1;
+                    children[slot] = nodes++;
+                }
+                node = children[slot];
+            }
+            if (rows[node] < 0) {
+                size++;
+            }
+            if (rows[node] < 0 || prices[node] < currentPriceMicros) {
+                rows[node] = row;
+                prices[node] = currentPriceMicros;
+            }
+            return this;
+        }
+
+        /**
+         * @return the trie of the prefixes added so far
+         */
+        public PrefixTrie build() {
+            return new PrefixTrie(Arrays.copyOf(children, nodes * 10), Arrays.copyOf(rows, nodes), size);
+        }
+    }
+
+    // node n has the child for digit d at children[n * 10 + d], or 0 if none; node 0 is the root
+    private final int[] children;
+    // the row of the prefix ending at each node, or -1
+    private final int[] rows;
+    private final int size;
+
+    private PrefixTrie(final int[] children, final int[] rows, final int size) {
+        this.children = children;
+        this.rows = rows;
+        this.size = size;
+    }
+
+    /**
+     * Find the longest prefix matching a number.
+     *
+     * @param number the number in E.164 format; formatting characters are ignored
+     * @return the row of the longest matching prefix, or -1 if none matches
+     */
+    public int indexOf(final String number) {
+        final String trimmed = number.trim();
+        final int start = trimmed.startsWith("+") ? 1 : trimmed.startsWith("00") ? 2 : 0;
+        int match = -1;
+        int node = 0;
+        for (int i = start; i < trimmed.length(); i++) {
+            final char c = trimmed.charAt(i);
+            if (c < '0' || c > '9') {
+                continue;
+            }
+            node = children[node * 10 + c - '0'];
+            if (node == 0) {
+                break;
+            }
+            if (rows[node] >= 0) {
+                match = rows[node];
+            }
+        }
+        return match;
+    }
+
+    /**
+     * @return the number of distinct prefixes
+     */
+    public int size() {
+        return size;
+    }
+}
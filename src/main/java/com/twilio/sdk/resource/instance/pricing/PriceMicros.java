@@ -0,0 +1,84 @@
+package com.twilio.sdk.resource.instance.pricing;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point prices in micro-units of the price unit, e.g. 0.0575 USD is
+ * 57500. Prices are parsed straight from the API's decimal strings, without
+ * BigDecimal, and compare and add as plain longs.
+ */
+public final class PriceMicros {
+
+    /** The number of micro-units in one unit of currency. */
+    public static final long MICROS_PER_UNIT = 1000000L;
+
+    private static final int SCALE = 6;
+
+    private PriceMicros() {
+    }
+
+    /**
+     * Parse a decimal price, rounding half up beyond six decimal places.
+     *
+     * @param price the price, e.g. "0.0575"
+     * @return the price in micro-units
+     * @throws NumberFormatException if the price is not a decimal number
+     */
+    public static long parse(final String price) {
+        if (price == null) {
+            throw new NumberFormatException("price cannot be null");
+        }
+        final String s = price.trim();
+        int i = 0;
+        boolean negative = false;
+        if (s.startsWith("-")) {
+            negative = true;
+            i = 1;
+        }
+        long units = 0;
+        long fraction = 0;
+        int fractionDigits = 0;
+        boolean point = false;
+        boolean digits = false;
+        boolean roundUp = false;
+        for (; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c == '.' && !point) {
+                point = true;
+            } else if (c >= '0' && c <= '9') {
+                digits = true;
+                final int d = c - '0';
+                if (!point) {
+                    if (units > (Long.MAX_VALUE / MICROS_PER_UNIT - d) / 10) {
+                        throw new NumberFormatException("Price out of range: " + price);
+                    }
+                    units = units * 10 + d;
+                } else if (fractionDigits < SCALE) {
+                    fraction = fraction * 10 + d;
+                    fractionDigits++;
+                } else if (fractionDigits == SCALE) {
+                    roundUp = d >= 5;
+                    fractionDigits++;
+                }
+            } else {
+                throw new NumberFormatException("Invalid price: " + price);
+            }
+        }
+        if (!digits) {
+            throw new NumberFormatException("Invalid price: " + price);
+        }
+        for (; fractionDigits < SCALE; fractionDigits++) {
+            fraction *= 10;
+        }
+        final long micros = units * MICROS_PER_UNIT + fraction + (roundUp ? 1 : 0);
+        return negative ? -micros : micros;
+    }
+
+    /**
+     * @param micros a price in micro-units
+     * @return the price as a decimal with six decimal places
+     */
+    public static BigDecimal toBigDecimal(final long micros) {
+        return BigDecimal.valueOf(micros, SCALE);
+    }
+}
@@ -1,6 +1,7 @@
 package com.twilio.sdk.resource.instance.pricing;
 
 import com.twilio.sdk.TwilioPricingClient;
+import com.twilio.sdk.TwilioRestResponse;
 import com.twilio.sdk.resource.NextGenInstanceResource;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -18,6 +19,10 @@ import java.util.Map;
  */
 public class VoiceCountry extends NextGenInstanceResource<TwilioPricingClient> {
 
+    private volatile PrefixPriceTable outboundPrefixPriceTable;
+
+    private volatile NumberTypePriceTable inboundCallPriceTable;
+
     public VoiceCountry(final TwilioPricingClient client) {
         this(client, new HashMap<String, Object>());
     }
@@ -121,6 +126,48 @@ public class VoiceCountry extends NextGenInstanceResource<TwilioPricingClient> {
         return prices;
     }
 
+    /**
+     * Get the outbound call prices of this country as a compact table, with
+     * prices in micro-units. The table is decoded on the first call and reused
+     * until the country is refreshed.
+     *
+     * @return the prices by prefix, empty if the country has none
+     */
+    public PrefixPriceTable getOutboundPrefixPriceTable() {
+        PrefixPriceTable table = outboundPrefixPriceTable;
+        if (table == null) {
+            List<Map<String, Object>> priceData = getCastedObject("outbound_prefix_prices");
+            table = PrefixPriceTable.parse(priceData);
+            outboundPrefixPriceTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * Get the inbound call prices of this country as a compact table, with
+     * prices in micro-units. The table is decoded on the first call and reused
+     * until the country is refreshed.
+     *
+     * @return the prices by number type, empty if the country has none
+     */
+    public NumberTypePriceTable getInboundCallPriceTable() {
+        NumberTypePriceTable table = inboundCallPriceTable;
+        if (table == null) {
+            List<Map<String, Object>> priceData = getCastedObject("inbound_call_prices");
+            table = NumberTypePriceTable.parse(priceData);
+            inboundCallPriceTable = table;
+        }
+        return table;
+    }
+
+    @Override
+    protected void parseResponse(final TwilioRestResponse response) {
+        super.parseResponse(response);
+        // decoded again from the new properties
+        outboundPrefixPriceTable = null;
+        inboundCallPriceTable = null;
+    }
+
     @Override
     protected String getResourceLocation() {
         return "/" + TwilioPricingClient.DEFAULT_VERSION + "/Voice/Countries/" + getIsoCountry();
@@ -100,6 +100,50 @@ public class VoiceNumber extends NextGenInstanceResource<TwilioPricingClient> {
 		                            new BigDecimal(priceInfo.get("current_price")));
 	}
 
+	/**
+	 * The price per minute of outbound calls to this phone number before discounts, without allocating a price object.
+	 *
+	 * @return the price in {@link PriceMicros micro-units}
+	 */
+	public long getOutboundCallBasePriceMicros() {
+		return priceMicros("outbound_call_price", "base_price");
+	}
+
+	/**
+	 * The price per minute of outbound calls to this phone number after discounts, without allocating a price object.
+	 *
+	 * @return the price in {@link PriceMicros micro-units}
+	 */
+	public long getOutboundCallCurrentPriceMicros() {
+		return priceMicros("outbound_call_price", "current_price");
+	}
+
+	/**
+	 * The price per minute of inbound calls to this phone number before discounts, if it is a Twilio-hosted number.
+	 *
+	 * @return the price in {@link PriceMicros micro-units}, or -1 if the number is not Twilio-hosted
+	 */
+	public long getInboundCallBasePriceMicros() {
+		return priceMicros("inbound_call_price", "base_price");
+	}
+
+	/**
+	 * The price per minute of inbound calls to this phone number after discounts, if it is a Twilio-hosted number.
+	 *
+	 * @return the price in {@link PriceMicros micro-units}, or -1 if the number is not Twilio-hosted
+	 */
+	public long getInboundCallCurrentPriceMicros() {
+		return priceMicros("inbound_call_price", "current_price");
+	}
+
+	private long priceMicros(final String price, final String field) {
+		Map<String, String> priceInfo = getCastedObject(price);
+		if (priceInfo == null) {
+			return -1;
+		}
+		return PriceMicros.parse(priceInfo.get(field));
+	}
+
 	protected String getResourceLocation() {
 		return "/" + TwilioPricingClient.DEFAULT_VERSION + "/Voice/Numbers/" + getNumber();
 	}
@@ -0,0 +1,234 @@
+package com.twilio.sdk.resource.instance.taskrouter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.jackson.JsonLocation;
+import org.codehaus.jackson.JsonProcessingException;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.map.ObjectReader;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ParseException;
+
+/**
+ * An immutable, parsed view of the user-defined JSON attributes of a
+ * {@link Worker} or {@link Task}.
+ *
+ * Objects are exposed as unmodifiable Maps, arrays as unmodifiable Lists and
+ * integral numbers as Longs, matching what json-simple used to return.
+ * Instances are thread-safe.
+ */
+public final class Attributes {
+
+	private static final ObjectReader READER = new ObjectMapper().reader(Map.class);
+
+	private static final Attributes EMPTY = new Attributes(null, Collections.<String, Object>emptyMap());
+
+	private final String source;
+
+	private final Map<String, Object> values;
+
+	private Attributes(final String source, final Map<String, Object> values) {
+		this.source = source;
+		this.values = values;
+	}
+
+	/**
+	 * Parse a JSON object.
+	 *
+	 * @param json the attributes JSON, or null for no attributes
+	 * @return the parsed attributes
+	 * @throws ParseException if json is not a JSON object
+	 */
+	@SuppressWarnings("unchecked")
+	public static Attributes parse(final String json) throws ParseException {
+		if (json == null) {
+			return EMPTY;
+		}
+
+		try {
+			Map<String, Object> parsed = READER.readValue(json);
+			if (parsed == null) {
+				throw new ParseException(ParseException.ERROR_UNEXPECTED_TOKEN, json);
+			}
+			return new Attributes(json, (Map<String, Object>) freeze(parsed));
+		} catch (final JsonProcessingException e) {
+			JsonLocation location = e.getLocation();
+			int position = location == null ? -1 : (int) location.getCharOffset();
+			throw new ParseException(position, ParseException.ERROR_UNEXPECTED_EXCEPTION, e);
+		} catch (final IOException e) {
+			throw new ParseException(-1, ParseException.ERROR_UNEXPECTED_EXCEPTION, e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Object freeze(final Object value) {
+		if (value instanceof Map) {
+			Map<String, Object> map = (Map<String, Object>) value;
+			Map<String, Object> copy = new LinkedHashMap<String, Object>(map.size() * 4 / 3 + 1);
+			for (final Map.Entry<String, Object> e : map.entrySet()) {
+				copy.put(e.getKey(), freeze(e.getValue()));
+			}
+			return Collections.unmodifiableMap(copy);
+		} else if (value instanceof List) {
+			List<Object> list = (List<Object>) value;
+			List<Object> copy = new ArrayList<Object>(list.size());
+			for (final Object o : list) {
+				copy.add(freeze(o));
+			}
+			return Collections.unmodifiableList(copy);
+		} else if (value instanceof Integer) {
+			return Long.valueOf(((Integer) value).longValue());
+		}
+		return value;
+	}
+
+	/**
+	 * Check whether these attributes were parsed from the given JSON.
+	 */
+	boolean isParsedFrom(final String json) {
+		return source == null ? json == null : source.equals(json);
+	}
+
+	/**
+	 * @return the attributes as an unmodifiable Map
+	 */
+	public Map<String, Object> asMap() {
+		return values;
+	}
+
+	/**
+	 * Copy the attributes into json-simple objects the caller may modify.
+	 *
+	 * @return a new JSONObject, with JSONObjects and JSONArrays for nested values
+	 */
+	public JSONObject toJSONObject() {
+		return (JSONObject) thaw(values);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Object thaw(final Object value) {
+		if (value instanceof Map) {
+			JSONObject copy = new JSONObject();
+			for (final Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+				copy.put(e.getKey(), thaw(e.getValue()));
+			}
+			return copy;
+		} else if (value instanceof List) {
+			JSONArray copy = new JSONArray();
+			for (final Object o : (List<?>) value) {
+				copy.add(thaw(o));
+			}
+			return copy;
+		}
+		return value;
+	}
+
+	/**
+	 * @param name the attribute name
+	 * @return true if the attribute is present, even with a null value
+	 */
+	public boolean has(final String name) {
+		return values.containsKey(name);
+	}
+
+	/**
+	 * @param name the attribute name
+	 * @return the attribute value, or null if it is missing
+	 */
+	public Object get(final String name) {
+		return values.get(name);
+	}
+
+	/**
+	 * @param name the attribute name
+	 * @return the attribute as a String, or null if it is missing or not a string
+	 */
+	public String getString(final String name) {
+		Object value = values.get(name);
+		return value instanceof String ? (String) value : null;
+	}
+
+	/**
+	 * @param name the attribute name
+	 * @return the attribute as a Long, or null if it is missing or not a number
+	 */
+	public Long getLong(final String name) {
+		Object value = values.get(name);
+		return value instanceof Number ? Long.valueOf(((Number) value).longValue()) : null;
+	}
+
+	/**
+	 * @param name the attribute name
+	 * @return the attribute as a Double, or null if it is missing or not a number
+	 */
+	public Double getDouble(final String name) {
+		Object value = values.get(name);
+		return value instanceof Number ? Double.valueOf(((Number) value).doubleValue()) : null;
+	}
+
+	/**
+	 * @param name the attribute name
+	 * @return the attribute as a Boolean, or null if it is missing or not a boolean
+	 */
+	public Boolean getBoolean(final String name) {
+		Object value = values.get(name);
+		return value instanceof Boolean ? (Boolean) value : null;
+	}
+
+	/**
+	 * @param name the attribute name
+	 * @return the attribute as an unmodifiable List, or null if it is missing or not an array
+	 */
+	@SuppressWarnings("unchecked")
+	public List<Object> getList(final String name) {
+		Object value = values.get(name);
+		return value instanceof List ? (List<Object>) value : null;
+	}
+
+	/**
+	 * @param name the attribute name
+	 * @return the attribute as an unmodifiable Map, or null if it is missing or not an object
+	 */
+	@SuppressWarnings("unchecked")
+	public Map<String, Object> getMap(final String name) {
+		Object value = values.get(name);
+		return value instanceof Map ? (Map<String, Object>) value : null;
+	}
+
+	/**
+	 * Check whether an attribute equals a value or, if it is an array,
+	 * contains it. Useful for skill matching, e.g. {@code contains("skills", "support")}.
+	 *
+	 * @param name the attribute name
+	 * @param expected the value to look for
+	 * @return true if the attribute is or contains the value
+	 */
+	public boolean contains(final String name, final Object expected) {
+		Object value = values.get(name);
+		if (value instanceof List) {
+			return ((List<?>) value).contains(expected);
+		}
+		return value == null ? expected == null : value.equals(expected);
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		return o instanceof Attributes && values.equals(((Attributes) o).values);
+	}
+
+	@Override
+	public int hashCode() {
+		return values.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return values.toString();
+	}
+}
@@ -0,0 +1,183 @@
+package com.twilio.sdk.resource.instance.taskrouter;
+
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.GregorianCalendar;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+
+import org.apache.commons.lang3.time.FastDateFormat;
+
+/**
+ * Decoding helpers shared by the TaskRouter statistics resources, which decode
+ * their cumulative and realtime maps once into primitive fields.
+ *
+ * Missing integers are stored as {@link #MISSING}, missing decimals as NaN and
+ * missing times as {@link #MISSING_TIME}; the getters box them back to null.
+ */
+final class Statistics {
+
+	static final int MISSING = Integer.MIN_VALUE;
+
+	static final long MISSING_TIME = Long.MIN_VALUE;
+
+	private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+	private static final FastDateFormat ISO_8601_DATE_FORMAT = FastDateFormat.getInstance("yyyy-MM-dd'T'HH:mm:ss'Z'", UTC);
+
+	private Statistics() {
+	}
+
+	@SuppressWarnings("unchecked")
+	static Map<String, Object> map(final Object value) {
+		return value instanceof Map ? (Map<String, Object>) value : Collections.<String, Object>emptyMap();
+	}
+
+	static int intValue(final Map<String, Object> map, final String key) {
+		Object value = map.get(key);
+		return value instanceof Number ? ((Number) value).intValue() : MISSING;
+	}
+
+	static double doubleValue(final Map<String, Object> map, final String key) {
+		Object value = map.get(key);
+		return value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+	}
+
+	static long timeValue(final Map<String, Object> map, final String key) {
+		Object value = map.get(key);
+		if (!(value instanceof String)) {
+			return MISSING_TIME;
+		}
+		try {
+			return ISO_8601_DATE_FORMAT.parse((String) value).getTime();
+		} catch (final ParseException e) {
+			return MISSING_TIME;
+		}
+	}
+
+	static Integer box(final int value) {
+		return value == MISSING ? null : Integer.valueOf(value);
+	}
+
+	static Double box(final double value) {
+		return Double.isNaN(value) ? null : Double.valueOf(value);
+	}
+
+	static Calendar toCalendar(final long time) {
+		if (time == MISSING_TIME) {
+			return null;
+		}
+		// Calendars are mutable, so every caller gets its own
+		Calendar calendar = new GregorianCalendar(UTC);
+		calendar.setTimeInMillis(time);
+		return calendar;
+	}
+
+	/**
+	 * Decode an activity_statistics array.
+	 *
+	 * @return the statistics, or null if value is not an array
+	 */
+	static ActivityIndex<ActivityStatistic> activityStatistics(final Object value) {
+		if (!(value instanceof List)) {
+			return null;
+		}
+		List<?> list = (List<?>) value;
+		String[] sids = new String[list.size()];
+		ActivityStatistic[] statistics = new ActivityStatistic[list.size()];
+		int count = 0;
+		for (final Object o : list) {
+			if (o instanceof Map) {
+				Map<String, Object> data = map(o);
+				String sid = (String) data.get("sid");
+				sids[count] = sid;
+				statistics[count++] = new ActivityStatistic(sid, (String) data.get(ActivityStatistic.FRIENDLY_NAME_PROPERTY),
+				                                            box(intValue(data, ActivityStatistic.WORKERS_PROPERTY)));
+			}
+		}
+		return new ActivityIndex<ActivityStatistic>(sids, statistics, count);
+	}
+
+	/**
+	 * Decode an activity_durations array.
+	 *
+	 * @return the durations, or null if value is not an array
+	 */
+	static ActivityIndex<ActivityDuration> activityDurations(final Object value) {
+		if (!(value instanceof List)) {
+			return null;
+		}
+		List<?> list = (List<?>) value;
+		String[] sids = new String[list.size()];
+		ActivityDuration[] durations = new ActivityDuration[list.size()];
+		int count = 0;
+		for (final Object o : list) {
+			if (o instanceof Map) {
+				Map<String, Object> data = map(o);
+				String sid = (String) data.get("sid");
+				sids[count] = sid;
+				// the API abbreviates the names of the ActivityDuration property constants
+				durations[count++] = new ActivityDuration(sid, (String) data.get(ActivityDuration.FRIENDLY_NAME_PROPERTY),
+				                                          box(doubleValue(data, "avg")), box(intValue(data, "max")),
+				                                          box(intValue(data, "min")));
+			}
+		}
+		return new ActivityIndex<ActivityDuration>(sids, durations, count);
+	}
+
+	/**
+	 * Per-activity values in an array sorted by activity sid, with a prebuilt
+	 * unmodifiable Set view in response order.
+	 */
+	static final class ActivityIndex<T> {
+		private final String[] sids;
+		private final Object[] values;
+		private final Set<T> set;
+
+		private ActivityIndex(final String[] responseSids, final T[] responseValues, final int count) {
+			Set<T> ordered = new LinkedHashSet<T>(count * 4 / 3 + 1);
+			for (int i = 0; i < count; i++) {
+				ordered.add(responseValues[i]);
+			}
+			this.set = Collections.unmodifiableSet(ordered);
+
+			Integer[] order = new Integer[count];
+			for (int i = 0; i < count; i++) {
+				order[i] = i;
+			}
+			final String[] keys = responseSids;
+			Arrays.sort(order, new Comparator<Integer>() {
+				public int compare(final Integer a, final Integer b) {
+					String x = keys[a] == null ? "" : keys[a];
+					String y = keys[b] == null ? "" : keys[b];
+					return x.compareTo(y);
+				}
+			});
+			this.sids = new String[count];
+			this.values = new Object[count];
+			for (int i = 0; i < count; i++) {
+				sids[i] = keys[order[i]] == null ? "" : keys[order[i]];
+				values[i] = responseValues[order[i]];
+			}
+		}
+
+		Set<T> asSet() {
+			return set;
+		}
+
+		@SuppressWarnings("unchecked")
+		T get(final String sid) {
+			if (sid == null) {
+				return null;
+			}
+			int index = Arrays.binarySearch(sids, sid);
+			return index < 0 ? null : (T) values[index];
+		}
+	}
+}
@@ -1,12 +1,10 @@
 package com.twilio.sdk.resource.instance.taskrouter;
 
+import com.twilio.sdk.TwilioRestResponse;
 import com.twilio.sdk.TwilioTaskRouterClient;
 import com.twilio.sdk.resource.NextGenInstanceResource;
 
 import java.util.Calendar;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -28,6 +26,8 @@ public class TaskQueueStatistics extends NextGenInstanceResource<TwilioTaskRoute
 
 	private static final String WORKSPACE_SID_PROPERTY = "workspace_sid";
 
+	private volatile Values values;
+
 	/**
 	 * Instantiates a queue statistics.
 	 *
@@ -81,20 +81,8 @@ public class TaskQueueStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the activity statistics
 	 */
 	public Set<ActivityStatistic> getActivityStatistics() {
-		try {
-			List<Map<String, Object>> props = (List<Map<String, Object>>) getRealtime().get("activity_statistics");
-
-			Set<ActivityStatistic> activityStatistics = new HashSet<ActivityStatistic>();
-
-			for (Map<String, Object> prop : props) {
-				ActivityStatistic activityStatistic = mapToActivityStatistic(prop);
-				activityStatistics.add(activityStatistic);
-			}
-
-			return Collections.unmodifiableSet(activityStatistics);
-		} catch (IllegalArgumentException e) {
-			return null;
-		}
+		Statistics.ActivityIndex<ActivityStatistic> index = values().activityStatistics;
+		return index == null ? null : index.asSet();
 	}
 
 	/**
@@ -103,8 +91,7 @@ public class TaskQueueStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return number of assigned tasks
 	 */
 	public Integer getAssignedTasks() {
-		Map<String, Object> tasksByStatus = (Map<String, Object>) getRealtime().get(TASKS_BY_STATUS_PROPERTY);
-		return (Integer) tasksByStatus.get("assigned");
+		return Statistics.box(values().assignedTasks);
 	}
 
 	/**
@@ -113,16 +100,7 @@ public class TaskQueueStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the average time of task acceptance in seconds
 	 */
 	public Double getAverageTaskAcceptanceTime() {
-		try {
-			Object prop = getCumulative().get("avg_task_acceptance_time");
-			if (prop instanceof Integer) {
-				return Double.parseDouble(prop.toString());
-			} else {
-				return (Double) prop;
-			}
-		} catch (IllegalArgumentException e) {
-			return null;
-		}
+		return Statistics.box(values().averageTaskAcceptanceTime);
 	}
 
 	/**
@@ -131,7 +109,7 @@ public class TaskQueueStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the end time
 	 */
 	public Calendar getEndTime() {
-		return parseCalendar((String) getCumulative().get("end_time"));
+		return Statistics.toCalendar(values().endTime);
 	}
 
 	/**
@@ -140,7 +118,7 @@ public class TaskQueueStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the longest task waiting age in seconds
 	 */
 	public Integer getLongestTaskWaitingAge() {
-		return (Integer) getRealtime().get("longest_task_waiting_age");
+		return Statistics.box(values().longestTaskWaitingAge);
 	}
 
 	/**
@@ -149,7 +127,7 @@ public class TaskQueueStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the sid of the longest waiting task
 	 */
 	public String getLongestTaskWaitingSid() {
-		return (String) getRealtime().get("longest_task_waiting_sid");
+		return values().longestTaskWaitingSid;
 	}
 
 	/**
@@ -158,8 +136,7 @@ public class TaskQueueStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the number of pending tasks
 	 */
 	public Integer getPendingTasks() {
-		Map<String, Object> tasksByStatus = (Map<String, Object>) getRealtime().get(TASKS_BY_STATUS_PROPERTY);
-		return (Integer) tasksByStatus.get("pending");
+		return Statistics.box(values().pendingTasks);
 	}
 
 	/**
@@ -177,7 +154,7 @@ public class TaskQueueStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the number of accepted reservations
 	 */
 	public Integer getReservationsAccepted() {
-		return (Integer) getCumulative().get("reservations_accepted");
+		return Statistics.box(values().reservationsAccepted);
 	}
 
 	/**
@@ -186,7 +163,7 @@ public class TaskQueueStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the number of rejected reservations
 	 */
 	public Integer getReservationsRejected() {
-		return (Integer) getCumulative().get("reservations_rejected");
+		return Statistics.box(values().reservationsRejected);
 	}
 
 	/**
@@ -195,7 +172,7 @@ public class TaskQueueStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the number of timed out reservations
 	 */
 	public Integer getReservationsTimedOut() {
-		return (Integer) getCumulative().get("reservations_timed_out");
+		return Statistics.box(values().reservationsTimedOut);
 	}
 
 	/**
@@ -204,8 +181,7 @@ public class TaskQueueStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the number of reserved tasks
 	 */
 	public Integer getReservedTasks() {
-		Map<String, Object> tasksByStatus = (Map<String, Object>) getRealtime().get(TASKS_BY_STATUS_PROPERTY);
-		return (Integer) tasksByStatus.get("reserved");
+		return Statistics.box(values().reservedTasks);
 	}
 
 	/**
@@ -214,7 +190,7 @@ public class TaskQueueStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the start time
 	 */
 	public Calendar getStartTime() {
-		return parseCalendar((String) getCumulative().get("start_time"));
+		return Statistics.toCalendar(values().startTime);
 	}
 
 	/**
@@ -223,7 +199,7 @@ public class TaskQueueStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the number of tasks canceled
 	 */
 	public Integer getTasksCanceled() {
-		return (Integer) getCumulative().get("tasks_canceled");
+		return Statistics.box(values().tasksCanceled);
 	}
 
 	/**
@@ -232,7 +208,7 @@ public class TaskQueueStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the number of tasks entered
 	 */
 	public Integer getTasksEntered() {
-		return (Integer) getCumulative().get("tasks_entered");
+		return Statistics.box(values().tasksEntered);
 	}
 
 	/**
@@ -241,7 +217,7 @@ public class TaskQueueStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the number of tasks moved
 	 */
 	public Integer getTasksMoved() {
-		return (Integer) getCumulative().get("tasks_moved");
+		return Statistics.box(values().tasksMoved);
 	}
 
 	/**
@@ -250,7 +226,7 @@ public class TaskQueueStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the total number of available workers
 	 */
 	public Integer getTotalAvailableWorkers() {
-		return (Integer) getRealtime().get("total_available_workers");
+		return Statistics.box(values().totalAvailableWorkers);
 	}
 
 	/**
@@ -259,7 +235,7 @@ public class TaskQueueStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the total number of eligible workers
 	 */
 	public Integer getTotalEligibleWorkers() {
-		return (Integer) getRealtime().get("total_eligible_workers");
+		return Statistics.box(values().totalEligibleWorkers);
 	}
 
 	/**
@@ -268,7 +244,7 @@ public class TaskQueueStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the total number of tasks
 	 */
 	public Integer getTotalTasks() {
-		return (Integer) getRealtime().get("total_tasks");
+		return Statistics.box(values().totalTasks);
 	}
 
 	/**
@@ -280,33 +256,88 @@ public class TaskQueueStatistics extends NextGenInstanceResource<TwilioTaskRoute
 		return getProperty(WORKSPACE_SID_PROPERTY);
 	}
 
+	/**
+	 * Get the activity statistic of one activity.
+	 *
+	 * @param activitySid the activity sid
+	 * @return the activity statistic, or null if the activity is not included
+	 */
+	public ActivityStatistic getActivityStatistic(final String activitySid) {
+		Statistics.ActivityIndex<ActivityStatistic> index = values().activityStatistics;
+		return index == null ? null : index.get(activitySid);
+	}
+
 	@Override
 	protected String getResourceLocation() {
 		return "/" + TwilioTaskRouterClient.DEFAULT_VERSION + "/Workspaces/" + getWorkspaceSid() + "/TaskQueues/" +
 		       getQueueSid() + "/Statistics";
 	}
 
-	private Map<String, Object> getCumulative() {
-		return (Map<String, Object>) getObject(CUMULATIVE_PROPERTY);
+	@Override
+	protected void parseResponse(final TwilioRestResponse response) {
+		super.parseResponse(response);
+		values = new Values(getCastedObject(CUMULATIVE_PROPERTY), getCastedObject(REALTIME_PROPERTY));
 	}
 
-	private Map<String, Object> getRealtime() {
-		return (Map<String, Object>) getObject(REALTIME_PROPERTY);
+	private Values values() {
+		Values current = values;
+		if (current == null) {
+			// loading the resource decodes it
+			Object cumulative = getCastedObject(CUMULATIVE_PROPERTY);
+			current = values;
+			if (current == null) {
+				current = new Values(cumulative, getCastedObject(REALTIME_PROPERTY));
+				values = current;
+			}
+		}
+		return current;
 	}
 
-	private ActivityStatistic mapToActivityStatistic(final Map<String, Object> data) {
-		String sid;
-		String friendlyName;
-		Integer workers;
-
-		try {
-			sid = (String) data.get(SID_PROPERTY);
-			friendlyName = (String) data.get(ActivityStatistic.FRIENDLY_NAME_PROPERTY);
-			workers = (Integer) data.get(ActivityStatistic.WORKERS_PROPERTY);
-		} catch (Exception e) {
-			throw new IllegalStateException("An Activity Statistic contained improperly formatted data.", e);
+	/**
+	 * The cumulative and realtime statistics, decoded once.
+	 */
+	private static final class Values {
+		private final int assignedTasks;
+		private final int pendingTasks;
+		private final int reservedTasks;
+		private final double averageTaskAcceptanceTime;
+		private final long endTime;
+		private final long startTime;
+		private final int longestTaskWaitingAge;
+		private final String longestTaskWaitingSid;
+		private final int reservationsAccepted;
+		private final int reservationsRejected;
+		private final int reservationsTimedOut;
+		private final int tasksCanceled;
+		private final int tasksMoved;
+		private final int totalTasks;
+		private final int tasksEntered;
+		private final int totalAvailableWorkers;
+		private final int totalEligibleWorkers;
+		private final Statistics.ActivityIndex<ActivityStatistic> activityStatistics;
+
+		private Values(final Object cumulativeProperty, final Object realtimeProperty) {
+			Map<String, Object> cumulative = Statistics.map(cumulativeProperty);
+			Map<String, Object> realtime = Statistics.map(realtimeProperty);
+			Map<String, Object> tasksByStatus = Statistics.map(realtime.get(TASKS_BY_STATUS_PROPERTY));
+			assignedTasks = Statistics.intValue(tasksByStatus, "assigned");
+			pendingTasks = Statistics.intValue(tasksByStatus, "pending");
+			reservedTasks = Statistics.intValue(tasksByStatus, "reserved");
+			averageTaskAcceptanceTime = Statistics.doubleValue(cumulative, "avg_task_acceptance_time");
+			endTime = Statistics.timeValue(cumulative, "end_time");
+			startTime = Statistics.timeValue(cumulative, "start_time");
+			longestTaskWaitingAge = Statistics.intValue(realtime, "longest_task_waiting_age");
+			longestTaskWaitingSid = (String) realtime.get("longest_task_waiting_sid");
+			reservationsAccepted = Statistics.intValue(cumulative, "reservations_accepted");
+			reservationsRejected = Statistics.intValue(cumulative, "reservations_rejected");
+			reservationsTimedOut = Statistics.intValue(cumulative, "reservations_timed_out");
+			tasksCanceled = Statistics.intValue(cumulative, "tasks_canceled");
+			tasksMoved = Statistics.intValue(cumulative, "tasks_moved");
+			totalTasks = Statistics.intValue(realtime, "total_tasks");
+			tasksEntered = Statistics.intValue(cumulative, "tasks_entered");
+			totalAvailableWorkers = Statistics.intValue(realtime, "total_available_workers");
+			totalEligibleWorkers = Statistics.intValue(realtime, "total_eligible_workers");
+			activityStatistics = Statistics.activityStatistics(realtime.get("activity_statistics"));
 		}
-
-		return new ActivityStatistic(sid, friendlyName, workers);
 	}
 }
@@ -7,7 +7,6 @@ import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
 import com.twilio.sdk.TwilioRestException;
@@ -25,7 +24,8 @@ public class Worker extends NextGenInstanceResource<TwilioTaskRouterClient> {
 
   private static final String WORKSPACE_SID_PROPERTY = "workspace_sid";
 
-  private static JSONParser parser = new JSONParser();
+  // Parsed attributes, replaced when the attributes property changes
+  private volatile Attributes parsedAttributes;
 
   /**
    * Instantiates a worker.
@@ -140,14 +140,34 @@ public class Worker extends NextGenInstanceResource<TwilioTaskRouterClient> {
   }
 
   /**
-   * A map that represents the JSON describing this Worker.
+   * A map that represents the JSON describing this Worker. Each call returns a
+   * new copy that the caller may modify; use {@link #getParsedAttributes()}
+   * to read the attributes without copying.
    *
-   * @return the attributes
+   * @return the attributes as a JSONObject
    * @throws ParseException 
    */
+  @SuppressWarnings("unchecked")
   public Map<String, Object> parseAttributes() throws ParseException {
+    return getParsedAttributes().toJSONObject();
+  }
+
+  /**
+   * A typed, immutable view of the JSON describing this Worker. The attributes
+   * are parsed once and cached until they change, and the view may be
+   * shared between threads.
+   *
+   * @return the parsed attributes
+   * @throws ParseException if the attributes are not a JSON object
+   */
+  public Attributes getParsedAttributes() throws ParseException {
     String attributes = getProperty("attributes");
-    return (Map<String, Object>) parser.parse(attributes);
+    Attributes parsed = parsedAttributes;
+    if (parsed == null || !parsed.isParsedFrom(attributes)) {
+      parsed = Attributes.parse(attributes);
+      parsedAttributes = parsed;
+    }
+    return parsed;
   }
 
   /**
@@ -1,12 +1,10 @@
 package com.twilio.sdk.resource.instance.taskrouter;
 
+import com.twilio.sdk.TwilioRestResponse;
 import com.twilio.sdk.TwilioTaskRouterClient;
 import com.twilio.sdk.resource.NextGenInstanceResource;
 
 import java.util.Calendar;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -24,6 +22,8 @@ public class WorkersStatistics extends NextGenInstanceResource<TwilioTaskRouterC
 
 	private static final String WORKSPACE_SID_PROPERTY = "workspace_sid";
 
+	private volatile Values values;
+
 	/**
 	 * Instantiates a worker statistics.
 	 *
@@ -57,20 +57,8 @@ public class WorkersStatistics extends NextGenInstanceResource<TwilioTaskRouterC
 	 * @return the activity durations
 	 */
 	public Set<ActivityDuration> getActivityDurations() {
-		try {
-			List<Map<String, Object>> props = (List<Map<String, Object>>) getCumulative().get("activity_durations");
-
-			Set<ActivityDuration> activityDurations = new HashSet<ActivityDuration>();
-
-			for (Map<String, Object> prop : props) {
-				ActivityDuration activityDuration = mapToActivityDuration(prop);
-				activityDurations.add(activityDuration);
-			}
-
-			return Collections.unmodifiableSet(activityDurations);
-		} catch (IllegalArgumentException e) {
-			return null;
-		}
+		Statistics.ActivityIndex<ActivityDuration> index = values().activityDurations;
+		return index == null ? null : index.asSet();
 	}
 
 	/**
@@ -79,20 +67,8 @@ public class WorkersStatistics extends NextGenInstanceResource<TwilioTaskRouterC
 	 * @return the activity statistics
 	 */
 	public Set<ActivityStatistic> getActivityStatistics() {
-		try {
-			List<Map<String, Object>> props = (List<Map<String, Object>>) getRealtime().get("activity_statistics");
-
-			Set<ActivityStatistic> activityStatistics = new HashSet<ActivityStatistic>();
-
-			for (Map<String, Object> prop : props) {
-				ActivityStatistic activityStatistic = mapToActivityStatistic(prop);
-				activityStatistics.add(activityStatistic);
-			}
-
-			return Collections.unmodifiableSet(activityStatistics);
-		} catch (IllegalArgumentException e) {
-			return null;
-		}
+		Statistics.ActivityIndex<ActivityStatistic> index = values().activityStatistics;
+		return index == null ? null : index.asSet();
 	}
 
 	/**
@@ -101,7 +77,7 @@ public class WorkersStatistics extends NextGenInstanceResource<TwilioTaskRouterC
 	 * @return the end time
 	 */
 	public Calendar getEndTime() {
-		return parseCalendar((String) getCumulative().get("end_time"));
+		return Statistics.toCalendar(values().endTime);
 	}
 
 	/**
@@ -110,7 +86,7 @@ public class WorkersStatistics extends NextGenInstanceResource<TwilioTaskRouterC
 	 * @return the number of accepted reservations
 	 */
 	public Integer getReservationsAccepted() {
-		return (Integer) getCumulative().get("reservations_accepted");
+		return Statistics.box(values().reservationsAccepted);
 	}
 
 	/**
@@ -119,7 +95,7 @@ public class WorkersStatistics extends NextGenInstanceResource<TwilioTaskRouterC
 	 * @return the number of rejected reservations
 	 */
 	public Integer getReservationsRejected() {
-		return (Integer) getCumulative().get("reservations_rejected");
+		return Statistics.box(values().reservationsRejected);
 	}
 
 	/**
@@ -128,7 +104,7 @@ public class WorkersStatistics extends NextGenInstanceResource<TwilioTaskRouterC
 	 * @return the number of timed out reservations
 	 */
 	public Integer getReservationsTimedOut() {
-		return (Integer) getCumulative().get("reservations_timed_out");
+		return Statistics.box(values().reservationsTimedOut);
 	}
 
 	/**
@@ -137,7 +113,7 @@ public class WorkersStatistics extends NextGenInstanceResource<TwilioTaskRouterC
 	 * @return the start time
 	 */
 	public Calendar getStartTime() {
-		return parseCalendar((String) getCumulative().get("start_time"));
+		return Statistics.toCalendar(values().startTime);
 	}
 
 	/**
@@ -146,7 +122,7 @@ public class WorkersStatistics extends NextGenInstanceResource<TwilioTaskRouterC
 	 * @return the number of tasks assigned
 	 */
 	public Integer getTasksAssigned() {
-		return (Integer) getCumulative().get("tasks_assigned");
+		return Statistics.box(values().tasksAssigned);
 	}
 
 	/**
@@ -155,7 +131,7 @@ public class WorkersStatistics extends NextGenInstanceResource<TwilioTaskRouterC
 	 * @return the number of workers
 	 */
 	public Integer getTotalWorkers() {
-		return (Integer) getRealtime().get("total_workers");
+		return Statistics.box(values().totalWorkers);
 	}
 
 	/**
@@ -167,61 +143,79 @@ public class WorkersStatistics extends NextGenInstanceResource<TwilioTaskRouterC
 		return getProperty(WORKSPACE_SID_PROPERTY);
 	}
 
-	@Override
-	protected String getResourceLocation() {
-		return "/" + TwilioTaskRouterClient.DEFAULT_VERSION + "/Workspaces/" + getWorkspaceSid() + "/Workers/Statistics";
+	/**
+	 * Get the activity duration of one activity.
+	 *
+	 * @param activitySid the activity sid
+	 * @return the activity duration, or null if the activity is not included
+	 */
+	public ActivityDuration getActivityDuration(final String activitySid) {
+		Statistics.ActivityIndex<ActivityDuration> index = values().activityDurations;
+		return index == null ? null : index.get(activitySid);
 	}
 
-	private Map<String, Object> getCumulative() {
-		return (Map<String, Object>) getObject(CUMULATIVE_PROPERTY);
+	/**
+	 * Get the activity statistic of one activity.
+	 *
+	 * @param activitySid the activity sid
+	 * @return the activity statistic, or null if the activity is not included
+	 */
+	public ActivityStatistic getActivityStatistic(final String activitySid) {
+		Statistics.ActivityIndex<ActivityStatistic> index = values().activityStatistics;
+		return index == null ? null : index.get(activitySid);
 	}
 
-	private Map<String, Object> getRealtime() {
-		return (Map<String, Object>) getObject(REALTIME_PROPERTY);
+	@Override
+	protected String getResourceLocation() {
+		return "/" + TwilioTaskRouterClient.DEFAULT_VERSION + "/Workspaces/" + getWorkspaceSid() + "/Workers/Statistics";
 	}
 
-	private ActivityDuration mapToActivityDuration(final Map<String, Object> data) {
-		String sid;
-		String friendlyName;
-		Double average;
-		Integer maximum;
-		Integer minimum;
-
-		try {
-			sid = (String) data.get(SID_PROPERTY);
-			friendlyName = (String) data.get(ActivityDuration.FRIENDLY_NAME_PROPERTY);
-			maximum = (Integer) data.get(ActivityDuration.MAXIMUM_PROPERTY);
-			minimum = (Integer) data.get(ActivityDuration.MINIMUM_PROPERTY);
-			try {
-				Object prop = getObject(ActivityDuration.AVERAGE_PROPERTY);
-				if (prop instanceof Integer) {
-					average =  Double.parseDouble(prop.toString());
-				} else {
-					average = (Double) prop;
-				}
-			} catch (IllegalArgumentException e) {
-				average = null;
+	@Override
+	protected void parseResponse(final TwilioRestResponse response) {
+		super.parseResponse(response);
+		values = new Values(getCastedObject(CUMULATIVE_PROPERTY), getCastedObject(REALTIME_PROPERTY));
+	}
+
+	private Values values() {
+		Values current = values;
+		if (current == null) {
+			// loading the resource decodes it
+			Object cumulative = getCastedObject(CUMULATIVE_PROPERTY);
+			current = values;
+			if (current == null) {
+				current = new Values(cumulative, getCastedObject(REALTIME_PROPERTY));
+				values = current;
 			}
-		} catch (Exception e) {
-			throw new IllegalStateException("An Activity Duration contained improperly formatted data.", e);
 		}
-
-		return new ActivityDuration(sid, friendlyName, average, maximum, minimum);
+		return current;
 	}
 
-	private ActivityStatistic mapToActivityStatistic(final Map<String, Object> data) {
-		String sid;
-		String friendlyName;
-		Integer workers;
-
-		try {
-			sid = (String) data.get(SID_PROPERTY);
-			friendlyName = (String) data.get(ActivityStatistic.FRIENDLY_NAME_PROPERTY);
-			workers = (Integer) data.get(ActivityStatistic.WORKERS_PROPERTY);
-		} catch (Exception e) {
-			throw new IllegalStateException("An Activity Statistic contained improperly formatted data.", e);
+	/**
+	 * The cumulative and realtime statistics, decoded once.
+	 */
+	private static final class Values {
+		private final long endTime;
+		private final long startTime;
+		private final int reservationsAccepted;
+		private final int reservationsRejected;
+		private final int reservationsTimedOut;
+		private final int tasksAssigned;
+		private final int totalWorkers;
+		private final Statistics.ActivityIndex<ActivityDuration> activityDurations;
+		private final Statistics.ActivityIndex<ActivityStatistic> activityStatistics;
+
+		private Values(final Object cumulativeProperty, final Object realtimeProperty) {
+			Map<String, Object> cumulative = Statistics.map(cumulativeProperty);
+			Map<String, Object> realtime = Statistics.map(realtimeProperty);
+			endTime = Statistics.timeValue(cumulative, "end_time");
+			startTime = Statistics.timeValue(cumulative, "start_time");
+			reservationsAccepted = Statistics.intValue(cumulative, "reservations_accepted");
+			reservationsRejected = Statistics.intValue(cumulative, "reservations_rejected");
+			reservationsTimedOut = Statistics.intValue(cumulative, "reservations_timed_out");
+			tasksAssigned = Statistics.intValue(cumulative, "tasks_assigned");
+			totalWorkers = Statistics.intValue(realtime, "total_workers");
+			activityDurations = Statistics.activityDurations(cumulative.get("activity_durations"));
+			activityStatistics = Statistics.activityStatistics(realtime.get("activity_statistics"));
 		}
-
-		return new ActivityStatistic(sid, friendlyName, workers);
 	}
 }
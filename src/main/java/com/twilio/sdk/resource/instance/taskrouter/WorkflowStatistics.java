@@ -1,5 +1,6 @@
 package com.twilio.sdk.resource.instance.taskrouter;
 
+import com.twilio.sdk.TwilioRestResponse;
 import com.twilio.sdk.TwilioTaskRouterClient;
 import com.twilio.sdk.resource.NextGenInstanceResource;
 
@@ -24,6 +25,8 @@ public class WorkflowStatistics extends NextGenInstanceResource<TwilioTaskRouter
 
 	private static final String WORKSPACE_SID_PROPERTY = "workspace_sid";
 
+	private volatile Values values;
+
 	/**
 	 * Instantiates a workflow statistics.
 	 *
@@ -64,8 +67,7 @@ public class WorkflowStatistics extends NextGenInstanceResource<TwilioTaskRouter
 	 * @return number of assigned tasks
 	 */
 	public Integer getAssignedTasks() {
-		Map<String, Object> tasksByStatus = (Map<String, Object>) getRealtime().get(TASKS_BY_STATUS_PROPERTY);
-		return (Integer) tasksByStatus.get("assigned");
+		return Statistics.box(values().assignedTasks);
 	}
 
 	/**
@@ -74,16 +76,7 @@ public class WorkflowStatistics extends NextGenInstanceResource<TwilioTaskRouter
 	 * @return the average time of task acceptance in seconds
 	 */
 	public Double getAverageTaskAcceptanceTime() {
-		try {
-			Object prop = getCumulative().get("avg_task_acceptance_time");
-			if (prop instanceof Integer) {
-				return Double.parseDouble(prop.toString());
-			} else {
-				return (Double) prop;
-			}
-		} catch (IllegalArgumentException e) {
-			return null;
-		}
+		return Statistics.box(values().averageTaskAcceptanceTime);
 	}
 
 	/**
@@ -92,7 +85,7 @@ public class WorkflowStatistics extends NextGenInstanceResource<TwilioTaskRouter
 	 * @return the end time
 	 */
 	public Calendar getEndTime() {
-		return parseCalendar((String) getCumulative().get("end_time"));
+		return Statistics.toCalendar(values().endTime);
 	}
 
 	/**
@@ -101,7 +94,7 @@ public class WorkflowStatistics extends NextGenInstanceResource<TwilioTaskRouter
 	 * @return the longest task waiting age in seconds
 	 */
 	public Integer getLongestTaskWaitingAge() {
-		return (Integer) getRealtime().get("longest_task_waiting_age");
+		return Statistics.box(values().longestTaskWaitingAge);
 	}
 
 	/**
@@ -110,7 +103,7 @@ public class WorkflowStatistics extends NextGenInstanceResource<TwilioTaskRouter
 	 * @return the sid of the longest waiting task
 	 */
 	public String getLongestTaskWaitingSid() {
-		return (String) getRealtime().get("longest_task_waiting_sid");
+		return values().longestTaskWaitingSid;
 	}
 
 	/**
@@ -119,8 +112,7 @@ public class WorkflowStatistics extends NextGenInstanceResource<TwilioTaskRouter
 	 * @return the number of pending tasks
 	 */
 	public Integer getPendingTasks() {
-		Map<String, Object> tasksByStatus = (Map<String, Object>) getRealtime().get(TASKS_BY_STATUS_PROPERTY);
-		return (Integer) tasksByStatus.get("pending");
+		return Statistics.box(values().pendingTasks);
 	}
 
 	/**
@@ -129,7 +121,7 @@ public class WorkflowStatistics extends NextGenInstanceResource<TwilioTaskRouter
 	 * @return the number of accepted reservations
 	 */
 	public Integer getReservationsAccepted() {
-		return (Integer) getCumulative().get("reservations_accepted");
+		return Statistics.box(values().reservationsAccepted);
 	}
 
 	/**
@@ -138,7 +130,7 @@ public class WorkflowStatistics extends NextGenInstanceResource<TwilioTaskRouter
 	 * @return the number of rejected reservations
 	 */
 	public Integer getReservationsRejected() {
-		return (Integer) getCumulative().get("reservations_rejected");
+		return Statistics.box(values().reservationsRejected);
 	}
 
 	/**
@@ -147,7 +139,7 @@ public class WorkflowStatistics extends NextGenInstanceResource<TwilioTaskRouter
 	 * @return the number of timed out reservations
 	 */
 	public Integer getReservationsTimedOut() {
-		return (Integer) getCumulative().get("reservations_timed_out");
+		return Statistics.box(values().reservationsTimedOut);
 	}
 
 	/**
@@ -156,8 +148,7 @@ public class WorkflowStatistics extends NextGenInstanceResource<TwilioTaskRouter
 	 * @return the number of reserved tasks
 	 */
 	public Integer getReservedTasks() {
-		Map<String, Object> tasksByStatus = (Map<String, Object>) getRealtime().get(TASKS_BY_STATUS_PROPERTY);
-		return (Integer) tasksByStatus.get("reserved");
+		return Statistics.box(values().reservedTasks);
 	}
 
 	/**
@@ -166,7 +157,7 @@ public class WorkflowStatistics extends NextGenInstanceResource<TwilioTaskRouter
 	 * @return the start time
 	 */
 	public Calendar getStartTime() {
-		return parseCalendar((String) getCumulative().get("start_time"));
+		return Statistics.toCalendar(values().startTime);
 	}
 
 	/**
@@ -175,7 +166,7 @@ public class WorkflowStatistics extends NextGenInstanceResource<TwilioTaskRouter
 	 * @return the number of tasks canceled
 	 */
 	public Integer getTasksCanceled() {
-		return (Integer) getCumulative().get("tasks_canceled");
+		return Statistics.box(values().tasksCanceled);
 	}
 
 	/**
@@ -184,7 +175,7 @@ public class WorkflowStatistics extends NextGenInstanceResource<TwilioTaskRouter
 	 * @return the number of tasks entered
 	 */
 	public Integer getTasksEntered() {
-		return (Integer) getCumulative().get("tasks_entered");
+		return Statistics.box(values().tasksEntered);
 	}
 
 	/**
@@ -193,7 +184,7 @@ public class WorkflowStatistics extends NextGenInstanceResource<TwilioTaskRouter
 	 * @return the number of tasks moved
 	 */
 	public Integer getTasksMoved() {
-		return (Integer) getCumulative().get("tasks_moved");
+		return Statistics.box(values().tasksMoved);
 	}
 
 	/**
@@ -202,7 +193,7 @@ public class WorkflowStatistics extends NextGenInstanceResource<TwilioTaskRouter
 	 * @return the number of tasks that timed out in the workflow
 	 */
 	public Integer getTasksTimedOutInWorkflow() {
-		return (Integer) getCumulative().get("tasks_timed_out_in_workflow");
+		return Statistics.box(values().tasksTimedOutInWorkflow);
 	}
 
 	/**
@@ -211,7 +202,7 @@ public class WorkflowStatistics extends NextGenInstanceResource<TwilioTaskRouter
 	 * @return the total number of tasks
 	 */
 	public Integer getTotalTasks() {
-		return (Integer) getRealtime().get("total_tasks");
+		return Statistics.box(values().totalTasks);
 	}
 
 	/**
@@ -238,11 +229,67 @@ public class WorkflowStatistics extends NextGenInstanceResource<TwilioTaskRouter
 		       getWorkflowSid() + "/Statistics";
 	}
 
-	private Map<String, Object> getCumulative() {
-		return (Map<String, Object>) getObject(CUMULATIVE_PROPERTY);
+	@Override
+	protected void parseResponse(final TwilioRestResponse response) {
+		super.parseResponse(response);
+		values = new Values(getCastedObject(CUMULATIVE_PROPERTY), getCastedObject(REALTIME_PROPERTY));
 	}
 
-	private Map<String, Object> getRealtime() {
-		return (Map<String, Object>) getObject(REALTIME_PROPERTY);
+	private Values values() {
+		Values current = values;
+		if (current == null) {
+			// loading the resource decodes it
+			Object cumulative = getCastedObject(CUMULATIVE_PROPERTY);
+			current = values;
+			if (current == null) {
+				current = new Values(cumulative, getCastedObject(REALTIME_PROPERTY));
+				values = current;
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * The cumulative and realtime statistics, decoded once.
+	 */
+	private static final class Values {
+		private final int assignedTasks;
+		private final int pendingTasks;
+		private final int reservedTasks;
+		private final double averageTaskAcceptanceTime;
+		private final long endTime;
+		private final long startTime;
+		private final int longestTaskWaitingAge;
+		private final String longestTaskWaitingSid;
+		private final int reservationsAccepted;
+		private final int reservationsRejected;
+		private final int reservationsTimedOut;
+		private final int tasksCanceled;
+		private final int tasksMoved;
+		private final int totalTasks;
+		private final int tasksEntered;
+		private final int tasksTimedOutInWorkflow;
+
+		private Values(final Object cumulativeProperty, final Object realtimeProperty) {
+			Map<String, Object> cumulative = Statistics.map(cumulativeProperty);
+			Map<String, Object> realtime = Statistics.map(realtimeProperty);
+			Map<String, Object> tasksByStatus = Statistics.map(realtime.get(TASKS_BY_STATUS_PROPERTY));
+			assignedTasks = Statistics.intValue(tasksByStatus, "assigned");
+			pendingTasks = Statistics.intValue(tasksByStatus, "pending");
+			reservedTasks = Statistics.intValue(tasksByStatus, "reserved");
+			averageTaskAcceptanceTime = Statistics.doubleValue(cumulative, "avg_task_acceptance_time");
+			endTime = Statistics.timeValue(cumulative, "end_time");
+			startTime = Statistics.timeValue(cumulative, "start_time");
+			longestTaskWaitingAge = Statistics.intValue(realtime, "longest_task_waiting_age");
+			longestTaskWaitingSid = (String) realtime.get("longest_task_waiting_sid");
+			reservationsAccepted = Statistics.intValue(cumulative, "reservations_accepted");
+			reservationsRejected = Statistics.intValue(cumulative, "reservations_rejected");
+			reservationsTimedOut = Statistics.intValue(cumulative, "reservations_timed_out");
+			tasksCanceled = Statistics.intValue(cumulative, "tasks_canceled");
+			tasksMoved = Statistics.intValue(cumulative, "tasks_moved");
+			totalTasks = Statistics.intValue(realtime, "total_tasks");
+			tasksEntered = Statistics.intValue(cumulative, "tasks_entered");
+			tasksTimedOutInWorkflow = Statistics.intValue(cumulative, "tasks_timed_out_in_workflow");
+		}
 	}
 }
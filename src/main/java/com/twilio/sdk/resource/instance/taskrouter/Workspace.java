@@ -1,6 +1,7 @@
 package com.twilio.sdk.resource.instance.taskrouter;
 
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -18,6 +19,7 @@ import com.twilio.sdk.resource.list.taskrouter.TaskList;
 import com.twilio.sdk.resource.list.taskrouter.TaskQueueList;
 import com.twilio.sdk.resource.list.taskrouter.WorkerList;
 import com.twilio.sdk.resource.list.taskrouter.WorkflowList;
+import com.twilio.sdk.taskrouter.WorkerActivityTransition;
 
 /**
  * A Workspace is a container for your Tasks, Workers, TaskQueues, Workflows and Activities. Each of these items exists
@@ -392,6 +394,20 @@ public class Workspace extends NextGenInstanceResource<TwilioTaskRouterClient> {
 		return workers.create(friendlyName, attributes, activitySid);
 	}
 
+	/**
+	 * Move many {@link com.twilio.sdk.resource.instance.taskrouter.Worker}s to an Activity, with bounded
+	 * concurrency and a rate that adapts to 429 Too Many Requests responses.
+	 *
+	 * @param workerSids the sids of the workers
+	 * @param activitySid the sid of the activity to move them to
+	 * @return the workers moved and the failures of the rest
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public WorkerActivityTransition.Report transitionWorkers(final Collection<String> workerSids,
+	                                                         final String activitySid) throws InterruptedException {
+		return getClient().transitionWorkers(getSid(), workerSids, activitySid);
+	}
+
 	/**
 	 * Retrieves a {@link com.twilio.sdk.resource.instance.taskrouter.Workflow} from a Workspace
 	 */
@@ -1,12 +1,10 @@
 package com.twilio.sdk.resource.instance.taskrouter;
 
+import com.twilio.sdk.TwilioRestResponse;
 import com.twilio.sdk.TwilioTaskRouterClient;
 import com.twilio.sdk.resource.NextGenInstanceResource;
 
 import java.util.Calendar;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -27,6 +25,8 @@ public class WorkspaceStatistics extends NextGenInstanceResource<TwilioTaskRoute
 
 	private static final String WORKSPACE_SID_PROPERTY = "workspace_sid";
 
+	private volatile Values values;
+
 	/**
 	 * Instantiates a workspace statistics.
 	 *
@@ -60,20 +60,8 @@ public class WorkspaceStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the activity statistics
 	 */
 	public Set<ActivityStatistic> getActivityStatistics() {
-		try {
-			List<Map<String, Object>> props = (List<Map<String, Object>>) getRealtime().get("activity_statistics");
-
-			Set<ActivityStatistic> activityStatistics = new HashSet<ActivityStatistic>();
-
-			for (Map<String, Object> prop : props) {
-				ActivityStatistic activityStatistic = mapToActivityStatistic(prop);
-				activityStatistics.add(activityStatistic);
-			}
-
-			return Collections.unmodifiableSet(activityStatistics);
-		} catch (IllegalArgumentException e) {
-			return null;
-		}
+		Statistics.ActivityIndex<ActivityStatistic> index = values().activityStatistics;
+		return index == null ? null : index.asSet();
 	}
 
 	/**
@@ -82,8 +70,7 @@ public class WorkspaceStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return number of assigned tasks
 	 */
 	public Integer getAssignedTasks() {
-		Map<String, Object> tasksByStatus = (Map<String, Object>) getRealtime().get(TASKS_BY_STATUS_PROPERTY);
-		return (Integer) tasksByStatus.get("assigned");
+		return Statistics.box(values().assignedTasks);
 	}
 
 	/**
@@ -92,16 +79,7 @@ public class WorkspaceStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the average time of task acceptance in seconds
 	 */
 	public Double getAverageTaskAcceptanceTime() {
-		try {
-			Object prop = getCumulative().get("avg_task_acceptance_time");
-			if (prop instanceof Integer) {
-				return Double.parseDouble(prop.toString());
-			} else {
-				return (Double) prop;
-			}
-		} catch (IllegalArgumentException e) {
-			return null;
-		}
+		return Statistics.box(values().averageTaskAcceptanceTime);
 	}
 
 	/**
@@ -110,7 +88,7 @@ public class WorkspaceStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the end time
 	 */
 	public Calendar getEndTime() {
-		return parseCalendar((String) getCumulative().get("end_time"));
+		return Statistics.toCalendar(values().endTime);
 	}
 
 	/**
@@ -119,7 +97,7 @@ public class WorkspaceStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the longest task waiting age in seconds
 	 */
 	public Integer getLongestTaskWaitingAge() {
-		return (Integer) getRealtime().get("longest_task_waiting_age");
+		return Statistics.box(values().longestTaskWaitingAge);
 	}
 
 	/**
@@ -128,7 +106,7 @@ public class WorkspaceStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the sid of the longest waiting task
 	 */
 	public String getLongestTaskWaitingSid() {
-		return (String) getRealtime().get("longest_task_waiting_sid");
+		return values().longestTaskWaitingSid;
 	}
 
 	/**
@@ -137,8 +115,7 @@ public class WorkspaceStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the number of pending tasks
 	 */
 	public Integer getPendingTasks() {
-		Map<String, Object> tasksByStatus = (Map<String, Object>) getRealtime().get(TASKS_BY_STATUS_PROPERTY);
-		return (Integer) tasksByStatus.get("pending");
+		return Statistics.box(values().pendingTasks);
 	}
 
 	/**
@@ -147,7 +124,7 @@ public class WorkspaceStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the number of accepted reservations
 	 */
 	public Integer getReservationsAccepted() {
-		return (Integer) getCumulative().get("reservations_accepted");
+		return Statistics.box(values().reservationsAccepted);
 	}
 
 	/**
@@ -156,7 +133,7 @@ public class WorkspaceStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the number of rejected reservations
 	 */
 	public Integer getReservationsRejected() {
-		return (Integer) getCumulative().get("reservations_rejected");
+		return Statistics.box(values().reservationsRejected);
 	}
 
 	/**
@@ -165,7 +142,7 @@ public class WorkspaceStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the number of timed out reservations
 	 */
 	public Integer getReservationsTimedOut() {
-		return (Integer) getCumulative().get("reservations_timed_out");
+		return Statistics.box(values().reservationsTimedOut);
 	}
 
 	/**
@@ -174,8 +151,7 @@ public class WorkspaceStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the number of reserved tasks
 	 */
 	public Integer getReservedTasks() {
-		Map<String, Object> tasksByStatus = (Map<String, Object>) getRealtime().get(TASKS_BY_STATUS_PROPERTY);
-		return (Integer) tasksByStatus.get("reserved");
+		return Statistics.box(values().reservedTasks);
 	}
 
 	/**
@@ -184,7 +160,7 @@ public class WorkspaceStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the start time
 	 */
 	public Calendar getStartTime() {
-		return parseCalendar((String) getCumulative().get("start_time"));
+		return Statistics.toCalendar(values().startTime);
 	}
 
 	/**
@@ -193,7 +169,7 @@ public class WorkspaceStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the number of tasks canceled
 	 */
 	public Integer getTasksCanceled() {
-		return (Integer) getCumulative().get("tasks_canceled");
+		return Statistics.box(values().tasksCanceled);
 	}
 
 	/**
@@ -202,7 +178,7 @@ public class WorkspaceStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the number of tasks created
 	 */
 	public Integer getTasksCreated() {
-		return (Integer) getCumulative().get("tasks_created");
+		return Statistics.box(values().tasksCreated);
 	}
 
 	/**
@@ -211,7 +187,7 @@ public class WorkspaceStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the number of tasks moved
 	 */
 	public Integer getTasksMoved() {
-		return (Integer) getCumulative().get("tasks_moved");
+		return Statistics.box(values().tasksMoved);
 	}
 
 	/**
@@ -220,7 +196,7 @@ public class WorkspaceStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the number of tasks that timed out in the workflow
 	 */
 	public Integer getTasksTimedOutInWorkflow() {
-		return (Integer) getCumulative().get("tasks_timed_out_in_workflow");
+		return Statistics.box(values().tasksTimedOutInWorkflow);
 	}
 
 	/**
@@ -229,7 +205,7 @@ public class WorkspaceStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the total number of tasks
 	 */
 	public Integer getTotalTasks() {
-		return (Integer) getRealtime().get("total_tasks");
+		return Statistics.box(values().totalTasks);
 	}
 
 	/**
@@ -238,7 +214,7 @@ public class WorkspaceStatistics extends NextGenInstanceResource<TwilioTaskRoute
 	 * @return the total number of workers
 	 */
 	public Integer getTotalWorkers() {
-		return (Integer) getRealtime().get("total_workers");
+		return Statistics.box(values().totalWorkers);
 	}
 
 	/**
@@ -250,32 +226,87 @@ public class WorkspaceStatistics extends NextGenInstanceResource<TwilioTaskRoute
 		return getProperty(WORKSPACE_SID_PROPERTY);
 	}
 
+	/**
+	 * Get the activity statistic of one activity.
+	 *
+	 * @param activitySid the activity sid
+	 * @return the activity statistic, or null if the activity is not included
+	 */
+	public ActivityStatistic getActivityStatistic(final String activitySid) {
+		Statistics.ActivityIndex<ActivityStatistic> index = values().activityStatistics;
+		return index == null ? null : index.get(activitySid);
+	}
+
 	@Override
 	protected String getResourceLocation() {
 		return "/" + TwilioTaskRouterClient.DEFAULT_VERSION + "/Workspaces/" + getWorkspaceSid() + "/Statistics";
 	}
 
-	private Map<String, Object> getCumulative() {
-		return (Map<String, Object>) getObject(CUMULATIVE_PROPERTY);
+	@Override
+	protected void parseResponse(final TwilioRestResponse response) {
+		super.parseResponse(response);
+		values = new Values(getCastedObject(CUMULATIVE_PROPERTY), getCastedObject(REALTIME_PROPERTY));
 	}
 
-	private Map<String, Object> getRealtime() {
-		return (Map<String, Object>) getObject(REALTIME_PROPERTY);
+	private Values values() {
+		Values current = values;
+		if (current == null) {
+			// loading the resource decodes it
+			Object cumulative = getCastedObject(CUMULATIVE_PROPERTY);
+			current = values;
+			if (current == null) {
+				current = new Values(cumulative, getCastedObject(REALTIME_PROPERTY));
+				values = current;
+			}
+		}
+		return current;
 	}
 
-	private ActivityStatistic mapToActivityStatistic(final Map<String, Object> data) {
-		String sid;
-		String friendlyName;
-		Integer workers;
-
-		try {
-			sid = (String) data.get(SID_PROPERTY);
-			friendlyName = (String) data.get(ActivityStatistic.FRIENDLY_NAME_PROPERTY);
-			workers = (Integer) data.get(ActivityStatistic.WORKERS_PROPERTY);
-		} catch (Exception e) {
-			throw new IllegalStateException("An Activity Statistic contained improperly formatted data.", e);
+	/**
+	 * The cumulative and realtime statistics, decoded once.
+	 */
+	private static final class Values {
+		private final int assignedTasks;
+		private final int pendingTasks;
+		private final int reservedTasks;
+		private final double averageTaskAcceptanceTime;
+		private final long endTime;
+		private final long startTime;
+		private final int longestTaskWaitingAge;
+		private final String longestTaskWaitingSid;
+		private final int reservationsAccepted;
+		private final int reservationsRejected;
+		private final int reservationsTimedOut;
+		private final int tasksCanceled;
+		private final int tasksMoved;
+		private final int totalTasks;
+		private final int tasksCreated;
+		private final int tasksTimedOutInWorkflow;
+		private final int totalWorkers;
+		private final Statistics.ActivityIndex<ActivityStatistic> activityStatistics;
+
+		private Values(final Object cumulativeProperty, final Object realtimeProperty) {
+			Map<String, Object> cumulative = Statistics.map(cumulativeProperty);
+			Map<String, Object> realtime = Statistics.map(realtimeProperty);
+			Map<String, Object> tasksByStatus = Statistics.map(realtime.get(TASKS_BY_STATUS_PROPERTY));
+			assignedTasks = Statistics.intValue(tasksByStatus, "assigned");
+			pendingTasks = Statistics.intValue(tasksByStatus, "pending");
+			reservedTasks = Statistics.intValue(tasksByStatus, "reserved");
+			averageTaskAcceptanceTime = Statistics.doubleValue(cumulative, "avg_task_acceptance_time");
+			endTime = Statistics.timeValue(cumulative, "end_time");
+			startTime = Statistics.timeValue(cumulative, "start_time");
+			longestTaskWaitingAge = Statistics.intValue(realtime, "longest_task_waiting_age");
+			longestTaskWaitingSid = (String) realtime.get("longest_task_waiting_sid");
+			reservationsAccepted = Statistics.intValue(cumulative, "reservations_accepted");
+			reservationsRejected = Statistics.intValue(cumulative, "reservations_rejected");
+			reservationsTimedOut = Statistics.intValue(cumulative, "reservations_timed_out");
+			tasksCanceled = Statistics.intValue(cumulative, "tasks_canceled");
+			tasksMoved = Statistics.intValue(cumulative, "tasks_moved");
+			totalTasks = Statistics.intValue(realtime, "total_tasks");
+			tasksCreated = Statistics.intValue(cumulative, "tasks_created");
+			tasksTimedOutInWorkflow = Statistics.intValue(cumulative, "tasks_timed_out_in_workflow");
+			totalWorkers = Statistics.intValue(realtime, "total_workers");
+			activityStatistics = Statistics.activityStatistics(realtime.get("activity_statistics"));
 		}
-
-		return new ActivityStatistic(sid, friendlyName, workers);
 	}
 }
@@ -0,0 +1,50 @@
+package com.twilio.sdk.resource.list.ipmessaging;
+
+import com.twilio.sdk.IPMessagingCache;
+import com.twilio.sdk.TwilioIPMessagingClient;
+import com.twilio.sdk.TwilioRestException;
+import com.twilio.sdk.TwilioRestResponse;
+import com.twilio.sdk.resource.NextGenListResource;
+import com.twilio.sdk.resource.factory.ResourceFactory;
+import com.twilio.sdk.resource.instance.ipmessaging.CachedInstanceResource;
+import org.apache.http.NameValuePair;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A list of ip messaging resources whose creations are written through to
+ * the client's {@link IPMessagingCache}, if one is installed. Subclasses
+ * override create() only to keep its return type.
+ */
+public abstract class CachedListResource<T extends CachedInstanceResource>
+		extends NextGenListResource<T, TwilioIPMessagingClient> implements ResourceFactory<T> {
+
+	public CachedListResource(final TwilioIPMessagingClient client) {
+		super(client);
+	}
+
+	public CachedListResource(final TwilioIPMessagingClient client, final Map<String, String> filters) {
+		super(client, filters);
+	}
+
+	@Override
+	public T create(final Map<String, String> params) throws TwilioRestException {
+		TwilioRestResponse response = this.getClient().safeRequest(this.getResourceLocation(), "POST", params);
+		return makeNew(this.getClient(), cache(response.toMap()));
+	}
+
+	@Override
+	public T create(final List<NameValuePair> params) throws TwilioRestException {
+		TwilioRestResponse response = this.getClient().safeRequest(this.getResourceLocation(), "POST", params);
+		return makeNew(this.getClient(), cache(response.toMap()));
+	}
+
+	private Map<String, Object> cache(final Map<String, Object> properties) {
+		IPMessagingCache cache = getClient().getCache();
+		if (cache != null && properties.get("sid") != null) {
+			cache.put(getResourceLocation() + "/" + properties.get("sid"), properties);
+		}
+		return properties;
+	}
+}
@@ -2,9 +2,6 @@ package com.twilio.sdk.resource.list.ipmessaging;
 
 import com.twilio.sdk.TwilioIPMessagingClient;
 import com.twilio.sdk.TwilioRestException;
-import com.twilio.sdk.TwilioRestResponse;
-import com.twilio.sdk.resource.NextGenListResource;
-import com.twilio.sdk.resource.factory.ResourceFactory;
 import com.twilio.sdk.resource.instance.ipmessaging.Channel;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.NameValuePair;
@@ -15,8 +12,7 @@ import java.util.Map;
 /**
  * Represents channels endpoint for ip messages
  */
-public class ChannelList extends NextGenListResource<Channel, TwilioIPMessagingClient>
-		implements ResourceFactory<Channel> {
+public class ChannelList extends CachedListResource<Channel> {
 
 	private final String serviceSid;
 
@@ -34,24 +30,22 @@ public class ChannelList extends NextGenListResource<Channel, TwilioIPMessagingC
 	}
 
 	@Override
-	protected Channel makeNew(final TwilioIPMessagingClient client, final Map<String, Object> params) {
-		return new Channel(client, params);
+	public Channel create(final Map<String, String> params) throws TwilioRestException {
+		return super.create(params);
 	}
 
 	@Override
-	protected String getResourceLocation() {
-		return "/" + TwilioIPMessagingClient.DEFAULT_VERSION + "/Services/" + this.serviceSid + "/Channels";
+	public Channel create(final List<NameValuePair> params) throws TwilioRestException {
+		return super.create(params);
 	}
 
 	@Override
-	public Channel create(final Map<String, String> params) throws TwilioRestException {
-		TwilioRestResponse response = this.getClient().safeRequest(this.getResourceLocation(), "POST", params);
-		return makeNew(this.getClient(), response.toMap());
+	protected Channel makeNew(final TwilioIPMessagingClient client, final Map<String, Object> params) {
+		return new Channel(client, params);
 	}
 
 	@Override
-	public Channel create(final List<NameValuePair> params) throws TwilioRestException {
-		TwilioRestResponse response = this.getClient().safeRequest(this.getResourceLocation(), "POST", params);
-		return makeNew(this.getClient(), response.toMap());
+	protected String getResourceLocation() {
+		return "/" + TwilioIPMessagingClient.DEFAULT_VERSION + "/Services/" + this.serviceSid + "/Channels";
 	}
 }
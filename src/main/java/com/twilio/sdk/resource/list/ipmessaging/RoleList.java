@@ -2,9 +2,6 @@ package com.twilio.sdk.resource.list.ipmessaging;
 
 import com.twilio.sdk.TwilioIPMessagingClient;
 import com.twilio.sdk.TwilioRestException;
-import com.twilio.sdk.TwilioRestResponse;
-import com.twilio.sdk.resource.NextGenListResource;
-import com.twilio.sdk.resource.factory.ResourceFactory;
 import com.twilio.sdk.resource.instance.ipmessaging.Role;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.NameValuePair;
@@ -15,8 +12,7 @@ import java.util.Map;
 /**
  * Represents roles endpoint for ip messaging
  */
-public class RoleList extends NextGenListResource<Role, TwilioIPMessagingClient>
-		implements ResourceFactory<Role> {
+public class RoleList extends CachedListResource<Role> {
 
 	private final String serviceSid;
 
@@ -34,24 +30,22 @@ public class RoleList extends NextGenListResource<Role, TwilioIPMessagingClient>
 	}
 
 	@Override
-	protected Role makeNew(final TwilioIPMessagingClient client, final Map<String, Object> params) {
-		return new Role(client, params);
+	public Role create(final Map<String, String> params) throws TwilioRestException {
+		return super.create(params);
 	}
 
 	@Override
-	protected String getResourceLocation() {
-		return "/" + TwilioIPMessagingClient.DEFAULT_VERSION + "/Services/" + this.serviceSid + "/Roles";
+	public Role create(final List<NameValuePair> params) throws TwilioRestException {
+		return super.create(params);
 	}
 
 	@Override
-	public Role create(final Map<String, String> params) throws TwilioRestException {
-		TwilioRestResponse response = this.getClient().safeRequest(this.getResourceLocation(), "POST", params);
-		return makeNew(this.getClient(), response.toMap());
+	protected Role makeNew(final TwilioIPMessagingClient client, final Map<String, Object> params) {
+		return new Role(client, params);
 	}
 
 	@Override
-	public Role create(final List<NameValuePair> params) throws TwilioRestException {
-		TwilioRestResponse response = this.getClient().safeRequest(this.getResourceLocation(), "POST", params);
-		return makeNew(this.getClient(), response.toMap());
+	protected String getResourceLocation() {
+		return "/" + TwilioIPMessagingClient.DEFAULT_VERSION + "/Services/" + this.serviceSid + "/Roles";
 	}
 }
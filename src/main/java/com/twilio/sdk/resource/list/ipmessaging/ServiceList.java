@@ -2,9 +2,6 @@ package com.twilio.sdk.resource.list.ipmessaging;
 
 import com.twilio.sdk.TwilioIPMessagingClient;
 import com.twilio.sdk.TwilioRestException;
-import com.twilio.sdk.TwilioRestResponse;
-import com.twilio.sdk.resource.NextGenListResource;
-import com.twilio.sdk.resource.factory.ResourceFactory;
 import com.twilio.sdk.resource.instance.ipmessaging.Channel;
 import com.twilio.sdk.resource.instance.ipmessaging.Service;
 import org.apache.http.NameValuePair;
@@ -15,8 +12,7 @@ import java.util.Map;
 /**
  * Represents service endpoint for ip messaging
  */
-public class ServiceList extends NextGenListResource<Service, TwilioIPMessagingClient>
-		implements ResourceFactory<Service> {
+public class ServiceList extends CachedListResource<Service> {
 
 	public ServiceList(TwilioIPMessagingClient client, Map<String, String> filters) {
 		super(client, filters);
@@ -27,15 +23,13 @@ public class ServiceList extends NextGenListResource<Service, TwilioIPMessagingC
 	}
 
 	@Override
-	public Service create(Map<String, String> params) throws TwilioRestException {
-		TwilioRestResponse response = this.getClient().safeRequest(this.getResourceLocation(), "POST", params);
-		return makeNew(this.getClient(), response.toMap());
+	public Service create(final Map<String, String> params) throws TwilioRestException {
+		return super.create(params);
 	}
 
 	@Override
-	public Service create(List<NameValuePair> params) throws TwilioRestException {
-		TwilioRestResponse response = this.getClient().safeRequest(this.getResourceLocation(), "POST", params);
-		return makeNew(this.getClient(), response.toMap());
+	public Service create(final List<NameValuePair> params) throws TwilioRestException {
+		return super.create(params);
 	}
 
 	@Override
@@ -2,9 +2,6 @@ package com.twilio.sdk.resource.list.ipmessaging;
 
 import com.twilio.sdk.TwilioIPMessagingClient;
 import com.twilio.sdk.TwilioRestException;
-import com.twilio.sdk.TwilioRestResponse;
-import com.twilio.sdk.resource.NextGenListResource;
-import com.twilio.sdk.resource.factory.ResourceFactory;
 import com.twilio.sdk.resource.instance.ipmessaging.User;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.NameValuePair;
@@ -15,8 +12,7 @@ import java.util.Map;
 /**
  * Represent users list endpoint for ip messaging
  */
-public class UserList extends NextGenListResource<User, TwilioIPMessagingClient>
-		implements ResourceFactory<User> {
+public class UserList extends CachedListResource<User> {
 
 	private final String serviceSid;
 
@@ -34,24 +30,22 @@ public class UserList extends NextGenListResource<User, TwilioIPMessagingClient>
 	}
 
 	@Override
-	protected User makeNew(final TwilioIPMessagingClient client, final Map<String, Object> params) {
-		return new User(client, params);
+	public User create(final Map<String, String> params) throws TwilioRestException {
+		return super.create(params);
 	}
 
 	@Override
-	protected String getResourceLocation() {
-		return "/" + TwilioIPMessagingClient.DEFAULT_VERSION + "/Services/" + this.serviceSid + "/Users";
+	public User create(final List<NameValuePair> params) throws TwilioRestException {
+		return super.create(params);
 	}
 
 	@Override
-	public User create(final Map<String, String> params) throws TwilioRestException {
-		TwilioRestResponse response = this.getClient().safeRequest(this.getResourceLocation(), "POST", params);
-		return makeNew(this.getClient(), response.toMap());
+	protected User makeNew(final TwilioIPMessagingClient client, final Map<String, Object> params) {
+		return new User(client, params);
 	}
 
 	@Override
-	public User create(final List<NameValuePair> params) throws TwilioRestException {
-		TwilioRestResponse response = this.getClient().safeRequest(this.getResourceLocation(), "POST", params);
-		return makeNew(this.getClient(), response.toMap());
+	protected String getResourceLocation() {
+		return "/" + TwilioIPMessagingClient.DEFAULT_VERSION + "/Services/" + this.serviceSid + "/Users";
 	}
 }
@@ -0,0 +1,315 @@
+package com.twilio.sdk.tailer;
+
+import com.twilio.sdk.TwilioRestException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.time.FastDateFormat;
+
+/**
+ * The polling, deduplication and checkpointing shared by
+ * {@link com.twilio.sdk.taskrouter.EventTailer} and
+ * {@link com.twilio.sdk.monitor.MonitorTailer}.
+ *
+ * Every poll lists the items since the checkpoint minus an overlap window,
+ * sorts them by date and sid, skips those already delivered and hands the rest
+ * to {@link #deliver(Object)}. Delivered and skipped sids are remembered in a
+ * bounded LRU, so the overlap of the next poll is not delivered again. The
+ * first poll of a tailer resumed from a stored checkpoint has no such history,
+ * so it skips every item up to the checkpoint instead.
+ *
+ * @param <T> the type of item tailed
+ */
+public abstract class AbstractTailer<T> {
+
+	private static final FastDateFormat ISO_8601_DATE_FORMAT =
+			FastDateFormat.getInstance("yyyy-MM-dd'T'HH:mm:ss'Z'", TimeZone.getTimeZone("UTC"));
+
+	private final CheckpointStore checkpointStore;
+	private final Map<String, String> filters;
+	private final Calendar startDate;
+	private final long overlapMillis;
+	private final long pollInterval;
+	private final String threadName;
+	private final Map<String, Boolean> recent;
+	private final Comparator<T> order;
+
+	// volatile so it can be read without waiting for a poll blocked on delivery
+	private volatile Checkpoint checkpoint;
+	private boolean loaded;
+
+	private volatile long deliveredCount;
+	private volatile long duplicateCount;
+	private volatile long fetchedCount;
+	private volatile long pollCount;
+	private volatile long lastPollMillis;
+	private volatile Exception lastError;
+
+	// separate from the poll lock so stop() can interrupt a poll blocked on a full queue
+	private final Object lifecycleLock = new Object();
+	private ScheduledExecutorService scheduler;
+	private ScheduledFuture<?> future;
+
+	/**
+	 * @param checkpointStore where the checkpoint is kept
+	 * @param filters additional list filters
+	 * @param startDate where to start when the store has no checkpoint, or null for now
+	 * @param overlapSeconds how far before the checkpoint each poll starts
+	 * @param pollInterval delay between polls when started, in milliseconds
+	 * @param dedupeSize number of recent sids remembered
+	 * @param threadName the name of the polling thread
+	 */
+	protected AbstractTailer(final CheckpointStore checkpointStore, final Map<String, String> filters,
+	                         final Calendar startDate, final int overlapSeconds, final long pollInterval,
+	                         final int dedupeSize, final String threadName) {
+		if (overlapSeconds < 0 || pollInterval <= 0 || dedupeSize < 1) {
+			throw new IllegalArgumentException("Invalid overlap, poll interval or dedupe size");
+		}
+		this.checkpointStore = checkpointStore;
+		this.filters = filters;
+		this.startDate = startDate;
+		this.overlapMillis = overlapSeconds * 1000L;
+		this.pollInterval = pollInterval;
+		this.threadName = threadName;
+		this.recent = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+				return size() > dedupeSize;
+			}
+		};
+		this.order = new Comparator<T>() {
+			public int compare(final T a, final T b) {
+				return position(a).compareTo(position(b));
+			}
+		};
+	}
+
+	/**
+	 * List the items matching the filters, including StartDate.
+	 */
+	protected abstract Iterable<T> list(Map<String, String> params);
+
+	/**
+	 * @return the date and sid of an item
+	 */
+	protected abstract Checkpoint position(T item);
+
+	/**
+	 * What became of an item handed to {@link #deliver(Object)}.
+	 */
+	protected enum Delivery {
+		/** The item was handed on. */
+		DELIVERED,
+		/**
+		 * The item was discarded. It is not counted or remembered as delivered,
+		 * and delivery goes on with the next item.
+		 */
+		DROPPED,
+		/** The item was not handed on; delivery stops until the next poll, which starts again with it. */
+		RETRY
+	}
+
+	/**
+	 * Hand an item on. Throwing stops delivery until the next poll, which
+	 * starts again with this item.
+	 *
+	 * @return what became of the item
+	 * @throws Exception if the item could not be handled
+	 */
+	protected abstract Delivery deliver(T item) throws Exception;
+
+	/**
+	 * Fetch and deliver the items since the checkpoint.
+	 *
+	 * @return the number of items delivered
+	 * @throws TwilioRestException if the items could not be fetched
+	 * @throws IOException if the checkpoint could not be loaded or saved
+	 */
+	public synchronized int poll() throws TwilioRestException, IOException {
+		boolean resuming = !loaded;
+		if (!loaded) {
+			checkpoint = checkpointStore.load();
+			if (checkpoint == null) {
+				long start = startDate != null ? startDate.getTimeInMillis() : System.currentTimeMillis();
+				checkpoint = new Checkpoint(start, null);
+				resuming = false;
+			}
+			loaded = true;
+		}
+		pollCount++;
+
+		List<T> items = fetch(checkpoint.getEventDate() - overlapMillis);
+		Collections.sort(items, order);
+		fetchedCount += items.size();
+
+		int delivered = 0;
+		Checkpoint last = checkpoint;
+		try {
+			for (final T item : items) {
+				Checkpoint position = position(item);
+				if (recent.containsKey(position.getSid()) || (resuming && position.compareTo(checkpoint) <= 0)) {
+					// remembered even when skipped by position, so the next overlap skips it too
+					recent.put(position.getSid(), Boolean.TRUE);
+					duplicateCount++;
+					continue;
+				}
+
+				Delivery delivery;
+				try {
+					delivery = deliver(item);
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					lastError = e;
+					break;
+				} catch (final Exception e) {
+					lastError = e;
+					break;
+				}
+				if (delivery == Delivery.RETRY) {
+					break;
+				}
+				if (delivery == Delivery.DROPPED) {
+					continue;
+				}
+
+				recent.put(position.getSid(), Boolean.TRUE);
+				delivered++;
+				deliveredCount++;
+				if (position.compareTo(last) > 0) {
+					last = position;
+				}
+			}
+		} finally {
+			if (last != checkpoint) {
+				checkpoint = last;
+				checkpointStore.save(checkpoint);
+			}
+		}
+		lastPollMillis = System.currentTimeMillis();
+		return delivered;
+	}
+
+	private List<T> fetch(final long since) throws TwilioRestException {
+		Map<String, String> params = new HashMap<String, String>(filters);
+		params.put("StartDate", ISO_8601_DATE_FORMAT.format(since));
+
+		List<T> items = new ArrayList<T>();
+		try {
+			for (final T item : list(params)) {
+				items.add(item);
+			}
+		} catch (final RuntimeException e) {
+			// list iteration wraps request failures
+			if (e.getCause() instanceof TwilioRestException) {
+				throw (TwilioRestException) e.getCause();
+			}
+			throw e;
+		}
+		return items;
+	}
+
+	/**
+	 * Poll on a background thread every poll interval until {@link #stop()} is called.
+	 * Failed polls are recorded in {@link #getLastError()} and retried on the next interval.
+	 */
+	public void start() {
+		synchronized (lifecycleLock) {
+			if (future != null) {
+				throw new IllegalStateException(getClass().getSimpleName() + " is already started");
+			}
+			scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+				public Thread newThread(final Runnable r) {
+					Thread thread = new Thread(r, threadName);
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			future = scheduler.scheduleWithFixedDelay(new Runnable() {
+				public void run() {
+					try {
+						poll();
+					} catch (final Exception e) {
+						lastError = e;
+					}
+				}
+			}, 0L, pollInterval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Stop polling, interrupting a poll blocked on a full queue.
+	 */
+	public void stop() {
+		synchronized (lifecycleLock) {
+			if (future != null) {
+				future.cancel(true);
+				scheduler.shutdownNow();
+				future = null;
+				scheduler = null;
+			}
+		}
+	}
+
+	/**
+	 * @return the position of the last delivered item, or null before the first poll
+	 */
+	public Checkpoint getCheckpoint() {
+		return checkpoint;
+	}
+
+	/**
+	 * @return the number of items delivered
+	 */
+	public long getDeliveredCount() {
+		return deliveredCount;
+	}
+
+	/**
+	 * @return the number of items skipped because they were already delivered
+	 */
+	public long getDuplicateCount() {
+		return duplicateCount;
+	}
+
+	/**
+	 * @return the number of items fetched, including the overlap
+	 */
+	public long getFetchedCount() {
+		return fetchedCount;
+	}
+
+	/**
+	 * @return the number of polls made
+	 */
+	public long getPollCount() {
+		return pollCount;
+	}
+
+	/**
+	 * @return the time the last poll completed, in milliseconds since the epoch, or 0 if none has
+	 */
+	public long getLastPollMillis() {
+		return lastPollMillis;
+	}
+
+	/**
+	 * @return the last failure of a poll or of delivery, or null
+	 */
+	public Exception getLastError() {
+		return lastError;
+	}
+}
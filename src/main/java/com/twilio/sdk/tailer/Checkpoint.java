@@ -0,0 +1,65 @@
+package com.twilio.sdk.tailer;
+
+import java.util.TimeZone;
+
+import org.apache.commons.lang3.time.FastDateFormat;
+
+/**
+ * The date and sid of the last item delivered by a tailer.
+ */
+public final class Checkpoint implements Comparable<Checkpoint> {
+
+	private static final FastDateFormat ISO_8601_DATE_FORMAT =
+			FastDateFormat.getInstance("yyyy-MM-dd'T'HH:mm:ss'Z'", TimeZone.getTimeZone("UTC"));
+
+	private final long eventDate;
+	private final String sid;
+
+	/**
+	 * @param eventDate the item date in milliseconds since the epoch
+	 * @param sid the item sid, or null for a position before every item at eventDate
+	 */
+	public Checkpoint(final long eventDate, final String sid) {
+		this.eventDate = eventDate;
+		this.sid = sid;
+	}
+
+	/**
+	 * @return the item date in milliseconds since the epoch
+	 */
+	public long getEventDate() {
+		return eventDate;
+	}
+
+	/**
+	 * @return the item sid, or null
+	 */
+	public String getSid() {
+		return sid;
+	}
+
+	public int compareTo(final Checkpoint other) {
+		if (eventDate != other.eventDate) {
+			return eventDate < other.eventDate ? -1 : 1;
+		}
+		if (sid == null || other.sid == null) {
+			return sid == null ? (other.sid == null ? 0 : -1) : 1;
+		}
+		return sid.compareTo(other.sid);
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		return o instanceof Checkpoint && compareTo((Checkpoint) o) == 0;
+	}
+
+	@Override
+	public int hashCode() {
+		return (int) (eventDate ^ (eventDate >>> 32)) * 31 + (sid == null ? 0 : sid.hashCode());
+	}
+
+	@Override
+	public String toString() {
+		return ISO_8601_DATE_FORMAT.format(eventDate) + " " + sid;
+	}
+}
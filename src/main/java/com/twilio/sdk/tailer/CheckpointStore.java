@@ -0,0 +1,21 @@
+package com.twilio.sdk.tailer;
+
+import java.io.IOException;
+
+/**
+ * Persists the position of a tailer.
+ */
+public interface CheckpointStore {
+
+	/**
+	 * @return the last saved checkpoint, or null if there is none
+	 * @throws IOException if the checkpoint could not be read
+	 */
+	Checkpoint load() throws IOException;
+
+	/**
+	 * @param checkpoint the checkpoint to save
+	 * @throws IOException if the checkpoint could not be written
+	 */
+	void save(Checkpoint checkpoint) throws IOException;
+}
@@ -0,0 +1,63 @@
+package com.twilio.sdk.tailer;
+
+import com.twilio.sdk.internal.AtomicFile;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+/**
+ * Keeps the checkpoint in a properties file, replaced atomically on every save.
+ */
+public class FileCheckpointStore implements CheckpointStore {
+	private static final String EVENT_DATE = "event_date";
+	private static final String SID = "sid";
+
+	private final File file;
+
+	/**
+	 * @param file the checkpoint file, created on the first save
+	 */
+	public FileCheckpointStore(final File file) {
+		this.file = file;
+	}
+
+	public Checkpoint load() throws IOException {
+		if (!file.exists()) {
+			return null;
+		}
+		Properties properties = new Properties();
+		InputStream in = new FileInputStream(file);
+		try {
+			properties.load(in);
+		} finally {
+			in.close();
+		}
+		String eventDate = properties.getProperty(EVENT_DATE);
+		if (eventDate == null) {
+			return null;
+		}
+		try {
+			return new Checkpoint(Long.parseLong(eventDate), properties.getProperty(SID));
+		} catch (final NumberFormatException e) {
+			throw new IOException("Invalid checkpoint in " + file + ": " + eventDate);
+		}
+	}
+
+	public void save(final Checkpoint checkpoint) throws IOException {
+		final Properties properties = new Properties();
+		properties.setProperty(EVENT_DATE, Long.toString(checkpoint.getEventDate()));
+		if (checkpoint.getSid() != null) {
+			properties.setProperty(SID, checkpoint.getSid());
+		}
+
+		AtomicFile.replace(file, new AtomicFile.Contents() {
+			public void writeTo(final OutputStream out) throws IOException {
+				properties.store(out, null);
+			}
+		});
+	}
+}
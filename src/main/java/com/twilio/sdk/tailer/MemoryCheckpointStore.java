@@ -0,0 +1,16 @@
+package com.twilio.sdk.tailer;
+
+/**
+ * Keeps the checkpoint in memory only.
+ */
+public class MemoryCheckpointStore implements CheckpointStore {
+	private volatile Checkpoint checkpoint;
+
+	public Checkpoint load() {
+		return checkpoint;
+	}
+
+	public void save(final Checkpoint checkpoint) {
+		this.checkpoint = checkpoint;
+	}
+}
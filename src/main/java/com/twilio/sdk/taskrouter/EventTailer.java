@@ -0,0 +1,192 @@
+package com.twilio.sdk.taskrouter;
+
+import com.twilio.sdk.TwilioTaskRouterClient;
+import com.twilio.sdk.resource.instance.taskrouter.Event;
+import com.twilio.sdk.resource.list.taskrouter.EventList;
+import com.twilio.sdk.tailer.AbstractTailer;
+import com.twilio.sdk.tailer.Checkpoint;
+import com.twilio.sdk.tailer.CheckpointStore;
+import com.twilio.sdk.tailer.MemoryCheckpointStore;
+
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Follows the {@link Event}s of a Workspace incrementally, delivering each Event once
+ * in EventDate order.
+ *
+ * Every poll requests the Events since the last checkpoint, minus an overlap window
+ * that catches Events which became visible late. Events already delivered are
+ * recognized by a bounded LRU of recent Event sids. The checkpoint (the EventDate
+ * and sid of the last delivered Event) is written to a {@link CheckpointStore}
+ * after every poll, so a restarted tailer resumes where the previous one stopped.
+ *
+ * Events are handed to a {@link Listener} on the polling thread, or put on a
+ * {@link BlockingQueue}. A slow listener or a full queue holds up the next poll,
+ * which keeps memory bounded. If the listener throws, the checkpoint stays at the
+ * last Event it accepted and delivery resumes from there on the next poll.
+ *
+ * <pre>
+ * EventTailer tailer = new EventTailer.Builder(client, workspaceSid)
+ *     .queue(events)
+ *     .checkpointStore(new FileCheckpointStore(new File("events.checkpoint")))
+ *     .build();
+ * tailer.start();
+ * </pre>
+ */
+public class EventTailer extends AbstractTailer<Event> {
+
+	/**
+	 * Receives tailed Events.
+	 */
+	public interface Listener {
+
+		/**
+		 * Handle an Event. Throwing stops delivery until the next poll, which starts
+		 * again with this Event.
+		 *
+		 * @param event the event
+		 * @throws Exception if the event could not be handled
+		 */
+		void onEvent(Event event) throws Exception;
+	}
+
+	/**
+	 * Configures an {@link EventTailer}.
+	 */
+	public static class Builder {
+		private final TwilioTaskRouterClient client;
+		private final String workspaceSid;
+		private Listener listener;
+		private CheckpointStore checkpointStore = new MemoryCheckpointStore();
+		private Map<String, String> filters = new HashMap<String, String>();
+		private Calendar startDate;
+		private int overlapSeconds = 60;
+		private long pollInterval = 5000L;
+		private int dedupeSize = 10000;
+
+		/**
+		 * @param client the client
+		 * @param workspaceSid the sid of the Workspace to tail
+		 */
+		public Builder(final TwilioTaskRouterClient client, final String workspaceSid) {
+			if (StringUtils.isBlank(workspaceSid)) {
+				throw new IllegalArgumentException("The workspaceSid for an EventTailer cannot be null");
+			}
+			this.client = client;
+			this.workspaceSid = workspaceSid;
+		}
+
+		/**
+		 * Deliver Events to a listener, on the polling thread.
+		 */
+		public Builder listener(final Listener listener) {
+			this.listener = listener;
+			return this;
+		}
+
+		/**
+		 * Deliver Events to a queue, waiting for space when it is full.
+		 */
+		public Builder queue(final BlockingQueue<Event> queue) {
+			this.listener = new Listener() {
+				public void onEvent(final Event event) throws InterruptedException {
+					queue.put(event);
+				}
+			};
+			return this;
+		}
+
+		/**
+		 * Persist the checkpoint in a store; defaults to memory.
+		 */
+		public Builder checkpointStore(final CheckpointStore checkpointStore) {
+			this.checkpointStore = checkpointStore;
+			return this;
+		}
+
+		/**
+		 * Additional Event filters, e.g. EventType or WorkerSid.
+		 */
+		public Builder filters(final Map<String, String> filters) {
+			this.filters = new HashMap<String, String>(filters);
+			return this;
+		}
+
+		/**
+		 * Where to start when the store has no checkpoint; defaults to now.
+		 */
+		public Builder startDate(final Calendar startDate) {
+			this.startDate = startDate;
+			return this;
+		}
+
+		/**
+		 * How far before the checkpoint each poll starts; defaults to 60 seconds.
+		 */
+		public Builder overlapSeconds(final int overlapSeconds) {
+			this.overlapSeconds = overlapSeconds;
+			return this;
+		}
+
+		/**
+		 * Delay between polls when started; defaults to 5 seconds.
+		 */
+		public Builder pollInterval(final long pollInterval, final TimeUnit unit) {
+			this.pollInterval = unit.toMillis(pollInterval);
+			return this;
+		}
+
+		/**
+		 * Number of recent Event sids remembered for deduplication; defaults to 10000.
+		 */
+		public Builder dedupeSize(final int dedupeSize) {
+			this.dedupeSize = dedupeSize;
+			return this;
+		}
+
+		/**
+		 * @return the configured tailer, not yet started
+		 */
+		public EventTailer build() {
+			if (listener == null) {
+				throw new IllegalStateException("A listener or queue is required");
+			}
+			return new EventTailer(this);
+		}
+	}
+
+	private final TwilioTaskRouterClient client;
+	private final String workspaceSid;
+	private final Listener listener;
+
+	private EventTailer(final Builder builder) {
+		super(builder.checkpointStore, builder.filters, builder.startDate, builder.overlapSeconds,
+				builder.pollInterval, builder.dedupeSize, "twilio-event-tailer-" + builder.workspaceSid);
+		this.client = builder.client;
+		this.workspaceSid = builder.workspaceSid;
+		this.listener = builder.listener;
+	}
+
+	@Override
+	protected EventList list(final Map<String, String> params) {
+		return client.getEvents(workspaceSid, params);
+	}
+
+	@Override
+	protected Checkpoint position(final Event event) {
+		Calendar date = event.getEventDate();
+		return new Checkpoint(date == null ? 0L : date.getTimeInMillis(), event.getSid());
+	}
+
+	@Override
+	protected Delivery deliver(final Event event) throws Exception {
+		listener.onEvent(event);
+		return Delivery.DELIVERED;
+	}
+}
@@ -0,0 +1,469 @@
+package com.twilio.sdk.taskrouter;
+
+import com.twilio.sdk.LatencyHistogram;
+import com.twilio.sdk.TwilioRestException;
+import com.twilio.sdk.TwilioTaskRouterClient;
+import com.twilio.sdk.resource.instance.taskrouter.Event;
+import com.twilio.sdk.resource.instance.taskrouter.Reservation;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Hands new Reservations to a {@link Handler} as soon as TaskRouter reports
+ * them, and sends the handler's accept or reject without queueing behind
+ * other traffic.
+ *
+ * Reservations arrive as reservation.created event callbacks, passed to
+ * {@link #dispatchWebhook(Map)}, or as {@link Event}s; the dispatcher is an
+ * {@link EventTailer.Listener}, so it can be attached to a tailer directly.
+ * Handlers run on the dispatcher's own threads. Accept and reject are sent
+ * through the client the dispatcher is built with; give it a connection pool
+ * of its own and bulk requests on the main client can never hold up a
+ * Reservation.
+ *
+ * Latencies are recorded for each stage: waiting for a handler thread,
+ * running the handler, the accept or reject request, and the whole path from
+ * receipt to the request completing.
+ *
+ * <pre>
+ * // a client of its own, so its connection pool is never busy with other requests
+ * TwilioTaskRouterClient priorityClient = new TwilioTaskRouterClient(accountSid, authToken);
+ * ReservationDispatcher dispatcher = client.getReservationDispatcher(workspaceSid,
+ *     new ReservationDispatcher.Handler() {
+ *         public void onReservation(ReservationDispatcher.ReservationContext reservation) throws Exception {
+ *             reservation.accept();
+ *         }
+ *     }, priorityClient);
+ * // in the event callback servlet
+ * dispatcher.dispatchWebhook(parameters);
+ * </pre>
+ */
+public class ReservationDispatcher implements EventTailer.Listener {
+
+	/** The event type of new Reservations. */
+	public static final String RESERVATION_CREATED = "reservation.created";
+
+	/**
+	 * Decides what to do with a Reservation.
+	 */
+	public interface Handler {
+
+		/**
+		 * Handle a new Reservation, usually by calling {@link ReservationContext#accept()} or
+		 * {@link ReservationContext#reject()}. Runs on a dispatcher thread.
+		 *
+		 * @param reservation the reservation
+		 * @throws Exception if the reservation could not be handled
+		 */
+		void onReservation(ReservationContext reservation) throws Exception;
+	}
+
+	/**
+	 * Configures a {@link ReservationDispatcher}.
+	 */
+	public static class Builder {
+		private final TwilioTaskRouterClient client;
+		private final String workspaceSid;
+		private final Handler handler;
+		private int threads = 4;
+		private int queueCapacity = 1000;
+		private int dedupeSize = 10000;
+
+		/**
+		 * @param priorityClient the client accept and reject are sent with; give it a connection pool of its own
+		 * @param workspaceSid the sid of the Workspace
+		 * @param handler the handler
+		 */
+		public Builder(final TwilioTaskRouterClient priorityClient, final String workspaceSid, final Handler handler) {
+			if (StringUtils.isBlank(workspaceSid)) {
+				throw new IllegalArgumentException("The workspaceSid for a ReservationDispatcher cannot be null");
+			}
+			if (handler == null) {
+				throw new IllegalArgumentException("The handler for a ReservationDispatcher cannot be null");
+			}
+			this.client = priorityClient;
+			this.workspaceSid = workspaceSid;
+			this.handler = handler;
+		}
+
+		/**
+		 * Number of handler threads; defaults to 4.
+		 */
+		public Builder threads(final int threads) {
+			this.threads = threads;
+			return this;
+		}
+
+		/**
+		 * Number of Reservations waiting for a handler thread before new ones are refused; defaults to 1000.
+		 */
+		public Builder queueCapacity(final int queueCapacity) {
+			this.queueCapacity = queueCapacity;
+			return this;
+		}
+
+		/**
+		 * Number of recent Reservation sids remembered to ignore redelivered callbacks; defaults to 10000.
+		 */
+		public Builder dedupeSize(final int dedupeSize) {
+			this.dedupeSize = dedupeSize;
+			return this;
+		}
+
+		/**
+		 * @return the dispatcher, with its threads started
+		 */
+		public ReservationDispatcher build() {
+			if (threads < 1 || queueCapacity < 1 || dedupeSize < 1) {
+				throw new IllegalStateException("Invalid threads, queue capacity or dedupe size");
+			}
+			return new ReservationDispatcher(this);
+		}
+	}
+
+	private final TwilioTaskRouterClient client;
+	private final String workspaceSid;
+	private final Handler handler;
+	private final ThreadPoolExecutor executor;
+	private final Map<String, Boolean> recent;
+
+	private final LatencyHistogram queueLatency = new LatencyHistogram();
+	private final LatencyHistogram handlerLatency = new LatencyHistogram();
+	private final LatencyHistogram requestLatency = new LatencyHistogram();
+	private final LatencyHistogram totalLatency = new LatencyHistogram();
+
+	private final AtomicLong dispatched = new AtomicLong();
+	private final AtomicLong duplicates = new AtomicLong();
+	private final AtomicLong refused = new AtomicLong();
+	private final AtomicLong malformed = new AtomicLong();
+	private final AtomicLong failures = new AtomicLong();
+
+	private ReservationDispatcher(final Builder builder) {
+		this.client = builder.client;
+		this.workspaceSid = builder.workspaceSid;
+		this.handler = builder.handler;
+
+		final int dedupeSize = builder.dedupeSize;
+		this.recent = new LinkedHashMap<String, Boolean>(16, 0.75f, false) {
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+				return size() > dedupeSize;
+			}
+		};
+
+		final AtomicInteger threadNumber = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(builder.threads, builder.threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(builder.queueCapacity), new ThreadFactory() {
+					public Thread newThread(final Runnable r) {
+						Thread thread = new Thread(r, "twilio-reservation-dispatcher-" + threadNumber.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		executor.prestartAllCoreThreads();
+	}
+
+	/**
+	 * Dispatch a TaskRouter event callback.
+	 *
+	 * @param parameters the form parameters of the callback, e.g. EventType, TaskSid and ResourceSid
+	 * @return true if the callback was a new Reservation and was queued for the handler
+	 */
+	public boolean dispatchWebhook(final Map<String, String> parameters) {
+		long received = System.nanoTime();
+		if (!RESERVATION_CREATED.equals(parameters.get("EventType"))) {
+			return false;
+		}
+		String workspace = parameters.get("WorkspaceSid");
+		try {
+			return enqueue(new ReservationContext(this, workspace != null ? workspace : workspaceSid,
+			                                      parameters.get("TaskSid"), parameters.get("ResourceSid"),
+			                                      parameters.get("WorkerSid"), parameters.get("TaskAttributes"),
+			                                      parameters.get("WorkerAttributes"), received));
+		} catch (final RejectedExecutionException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Dispatch a TaskRouter event.
+	 *
+	 * @param event the event
+	 * @return true if the event was a new Reservation and was queued for the handler
+	 */
+	public boolean dispatch(final Event event) {
+		try {
+			return dispatchEvent(event);
+		} catch (final RejectedExecutionException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Dispatch an event delivered by an {@link EventTailer}.
+	 *
+	 * @throws RejectedExecutionException if the queue is full, so the tailer delivers the event again on its next poll
+	 */
+	public void onEvent(final Event event) {
+		dispatchEvent(event);
+	}
+
+	private boolean dispatchEvent(final Event event) {
+		long received = System.nanoTime();
+		if (!RESERVATION_CREATED.equals(event.getEventType())) {
+			return false;
+		}
+		Map<String, String> data = event.getEventData();
+		if (data == null) {
+			data = new HashMap<String, String>();
+		}
+		String workspace = data.get("workspace_sid");
+		return enqueue(new ReservationContext(this, workspace != null ? workspace : workspaceSid, data.get("task_sid"),
+		                                      event.getResourceSid(), data.get("worker_sid"),
+		                                      data.get("task_attributes"), data.get("worker_attributes"), received));
+	}
+
+	/**
+	 * @return true if queued, false if malformed or already dispatched
+	 * @throws RejectedExecutionException if the queue is full
+	 */
+	private boolean enqueue(final ReservationContext reservation) {
+		if (StringUtils.isBlank(reservation.getTaskSid()) || StringUtils.isBlank(reservation.getReservationSid())) {
+			// retrying cannot fix an event without a task or reservation, so it is dropped
+			malformed.incrementAndGet();
+			return false;
+		}
+		synchronized (recent) {
+			if (recent.put(reservation.getReservationSid(), Boolean.TRUE) != null) {
+				duplicates.incrementAndGet();
+				return false;
+			}
+		}
+
+		try {
+			executor.execute(new Runnable() {
+				public void run() {
+					handle(reservation);
+				}
+			});
+		} catch (final RejectedExecutionException e) {
+			synchronized (recent) {
+				recent.remove(reservation.getReservationSid());
+			}
+			refused.incrementAndGet();
+			throw e;
+		}
+		dispatched.incrementAndGet();
+		return true;
+	}
+
+	private void handle(final ReservationContext reservation) {
+		queueLatency.recordSince(reservation.received);
+		long start = System.nanoTime();
+		try {
+			handler.onReservation(reservation);
+		} catch (final Exception e) {
+			failures.incrementAndGet();
+		} finally {
+			handlerLatency.recordSince(start);
+		}
+	}
+
+	private void send(final ReservationContext reservation, final Map<String, String> params)
+			throws TwilioRestException {
+		long start = System.nanoTime();
+		try {
+			new Reservation(client, reservation.getWorkspaceSid(), reservation.getTaskSid(),
+			                reservation.getReservationSid()).update(params);
+		} finally {
+			requestLatency.recordSince(start);
+			totalLatency.recordSince(reservation.received);
+		}
+	}
+
+	/**
+	 * Stop the handler threads after the queued Reservations are handled.
+	 *
+	 * @param timeout how long to wait
+	 * @param unit the unit of timeout
+	 * @return true if all handlers finished in time
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public boolean shutdown(final long timeout, final TimeUnit unit) throws InterruptedException {
+		executor.shutdown();
+		return executor.awaitTermination(timeout, unit);
+	}
+
+	/**
+	 * @return time from receipt until a handler thread picks the Reservation up
+	 */
+	public LatencyHistogram getQueueLatency() {
+		return queueLatency;
+	}
+
+	/**
+	 * @return time spent in the handler, including accept or reject
+	 */
+	public LatencyHistogram getHandlerLatency() {
+		return handlerLatency;
+	}
+
+	/**
+	 * @return time spent in the accept and reject requests
+	 */
+	public LatencyHistogram getRequestLatency() {
+		return requestLatency;
+	}
+
+	/**
+	 * @return time from receipt until the accept or reject request completed
+	 */
+	public LatencyHistogram getTotalLatency() {
+		return totalLatency;
+	}
+
+	/**
+	 * @return the number of Reservations queued for the handler
+	 */
+	public long getDispatchedCount() {
+		return dispatched.get();
+	}
+
+	/**
+	 * @return the number of redelivered Reservations ignored
+	 */
+	public long getDuplicateCount() {
+		return duplicates.get();
+	}
+
+	/**
+	 * @return the number of Reservations refused because the queue was full
+	 */
+	public long getRefusedCount() {
+		return refused.get();
+	}
+
+	/**
+	 * @return the number of reservation.created events dropped because they named no task or reservation
+	 */
+	public long getMalformedCount() {
+		return malformed.get();
+	}
+
+	/**
+	 * @return the number of handler invocations that threw
+	 */
+	public long getFailureCount() {
+		return failures.get();
+	}
+
+	/**
+	 * A new Reservation, passed to a {@link Handler}.
+	 */
+	public static final class ReservationContext {
+		private final ReservationDispatcher dispatcher;
+		private final String workspaceSid;
+		private final String taskSid;
+		private final String reservationSid;
+		private final String workerSid;
+		private final String taskAttributes;
+		private final String workerAttributes;
+		private final long received;
+
+		private ReservationContext(final ReservationDispatcher dispatcher, final String workspaceSid,
+		                           final String taskSid, final String reservationSid, final String workerSid,
+		                           final String taskAttributes, final String workerAttributes, final long received) {
+			this.dispatcher = dispatcher;
+			this.workspaceSid = workspaceSid;
+			this.taskSid = taskSid;
+			this.reservationSid = reservationSid;
+			this.workerSid = workerSid;
+			this.taskAttributes = taskAttributes;
+			this.workerAttributes = workerAttributes;
+			this.received = received;
+		}
+
+		/**
+		 * Accept the Reservation.
+		 *
+		 * @throws TwilioRestException if the request failed
+		 */
+		public void accept() throws TwilioRestException {
+			Map<String, String> params = new HashMap<String, String>();
+			params.put("ReservationStatus", "accepted");
+			dispatcher.send(this, params);
+		}
+
+		/**
+		 * Reject the Reservation.
+		 *
+		 * @throws TwilioRestException if the request failed
+		 */
+		public void reject() throws TwilioRestException {
+			Map<String, String> params = new HashMap<String, String>();
+			params.put("ReservationStatus", "rejected");
+			dispatcher.send(this, params);
+		}
+
+		/**
+		 * Reject the Reservation and move the Worker to another Activity.
+		 *
+		 * @param activitySid the sid of the Worker's new Activity
+		 * @throws TwilioRestException if the request failed
+		 */
+		public void reject(final String activitySid) throws TwilioRestException {
+			Map<String, String> params = new HashMap<String, String>();
+			params.put("ReservationStatus", "rejected");
+			params.put("WorkerActivitySid", activitySid);
+			dispatcher.send(this, params);
+		}
+
+		public String getWorkspaceSid() {
+			return workspaceSid;
+		}
+
+		public String getTaskSid() {
+			return taskSid;
+		}
+
+		public String getReservationSid() {
+			return reservationSid;
+		}
+
+		public String getWorkerSid() {
+			return workerSid;
+		}
+
+		/**
+		 * @return the Task attributes JSON, or null if the event did not include them
+		 */
+		public String getTaskAttributes() {
+			return taskAttributes;
+		}
+
+		/**
+		 * @return the Worker attributes JSON, or null if the event did not include them
+		 */
+		public String getWorkerAttributes() {
+			return workerAttributes;
+		}
+
+		/**
+		 * @return how long ago the Reservation was received, in milliseconds
+		 */
+		public double getAgeMillis() {
+			return (System.nanoTime() - received) / 1e6;
+		}
+	}
+}
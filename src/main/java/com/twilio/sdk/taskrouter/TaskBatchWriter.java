@@ -0,0 +1,494 @@
+package com.twilio.sdk.taskrouter;
+
+import com.twilio.sdk.RateLimiter;
+import com.twilio.sdk.TwilioRestException;
+import com.twilio.sdk.TwilioRestResponse;
+import com.twilio.sdk.TwilioTaskRouterClient;
+import com.twilio.sdk.internal.RequestFailures;
+import com.twilio.sdk.resource.instance.taskrouter.Task;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+import org.json.simple.JSONObject;
+
+/**
+ * Creates and updates {@link Task}s in bulk.
+ *
+ * Requests are accepted into a bounded queue and sent by a fixed number of
+ * threads, no faster than the configured rate. Submitting blocks while the
+ * queue is full, so a producer cannot outrun TaskRouter. Each attempt is a
+ * single request, without the client's own retries. Updates that fail
+ * transiently (429 Too Many Requests, 5xx or I/O errors) are retried with
+ * exponential backoff. Creations are only retried on 429, which guarantees
+ * the Task was not created; after a 5xx or I/O error it may have been, so
+ * the failure is reported rather than risking a duplicate Task.
+ *
+ * Each submission returns a Future for its Task, and an optional
+ * {@link Listener} is told about every result as it arrives.
+ *
+ * <pre>
+ * TaskBatchWriter writer = new TaskBatchWriter.Builder(client, workspaceSid)
+ *     .concurrency(16)
+ *     .ratePerSecond(100)
+ *     .build();
+ * for (Map&lt;String, String&gt; attributes : campaign) {
+ *     writer.create(workflowSid, attributes, null, null);
+ * }
+ * writer.close();
+ * </pre>
+ */
+public class TaskBatchWriter {
+
+	/**
+	 * Receives the result of every request, on the writer's threads. An
+	 * exception thrown by a listener does not change the result.
+	 */
+	public interface Listener {
+
+		/**
+		 * @param taskSid the sid of the updated Task, or null for a creation
+		 * @param task the created or updated Task
+		 */
+		void onSuccess(String taskSid, Task task);
+
+		/**
+		 * @param taskSid the sid of the Task to update, or null for a creation
+		 * @param params the request parameters
+		 * @param e the failure, after any retries
+		 */
+		void onFailure(String taskSid, Map<String, String> params, Exception e);
+	}
+
+	/**
+	 * Configures a {@link TaskBatchWriter}.
+	 */
+	public static class Builder {
+		private final TwilioTaskRouterClient client;
+		private final String workspaceSid;
+		private int concurrency = 8;
+		private double ratePerSecond = 0;
+		private int queueCapacity = 1000;
+		private int maxRetries = 5;
+		private long initialBackoff = 250L;
+		private long maxBackoff = 10000L;
+		private Listener listener;
+
+		/**
+		 * @param client the client
+		 * @param workspaceSid the sid of the Workspace the Tasks belong to
+		 */
+		public Builder(final TwilioTaskRouterClient client, final String workspaceSid) {
+			if (StringUtils.isBlank(workspaceSid)) {
+				throw new IllegalArgumentException("The workspaceSid for a TaskBatchWriter cannot be null");
+			}
+			this.client = client;
+			this.workspaceSid = workspaceSid;
+		}
+
+		/**
+		 * Number of requests in flight at once; defaults to 8. The client's
+		 * connection pool allows 10 connections per host.
+		 */
+		public Builder concurrency(final int concurrency) {
+			this.concurrency = concurrency;
+			return this;
+		}
+
+		/**
+		 * Maximum number of requests started per second, including retries; defaults to 0, unlimited.
+		 */
+		public Builder ratePerSecond(final double ratePerSecond) {
+			this.ratePerSecond = ratePerSecond;
+			return this;
+		}
+
+		/**
+		 * Number of requests waiting to be sent before submitting blocks; defaults to 1000.
+		 */
+		public Builder queueCapacity(final int queueCapacity) {
+			this.queueCapacity = queueCapacity;
+			return this;
+		}
+
+		/**
+		 * Number of retries of a transient failure; defaults to 5.
+		 */
+		public Builder maxRetries(final int maxRetries) {
+			this.maxRetries = maxRetries;
+			return this;
+		}
+
+		/**
+		 * Backoff before the first retry, doubled for each further retry up to max; defaults to 250ms and 10s.
+		 */
+		public Builder backoff(final long initial, final long max, final TimeUnit unit) {
+			this.initialBackoff = unit.toMillis(initial);
+			this.maxBackoff = unit.toMillis(max);
+			return this;
+		}
+
+		/**
+		 * Receive every result as it arrives.
+		 */
+		public Builder listener(final Listener listener) {
+			this.listener = listener;
+			return this;
+		}
+
+		/**
+		 * @return the writer, with its threads started
+		 */
+		public TaskBatchWriter build() {
+			if (concurrency < 1 || queueCapacity < 1 || maxRetries < 0 || initialBackoff < 0 || maxBackoff < initialBackoff) {
+				throw new IllegalStateException("Invalid concurrency, queue capacity, retries or backoff");
+			}
+			return new TaskBatchWriter(this);
+		}
+	}
+
+	private final TwilioTaskRouterClient client;
+	private final String workspaceSid;
+	private final int maxRetries;
+	private final long initialBackoff;
+	private final long maxBackoff;
+	private final Listener listener;
+	private final RateLimiter rateLimiter;
+	private final BlockingQueue<Runnable> queue;
+	private final ExecutorService executor;
+
+	private volatile boolean closed;
+
+	private final long startTime = System.nanoTime();
+	private final AtomicLong submitted = new AtomicLong();
+	private final AtomicLong succeeded = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final AtomicLong retried = new AtomicLong();
+	private final AtomicLong totalLatency = new AtomicLong();
+	private final AtomicLong maxLatency = new AtomicLong();
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private TaskBatchWriter(final Builder builder) {
+		this.client = builder.client;
+		this.workspaceSid = builder.workspaceSid;
+		this.maxRetries = builder.maxRetries;
+		this.initialBackoff = builder.initialBackoff;
+		this.maxBackoff = builder.maxBackoff;
+		this.listener = builder.listener;
+		this.rateLimiter = new RateLimiter(builder.ratePerSecond);
+		this.queue = new ArrayBlockingQueue<Runnable>(builder.queueCapacity);
+
+		final AtomicInteger threadNumber = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(builder.concurrency, new ThreadFactory() {
+			public Thread newThread(final Runnable r) {
+				Thread thread = new Thread(r, "twilio-task-writer-" + threadNumber.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		for (int i = 0; i < builder.concurrency; i++) {
+			executor.execute(new Runnable() {
+				public void run() {
+					drain();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Queue the creation of a Task, waiting while the queue is full.
+	 *
+	 * @param properties the Task properties, e.g. WorkflowSid and Attributes
+	 * @return the created Task, when it is created
+	 * @throws InterruptedException if interrupted while waiting for space in the queue
+	 */
+	public Future<Task> create(final Map<String, String> properties) throws InterruptedException {
+		return submit(null, properties);
+	}
+
+	/**
+	 * Queue the creation of a Task, waiting while the queue is full.
+	 *
+	 * @param workflowSid the workflow sid
+	 * @param attributes the attributes, converted to JSON
+	 * @param priority the priority, or null
+	 * @param timeout the timeout in seconds, or null
+	 * @return the created Task, when it is created
+	 * @throws InterruptedException if interrupted while waiting for space in the queue
+	 */
+	public Future<Task> create(final String workflowSid, final Map<String, String> attributes, final Integer priority,
+	                           final Integer timeout) throws InterruptedException {
+		Map<String, String> params = new HashMap<String, String>();
+		params.put("WorkflowSid", workflowSid);
+		params.put("Attributes", attributes != null ? JSONObject.toJSONString(attributes) : "{}");
+		if (priority != null) {
+			params.put("Priority", priority.toString());
+		}
+		if (timeout != null) {
+			params.put("Timeout", timeout.toString());
+		}
+		return submit(null, params);
+	}
+
+	/**
+	 * Queue the update of a Task, waiting while the queue is full.
+	 *
+	 * @param taskSid the sid of the Task
+	 * @param properties the properties to update, e.g. Attributes, Priority or AssignmentStatus
+	 * @return the updated Task, when it is updated
+	 * @throws InterruptedException if interrupted while waiting for space in the queue
+	 */
+	public Future<Task> update(final String taskSid, final Map<String, String> properties) throws InterruptedException {
+		if (StringUtils.isBlank(taskSid)) {
+			throw new IllegalArgumentException("The taskSid to update cannot be null");
+		}
+		return submit(taskSid, properties);
+	}
+
+	private Future<Task> submit(final String taskSid, final Map<String, String> properties) throws InterruptedException {
+		final Map<String, String> params = new HashMap<String, String>(properties);
+		final long enqueued = System.nanoTime();
+		FutureTask<Task> item = new FutureTask<Task>(new Callable<Task>() {
+			public Task call() throws Exception {
+				return send(taskSid, params, enqueued);
+			}
+		});
+		// wait for space in short steps, so closing the writer releases a blocked producer
+		while (!queue.offer(item, 100L, TimeUnit.MILLISECONDS)) {
+			if (closed) {
+				throw new IllegalStateException("TaskBatchWriter is closed");
+			}
+		}
+		// if the writer closed meanwhile its threads may be gone, so take the item back unless one of them has it
+		if (closed && queue.remove(item)) {
+			item.cancel(false);
+			throw new IllegalStateException("TaskBatchWriter is closed");
+		}
+		submitted.incrementAndGet();
+		return item;
+	}
+
+	private void drain() {
+		try {
+			while (true) {
+				Runnable item = queue.poll(100L, TimeUnit.MILLISECONDS);
+				if (item != null) {
+					inFlight.incrementAndGet();
+					try {
+						item.run();
+					} finally {
+						inFlight.decrementAndGet();
+					}
+				} else if (closed && queue.isEmpty()) {
+					// checked after closed, so an item submitted before the close is never left behind
+					return;
+				}
+			}
+		} catch (final InterruptedException e) {
+			// shutdownNow
+		}
+	}
+
+	private Task send(final String taskSid, final Map<String, String> params, final long enqueued) throws Exception {
+		Task task;
+		try {
+			task = sendWithRetries(taskSid, params);
+		} catch (final Exception e) {
+			record(enqueued, failed);
+			if (listener != null) {
+				try {
+					listener.onFailure(taskSid, params, e);
+				} catch (final RuntimeException ignored) {
+					// the request failed either way
+				}
+			}
+			throw e;
+		}
+
+		record(enqueued, succeeded);
+		if (listener != null) {
+			try {
+				listener.onSuccess(taskSid, task);
+			} catch (final RuntimeException ignored) {
+				// the Task was written; a failing listener must not turn that into a failure
+			}
+		}
+		return task;
+	}
+
+	private Task sendWithRetries(final String taskSid, final Map<String, String> params) throws Exception {
+		String path = "/" + TwilioTaskRouterClient.DEFAULT_VERSION + "/Workspaces/" + workspaceSid + "/Tasks";
+		if (taskSid != null) {
+			path += "/" + taskSid;
+		}
+
+		long backoff = initialBackoff;
+		for (int attempt = 0; ; attempt++) {
+			try {
+				rateLimiter.acquire();
+				return new Task(client, sendOnce(path, params).toMap());
+			} catch (final Exception e) {
+				if (attempt >= maxRetries || !(taskSid == null ? RequestFailures.isRateLimited(e) : isTransient(e))) {
+					throw e;
+				}
+				retried.incrementAndGet();
+				backoff = RequestFailures.backoff(backoff, maxBackoff);
+			}
+		}
+	}
+
+	/**
+	 * Make a single request. safeRequest would retry server errors itself,
+	 * multiplying the retries of this writer.
+	 */
+	private TwilioRestResponse sendOnce(final String path, final Map<String, String> params) throws TwilioRestException {
+		TwilioRestResponse response = client.request(path, "POST", params);
+		if (response.isClientError()) {
+			throw TwilioRestException.parseResponse(response);
+		} else if (response.isServerError()) {
+			throw new TwilioRestException("Cannot fetch: POST " + path, response.getHttpStatus());
+		}
+		return response;
+	}
+
+	/**
+	 * Check whether a failed update is worth retrying. Creations are only
+	 * retried on 429.
+	 *
+	 * @param e the failure
+	 * @return true for 429, 5xx and I/O failures
+	 */
+	protected boolean isTransient(final Exception e) {
+		return RequestFailures.isTransient(e);
+	}
+
+	private void record(final long enqueued, final AtomicLong outcome) {
+		long latency = System.nanoTime() - enqueued;
+		outcome.incrementAndGet();
+		totalLatency.addAndGet(latency);
+		long max = maxLatency.get();
+		while (latency > max && !maxLatency.compareAndSet(max, latency)) {
+			max = maxLatency.get();
+		}
+	}
+
+	/**
+	 * Stop accepting requests and wait for the queued ones to finish.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public void close() throws InterruptedException {
+		close(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stop accepting requests and wait for the queued ones to finish, at most
+	 * the given time. Requests still queued or in flight after that keep
+	 * going; call {@link #shutdownNow()} to cancel them.
+	 *
+	 * @param timeout the longest time to wait
+	 * @param unit the unit of timeout
+	 * @return true if every request finished, false if the time ran out
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public boolean close(final long timeout, final TimeUnit unit) throws InterruptedException {
+		closed = true;
+		executor.shutdown();
+		return executor.awaitTermination(timeout, unit);
+	}
+
+	/**
+	 * Stop at once, cancelling the queued requests.
+	 *
+	 * @return the number of cancelled requests
+	 */
+	public int shutdownNow() {
+		closed = true;
+		List<Runnable> pending = new ArrayList<Runnable>();
+		queue.drainTo(pending);
+		for (final Runnable item : pending) {
+			((Future<?>) item).cancel(false);
+		}
+		executor.shutdownNow();
+		return pending.size();
+	}
+
+	/**
+	 * @return the number of requests submitted
+	 */
+	public long getSubmittedCount() {
+		return submitted.get();
+	}
+
+	/**
+	 * @return the number of requests that succeeded
+	 */
+	public long getSucceededCount() {
+		return succeeded.get();
+	}
+
+	/**
+	 * @return the number of requests that failed after any retries
+	 */
+	public long getFailedCount() {
+		return failed.get();
+	}
+
+	/**
+	 * @return the number of retries made
+	 */
+	public long getRetryCount() {
+		return retried.get();
+	}
+
+	/**
+	 * @return the number of requests waiting in the queue
+	 */
+	public int getQueuedCount() {
+		return queue.size();
+	}
+
+	/**
+	 * @return the number of requests being sent
+	 */
+	public int getInFlightCount() {
+		return inFlight.get();
+	}
+
+	/**
+	 * @return the mean time from submission to result, in milliseconds
+	 */
+	public double getAverageLatencyMillis() {
+		long completed = succeeded.get() + failed.get();
+		return completed == 0 ? 0.0 : totalLatency.get() / 1e6 / completed;
+	}
+
+	/**
+	 * @return the longest time from submission to result, in milliseconds
+	 */
+	public double getMaxLatencyMillis() {
+		return maxLatency.get() / 1e6;
+	}
+
+	/**
+	 * @return the number of successful requests per second since the writer was built
+	 */
+	public double getThroughput() {
+		long elapsed = System.nanoTime() - startTime;
+		return elapsed <= 0 ? 0.0 : succeeded.get() * 1e9 / elapsed;
+	}
+}
@@ -1,12 +1,16 @@
 package com.twilio.sdk.taskrouter;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 import com.twilio.sdk.CapabilityToken;
+import com.twilio.sdk.TokenCache;
 
 public class TaskRouterCapability extends CapabilityToken {
 
@@ -24,6 +28,10 @@ public class TaskRouterCapability extends CapabilityToken {
     protected String resourceUrl;
     protected String baseUrl;
 
+    // the grants of the cache key, built on the first token after a policy is added
+    private SortedSet<String> grants;
+    private int grantedPolicies;
+
     /**
      * Create a new Capability object to authorize clients to interact with the
      * TaskRouter service.
@@ -188,6 +196,7 @@ public class TaskRouterCapability extends CapabilityToken {
 
     public TaskRouterCapability addPolicy(final Policy policy) {
         this.policies.add(policy);
+        this.grants = null;
         return this;
     }
 
@@ -207,7 +216,7 @@ public class TaskRouterCapability extends CapabilityToken {
      */
 
     public void addPolicy(final String url, final String method, final Map<String, FilterRequirement> queryFilter, final Map<String, FilterRequirement> postFilter, final boolean allow) {
-        this.policies.add(new Policy(url, method, queryFilter, postFilter, allow));
+        this.addPolicy(new Policy(url, method, queryFilter, postFilter, allow));
     }
 
     /**
@@ -224,7 +233,7 @@ public class TaskRouterCapability extends CapabilityToken {
      */
 
     public void allow(final String url, final String method, final Map<String, FilterRequirement> queryFilter, final Map<String, FilterRequirement> postFilter) {
-        this.policies.add(new Policy(url, method, queryFilter, postFilter, true));
+        this.addPolicy(new Policy(url, method, queryFilter, postFilter, true));
     }
 
     /**
@@ -241,7 +250,7 @@ public class TaskRouterCapability extends CapabilityToken {
      */
 
     public void deny(final String url, final String method, final Map<String, FilterRequirement> queryFilter, final Map<String, FilterRequirement> postFilter) {
-        this.policies.add(new Policy(url, method, queryFilter, postFilter, false));
+        this.addPolicy(new Policy(url, method, queryFilter, postFilter, false));
     }
 
     /**
@@ -266,9 +275,20 @@ public class TaskRouterCapability extends CapabilityToken {
      */
     public String generateToken(final long ttl) throws DomainException {
 
+        final TokenCache cache = getTokenCache();
+        String cacheKey = null;
+        if (cache != null) {
+            cacheKey = tokenCacheKey(getSigner(authToken), ttl, accountSid, canonicalGrants());
+            final String cached = cache.get(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        final long expires = (System.currentTimeMillis() / 1000L) + ttl;
         final Map<String, Object> payload = new HashMap<String, Object>();
         payload.put("iss", accountSid);
-        payload.put("exp", (System.currentTimeMillis() / 1000L) + ttl);
+        payload.put("exp", expires);
         payload.put("account_sid", accountSid);
         payload.put("friendly_name", friendlyName);
         payload.put("version", version);
@@ -283,11 +303,33 @@ public class TaskRouterCapability extends CapabilityToken {
         }
 
         try {
-            return jwtEncode(payload, authToken);
+            final String token = jwtEncode(payload, getSigner(authToken));
+            if (cache != null) {
+                cache.put(cacheKey, token, expires);
+            }
+            return token;
         } catch (final Exception e) {
             throw new DomainException(e);
         }
 
     }
 
+    private SortedSet<String> canonicalGrants() {
+        // subclasses may also add to policies directly
+        if (grants != null && grantedPolicies == policies.size()) {
+            return grants;
+        }
+        final SortedSet<String> canonical = new TreeSet<String>();
+        canonical.add("workspace_sid=" + workspaceSid);
+        canonical.add("channel=" + channelId);
+        canonical.add("friendly_name=" + friendlyName);
+        canonical.add("version=" + version);
+        for (final Policy policy : policies) {
+            canonical.add(policy.toJSONString());
+        }
+        grants = Collections.unmodifiableSortedSet(canonical);
+        grantedPolicies = policies.size();
+        return grants;
+    }
+
 }
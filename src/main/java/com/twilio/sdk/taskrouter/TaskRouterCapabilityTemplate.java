@@ -0,0 +1,165 @@
+package com.twilio.sdk.taskrouter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.json.simple.JSONValue;
+
+import com.twilio.sdk.CapabilityToken;
+import com.twilio.sdk.TokenCache;
+import com.twilio.sdk.TokenSigner;
+
+/**
+ * A TaskRouter capability compiled once per role, for minting tokens for many
+ * Workers, TaskQueues or Workspaces that share the same policies.
+ *
+ * The template is compiled from a prototype capability configured for any one
+ * channel of the role. Its payload, including every serialized {@link Policy},
+ * is kept as JSON fragments split wherever the prototype's channel sid occurs;
+ * minting a token splices the new sid and expiry in and signs the result, with
+ * no policy objects, maps or JSON serialization involved. The tokens are
+ * equivalent to those of a capability configured the same way for that sid.
+ *
+ * <pre>
+ * TaskRouterWorkerCapability prototype = new TaskRouterWorkerCapability(accountSid, authToken, workspaceSid, anyWorkerSid);
+ * prototype.allowActivityUpdates();
+ * prototype.allowReservationUpdates();
+ * TaskRouterCapabilityTemplate agents = new TaskRouterCapabilityTemplate(prototype);
+ *
+ * String token = agents.generateToken(workerSid);
+ * </pre>
+ *
+ * Templates are immutable and thread-safe.
+ */
+public class TaskRouterCapabilityTemplate extends CapabilityToken {
+
+    private final String accountSid;
+    private final TokenSigner signer;
+    private final String channelPrefix;
+
+    // {"iss":"AC...","exp":
+    private final String head;
+    // the rest of the payload, split at each occurrence of the channel sid
+    private final String[] body;
+    private final int length;
+    // the issuer, key digest and template fingerprint of every cache key, computed once
+    private final String cacheKeyPrefix;
+
+    /**
+     * Compile a template from a configured capability. Policies added to the
+     * prototype afterwards are not included.
+     *
+     * @param prototype a capability for any channel of the role
+     */
+    public TaskRouterCapabilityTemplate(final TaskRouterCapability prototype) {
+        this.accountSid = prototype.accountSid;
+        this.signer = TokenSigner.getInstance(prototype.authToken);
+        this.channelPrefix = prototype.channelId.substring(0, 2);
+
+        this.head = "{\"iss\":" + json(accountSid) + ",\"exp\":";
+
+        final StringBuilder rest = new StringBuilder();
+        rest.append(",\"account_sid\":").append(json(accountSid));
+        rest.append(",\"friendly_name\":").append(json(prototype.friendlyName));
+        rest.append(",\"version\":").append(json(prototype.version));
+        rest.append(",\"policies\":").append(json(new ArrayList<Policy>(prototype.policies)));
+        rest.append(",\"workspace_sid\":").append(json(prototype.workspaceSid));
+        rest.append(",\"channel\":").append(json(prototype.channelId));
+        if (prototype.channelId.startsWith("WK")) {
+            rest.append(",\"worker_sid\":").append(json(prototype.channelId));
+        } else if (prototype.channelId.startsWith("WQ")) {
+            rest.append(",\"taskqueue_sid\":").append(json(prototype.channelId));
+        }
+        rest.append('}');
+
+        this.body = split(rest.toString(), prototype.channelId);
+        int total = head.length() + 12;
+        for (final String part : body) {
+            total += part.length() + prototype.channelId.length();
+        }
+        this.length = total;
+        this.cacheKeyPrefix = accountSid + '\n' + signer.getSecretDigest() + "\ntemplate="
+                + TokenSigner.digest(head + Arrays.toString(body)) + '\n';
+    }
+
+    private static String json(final Object value) {
+        // match the payload encoding of generated capability tokens
+        return JSONValue.toJSONString(value).replace("\\/", "/");
+    }
+
+    private static String[] split(final String s, final String separator) {
+        final List<String> parts = new ArrayList<String>();
+        int start = 0;
+        int index;
+        while ((index = s.indexOf(separator, start)) >= 0) {
+            parts.add(s.substring(start, index));
+            start = index + separator.length();
+        }
+        parts.add(s.substring(start));
+        return parts.toArray(new String[parts.size()]);
+    }
+
+    /**
+     * Generate a token valid for one hour.
+     *
+     * @param channelId the Worker, TaskQueue or Workspace sid to generate the token for
+     * @return JSON Web Token representing authorized capabilities
+     * @throws DomainException if the token could not be signed
+     */
+    public String generateToken(final String channelId) throws DomainException {
+        return generateToken(channelId, 3600);
+    }
+
+    /**
+     * Generate a token.
+     *
+     * @param channelId the Worker, TaskQueue or Workspace sid to generate the token for
+     * @param ttl Expiration time in seconds
+     * @return JSON Web Token representing authorized capabilities
+     * @throws DomainException if the token could not be signed
+     */
+    public String generateToken(final String channelId, final long ttl) throws DomainException {
+        validateChannel(channelId);
+
+        final TokenCache cache = getTokenCache();
+        String cacheKey = null;
+        if (cache != null) {
+            cacheKey = cacheKeyPrefix + ttl + '\n' + channelId;
+            final String cached = cache.get(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        final long expires = (System.currentTimeMillis() / 1000L) + ttl;
+        final StringBuilder payload = new StringBuilder(length);
+        payload.append(head).append(expires).append(body[0]);
+        for (int i = 1; i < body.length; i++) {
+            payload.append(channelId).append(body[i]);
+        }
+
+        try {
+            final String token = signer.sign(payload.toString());
+            if (cache != null) {
+                cache.put(cacheKey, token, expires);
+            }
+            return token;
+        } catch (final RuntimeException e) {
+            throw new DomainException(e);
+        }
+    }
+
+    private void validateChannel(final String channelId) {
+        if (channelId == null || !channelId.startsWith(channelPrefix)) {
+            throw new IllegalArgumentException("Invalid ChannelId provided: " + channelId);
+        }
+        // sids are spliced into the JSON unescaped
+        for (int i = 0; i < channelId.length(); i++) {
+            final char c = channelId.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z')) {
+                throw new IllegalArgumentException("Invalid ChannelId provided: " + channelId);
+            }
+        }
+    }
+}
@@ -43,7 +43,7 @@ public class TaskRouterWorkerCapability extends TaskRouterCapability {
     public void allowActivityUpdates() {
         final Policy policy = new Policy(this.resourceUrl, "POST", true);
         policy.postFilter.put("ActivitySid", FilterRequirement.REQUIRED);
-        policies.add(policy);
+        addPolicy(policy);
     }
 
     /**
@@ -52,8 +52,8 @@ public class TaskRouterWorkerCapability extends TaskRouterCapability {
     public void allowReservationUpdates() {
         final Policy tasksPolicy = new Policy(this.tasksUrl, "POST", true);
         final Policy workerReservationsPolicy = new Policy(this.workerReservationsUrl, "POST", true);
-        policies.add(tasksPolicy);
-        policies.add(workerReservationsPolicy);
+        addPolicy(tasksPolicy);
+        addPolicy(workerReservationsPolicy);
     }
 
 }
@@ -0,0 +1,392 @@
+package com.twilio.sdk.taskrouter;
+
+import com.twilio.sdk.RateLimiter;
+import com.twilio.sdk.TwilioRestException;
+import com.twilio.sdk.TwilioRestResponse;
+import com.twilio.sdk.TwilioTaskRouterClient;
+import com.twilio.sdk.internal.RequestFailures;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Moves many Workers to one Activity, e.g. at a shift change.
+ *
+ * Updates are sent by a fixed number of threads under an adaptive rate: each
+ * 429 Too Many Requests halves the rate (at most once per second, so a burst of
+ * 429s counts as one), and every run of successes raises it again by a fixed
+ * step up to the maximum. Requests that fail transiently are retried with
+ * backoff; the {@link Report} lists the Workers that were moved and the
+ * failures of the rest.
+ *
+ * <pre>
+ * WorkerActivityTransition.Report report = client.transitionWorkers(workspaceSid, workerSids, offlineActivitySid);
+ * for (Map.Entry&lt;String, Exception&gt; failure : report.getFailures().entrySet()) {
+ *     ...
+ * }
+ * </pre>
+ */
+public class WorkerActivityTransition {
+
+	/**
+	 * Configures a {@link WorkerActivityTransition}.
+	 */
+	public static class Builder {
+		private final TwilioTaskRouterClient client;
+		private final String workspaceSid;
+		private final String activitySid;
+		private int concurrency = 8;
+		private double initialRate = 25;
+		private double minRate = 1;
+		private double maxRate = 100;
+		private double rateStep = 1;
+		private int maxRetries = 5;
+		private long initialBackoff = 250L;
+		private long maxBackoff = 10000L;
+
+		/**
+		 * @param client the client
+		 * @param workspaceSid the sid of the Workspace the Workers belong to
+		 * @param activitySid the sid of the Activity to move the Workers to
+		 */
+		public Builder(final TwilioTaskRouterClient client, final String workspaceSid, final String activitySid) {
+			if (StringUtils.isBlank(workspaceSid)) {
+				throw new IllegalArgumentException("The workspaceSid for a WorkerActivityTransition cannot be null");
+			}
+			if (StringUtils.isBlank(activitySid)) {
+				throw new IllegalArgumentException("The activitySid for a WorkerActivityTransition cannot be null");
+			}
+			this.client = client;
+			this.workspaceSid = workspaceSid;
+			this.activitySid = activitySid;
+		}
+
+		/**
+		 * Number of requests in flight at once; defaults to 8. The client's
+		 * connection pool allows 10 connections per host.
+		 */
+		public Builder concurrency(final int concurrency) {
+			this.concurrency = concurrency;
+			return this;
+		}
+
+		/**
+		 * Requests per second to start at, and the bounds the rate adapts between; defaults to 25, 1 and 100.
+		 */
+		public Builder rate(final double initial, final double min, final double max) {
+			this.initialRate = initial;
+			this.minRate = min;
+			this.maxRate = max;
+			return this;
+		}
+
+		/**
+		 * Requests per second added after every {@code concurrency} consecutive successes; defaults to 1.
+		 */
+		public Builder rateStep(final double rateStep) {
+			this.rateStep = rateStep;
+			return this;
+		}
+
+		/**
+		 * Number of retries of a transient failure; defaults to 5.
+		 */
+		public Builder maxRetries(final int maxRetries) {
+			this.maxRetries = maxRetries;
+			return this;
+		}
+
+		/**
+		 * Backoff before the first retry, doubled for each further retry up to max; defaults to 250ms and 10s.
+		 */
+		public Builder backoff(final long initial, final long max, final TimeUnit unit) {
+			this.initialBackoff = unit.toMillis(initial);
+			this.maxBackoff = unit.toMillis(max);
+			return this;
+		}
+
+		/**
+		 * @return the transition, ready to {@link WorkerActivityTransition#run(Collection)}
+		 */
+		public WorkerActivityTransition build() {
+			if (concurrency < 1 || minRate <= 0 || initialRate < minRate || maxRate < initialRate || rateStep < 0
+					|| maxRetries < 0 || initialBackoff < 0 || maxBackoff < initialBackoff) {
+				throw new IllegalStateException("Invalid concurrency, rates, retries or backoff");
+			}
+			return new WorkerActivityTransition(this);
+		}
+	}
+
+	/**
+	 * The outcome of a transition.
+	 */
+	public static final class Report {
+		private final String activitySid;
+		private final List<String> moved;
+		private final Map<String, Exception> failures;
+		private final long retries;
+		private final long rateLimited;
+		private final double finalRate;
+		private final long elapsedMillis;
+
+		private Report(final String activitySid, final List<String> moved, final Map<String, Exception> failures,
+		               final long retries, final long rateLimited, final double finalRate, final long elapsedMillis) {
+			this.activitySid = activitySid;
+			this.moved = Collections.unmodifiableList(moved);
+			this.failures = Collections.unmodifiableMap(failures);
+			this.retries = retries;
+			this.rateLimited = rateLimited;
+			this.finalRate = finalRate;
+			this.elapsedMillis = elapsedMillis;
+		}
+
+		/**
+		 * @return the Activity the Workers were moved to
+		 */
+		public String getActivitySid() {
+			return activitySid;
+		}
+
+		/**
+		 * @return the sids of the Workers moved, in completion order
+		 */
+		public List<String> getMoved() {
+			return moved;
+		}
+
+		/**
+		 * @return the failure of each Worker that was not moved, after any retries, by Worker sid
+		 */
+		public Map<String, Exception> getFailures() {
+			return failures;
+		}
+
+		/**
+		 * @return true if every Worker was moved
+		 */
+		public boolean isComplete() {
+			return failures.isEmpty();
+		}
+
+		/**
+		 * @return the number of retried requests
+		 */
+		public long getRetryCount() {
+			return retries;
+		}
+
+		/**
+		 * @return the number of 429 Too Many Requests responses
+		 */
+		public long getRateLimitedCount() {
+			return rateLimited;
+		}
+
+		/**
+		 * @return the requests per second the rate had adapted to at the end
+		 */
+		public double getFinalRate() {
+			return finalRate;
+		}
+
+		/**
+		 * @return the duration of the transition in milliseconds
+		 */
+		public long getElapsedMillis() {
+			return elapsedMillis;
+		}
+
+		@Override
+		public String toString() {
+			return "moved=" + moved.size() + " failed=" + failures.size() + " retries=" + retries + " rateLimited="
+					+ rateLimited + " finalRate=" + finalRate + " elapsed=" + elapsedMillis + "ms";
+		}
+	}
+
+	private static final long RATE_DECREASE_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+	private final TwilioTaskRouterClient client;
+	private final String workspaceSid;
+	private final String activitySid;
+	private final int concurrency;
+	private final double initialRate;
+	private final double minRate;
+	private final double maxRate;
+	private final double rateStep;
+	private final int maxRetries;
+	private final long initialBackoff;
+	private final long maxBackoff;
+
+	private WorkerActivityTransition(final Builder builder) {
+		this.client = builder.client;
+		this.workspaceSid = builder.workspaceSid;
+		this.activitySid = builder.activitySid;
+		this.concurrency = builder.concurrency;
+		this.initialRate = builder.initialRate;
+		this.minRate = builder.minRate;
+		this.maxRate = builder.maxRate;
+		this.rateStep = builder.rateStep;
+		this.maxRetries = builder.maxRetries;
+		this.initialBackoff = builder.initialBackoff;
+		this.maxBackoff = builder.maxBackoff;
+	}
+
+	/**
+	 * Move the Workers and wait until every update has succeeded or failed. A
+	 * transition may be run any number of times, one run at a time or concurrently.
+	 *
+	 * @param workerSids the sids of the Workers; duplicates are moved once
+	 * @return the report
+	 * @throws InterruptedException if interrupted while waiting; requests in flight are abandoned
+	 */
+	public Report run(final Collection<String> workerSids) throws InterruptedException {
+		return new Run(new LinkedHashSet<String>(workerSids)).execute();
+	}
+
+	/**
+	 * The state of one {@link #run(Collection)}.
+	 */
+	private final class Run {
+		private final ConcurrentLinkedQueue<String> pending;
+		private final List<String> moved = Collections.synchronizedList(new ArrayList<String>());
+		private final Map<String, Exception> failures = Collections.synchronizedMap(new LinkedHashMap<String, Exception>());
+		private final RateLimiter rateLimiter = new RateLimiter(initialRate);
+		private final AtomicLong retries = new AtomicLong();
+		private final AtomicLong rateLimited = new AtomicLong();
+		private final AtomicInteger successStreak = new AtomicInteger();
+		private long lastDecrease;
+
+		private Run(final Collection<String> workerSids) {
+			this.pending = new ConcurrentLinkedQueue<String>(workerSids);
+			this.lastDecrease = System.nanoTime() - RATE_DECREASE_INTERVAL;
+		}
+
+		private Report execute() throws InterruptedException {
+			long start = System.nanoTime();
+			int threads = Math.max(1, Math.min(concurrency, pending.size()));
+			final CountDownLatch done = new CountDownLatch(threads);
+			final AtomicInteger threadNumber = new AtomicInteger();
+			ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+				public Thread newThread(final Runnable r) {
+					Thread thread = new Thread(r, "twilio-activity-transition-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			try {
+				for (int i = 0; i < threads; i++) {
+					executor.execute(new Runnable() {
+						public void run() {
+							try {
+								drain();
+							} finally {
+								done.countDown();
+							}
+						}
+					});
+				}
+				done.await();
+			} finally {
+				executor.shutdownNow();
+			}
+			synchronized (failures) {
+				return new Report(activitySid, new ArrayList<String>(moved), new LinkedHashMap<String, Exception>(failures),
+				                  retries.get(), rateLimited.get(), rateLimiter.getRate(),
+				                  TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+			}
+		}
+
+		private void drain() {
+			String workerSid;
+			while ((workerSid = pending.poll()) != null) {
+				try {
+					update(workerSid);
+					moved.add(workerSid);
+				} catch (final InterruptedException e) {
+					failures.put(workerSid, e);
+					return;
+				} catch (final Exception e) {
+					failures.put(workerSid, e);
+				}
+			}
+		}
+
+		private void update(final String workerSid) throws Exception {
+			String path = "/" + TwilioTaskRouterClient.DEFAULT_VERSION + "/Workspaces/" + workspaceSid + "/Workers/"
+					+ workerSid;
+			Map<String, String> params = new HashMap<String, String>();
+			params.put("ActivitySid", activitySid);
+
+			long backoff = initialBackoff;
+			for (int attempt = 0; ; attempt++) {
+				try {
+					rateLimiter.acquire();
+					sendOnce(path, params);
+					onSuccess();
+					return;
+				} catch (final InterruptedException e) {
+					throw e;
+				} catch (final Exception e) {
+					if (RequestFailures.isRateLimited(e)) {
+						onRateLimited();
+					}
+					if (attempt < maxRetries && RequestFailures.isTransient(e)) {
+						retries.incrementAndGet();
+						backoff = RequestFailures.backoff(backoff, maxBackoff);
+						continue;
+					}
+					throw e;
+				}
+			}
+		}
+
+		/**
+		 * Make a single request. safeRequest would retry server errors itself,
+		 * multiplying the retries made here.
+		 */
+		private void sendOnce(final String path, final Map<String, String> params) throws TwilioRestException {
+			TwilioRestResponse response = client.request(path, "POST", params);
+			if (response.isClientError()) {
+				throw TwilioRestException.parseResponse(response);
+			} else if (response.isServerError()) {
+				throw new TwilioRestException("Cannot fetch: POST " + path, response.getHttpStatus());
+			}
+		}
+
+		private void onSuccess() {
+			if (successStreak.incrementAndGet() % concurrency == 0 && rateStep > 0) {
+				synchronized (this) {
+					rateLimiter.setRate(Math.min(maxRate, rateLimiter.getRate() + rateStep));
+				}
+			}
+		}
+
+		private void onRateLimited() {
+			rateLimited.incrementAndGet();
+			successStreak.set(0);
+			synchronized (this) {
+				long now = System.nanoTime();
+				if (now - lastDecrease >= RATE_DECREASE_INTERVAL) {
+					lastDecrease = now;
+					rateLimiter.setRate(Math.max(minRate, rateLimiter.getRate() / 2));
+				}
+			}
+		}
+	}
+}
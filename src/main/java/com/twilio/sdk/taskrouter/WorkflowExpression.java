@@ -0,0 +1,578 @@
+package com.twilio.sdk.taskrouter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compiled TaskRouter expression, evaluated locally against Task and Worker
+ * attributes.
+ *
+ * Supports the operators of the TaskRouter expression language: {@code ==},
+ * {@code =}, {@code !=}, {@code >}, {@code >=}, {@code <}, {@code <=},
+ * {@code IN}, {@code NOT IN}, {@code HAS}, {@code CONTAINS}, {@code AND}
+ * ({@code &&}), {@code OR} ({@code ||}), {@code NOT} ({@code !}) and
+ * parentheses. Operands are attribute paths such as {@code skills.language},
+ * optionally prefixed with {@code task.} or {@code worker.}, and string,
+ * number, boolean, null and array literals.
+ *
+ * Unprefixed attributes refer to the Task in workflow rule expressions
+ * ({@link #compile(String)}) and to the Worker in target expressions
+ * ({@link #compileTarget(String)}). A missing attribute is null: it only
+ * equals null, and every other comparison with it is false except
+ * {@code !=} and {@code NOT IN}.
+ *
+ * Compiled expressions are immutable and may be evaluated concurrently.
+ */
+public final class WorkflowExpression {
+
+	private final String source;
+
+	private final Node root;
+
+	private WorkflowExpression(final String source, final Node root) {
+		this.source = source;
+		this.root = root;
+	}
+
+	/**
+	 * Compile a workflow rule expression, whose unprefixed attributes refer to the Task.
+	 *
+	 * @param expression the expression
+	 * @return the compiled expression
+	 * @throws IllegalArgumentException if the expression is not valid
+	 */
+	public static WorkflowExpression compile(final String expression) {
+		return new WorkflowExpression(expression, new Parser(expression, Scope.TASK).parse());
+	}
+
+	/**
+	 * Compile a target expression, whose unprefixed attributes refer to the Worker.
+	 *
+	 * @param expression the expression
+	 * @return the compiled expression
+	 * @throws IllegalArgumentException if the expression is not valid
+	 */
+	public static WorkflowExpression compileTarget(final String expression) {
+		return new WorkflowExpression(expression, new Parser(expression, Scope.WORKER).parse());
+	}
+
+	/**
+	 * Evaluate the expression against Task attributes only.
+	 *
+	 * @param task the Task attributes
+	 * @return true if the expression matches
+	 */
+	public boolean matches(final Map<String, Object> task) {
+		return matches(task, null);
+	}
+
+	/**
+	 * Evaluate the expression against Task and Worker attributes.
+	 *
+	 * @param task the Task attributes, may be null
+	 * @param worker the Worker attributes, may be null
+	 * @return true if the expression matches
+	 */
+	public boolean matches(final Map<String, Object> task, final Map<String, Object> worker) {
+		return root.test(task, worker);
+	}
+
+	/**
+	 * @return the expression this was compiled from
+	 */
+	public String getSource() {
+		return source;
+	}
+
+	@Override
+	public String toString() {
+		return source;
+	}
+
+	private enum Scope {
+		TASK, WORKER
+	}
+
+	private enum Operator {
+		EQ, NE, GT, GE, LT, LE, IN, NOT_IN, HAS, CONTAINS
+	}
+
+	private abstract static class Node {
+		Object value(final Map<String, Object> task, final Map<String, Object> worker) {
+			return Boolean.valueOf(test(task, worker));
+		}
+
+		boolean test(final Map<String, Object> task, final Map<String, Object> worker) {
+			Object value = value(task, worker);
+			return value != null && !Boolean.FALSE.equals(value);
+		}
+	}
+
+	private static final class Literal extends Node {
+		private final Object value;
+
+		Literal(final Object value) {
+			this.value = value;
+		}
+
+		@Override
+		Object value(final Map<String, Object> task, final Map<String, Object> worker) {
+			return value;
+		}
+	}
+
+	private static final class ArrayLiteral extends Node {
+		private final Node[] elements;
+
+		// the value of an array of constants, computed once
+		private final List<Object> constant;
+
+		ArrayLiteral(final List<Node> elements) {
+			this.elements = elements.toArray(new Node[elements.size()]);
+
+			List<Object> values = new ArrayList<Object>(elements.size());
+			for (final Node element : elements) {
+				if (!(element instanceof Literal)) {
+					values = null;
+					break;
+				}
+				values.add(((Literal) element).value);
+			}
+			this.constant = values == null ? null : Collections.unmodifiableList(values);
+		}
+
+		@Override
+		Object value(final Map<String, Object> task, final Map<String, Object> worker) {
+			if (constant != null) {
+				return constant;
+			}
+			List<Object> values = new ArrayList<Object>(elements.length);
+			for (final Node element : elements) {
+				values.add(element.value(task, worker));
+			}
+			return values;
+		}
+	}
+
+	private static final class Path extends Node {
+		private final Scope scope;
+		private final String[] names;
+
+		Path(final Scope scope, final String[] names) {
+			this.scope = scope;
+			this.names = names;
+		}
+
+		@Override
+		Object value(final Map<String, Object> task, final Map<String, Object> worker) {
+			Object current = scope == Scope.TASK ? task : worker;
+			for (final String name : names) {
+				if (!(current instanceof Map)) {
+					return null;
+				}
+				current = ((Map<?, ?>) current).get(name);
+			}
+			return current;
+		}
+	}
+
+	private static final class Not extends Node {
+		private final Node operand;
+
+		Not(final Node operand) {
+			this.operand = operand;
+		}
+
+		@Override
+		boolean test(final Map<String, Object> task, final Map<String, Object> worker) {
+			return !operand.test(task, worker);
+		}
+	}
+
+	private static final class And extends Node {
+		private final Node left;
+		private final Node right;
+
+		And(final Node left, final Node right) {
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		boolean test(final Map<String, Object> task, final Map<String, Object> worker) {
+			return left.test(task, worker) && right.test(task, worker);
+		}
+	}
+
+	private static final class Or extends Node {
+		private final Node left;
+		private final Node right;
+
+		Or(final Node left, final Node right) {
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		boolean test(final Map<String, Object> task, final Map<String, Object> worker) {
+			return left.test(task, worker) || right.test(task, worker);
+		}
+	}
+
+	private static final class Comparison extends Node {
+		private final Operator operator;
+		private final Node left;
+		private final Node right;
+
+		Comparison(final Operator operator, final Node left, final Node right) {
+			this.operator = operator;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		boolean test(final Map<String, Object> task, final Map<String, Object> worker) {
+			Object l = left.value(task, worker);
+			Object r = right.value(task, worker);
+
+			switch (operator) {
+			case EQ:
+				return equal(l, r);
+			case NE:
+				return !equal(l, r);
+			case GT:
+				return compare(l, r) == 1;
+			case GE:
+				return compare(l, r) >= 0;
+			case LT:
+				return compare(l, r) == -1;
+			case LE:
+				int c = compare(l, r);
+				return c == -1 || c == 0;
+			case IN:
+				return l != null && contains(r, l);
+			case NOT_IN:
+				return l == null || !contains(r, l);
+			case HAS:
+				return l != null && contains(l, r);
+			case CONTAINS:
+				if (l instanceof String && r instanceof String) {
+					return ((String) l).contains((String) r);
+				}
+				return l != null && contains(l, r);
+			default:
+				throw new IllegalStateException("Unknown operator " + operator);
+			}
+		}
+
+		private static boolean equal(final Object l, final Object r) {
+			if (l instanceof Number && r instanceof Number) {
+				return ((Number) l).doubleValue() == ((Number) r).doubleValue();
+			}
+			return l == null ? r == null : l.equals(r);
+		}
+
+		// returns -1, 0 or 1, or Integer.MIN_VALUE if the operands can't be ordered
+		private static int compare(final Object l, final Object r) {
+			if (l instanceof Number && r instanceof Number) {
+				return Double.compare(((Number) l).doubleValue(), ((Number) r).doubleValue());
+			}
+			if (l instanceof String && r instanceof String) {
+				int c = ((String) l).compareTo((String) r);
+				return c < 0 ? -1 : (c > 0 ? 1 : 0);
+			}
+			return Integer.MIN_VALUE;
+		}
+
+		private static boolean contains(final Object collection, final Object element) {
+			if (collection instanceof List) {
+				for (final Object o : (List<?>) collection) {
+					if (equal(o, element)) {
+						return true;
+					}
+				}
+				return false;
+			}
+			return collection != null && equal(collection, element);
+		}
+	}
+
+	/**
+	 * Recursive descent parser:
+	 *
+	 * <pre>
+	 * or         := and (('OR' | '||') and)*
+	 * and        := unary (('AND' | '&amp;&amp;') unary)*
+	 * unary      := ('NOT' | '!') unary | '(' or ')' | comparison
+	 * comparison := operand (operator operand)?
+	 * operand    := path | string | number | 'true' | 'false' | 'null' | '[' operand (',' operand)* ']'
+	 * </pre>
+	 */
+	private static final class Parser {
+		private final String input;
+		private final Scope defaultScope;
+		private int pos;
+
+		Parser(final String input, final Scope defaultScope) {
+			if (input == null) {
+				throw new IllegalArgumentException("Expression is required");
+			}
+			this.input = input;
+			this.defaultScope = defaultScope;
+		}
+
+		Node parse() {
+			Node node = parseOr();
+			skipWhitespace();
+			if (pos < input.length()) {
+				throw error("Unexpected '" + input.charAt(pos) + "'");
+			}
+			return node;
+		}
+
+		private Node parseOr() {
+			Node node = parseAnd();
+			while (acceptSymbol("||") || acceptKeyword("OR")) {
+				node = new Or(node, parseAnd());
+			}
+			return node;
+		}
+
+		private Node parseAnd() {
+			Node node = parseUnary();
+			while (acceptSymbol("&&") || acceptKeyword("AND")) {
+				node = new And(node, parseUnary());
+			}
+			return node;
+		}
+
+		private Node parseUnary() {
+			if (peekKeyword("NOT") && !peekKeyword("NOT IN")) {
+				acceptKeyword("NOT");
+				return new Not(parseUnary());
+			}
+			if (!peekSymbol("!=") && acceptSymbol("!")) {
+				return new Not(parseUnary());
+			}
+			if (acceptSymbol("(")) {
+				Node node = parseOr();
+				expectSymbol(")");
+				return node;
+			}
+			return parseComparison();
+		}
+
+		private Node parseComparison() {
+			Node left = parseOperand();
+			Operator operator = parseOperator();
+			if (operator == null) {
+				return left;
+			}
+			return new Comparison(operator, left, parseOperand());
+		}
+
+		private Operator parseOperator() {
+			if (acceptSymbol("==") || acceptSymbol("=")) {
+				return Operator.EQ;
+			} else if (acceptSymbol("!=")) {
+				return Operator.NE;
+			} else if (acceptSymbol(">=")) {
+				return Operator.GE;
+			} else if (acceptSymbol("<=")) {
+				return Operator.LE;
+			} else if (acceptSymbol(">")) {
+				return Operator.GT;
+			} else if (acceptSymbol("<")) {
+				return Operator.LT;
+			} else if (acceptKeyword("IN")) {
+				return Operator.IN;
+			} else if (peekKeyword("NOT IN")) {
+				acceptKeyword("NOT");
+				acceptKeyword("IN");
+				return Operator.NOT_IN;
+			} else if (acceptKeyword("HAS")) {
+				return Operator.HAS;
+			} else if (acceptKeyword("CONTAINS")) {
+				return Operator.CONTAINS;
+			}
+			return null;
+		}
+
+		private Node parseOperand() {
+			skipWhitespace();
+			if (pos >= input.length()) {
+				throw error("Unexpected end of expression");
+			}
+
+			char c = input.charAt(pos);
+			if (c == '\'' || c == '"') {
+				return new Literal(parseString(c));
+			}
+			if (c == '-' || Character.isDigit(c)) {
+				return new Literal(parseNumber());
+			}
+			if (c == '[') {
+				pos++;
+				List<Node> elements = new ArrayList<Node>();
+				if (!acceptSymbol("]")) {
+					do {
+						elements.add(parseOperand());
+					} while (acceptSymbol(","));
+					expectSymbol("]");
+				}
+				return new ArrayLiteral(elements);
+			}
+			if (Character.isLetter(c) || c == '_') {
+				String identifier = parseIdentifier();
+				if (identifier.equalsIgnoreCase("true")) {
+					return new Literal(Boolean.TRUE);
+				} else if (identifier.equalsIgnoreCase("false")) {
+					return new Literal(Boolean.FALSE);
+				} else if (identifier.equalsIgnoreCase("null")) {
+					return new Literal(null);
+				}
+				return toPath(identifier);
+			}
+			throw error("Unexpected '" + c + "'");
+		}
+
+		private Node toPath(final String identifier) {
+			String[] names = identifier.split("\\.");
+			for (final String name : names) {
+				if (name.length() == 0) {
+					throw error("Invalid attribute '" + identifier + "'");
+				}
+			}
+
+			Scope scope = defaultScope;
+			if (names.length > 1 && (names[0].equals("task") || names[0].equals("worker"))) {
+				scope = names[0].equals("task") ? Scope.TASK : Scope.WORKER;
+				String[] rest = new String[names.length - 1];
+				System.arraycopy(names, 1, rest, 0, rest.length);
+				names = rest;
+			}
+			return new Path(scope, names);
+		}
+
+		private String parseIdentifier() {
+			int start = pos;
+			while (pos < input.length()) {
+				char c = input.charAt(pos);
+				if (!Character.isLetterOrDigit(c) && c != '_' && c != '.') {
+					break;
+				}
+				pos++;
+			}
+			return input.substring(start, pos);
+		}
+
+		private String parseString(final char quote) {
+			StringBuilder sb = new StringBuilder();
+			pos++;
+			while (pos < input.length()) {
+				char c = input.charAt(pos++);
+				if (c == quote) {
+					return sb.toString();
+				}
+				if (c == '\\' && pos < input.length()) {
+					c = input.charAt(pos++);
+				}
+				sb.append(c);
+			}
+			throw error("Unterminated string");
+		}
+
+		private Number parseNumber() {
+			int start = pos;
+			if (input.charAt(pos) == '-') {
+				pos++;
+			}
+			boolean decimal = false;
+			while (pos < input.length()) {
+				char c = input.charAt(pos);
+				if (c == '.' && !decimal) {
+					decimal = true;
+				} else if (!Character.isDigit(c)) {
+					break;
+				}
+				pos++;
+			}
+			String number = input.substring(start, pos);
+			try {
+				return decimal ? (Number) Double.valueOf(number) : (Number) Long.valueOf(number);
+			} catch (final NumberFormatException e) {
+				throw error("Invalid number '" + number + "'");
+			}
+		}
+
+		private void skipWhitespace() {
+			while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+				pos++;
+			}
+		}
+
+		private boolean peekSymbol(final String symbol) {
+			skipWhitespace();
+			return input.startsWith(symbol, pos);
+		}
+
+		private boolean acceptSymbol(final String symbol) {
+			if (peekSymbol(symbol)) {
+				pos += symbol.length();
+				return true;
+			}
+			return false;
+		}
+
+		private void expectSymbol(final String symbol) {
+			if (!acceptSymbol(symbol)) {
+				throw error("Expected '" + symbol + "'");
+			}
+		}
+
+		// keywords are case-insensitive and must end at a word boundary;
+		// "NOT IN" matches any whitespace between the words
+		private boolean peekKeyword(final String keyword) {
+			skipWhitespace();
+			int p = pos;
+			String[] words = keyword.split(" ");
+			for (int w = 0; w < words.length; w++) {
+				if (w > 0) {
+					int start = p;
+					while (p < input.length() && Character.isWhitespace(input.charAt(p))) {
+						p++;
+					}
+					if (p == start) {
+						return false;
+					}
+				}
+				String word = words[w];
+				if (!input.regionMatches(true, p, word, 0, word.length())) {
+					return false;
+				}
+				p += word.length();
+				if (p < input.length()) {
+					char c = input.charAt(p);
+					if (Character.isLetterOrDigit(c) || c == '_' || c == '.') {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+
+		private boolean acceptKeyword(final String keyword) {
+			if (peekKeyword(keyword)) {
+				pos += keyword.length();
+				return true;
+			}
+			return false;
+		}
+
+		private IllegalArgumentException error(final String message) {
+			return new IllegalArgumentException(message + " at position " + pos + " in expression: " + input);
+		}
+	}
+}
@@ -0,0 +1,433 @@
+package com.twilio.sdk.taskrouter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Routes Tasks through a {@link WorkflowConfiguration} locally, to test routing
+ * changes or pre-compute eligible Workers without calling TaskRouter.
+ *
+ * Every rule and target expression is compiled once when the simulator is
+ * created. A Task is routed to the first rule whose expression matches its
+ * attributes, or to the default filter if none does. When Worker attributes
+ * are supplied, the Task goes to the first target of that rule with at least
+ * one eligible Worker, and otherwise waits in the rule's first target.
+ *
+ * Simulators are immutable and may be shared between threads.
+ *
+ * <pre>
+ * WorkflowSimulator simulator = new WorkflowSimulator(WorkflowConfiguration.parse(json));
+ * WorkflowSimulator.Result result = simulator.simulate(tasks, workers, 8);
+ * System.out.println(result.getQueueCounts());
+ * </pre>
+ */
+public class WorkflowSimulator {
+
+	/** The queue name reported for Tasks that matched no rule and have no default filter. */
+	public static final String UNROUTED = "unrouted";
+
+	private static final String DEFAULT_RULE = "default";
+
+	private final CompiledRule[] rules;
+
+	private final CompiledTarget defaultTarget;
+
+	/**
+	 * Compile every expression of a workflow configuration.
+	 *
+	 * @param configuration the workflow configuration
+	 * @throws IllegalArgumentException if an expression is not valid or a rule has no targets
+	 */
+	public WorkflowSimulator(final WorkflowConfiguration configuration) {
+		List<WorkflowRule> workflowRules = configuration.getWorkflowRules();
+		this.rules = new CompiledRule[workflowRules.size()];
+		for (int i = 0; i < rules.length; i++) {
+			rules[i] = new CompiledRule(i, workflowRules.get(i));
+		}
+
+		WorkflowRuleTarget target = configuration.getDefaultTarget();
+		this.defaultTarget = target == null ? null : new CompiledTarget(target);
+	}
+
+	/**
+	 * Route a Task without regard to Worker availability.
+	 *
+	 * @param task the Task attributes
+	 * @return where the Task is routed
+	 */
+	public Route route(final Map<String, Object> task) {
+		return route(task, null);
+	}
+
+	/**
+	 * Route a Task to the first target of the matching rule with an eligible Worker.
+	 *
+	 * @param task the Task attributes
+	 * @param workers the attributes of the Workers to consider, or null to ignore availability
+	 * @return where the Task is routed
+	 */
+	public Route route(final Map<String, Object> task, final Collection<Map<String, Object>> workers) {
+		for (final CompiledRule rule : rules) {
+			if (rule.expression.matches(task)) {
+				if (workers != null) {
+					for (final CompiledTarget target : rule.targets) {
+						if (target.hasEligibleWorker(task, workers)) {
+							return new Route(rule.rule, rule.index, rule.name, target.target);
+						}
+					}
+				}
+				return new Route(rule.rule, rule.index, rule.name, rule.targets[0].target);
+			}
+		}
+		return new Route(null, -1, DEFAULT_RULE, defaultTarget == null ? null : defaultTarget.target);
+	}
+
+	/**
+	 * Find the Workers a target would offer a Task to.
+	 *
+	 * @param task the Task attributes
+	 * @param target a target of this workflow
+	 * @param workers the attributes of the Workers to consider
+	 * @return the Workers whose attributes satisfy the target expression
+	 */
+	public List<Map<String, Object>> getEligibleWorkers(final Map<String, Object> task, final WorkflowRuleTarget target,
+	                                                   final Collection<Map<String, Object>> workers) {
+		CompiledTarget compiled = findTarget(target);
+		List<Map<String, Object>> eligible = new ArrayList<Map<String, Object>>();
+		for (final Map<String, Object> worker : workers) {
+			if (compiled.isEligible(task, worker)) {
+				eligible.add(worker);
+			}
+		}
+		return eligible;
+	}
+
+	/**
+	 * Route Tasks in parallel without regard to Worker availability.
+	 *
+	 * @param tasks the attributes of the Tasks
+	 * @param threads the number of threads to route with
+	 * @return the distribution of the Tasks over queues and rules
+	 * @throws InterruptedException if interrupted while waiting for the threads
+	 */
+	public Result simulate(final Collection<Map<String, Object>> tasks, final int threads) throws InterruptedException {
+		return simulate(tasks, null, threads);
+	}
+
+	/**
+	 * Route Tasks in parallel.
+	 *
+	 * @param tasks the attributes of the Tasks
+	 * @param workers the attributes of the Workers to consider, or null to ignore availability
+	 * @param threads the number of threads to route with
+	 * @return the distribution of the Tasks over queues and rules
+	 * @throws InterruptedException if interrupted while waiting for the threads
+	 */
+	public Result simulate(final Collection<Map<String, Object>> tasks, final Collection<Map<String, Object>> workers,
+	                       final int threads) throws InterruptedException {
+		if (threads < 1) {
+			throw new IllegalArgumentException("threads must be at least 1");
+		}
+
+		long start = System.nanoTime();
+		final List<Map<String, Object>> taskList = new ArrayList<Map<String, Object>>(tasks);
+		Counts total = new Counts(rules.length);
+
+		if (threads == 1 || taskList.size() < threads) {
+			route(taskList, workers, total);
+		} else {
+			int chunks = threads * 4;
+			int chunkSize = (taskList.size() + chunks - 1) / chunks;
+			ExecutorService executor = Executors.newFixedThreadPool(threads);
+			try {
+				List<Future<Counts>> futures = new ArrayList<Future<Counts>>(chunks);
+				for (int from = 0; from < taskList.size(); from += chunkSize) {
+					final List<Map<String, Object>> chunk = taskList.subList(from, Math.min(from + chunkSize, taskList.size()));
+					futures.add(executor.submit(new Callable<Counts>() {
+						public Counts call() {
+							Counts counts = new Counts(rules.length);
+							route(chunk, workers, counts);
+							return counts;
+						}
+					}));
+				}
+				for (final Future<Counts> future : futures) {
+					total.add(future.get());
+				}
+			} catch (final ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new IllegalStateException(e.getCause());
+			} finally {
+				executor.shutdownNow();
+			}
+		}
+
+		return new Result(taskList.size(), total.queues, total.rules, System.nanoTime() - start);
+	}
+
+	private void route(final List<Map<String, Object>> tasks, final Collection<Map<String, Object>> workers,
+	                   final Counts counts) {
+		for (final Map<String, Object> task : tasks) {
+			Route route = route(task, workers);
+			counts.increment(route.getQueue(), route.getRuleIndex());
+		}
+	}
+
+	private CompiledTarget findTarget(final WorkflowRuleTarget target) {
+		for (final CompiledRule rule : rules) {
+			for (final CompiledTarget compiled : rule.targets) {
+				if (compiled.target == target) {
+					return compiled;
+				}
+			}
+		}
+		if (defaultTarget != null && defaultTarget.target == target) {
+			return defaultTarget;
+		}
+		// not part of this workflow, compile it on the fly
+		return new CompiledTarget(target);
+	}
+
+	private static final class CompiledRule {
+		private final WorkflowRule rule;
+		private final int index;
+		private final String name;
+		private final WorkflowExpression expression;
+		private final CompiledTarget[] targets;
+
+		private CompiledRule(final int index, final WorkflowRule rule) {
+			this.rule = rule;
+			this.index = index;
+			this.name = rule.getFriendlyName() != null ? rule.getFriendlyName() : "rule " + index;
+			this.expression = WorkflowExpression.compile(rule.getExpression());
+
+			List<WorkflowRuleTarget> ruleTargets = rule.getWorkflowRuleTargets();
+			if (ruleTargets == null || ruleTargets.isEmpty()) {
+				throw new IllegalArgumentException("Rule " + name + " has no targets");
+			}
+			this.targets = new CompiledTarget[ruleTargets.size()];
+			for (int i = 0; i < targets.length; i++) {
+				targets[i] = new CompiledTarget(ruleTargets.get(i));
+			}
+		}
+	}
+
+	private static final class CompiledTarget {
+		private final WorkflowRuleTarget target;
+
+		// null when every worker in the queue is eligible
+		private final WorkflowExpression expression;
+
+		private CompiledTarget(final WorkflowRuleTarget target) {
+			this.target = target;
+			String source = target.getExpression();
+			this.expression = source == null || source.trim().length() == 0 ? null : WorkflowExpression.compileTarget(source);
+		}
+
+		private boolean isEligible(final Map<String, Object> task, final Map<String, Object> worker) {
+			return expression == null || expression.matches(task, worker);
+		}
+
+		private boolean hasEligibleWorker(final Map<String, Object> task, final Collection<Map<String, Object>> workers) {
+			for (final Map<String, Object> worker : workers) {
+				if (isEligible(task, worker)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private static final class Counts {
+		private final Map<String, long[]> queues = new HashMap<String, long[]>();
+
+		// by rule index, with the default filter last
+		private final long[] rules;
+
+		private Counts(final int ruleCount) {
+			this.rules = new long[ruleCount + 1];
+		}
+
+		private void increment(final String queue, final int ruleIndex) {
+			long[] count = queues.get(queue);
+			if (count == null) {
+				count = new long[1];
+				queues.put(queue, count);
+			}
+			count[0]++;
+			rules[ruleIndex < 0 ? rules.length - 1 : ruleIndex]++;
+		}
+
+		private void add(final Counts other) {
+			for (final Map.Entry<String, long[]> e : other.queues.entrySet()) {
+				long[] count = queues.get(e.getKey());
+				if (count == null) {
+					queues.put(e.getKey(), new long[] { e.getValue()[0] });
+				} else {
+					count[0] += e.getValue()[0];
+				}
+			}
+			for (int i = 0; i < rules.length; i++) {
+				rules[i] += other.rules[i];
+			}
+		}
+	}
+
+	/**
+	 * Where a single Task was routed.
+	 */
+	public static final class Route {
+		private final WorkflowRule rule;
+		private final int ruleIndex;
+		private final String ruleName;
+		private final WorkflowRuleTarget target;
+
+		private Route(final WorkflowRule rule, final int ruleIndex, final String ruleName,
+		              final WorkflowRuleTarget target) {
+			this.rule = rule;
+			this.ruleIndex = ruleIndex;
+			this.ruleName = ruleName;
+			this.target = target;
+		}
+
+		/**
+		 * @return the matching rule, or null if the Task fell through to the default filter
+		 */
+		public WorkflowRule getRule() {
+			return rule;
+		}
+
+		/**
+		 * @return the position of the matching rule in the workflow, or -1 for the default filter
+		 */
+		public int getRuleIndex() {
+			return ruleIndex;
+		}
+
+		/**
+		 * @return the friendly name of the matching rule, "rule N" if it has none, or "default"
+		 */
+		public String getRuleName() {
+			return ruleName;
+		}
+
+		/**
+		 * @return the selected target, or null if the Task could not be routed
+		 */
+		public WorkflowRuleTarget getTarget() {
+			return target;
+		}
+
+		/**
+		 * @return the sid of the selected queue, or {@link WorkflowSimulator#UNROUTED}
+		 */
+		public String getQueue() {
+			return target == null ? UNROUTED : target.getQueue();
+		}
+
+		/**
+		 * @return true if no rule matched the Task
+		 */
+		public boolean isDefault() {
+			return rule == null;
+		}
+	}
+
+	/**
+	 * The outcome of routing a batch of Tasks.
+	 */
+	public static final class Result {
+		private final int taskCount;
+		private final Map<String, Long> queueCounts;
+		private final List<Long> ruleCounts;
+		private final long defaultCount;
+		private final long elapsedNanos;
+
+		private Result(final int taskCount, final Map<String, long[]> queues, final long[] rules,
+		               final long elapsedNanos) {
+			this.taskCount = taskCount;
+			this.queueCounts = toCounts(queues);
+			List<Long> counts = new ArrayList<Long>(rules.length - 1);
+			for (int i = 0; i < rules.length - 1; i++) {
+				counts.add(rules[i]);
+			}
+			this.ruleCounts = Collections.unmodifiableList(counts);
+			this.defaultCount = rules[rules.length - 1];
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		private static Map<String, Long> toCounts(final Map<String, long[]> counts) {
+			Map<String, Long> result = new TreeMap<String, Long>();
+			for (final Map.Entry<String, long[]> e : counts.entrySet()) {
+				result.put(e.getKey(), e.getValue()[0]);
+			}
+			return Collections.unmodifiableMap(result);
+		}
+
+		/**
+		 * @return the number of Tasks routed
+		 */
+		public int getTaskCount() {
+			return taskCount;
+		}
+
+		/**
+		 * @return the number of Tasks routed to each queue sid
+		 */
+		public Map<String, Long> getQueueCounts() {
+			return queueCounts;
+		}
+
+		/**
+		 * Rules are counted by position, so rules sharing a friendly name are
+		 * reported separately.
+		 *
+		 * @return the number of Tasks matched by each rule, in workflow order
+		 */
+		public List<Long> getRuleCounts() {
+			return ruleCounts;
+		}
+
+		/**
+		 * @return the number of Tasks that matched no rule
+		 */
+		public long getDefaultCount() {
+			return defaultCount;
+		}
+
+		/**
+		 * @return the fraction of Tasks routed to each queue sid
+		 */
+		public Map<String, Double> getQueueDistribution() {
+			Map<String, Double> distribution = new TreeMap<String, Double>();
+			for (final Map.Entry<String, Long> e : queueCounts.entrySet()) {
+				distribution.put(e.getKey(), taskCount == 0 ? 0.0 : (double) e.getValue() / taskCount);
+			}
+			return distribution;
+		}
+
+		/**
+		 * @return the time taken to route the Tasks, in nanoseconds
+		 */
+		public long getElapsedNanos() {
+			return elapsedNanos;
+		}
+
+		@Override
+		public String toString() {
+			return "Result [tasks=" + taskCount + ", queues=" + queueCounts + ", rules=" + ruleCounts + ", default=" + defaultCount + "]";
+		}
+	}
+}
@@ -0,0 +1,850 @@
+package com.twilio.sdk.taskrouter;
+
+import com.twilio.sdk.TwilioRestException;
+import com.twilio.sdk.TwilioTaskRouterClient;
+import com.twilio.sdk.resource.instance.taskrouter.Activity;
+import com.twilio.sdk.resource.instance.taskrouter.Attributes;
+import com.twilio.sdk.resource.instance.taskrouter.Event;
+import com.twilio.sdk.resource.instance.taskrouter.TaskQueue;
+import com.twilio.sdk.resource.instance.taskrouter.Worker;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.time.FastDateFormat;
+import org.json.simple.parser.ParseException;
+
+/**
+ * A local copy of the Workers, Activities and TaskQueues of a Workspace, indexed
+ * for the lookups routing logic makes most often: Workers by Activity, Workers by
+ * attribute value, and the (available) Workers a TaskQueue targets.
+ *
+ * {@link #load()} reads everything once. After that the mirror follows the
+ * Workspace's {@link Event}s, either from its own {@link EventTailer} after
+ * {@link #start()} or from any tailer it is attached to as a
+ * {@link EventTailer.Listener}. Worker events carry the Worker's Activity and
+ * attributes and are applied without a request; other changes refetch only the
+ * resource concerned. A periodic full reload corrects anything the events missed.
+ *
+ * Lookups read concurrent indexes and never make requests, so they may be called
+ * from any number of threads while the mirror is updated. TaskQueue membership is
+ * decided locally by evaluating the queue's target_workers expression with
+ * {@link WorkflowExpression}; a queue whose expression cannot be compiled has no
+ * Workers.
+ *
+ * <pre>
+ * WorkspaceMirror mirror = client.getWorkspaceMirror(workspaceSid);
+ * mirror.start();
+ * List&lt;WorkspaceMirror.MirroredWorker&gt; agents = mirror.getAvailableWorkers(queueSid);
+ * List&lt;WorkspaceMirror.MirroredWorker&gt; spanish = mirror.getWorkersByAttribute("languages", "es");
+ * </pre>
+ */
+public class WorkspaceMirror implements EventTailer.Listener {
+
+	private static final Map<String, String> PAGE_FILTERS = Collections.singletonMap("PageSize", "1000");
+
+	private static final FastDateFormat ISO_8601_DATE_FORMAT =
+			FastDateFormat.getInstance("yyyy-MM-dd'T'HH:mm:ss'Z'", TimeZone.getTimeZone("UTC"));
+
+	private static final Attributes NO_ATTRIBUTES;
+
+	static {
+		try {
+			NO_ATTRIBUTES = Attributes.parse("{}");
+		} catch (final ParseException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Configures a {@link WorkspaceMirror}.
+	 */
+	public static class Builder {
+		private final TwilioTaskRouterClient client;
+		private final String workspaceSid;
+		private long pollInterval = 5000L;
+		private long reloadInterval = 600000L;
+
+		/**
+		 * @param client the client
+		 * @param workspaceSid the sid of the Workspace to mirror
+		 */
+		public Builder(final TwilioTaskRouterClient client, final String workspaceSid) {
+			if (StringUtils.isBlank(workspaceSid)) {
+				throw new IllegalArgumentException("The workspaceSid for a WorkspaceMirror cannot be null");
+			}
+			this.client = client;
+			this.workspaceSid = workspaceSid;
+		}
+
+		/**
+		 * How often the mirror's own tailer polls for Events after {@link WorkspaceMirror#start()}; defaults to 5 seconds.
+		 */
+		public Builder pollInterval(final long pollInterval, final TimeUnit unit) {
+			this.pollInterval = unit.toMillis(pollInterval);
+			return this;
+		}
+
+		/**
+		 * How often everything is reloaded after {@link WorkspaceMirror#start()}, or 0 to never reload; defaults
+		 * to 10 minutes.
+		 */
+		public Builder reloadInterval(final long reloadInterval, final TimeUnit unit) {
+			this.reloadInterval = unit.toMillis(reloadInterval);
+			return this;
+		}
+
+		/**
+		 * @return the mirror, empty until {@link WorkspaceMirror#load()} or {@link WorkspaceMirror#start()}
+		 */
+		public WorkspaceMirror build() {
+			if (pollInterval <= 0 || reloadInterval < 0) {
+				throw new IllegalStateException("Invalid poll or reload interval");
+			}
+			return new WorkspaceMirror(this);
+		}
+	}
+
+	/**
+	 * An immutable copy of a Worker.
+	 */
+	public static final class MirroredWorker {
+		private final String sid;
+		private final String friendlyName;
+		private final String activitySid;
+		private final String activityName;
+		private final boolean available;
+		private final Attributes attributes;
+		// the time of the latest change applied, so Events older than a load are ignored
+		private final long version;
+
+		private MirroredWorker(final String sid, final String friendlyName, final String activitySid,
+		                       final String activityName, final boolean available, final Attributes attributes,
+		                       final long version) {
+			this.sid = sid;
+			this.friendlyName = friendlyName;
+			this.activitySid = activitySid;
+			this.activityName = activityName;
+			this.available = available;
+			this.attributes = attributes;
+			this.version = version;
+		}
+
+		public String getSid() {
+			return sid;
+		}
+
+		public String getFriendlyName() {
+			return friendlyName;
+		}
+
+		public String getActivitySid() {
+			return activitySid;
+		}
+
+		public String getActivityName() {
+			return activityName;
+		}
+
+		/**
+		 * @return true if the Worker's Activity is available
+		 */
+		public boolean isAvailable() {
+			return available;
+		}
+
+		/**
+		 * @return the parsed attributes
+		 */
+		public Attributes getAttributes() {
+			return attributes;
+		}
+
+		private MirroredWorker withActivity(final Activity activity) {
+			return new MirroredWorker(sid, friendlyName, activitySid, activity.getFriendlyName(), activity.isAvailable(),
+			                          attributes, version);
+		}
+
+		@Override
+		public String toString() {
+			return friendlyName + " (" + sid + ", " + activityName + ")";
+		}
+	}
+
+	/**
+	 * The mirrored state with its indexes. Lookups read these maps without locking;
+	 * changes are made under the mirror's lock, and a reload swaps in a new Index.
+	 */
+	private static final class Index {
+		final ConcurrentMap<String, MirroredWorker> workers = new ConcurrentHashMap<String, MirroredWorker>();
+		final ConcurrentMap<String, Activity> activities = new ConcurrentHashMap<String, Activity>();
+		final ConcurrentMap<String, TaskQueue> queues = new ConcurrentHashMap<String, TaskQueue>();
+		// queue sid to its compiled target_workers, absent if it does not compile
+		final ConcurrentMap<String, WorkflowExpression> targets = new ConcurrentHashMap<String, WorkflowExpression>();
+		final ConcurrentMap<String, Set<String>> byActivity = new ConcurrentHashMap<String, Set<String>>();
+		final ConcurrentMap<String, Set<String>> byAttribute = new ConcurrentHashMap<String, Set<String>>();
+		final ConcurrentMap<String, Set<String>> byQueue = new ConcurrentHashMap<String, Set<String>>();
+	}
+
+	private final TwilioTaskRouterClient client;
+	private final String workspaceSid;
+	private final long pollInterval;
+	private final long reloadInterval;
+
+	private final Object lock = new Object();
+	private volatile Index index = new Index();
+	private volatile long loadedAt;
+	// changes applied while a load is in progress, replayed onto the loaded Index; null when not loading
+	private List<Change> pending;
+	private final Object loadLock = new Object();
+
+	private final AtomicLong appliedEvents = new AtomicLong();
+	private final AtomicLong refetches = new AtomicLong();
+
+	private final Object lifecycleLock = new Object();
+	private EventTailer tailer;
+	private ScheduledExecutorService scheduler;
+	private volatile Exception lastError;
+
+	private WorkspaceMirror(final Builder builder) {
+		this.client = builder.client;
+		this.workspaceSid = builder.workspaceSid;
+		this.pollInterval = builder.pollInterval;
+		this.reloadInterval = builder.reloadInterval;
+	}
+
+	/**
+	 * A change made by an Event, applied to the current Index and, while a load
+	 * is in progress, replayed onto the loaded one.
+	 */
+	private interface Change {
+		void apply(Index index);
+	}
+
+	private void change(final Change change) {
+		synchronized (lock) {
+			change.apply(index);
+			if (pending != null) {
+				pending.add(change);
+			}
+		}
+	}
+
+	/**
+	 * Read all Activities, TaskQueues and Workers and replace the mirrored state.
+	 * Events applied while the load is in progress are replayed onto the loaded
+	 * state, so they are not lost with the state it replaces.
+	 *
+	 * @throws TwilioRestException if a request failed
+	 */
+	public void load() throws TwilioRestException {
+		synchronized (loadLock) {
+			synchronized (lock) {
+				pending = new ArrayList<Change>();
+			}
+			try {
+				load(System.currentTimeMillis());
+			} finally {
+				synchronized (lock) {
+					pending = null;
+				}
+			}
+		}
+	}
+
+	private void load(final long started) throws TwilioRestException {
+		Index loaded = new Index();
+		try {
+			for (final Activity activity : client.getActivities(workspaceSid, PAGE_FILTERS)) {
+				loaded.activities.put(activity.getSid(), activity);
+			}
+			for (final TaskQueue queue : client.getTaskQueues(workspaceSid, PAGE_FILTERS)) {
+				putQueue(loaded, queue);
+			}
+			for (final Worker worker : client.getWorkers(workspaceSid, PAGE_FILTERS)) {
+				putWorker(loaded, toMirrored(loaded, worker));
+			}
+		} catch (final RuntimeException e) {
+			// list iteration wraps request failures
+			if (e.getCause() instanceof TwilioRestException) {
+				throw (TwilioRestException) e.getCause();
+			}
+			throw e;
+		}
+		synchronized (lock) {
+			for (final Change change : pending) {
+				change.apply(loaded);
+			}
+			index = loaded;
+			loadedAt = started;
+		}
+	}
+
+	/**
+	 * Load, then follow Events and reload periodically on background threads until {@link #stop()} is called.
+	 *
+	 * @throws TwilioRestException if the first load failed
+	 */
+	public void start() throws TwilioRestException {
+		synchronized (lifecycleLock) {
+			if (tailer != null) {
+				throw new IllegalStateException("WorkspaceMirror is already started");
+			}
+			load();
+			Calendar since = Calendar.getInstance();
+			since.setTimeInMillis(loadedAt);
+			tailer = new EventTailer.Builder(client, workspaceSid).listener(this).startDate(since)
+					.pollInterval(pollInterval, TimeUnit.MILLISECONDS).build();
+			tailer.start();
+			if (reloadInterval > 0) {
+				scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+					public Thread newThread(final Runnable r) {
+						Thread thread = new Thread(r, "twilio-workspace-mirror-" + workspaceSid);
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+				scheduler.scheduleWithFixedDelay(new Runnable() {
+					public void run() {
+						try {
+							load();
+						} catch (final Exception e) {
+							lastError = e;
+						}
+					}
+				}, reloadInterval, reloadInterval, TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+
+	/**
+	 * Stop following Events and reloading. The mirrored state is kept.
+	 */
+	public void stop() {
+		synchronized (lifecycleLock) {
+			if (tailer != null) {
+				tailer.stop();
+				tailer = null;
+			}
+			if (scheduler != null) {
+				scheduler.shutdownNow();
+				scheduler = null;
+			}
+		}
+	}
+
+	/**
+	 * Apply a Workspace Event. Worker, Activity and TaskQueue events are applied;
+	 * others are ignored.
+	 *
+	 * @param event the event
+	 * @throws TwilioRestException if refetching the changed resource failed
+	 */
+	public void onEvent(final Event event) throws TwilioRestException {
+		String type = event.getEventType();
+		if (type == null) {
+			return;
+		}
+		// getEventData() throws for Events without data
+		Map<String, String> data = event.getCastedObject("event_data");
+		if (data == null) {
+			data = Collections.emptyMap();
+		}
+		if (type.startsWith("worker.")) {
+			applyWorkerEvent(type, event, data);
+		} else if (type.equals("activity.created") || type.equals("activity.updated")
+				|| type.equals("activity.deleted")) {
+			applyActivityEvent(type, event.getResourceSid());
+		} else if (type.equals("task-queue.created") || type.equals("task-queue.updated")
+				|| type.equals("task-queue.deleted")) {
+			applyQueueEvent(type, event.getResourceSid());
+		} else {
+			return;
+		}
+		appliedEvents.incrementAndGet();
+	}
+
+	private void applyWorkerEvent(final String type, final Event event, final Map<String, String> data)
+			throws TwilioRestException {
+		final String sid = data.containsKey("worker_sid") ? data.get("worker_sid") : event.getResourceSid();
+		if (sid == null) {
+			return;
+		}
+		if (type.equals("worker.deleted")) {
+			removeWorker(sid);
+			return;
+		}
+
+		final String activitySid = data.get("worker_activity_sid");
+		String attributes = data.get("worker_attributes");
+		if (activitySid != null && attributes != null) {
+			Calendar eventDate = event.getEventDate();
+			final long version = eventDate == null ? System.currentTimeMillis() : eventDate.getTimeInMillis();
+			final String name = data.get("worker_name");
+			final String activityName = data.get("worker_activity_name");
+			final Attributes parsed = parseAttributes(attributes);
+			change(new Change() {
+				public void apply(final Index current) {
+					MirroredWorker previous = current.workers.get(sid);
+					if (previous != null && previous.version > version) {
+						// replayed from before the last load
+						return;
+					}
+					Activity activity = current.activities.get(activitySid);
+					boolean available = activity != null ? activity.isAvailable()
+							: previous != null && activitySid.equals(previous.activitySid) && previous.available;
+					putWorker(current, new MirroredWorker(sid, name, activitySid, activityName, available, parsed,
+					                                      version));
+				}
+			});
+			return;
+		}
+
+		final Worker worker = new Worker(client, workspaceSid, sid);
+		refetches.incrementAndGet();
+		try {
+			// the sid is already set, so ask for a property that makes the Worker load
+			worker.getActivitySid();
+		} catch (final RuntimeException e) {
+			if (isNotFound(e)) {
+				removeWorker(sid);
+				return;
+			}
+			throw rethrow(e);
+		}
+		change(new Change() {
+			public void apply(final Index current) {
+				MirroredWorker refetched = toMirrored(current, worker);
+				MirroredWorker previous = current.workers.get(refetched.sid);
+				if (previous == null || previous.version <= refetched.version) {
+					putWorker(current, refetched);
+				}
+			}
+		});
+	}
+
+	private void removeWorker(final String sid) {
+		change(new Change() {
+			public void apply(final Index current) {
+				removeWorker(current, sid);
+			}
+		});
+	}
+
+	private void applyActivityEvent(final String type, final String sid) throws TwilioRestException {
+		if (sid == null) {
+			return;
+		}
+		Activity refetched = null;
+		if (!type.equals("activity.deleted")) {
+			refetched = new Activity(client, workspaceSid, sid);
+			refetches.incrementAndGet();
+			try {
+				refetched.isAvailable();
+			} catch (final RuntimeException e) {
+				if (!isNotFound(e)) {
+					throw rethrow(e);
+				}
+				refetched = null;
+			}
+		}
+		final Activity activity = refetched;
+		change(new Change() {
+			public void apply(final Index current) {
+				if (activity == null) {
+					current.activities.remove(sid);
+					return;
+				}
+				current.activities.put(sid, activity);
+				Set<String> holders = current.byActivity.get(sid);
+				if (holders != null) {
+					for (final String workerSid : holders) {
+						MirroredWorker worker = current.workers.get(workerSid);
+						if (worker != null) {
+							current.workers.put(workerSid, worker.withActivity(activity));
+						}
+					}
+				}
+			}
+		});
+	}
+
+	private void applyQueueEvent(final String type, final String sid) throws TwilioRestException {
+		if (sid == null) {
+			return;
+		}
+		TaskQueue refetched = null;
+		if (!type.equals("task-queue.deleted")) {
+			refetched = new TaskQueue(client, workspaceSid, sid);
+			refetches.incrementAndGet();
+			try {
+				refetched.getFriendlyName();
+			} catch (final RuntimeException e) {
+				if (!isNotFound(e)) {
+					throw rethrow(e);
+				}
+				refetched = null;
+			}
+		}
+		final TaskQueue queue = refetched;
+		change(new Change() {
+			public void apply(final Index current) {
+				if (queue == null) {
+					current.queues.remove(sid);
+					current.targets.remove(sid);
+					current.byQueue.remove(sid);
+					return;
+				}
+				putQueue(current, queue);
+				WorkflowExpression target = current.targets.get(sid);
+				Set<String> members = newSet();
+				if (target != null) {
+					for (final MirroredWorker worker : current.workers.values()) {
+						if (target.matches(null, worker.attributes.asMap())) {
+							members.add(worker.sid);
+						}
+					}
+				}
+				current.byQueue.put(sid, members);
+			}
+		});
+	}
+
+	private static boolean isNotFound(final RuntimeException e) {
+		return e.getCause() instanceof TwilioRestException
+				&& ((TwilioRestException) e.getCause()).getStatus() == 404;
+	}
+
+	private static TwilioRestException rethrow(final RuntimeException e) {
+		// instance loading wraps request failures
+		if (e.getCause() instanceof TwilioRestException) {
+			return (TwilioRestException) e.getCause();
+		}
+		throw e;
+	}
+
+	private static Attributes parseAttributes(final String json) {
+		try {
+			return Attributes.parse(json);
+		} catch (final ParseException e) {
+			// index a Worker with malformed attributes as having none
+			return NO_ATTRIBUTES;
+		}
+	}
+
+	private static MirroredWorker toMirrored(final Index index, final Worker worker) {
+		Activity activity = index.activities.get(worker.getActivitySid());
+		Boolean available = worker.getCastedObject("available");
+		// Worker's Date getters expect a numeric zone, which TaskRouter dates do not have
+		long version = Math.max(time(worker.getProperty("date_updated")), time(worker.getProperty("date_status_changed")));
+		return new MirroredWorker(worker.getSid(), worker.getFriendlyName(), worker.getActivitySid(),
+		                          activity != null ? activity.getFriendlyName() : worker.getActivityName(),
+		                          activity != null ? activity.isAvailable() : available != null && available,
+		                          parseAttributes(worker.getAttributes()), version);
+	}
+
+	private static long time(final String date) {
+		if (date == null) {
+			return 0L;
+		}
+		try {
+			return ISO_8601_DATE_FORMAT.parse(date).getTime();
+		} catch (final java.text.ParseException e) {
+			return 0L;
+		}
+	}
+
+	private static Set<String> newSet() {
+		return Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+	}
+
+	private static void putQueue(final Index index, final TaskQueue queue) {
+		String sid = queue.getSid();
+		index.queues.put(sid, queue);
+		String target = queue.getTargetWorkers();
+		try {
+			index.targets.put(sid, WorkflowExpression.compileTarget(StringUtils.isBlank(target) ? "1==1" : target));
+		} catch (final IllegalArgumentException e) {
+			index.targets.remove(sid);
+		}
+		if (!index.byQueue.containsKey(sid)) {
+			index.byQueue.put(sid, newSet());
+		}
+	}
+
+	private static void putWorker(final Index index, final MirroredWorker worker) {
+		MirroredWorker previous = index.workers.put(worker.sid, worker);
+		if (previous != null) {
+			unindex(index, previous);
+		}
+		add(index.byActivity, worker.activitySid, worker.sid);
+		for (final String key : attributeKeys(worker.attributes)) {
+			add(index.byAttribute, key, worker.sid);
+		}
+		Map<String, Object> attributes = worker.attributes.asMap();
+		for (final Map.Entry<String, WorkflowExpression> target : index.targets.entrySet()) {
+			if (target.getValue().matches(null, attributes)) {
+				add(index.byQueue, target.getKey(), worker.sid);
+			}
+		}
+	}
+
+	private static void removeWorker(final Index index, final String sid) {
+		MirroredWorker previous = index.workers.remove(sid);
+		if (previous != null) {
+			unindex(index, previous);
+		}
+	}
+
+	private static void unindex(final Index index, final MirroredWorker worker) {
+		remove(index.byActivity, worker.activitySid, worker.sid);
+		for (final String key : attributeKeys(worker.attributes)) {
+			remove(index.byAttribute, key, worker.sid);
+		}
+		for (final Set<String> members : index.byQueue.values()) {
+			members.remove(worker.sid);
+		}
+	}
+
+	private static void add(final ConcurrentMap<String, Set<String>> map, final String key, final String sid) {
+		if (key == null) {
+			return;
+		}
+		Set<String> sids = map.get(key);
+		if (sids == null) {
+			sids = newSet();
+			map.put(key, sids);
+		}
+		sids.add(sid);
+	}
+
+	private static void remove(final ConcurrentMap<String, Set<String>> map, final String key, final String sid) {
+		if (key == null) {
+			return;
+		}
+		Set<String> sids = map.get(key);
+		if (sids != null) {
+			sids.remove(sid);
+			if (sids.isEmpty()) {
+				map.remove(key, sids);
+			}
+		}
+	}
+
+	/**
+	 * The attribute index keys of a Worker: one per scalar value, and one per scalar
+	 * element of an array, with nested objects flattened to dotted paths.
+	 */
+	private static List<String> attributeKeys(final Attributes attributes) {
+		List<String> keys = new ArrayList<String>();
+		collectKeys("", attributes.asMap(), keys);
+		return keys;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void collectKeys(final String prefix, final Map<String, Object> values, final List<String> keys) {
+		for (final Map.Entry<String, Object> e : values.entrySet()) {
+			String path = prefix + e.getKey();
+			Object value = e.getValue();
+			if (value instanceof Map) {
+				collectKeys(path + ".", (Map<String, Object>) value, keys);
+			} else if (value instanceof List) {
+				for (final Object element : (List<Object>) value) {
+					String key = attributeKey(path, element);
+					if (key != null) {
+						keys.add(key);
+					}
+				}
+			} else {
+				String key = attributeKey(path, value);
+				if (key != null) {
+					keys.add(key);
+				}
+			}
+		}
+	}
+
+	private static String attributeKey(final String path, final Object value) {
+		if (value instanceof Number) {
+			// 5 and 5.0 are the same attribute value
+			return path + "\u0000n" + ((Number) value).doubleValue();
+		} else if (value instanceof String || value instanceof Boolean) {
+			return path + "\u0000" + (value instanceof String ? "s" : "b") + value;
+		}
+		return null;
+	}
+
+	private List<MirroredWorker> workers(final Index current, final Collection<String> sids,
+	                                     final boolean availableOnly) {
+		if (sids == null) {
+			return new ArrayList<MirroredWorker>();
+		}
+		List<MirroredWorker> result = new ArrayList<MirroredWorker>(sids.size());
+		for (final String sid : sids) {
+			MirroredWorker worker = current.workers.get(sid);
+			if (worker != null && (!availableOnly || worker.available)) {
+				result.add(worker);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @param sid the Worker sid
+	 * @return the Worker, or null if it is not mirrored
+	 */
+	public MirroredWorker getWorker(final String sid) {
+		return index.workers.get(sid);
+	}
+
+	/**
+	 * @return all Workers
+	 */
+	public List<MirroredWorker> getWorkers() {
+		return new ArrayList<MirroredWorker>(index.workers.values());
+	}
+
+	/**
+	 * @return the Workers whose Activity is available
+	 */
+	public List<MirroredWorker> getAvailableWorkers() {
+		Index current = index;
+		return workers(current, current.workers.keySet(), true);
+	}
+
+	/**
+	 * @param activitySid the Activity sid
+	 * @return the Workers in the Activity
+	 */
+	public List<MirroredWorker> getWorkersByActivity(final String activitySid) {
+		Index current = index;
+		return workers(current, current.byActivity.get(activitySid), false);
+	}
+
+	/**
+	 * Find Workers by attribute value. The name may be a dotted path into nested
+	 * objects, and a Worker whose attribute is an array matches each of its elements.
+	 *
+	 * @param name the attribute name or path, e.g. "skills.language"
+	 * @param value a String, Number or Boolean
+	 * @return the matching Workers
+	 */
+	public List<MirroredWorker> getWorkersByAttribute(final String name, final Object value) {
+		String key = attributeKey(name, value);
+		if (key == null) {
+			throw new IllegalArgumentException("Attribute values must be strings, numbers or booleans");
+		}
+		Index current = index;
+		return workers(current, current.byAttribute.get(key), false);
+	}
+
+	/**
+	 * @param queueSid the TaskQueue sid
+	 * @return the Workers the TaskQueue's target_workers expression matches
+	 */
+	public List<MirroredWorker> getWorkersForQueue(final String queueSid) {
+		Index current = index;
+		return workers(current, current.byQueue.get(queueSid), false);
+	}
+
+	/**
+	 * @param queueSid the TaskQueue sid
+	 * @return the available Workers the TaskQueue's target_workers expression matches
+	 */
+	public List<MirroredWorker> getAvailableWorkers(final String queueSid) {
+		Index current = index;
+		return workers(current, current.byQueue.get(queueSid), true);
+	}
+
+	/**
+	 * @param sid the Activity sid
+	 * @return the Activity, or null if it is not mirrored
+	 */
+	public Activity getActivity(final String sid) {
+		return index.activities.get(sid);
+	}
+
+	/**
+	 * @return all Activities
+	 */
+	public List<Activity> getActivities() {
+		return new ArrayList<Activity>(index.activities.values());
+	}
+
+	/**
+	 * @param sid the TaskQueue sid
+	 * @return the TaskQueue, or null if it is not mirrored
+	 */
+	public TaskQueue getTaskQueue(final String sid) {
+		return index.queues.get(sid);
+	}
+
+	/**
+	 * @return all TaskQueues
+	 */
+	public List<TaskQueue> getTaskQueues() {
+		return new ArrayList<TaskQueue>(index.queues.values());
+	}
+
+	/**
+	 * @return the Workers each TaskQueue targets, counted by TaskQueue sid
+	 */
+	public Map<String, Integer> getQueueSizes() {
+		Map<String, Integer> sizes = new HashMap<String, Integer>();
+		for (final Map.Entry<String, Set<String>> e : index.byQueue.entrySet()) {
+			sizes.put(e.getKey(), e.getValue().size());
+		}
+		return sizes;
+	}
+
+	/**
+	 * @return when the last full load started, in milliseconds since the epoch, or 0 before the first
+	 */
+	public long getLoadedAt() {
+		return loadedAt;
+	}
+
+	/**
+	 * @return the number of Events applied
+	 */
+	public long getAppliedEventCount() {
+		return appliedEvents.get();
+	}
+
+	/**
+	 * @return the number of resources refetched to apply Events
+	 */
+	public long getRefetchCount() {
+		return refetches.get();
+	}
+
+	/**
+	 * @return the last failure of a background reload or Event poll, or null
+	 */
+	public Exception getLastError() {
+		Exception error = lastError;
+		EventTailer current;
+		synchronized (lifecycleLock) {
+			current = tailer;
+		}
+		if (current != null && current.getLastError() != null) {
+			return current.getLastError();
+		}
+		return error;
+	}
+}
@@ -0,0 +1,809 @@
+package com.twilio.sdk.taskrouter;
+
+import com.twilio.sdk.TwilioRestException;
+import com.twilio.sdk.TwilioTaskRouterClient;
+import com.twilio.sdk.resource.instance.taskrouter.ActivityStatistic;
+import com.twilio.sdk.resource.instance.taskrouter.TaskQueueStatistics;
+import com.twilio.sdk.resource.instance.taskrouter.WorkersStatistics;
+import com.twilio.sdk.resource.instance.taskrouter.WorkspaceStatistics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The statistics of every TaskQueue, of the Workers and of a Workspace, fetched
+ * together and decoded once into flat records.
+ *
+ * The three statistics resources are requested concurrently; TaskQueue
+ * statistics are fetched in pages of {@value #QUEUE_PAGE_SIZE}. Comparing
+ * snapshots with {@link #diff(WorkspaceSnapshot)} yields only the records that
+ * changed, so a wallboard can refresh without redrawing every queue.
+ *
+ * <pre>
+ * WorkspaceSnapshot previous = null;
+ * while (running) {
+ *     WorkspaceSnapshot snapshot = client.getWorkspaceSnapshot(workspaceSid);
+ *     for (WorkspaceSnapshot.Change change : snapshot.diff(previous)) {
+ *         render(change.getCurrent());
+ *     }
+ *     previous = snapshot;
+ * }
+ * </pre>
+ *
+ * Snapshots are immutable.
+ */
+public final class WorkspaceSnapshot {
+
+	/** The page size used for TaskQueue statistics unless a PageSize filter is given. */
+	public static final int QUEUE_PAGE_SIZE = 1000;
+
+	/** The sid of the Workers record, which has no sid of its own. */
+	public static final String WORKERS_SID = "Workers";
+
+	private final String workspaceSid;
+
+	private final long takenAt;
+
+	private final Map<String, QueueRecord> queues;
+
+	private final WorkersRecord workers;
+
+	private final WorkspaceRecord workspace;
+
+	private WorkspaceSnapshot(final String workspaceSid, final long takenAt, final Map<String, QueueRecord> queues,
+	                          final WorkersRecord workers, final WorkspaceRecord workspace) {
+		this.workspaceSid = workspaceSid;
+		this.takenAt = takenAt;
+		this.queues = Collections.unmodifiableMap(queues);
+		this.workers = workers;
+		this.workspace = workspace;
+	}
+
+	/**
+	 * Take a snapshot, fetching the statistics on three temporary threads.
+	 *
+	 * @param client the client
+	 * @param workspaceSid the workspace sid
+	 * @return the snapshot
+	 * @throws TwilioRestException if any of the statistics could not be fetched
+	 */
+	public static WorkspaceSnapshot take(final TwilioTaskRouterClient client, final String workspaceSid)
+			throws TwilioRestException {
+		return take(client, workspaceSid, null, null);
+	}
+
+	/**
+	 * Take a snapshot.
+	 *
+	 * @param client the client
+	 * @param workspaceSid the workspace sid
+	 * @param filters statistics filters such as Minutes or StartDate, or null
+	 * @param executor the executor to fetch with, or null to use three temporary threads
+	 * @return the snapshot
+	 * @throws TwilioRestException if any of the statistics could not be fetched
+	 */
+	public static WorkspaceSnapshot take(final TwilioTaskRouterClient client, final String workspaceSid,
+	                                     final Map<String, String> filters, final ExecutorService executor)
+			throws TwilioRestException {
+		final Map<String, String> statisticsFilters = filters == null ? new HashMap<String, String>() : filters;
+		final Map<String, String> queueFilters = new HashMap<String, String>(statisticsFilters);
+		if (!queueFilters.containsKey("PageSize")) {
+			queueFilters.put("PageSize", Integer.toString(QUEUE_PAGE_SIZE));
+		}
+
+		ExecutorService service = executor != null ? executor : Executors.newFixedThreadPool(3);
+		try {
+			Future<Map<String, QueueRecord>> queues = service.submit(new Callable<Map<String, QueueRecord>>() {
+				public Map<String, QueueRecord> call() {
+					Map<String, QueueRecord> records = new LinkedHashMap<String, QueueRecord>();
+					for (final TaskQueueStatistics statistics : client.getQueuesStatistics(workspaceSid, queueFilters)) {
+						QueueRecord record = new QueueRecord(statistics);
+						records.put(record.getSid(), record);
+					}
+					return records;
+				}
+			});
+			Future<WorkersRecord> workers = service.submit(new Callable<WorkersRecord>() {
+				public WorkersRecord call() {
+					return new WorkersRecord(client.getWorkersStatistics(workspaceSid, statisticsFilters));
+				}
+			});
+			Future<WorkspaceRecord> workspace = service.submit(new Callable<WorkspaceRecord>() {
+				public WorkspaceRecord call() {
+					return new WorkspaceRecord(client.getWorkspaceStatistics(workspaceSid, statisticsFilters));
+				}
+			});
+
+			return new WorkspaceSnapshot(workspaceSid, System.currentTimeMillis(), get(queues), get(workers),
+			                             get(workspace));
+		} finally {
+			if (executor == null) {
+				service.shutdownNow();
+			}
+		}
+	}
+
+	private static <T> T get(final Future<T> future) throws TwilioRestException {
+		try {
+			return future.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while taking a workspace snapshot", e);
+		} catch (final ExecutionException e) {
+			Throwable cause = e.getCause();
+			// resources wrap request failures while loading lazily
+			if (cause instanceof RuntimeException && cause.getCause() instanceof TwilioRestException) {
+				throw (TwilioRestException) cause.getCause();
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	/**
+	 * Compare with an earlier snapshot.
+	 *
+	 * @param previous the earlier snapshot, or null to report every record as added
+	 * @return the added, removed and changed records; TaskQueues first, then Workers and Workspace
+	 */
+	public List<Change> diff(final WorkspaceSnapshot previous) {
+		List<Change> changes = new ArrayList<Change>();
+		Map<String, QueueRecord> previousQueues = previous == null
+				? Collections.<String, QueueRecord>emptyMap() : previous.queues;
+
+		for (final QueueRecord queue : queues.values()) {
+			addChange(changes, previousQueues.get(queue.getSid()), queue);
+		}
+		for (final QueueRecord queue : previousQueues.values()) {
+			if (!queues.containsKey(queue.getSid())) {
+				changes.add(new Change(queue, null));
+			}
+		}
+		addChange(changes, previous == null ? null : previous.workers, workers);
+		addChange(changes, previous == null ? null : previous.workspace, workspace);
+		return changes;
+	}
+
+	private static void addChange(final List<Change> changes, final Record previous, final Record current) {
+		if (previous == null || !previous.equals(current)) {
+			changes.add(new Change(previous, current));
+		}
+	}
+
+	/**
+	 * @return the workspace sid
+	 */
+	public String getWorkspaceSid() {
+		return workspaceSid;
+	}
+
+	/**
+	 * @return when the snapshot was taken, in milliseconds since the epoch
+	 */
+	public long getTakenAt() {
+		return takenAt;
+	}
+
+	/**
+	 * @return the TaskQueue records by queue sid, in the order returned by TaskRouter
+	 */
+	public Map<String, QueueRecord> getQueues() {
+		return queues;
+	}
+
+	/**
+	 * @param queueSid the queue sid
+	 * @return the TaskQueue record, or null if the queue is not in this snapshot
+	 */
+	public QueueRecord getQueue(final String queueSid) {
+		return queues.get(queueSid);
+	}
+
+	/**
+	 * @return the Workers record
+	 */
+	public WorkersRecord getWorkers() {
+		return workers;
+	}
+
+	/**
+	 * @return the Workspace record
+	 */
+	public WorkspaceRecord getWorkspace() {
+		return workspace;
+	}
+
+	private static int toInt(final Integer value) {
+		return value == null ? 0 : value.intValue();
+	}
+
+	private static double toDouble(final Double value) {
+		return value == null ? 0.0 : value.doubleValue();
+	}
+
+	private static Map<String, Integer> toActivityWorkers(final Set<ActivityStatistic> statistics) {
+		if (statistics == null) {
+			return Collections.emptyMap();
+		}
+		Map<String, Integer> workers = new TreeMap<String, Integer>();
+		for (final ActivityStatistic statistic : statistics) {
+			workers.put(statistic.getSid(), toInt(statistic.getWorkers()));
+		}
+		return Collections.unmodifiableMap(workers);
+	}
+
+	/**
+	 * A flat set of statistics values. Records are equal when all their values are.
+	 */
+	public abstract static class Record {
+		private final String sid;
+
+		Record(final String sid) {
+			this.sid = sid;
+		}
+
+		/**
+		 * @return the queue sid, {@link WorkspaceSnapshot#WORKERS_SID} or the workspace sid
+		 */
+		public String getSid() {
+			return sid;
+		}
+
+		/**
+		 * @param other a record of the same type
+		 * @return the names of the values that differ, all of them if other is null
+		 */
+		public List<String> getChangedFields(final Record other) {
+			if (other == null || other.getClass() != getClass()) {
+				return new ArrayList<String>(toMap().keySet());
+			}
+			List<String> changed = new ArrayList<String>();
+			addChangedFields(other, changed);
+			return changed;
+		}
+
+		/**
+		 * @return the values by name
+		 */
+		public Map<String, Object> toMap() {
+			Map<String, Object> map = new LinkedHashMap<String, Object>();
+			putValues(map);
+			return map;
+		}
+
+		/**
+		 * Add the names of the values that differ from those of other, a record of the same type.
+		 */
+		abstract void addChangedFields(Record other, List<String> changed);
+
+		/**
+		 * Put every value by name, always in the same order.
+		 */
+		abstract void putValues(Map<String, Object> map);
+
+		static void compare(final List<String> changed, final String name, final int a, final int b) {
+			if (a != b) {
+				changed.add(name);
+			}
+		}
+
+		static void compare(final List<String> changed, final String name, final double a, final double b) {
+			if (Double.compare(a, b) != 0) {
+				changed.add(name);
+			}
+		}
+
+		static void compare(final List<String> changed, final String name, final Object a, final Object b) {
+			if (!equal(a, b)) {
+				changed.add(name);
+			}
+		}
+
+		private static boolean equal(final Object a, final Object b) {
+			return a == null ? b == null : a.equals(b);
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (o == null || o.getClass() != getClass()) {
+				return false;
+			}
+			Record other = (Record) o;
+			return equal(sid, other.sid) && getChangedFields(other).isEmpty();
+		}
+
+		@Override
+		public int hashCode() {
+			// equal records have equal sids, so the values can be left out
+			return sid == null ? 0 : sid.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return getClass().getSimpleName() + " " + sid + " " + toMap();
+		}
+	}
+
+	/**
+	 * The statistics of a TaskQueue.
+	 */
+	public static final class QueueRecord extends Record {
+		private final int totalTasks;
+		private final int pendingTasks;
+		private final int reservedTasks;
+		private final int assignedTasks;
+		private final int totalAvailableWorkers;
+		private final int totalEligibleWorkers;
+		private final int longestTaskWaitingAge;
+		private final String longestTaskWaitingSid;
+		private final int tasksEntered;
+		private final int tasksCanceled;
+		private final int tasksMoved;
+		private final int reservationsAccepted;
+		private final int reservationsRejected;
+		private final int reservationsTimedOut;
+		private final double averageTaskAcceptanceTime;
+		private final Map<String, Integer> activityWorkers;
+
+		QueueRecord(final TaskQueueStatistics statistics) {
+			this(statistics.getQueueSid(), toInt(statistics.getTotalTasks()), toInt(statistics.getPendingTasks()),
+			     toInt(statistics.getReservedTasks()), toInt(statistics.getAssignedTasks()),
+			     toInt(statistics.getTotalAvailableWorkers()), toInt(statistics.getTotalEligibleWorkers()),
+			     toInt(statistics.getLongestTaskWaitingAge()), statistics.getLongestTaskWaitingSid(),
+			     toInt(statistics.getTasksEntered()), toInt(statistics.getTasksCanceled()),
+			     toInt(statistics.getTasksMoved()), toInt(statistics.getReservationsAccepted()),
+			     toInt(statistics.getReservationsRejected()), toInt(statistics.getReservationsTimedOut()),
+			     toDouble(statistics.getAverageTaskAcceptanceTime()),
+			     toActivityWorkers(statistics.getActivityStatistics()));
+		}
+
+		private QueueRecord(final String sid, final int totalTasks, final int pendingTasks, final int reservedTasks,
+		                    final int assignedTasks, final int totalAvailableWorkers, final int totalEligibleWorkers,
+		                    final int longestTaskWaitingAge, final String longestTaskWaitingSid,
+		                    final int tasksEntered, final int tasksCanceled, final int tasksMoved,
+		                    final int reservationsAccepted, final int reservationsRejected,
+		                    final int reservationsTimedOut, final double averageTaskAcceptanceTime,
+		                    final Map<String, Integer> activityWorkers) {
+			super(sid);
+			this.totalTasks = totalTasks;
+			this.pendingTasks = pendingTasks;
+			this.reservedTasks = reservedTasks;
+			this.assignedTasks = assignedTasks;
+			this.totalAvailableWorkers = totalAvailableWorkers;
+			this.totalEligibleWorkers = totalEligibleWorkers;
+			this.longestTaskWaitingAge = longestTaskWaitingAge;
+			this.longestTaskWaitingSid = longestTaskWaitingSid;
+			this.tasksEntered = tasksEntered;
+			this.tasksCanceled = tasksCanceled;
+			this.tasksMoved = tasksMoved;
+			this.reservationsAccepted = reservationsAccepted;
+			this.reservationsRejected = reservationsRejected;
+			this.reservationsTimedOut = reservationsTimedOut;
+			this.averageTaskAcceptanceTime = averageTaskAcceptanceTime;
+			this.activityWorkers = activityWorkers;
+		}
+
+		public int getTotalTasks() {
+			return totalTasks;
+		}
+
+		public int getPendingTasks() {
+			return pendingTasks;
+		}
+
+		public int getReservedTasks() {
+			return reservedTasks;
+		}
+
+		public int getAssignedTasks() {
+			return assignedTasks;
+		}
+
+		public int getTotalAvailableWorkers() {
+			return totalAvailableWorkers;
+		}
+
+		public int getTotalEligibleWorkers() {
+			return totalEligibleWorkers;
+		}
+
+		public int getLongestTaskWaitingAge() {
+			return longestTaskWaitingAge;
+		}
+
+		public String getLongestTaskWaitingSid() {
+			return longestTaskWaitingSid;
+		}
+
+		public int getTasksEntered() {
+			return tasksEntered;
+		}
+
+		public int getTasksCanceled() {
+			return tasksCanceled;
+		}
+
+		public int getTasksMoved() {
+			return tasksMoved;
+		}
+
+		public int getReservationsAccepted() {
+			return reservationsAccepted;
+		}
+
+		public int getReservationsRejected() {
+			return reservationsRejected;
+		}
+
+		public int getReservationsTimedOut() {
+			return reservationsTimedOut;
+		}
+
+		public double getAverageTaskAcceptanceTime() {
+			return averageTaskAcceptanceTime;
+		}
+
+		/**
+		 * @return the number of eligible Workers in each Activity, by activity sid
+		 */
+		public Map<String, Integer> getActivityWorkers() {
+			return activityWorkers;
+		}
+
+		@Override
+		void addChangedFields(final Record other, final List<String> changed) {
+			QueueRecord o = (QueueRecord) other;
+			compare(changed, "total_tasks", totalTasks, o.totalTasks);
+			compare(changed, "pending_tasks", pendingTasks, o.pendingTasks);
+			compare(changed, "reserved_tasks", reservedTasks, o.reservedTasks);
+			compare(changed, "assigned_tasks", assignedTasks, o.assignedTasks);
+			compare(changed, "total_available_workers", totalAvailableWorkers, o.totalAvailableWorkers);
+			compare(changed, "total_eligible_workers", totalEligibleWorkers, o.totalEligibleWorkers);
+			compare(changed, "longest_task_waiting_age", longestTaskWaitingAge, o.longestTaskWaitingAge);
+			compare(changed, "longest_task_waiting_sid", longestTaskWaitingSid, o.longestTaskWaitingSid);
+			compare(changed, "tasks_entered", tasksEntered, o.tasksEntered);
+			compare(changed, "tasks_canceled", tasksCanceled, o.tasksCanceled);
+			compare(changed, "tasks_moved", tasksMoved, o.tasksMoved);
+			compare(changed, "reservations_accepted", reservationsAccepted, o.reservationsAccepted);
+			compare(changed, "reservations_rejected", reservationsRejected, o.reservationsRejected);
+			compare(changed, "reservations_timed_out", reservationsTimedOut, o.reservationsTimedOut);
+			compare(changed, "avg_task_acceptance_time", averageTaskAcceptanceTime, o.averageTaskAcceptanceTime);
+			compare(changed, "activity_workers", activityWorkers, o.activityWorkers);
+		}
+
+		@Override
+		void putValues(final Map<String, Object> map) {
+			map.put("total_tasks", totalTasks);
+			map.put("pending_tasks", pendingTasks);
+			map.put("reserved_tasks", reservedTasks);
+			map.put("assigned_tasks", assignedTasks);
+			map.put("total_available_workers", totalAvailableWorkers);
+			map.put("total_eligible_workers", totalEligibleWorkers);
+			map.put("longest_task_waiting_age", longestTaskWaitingAge);
+			map.put("longest_task_waiting_sid", longestTaskWaitingSid);
+			map.put("tasks_entered", tasksEntered);
+			map.put("tasks_canceled", tasksCanceled);
+			map.put("tasks_moved", tasksMoved);
+			map.put("reservations_accepted", reservationsAccepted);
+			map.put("reservations_rejected", reservationsRejected);
+			map.put("reservations_timed_out", reservationsTimedOut);
+			map.put("avg_task_acceptance_time", averageTaskAcceptanceTime);
+			map.put("activity_workers", activityWorkers);
+		}
+	}
+
+	/**
+	 * The statistics of all Workers of the Workspace.
+	 */
+	public static final class WorkersRecord extends Record {
+		private final int totalWorkers;
+		private final int tasksAssigned;
+		private final int reservationsAccepted;
+		private final int reservationsRejected;
+		private final int reservationsTimedOut;
+		private final Map<String, Integer> activityWorkers;
+
+		WorkersRecord(final WorkersStatistics statistics) {
+			this(toInt(statistics.getTotalWorkers()), toInt(statistics.getTasksAssigned()),
+			     toInt(statistics.getReservationsAccepted()), toInt(statistics.getReservationsRejected()),
+			     toInt(statistics.getReservationsTimedOut()), toActivityWorkers(statistics.getActivityStatistics()));
+		}
+
+		private WorkersRecord(final int totalWorkers, final int tasksAssigned, final int reservationsAccepted,
+		                      final int reservationsRejected, final int reservationsTimedOut,
+		                      final Map<String, Integer> activityWorkers) {
+			super(WORKERS_SID);
+			this.totalWorkers = totalWorkers;
+			this.tasksAssigned = tasksAssigned;
+			this.reservationsAccepted = reservationsAccepted;
+			this.reservationsRejected = reservationsRejected;
+			this.reservationsTimedOut = reservationsTimedOut;
+			this.activityWorkers = activityWorkers;
+		}
+
+		public int getTotalWorkers() {
+			return totalWorkers;
+		}
+
+		public int getTasksAssigned() {
+			return tasksAssigned;
+		}
+
+		public int getReservationsAccepted() {
+			return reservationsAccepted;
+		}
+
+		public int getReservationsRejected() {
+			return reservationsRejected;
+		}
+
+		public int getReservationsTimedOut() {
+			return reservationsTimedOut;
+		}
+
+		/**
+		 * @return the number of Workers in each Activity, by activity sid
+		 */
+		public Map<String, Integer> getActivityWorkers() {
+			return activityWorkers;
+		}
+
+		@Override
+		void addChangedFields(final Record other, final List<String> changed) {
+			WorkersRecord o = (WorkersRecord) other;
+			compare(changed, "total_workers", totalWorkers, o.totalWorkers);
+			compare(changed, "tasks_assigned", tasksAssigned, o.tasksAssigned);
+			compare(changed, "reservations_accepted", reservationsAccepted, o.reservationsAccepted);
+			compare(changed, "reservations_rejected", reservationsRejected, o.reservationsRejected);
+			compare(changed, "reservations_timed_out", reservationsTimedOut, o.reservationsTimedOut);
+			compare(changed, "activity_workers", activityWorkers, o.activityWorkers);
+		}
+
+		@Override
+		void putValues(final Map<String, Object> map) {
+			map.put("total_workers", totalWorkers);
+			map.put("tasks_assigned", tasksAssigned);
+			map.put("reservations_accepted", reservationsAccepted);
+			map.put("reservations_rejected", reservationsRejected);
+			map.put("reservations_timed_out", reservationsTimedOut);
+			map.put("activity_workers", activityWorkers);
+		}
+	}
+
+	/**
+	 * The statistics of the Workspace.
+	 */
+	public static final class WorkspaceRecord extends Record {
+		private final int totalTasks;
+		private final int totalWorkers;
+		private final int pendingTasks;
+		private final int reservedTasks;
+		private final int assignedTasks;
+		private final int longestTaskWaitingAge;
+		private final String longestTaskWaitingSid;
+		private final int tasksCreated;
+		private final int tasksCanceled;
+		private final int tasksMoved;
+		private final int tasksTimedOutInWorkflow;
+		private final int reservationsAccepted;
+		private final int reservationsRejected;
+		private final int reservationsTimedOut;
+		private final double averageTaskAcceptanceTime;
+		private final Map<String, Integer> activityWorkers;
+
+		WorkspaceRecord(final WorkspaceStatistics statistics) {
+			this(statistics.getWorkspaceSid(), toInt(statistics.getTotalTasks()), toInt(statistics.getTotalWorkers()),
+			     toInt(statistics.getPendingTasks()), toInt(statistics.getReservedTasks()),
+			     toInt(statistics.getAssignedTasks()), toInt(statistics.getLongestTaskWaitingAge()),
+			     statistics.getLongestTaskWaitingSid(), toInt(statistics.getTasksCreated()),
+			     toInt(statistics.getTasksCanceled()), toInt(statistics.getTasksMoved()),
+			     toInt(statistics.getTasksTimedOutInWorkflow()), toInt(statistics.getReservationsAccepted()),
+			     toInt(statistics.getReservationsRejected()), toInt(statistics.getReservationsTimedOut()),
+			     toDouble(statistics.getAverageTaskAcceptanceTime()),
+			     toActivityWorkers(statistics.getActivityStatistics()));
+		}
+
+		private WorkspaceRecord(final String sid, final int totalTasks, final int totalWorkers,
+		                        final int pendingTasks, final int reservedTasks, final int assignedTasks,
+		                        final int longestTaskWaitingAge, final String longestTaskWaitingSid,
+		                        final int tasksCreated, final int tasksCanceled, final int tasksMoved,
+		                        final int tasksTimedOutInWorkflow, final int reservationsAccepted,
+		                        final int reservationsRejected, final int reservationsTimedOut,
+		                        final double averageTaskAcceptanceTime, final Map<String, Integer> activityWorkers) {
+			super(sid);
+			this.totalTasks = totalTasks;
+			this.totalWorkers = totalWorkers;
+			this.pendingTasks = pendingTasks;
+			this.reservedTasks = reservedTasks;
+			this.assignedTasks = assignedTasks;
+			this.longestTaskWaitingAge = longestTaskWaitingAge;
+			this.longestTaskWaitingSid = longestTaskWaitingSid;
+			this.tasksCreated = tasksCreated;
+			this.tasksCanceled = tasksCanceled;
+			this.tasksMoved = tasksMoved;
+			this.tasksTimedOutInWorkflow = tasksTimedOutInWorkflow;
+			this.reservationsAccepted = reservationsAccepted;
+			this.reservationsRejected = reservationsRejected;
+			this.reservationsTimedOut = reservationsTimedOut;
+			this.averageTaskAcceptanceTime = averageTaskAcceptanceTime;
+			this.activityWorkers = activityWorkers;
+		}
+
+		public int getTotalTasks() {
+			return totalTasks;
+		}
+
+		public int getTotalWorkers() {
+			return totalWorkers;
+		}
+
+		public int getPendingTasks() {
+			return pendingTasks;
+		}
+
+		public int getReservedTasks() {
+			return reservedTasks;
+		}
+
+		public int getAssignedTasks() {
+			return assignedTasks;
+		}
+
+		public int getLongestTaskWaitingAge() {
+			return longestTaskWaitingAge;
+		}
+
+		public String getLongestTaskWaitingSid() {
+			return longestTaskWaitingSid;
+		}
+
+		public int getTasksCreated() {
+			return tasksCreated;
+		}
+
+		public int getTasksCanceled() {
+			return tasksCanceled;
+		}
+
+		public int getTasksMoved() {
+			return tasksMoved;
+		}
+
+		public int getTasksTimedOutInWorkflow() {
+			return tasksTimedOutInWorkflow;
+		}
+
+		public int getReservationsAccepted() {
+			return reservationsAccepted;
+		}
+
+		public int getReservationsRejected() {
+			return reservationsRejected;
+		}
+
+		public int getReservationsTimedOut() {
+			return reservationsTimedOut;
+		}
+
+		public double getAverageTaskAcceptanceTime() {
+			return averageTaskAcceptanceTime;
+		}
+
+		/**
+		 * @return the number of Workers in each Activity, by activity sid
+		 */
+		public Map<String, Integer> getActivityWorkers() {
+			return activityWorkers;
+		}
+
+		@Override
+		void addChangedFields(final Record other, final List<String> changed) {
+			WorkspaceRecord o = (WorkspaceRecord) other;
+			compare(changed, "total_tasks", totalTasks, o.totalTasks);
+			compare(changed, "total_workers", totalWorkers, o.totalWorkers);
+			compare(changed, "pending_tasks", pendingTasks, o.pendingTasks);
+			compare(changed, "reserved_tasks", reservedTasks, o.reservedTasks);
+			compare(changed, "assigned_tasks", assignedTasks, o.assignedTasks);
+			compare(changed, "longest_task_waiting_age", longestTaskWaitingAge, o.longestTaskWaitingAge);
+			compare(changed, "longest_task_waiting_sid", longestTaskWaitingSid, o.longestTaskWaitingSid);
+			compare(changed, "tasks_created", tasksCreated, o.tasksCreated);
+			compare(changed, "tasks_canceled", tasksCanceled, o.tasksCanceled);
+			compare(changed, "tasks_moved", tasksMoved, o.tasksMoved);
+			compare(changed, "tasks_timed_out_in_workflow", tasksTimedOutInWorkflow, o.tasksTimedOutInWorkflow);
+			compare(changed, "reservations_accepted", reservationsAccepted, o.reservationsAccepted);
+			compare(changed, "reservations_rejected", reservationsRejected, o.reservationsRejected);
+			compare(changed, "reservations_timed_out", reservationsTimedOut, o.reservationsTimedOut);
+			compare(changed, "avg_task_acceptance_time", averageTaskAcceptanceTime, o.averageTaskAcceptanceTime);
+			compare(changed, "activity_workers", activityWorkers, o.activityWorkers);
+		}
+
+		@Override
+		void putValues(final Map<String, Object> map) {
+			map.put("total_tasks", totalTasks);
+			map.put("total_workers", totalWorkers);
+			map.put("pending_tasks", pendingTasks);
+			map.put("reserved_tasks", reservedTasks);
+			map.put("assigned_tasks", assignedTasks);
+			map.put("longest_task_waiting_age", longestTaskWaitingAge);
+			map.put("longest_task_waiting_sid", longestTaskWaitingSid);
+			map.put("tasks_created", tasksCreated);
+			map.put("tasks_canceled", tasksCanceled);
+			map.put("tasks_moved", tasksMoved);
+			map.put("tasks_timed_out_in_workflow", tasksTimedOutInWorkflow);
+			map.put("reservations_accepted", reservationsAccepted);
+			map.put("reservations_rejected", reservationsRejected);
+			map.put("reservations_timed_out", reservationsTimedOut);
+			map.put("avg_task_acceptance_time", averageTaskAcceptanceTime);
+			map.put("activity_workers", activityWorkers);
+		}
+	}
+
+	/**
+	 * A record that was added, removed or changed between two snapshots.
+	 */
+	public static final class Change {
+
+		/** The kind of change. */
+		public enum Kind {
+			ADDED, REMOVED, CHANGED
+		}
+
+		private final Record previous;
+		private final Record current;
+
+		Change(final Record previous, final Record current) {
+			this.previous = previous;
+			this.current = current;
+		}
+
+		public Kind getKind() {
+			return previous == null ? Kind.ADDED : current == null ? Kind.REMOVED : Kind.CHANGED;
+		}
+
+		/**
+		 * @return the sid of the changed record
+		 */
+		public String getSid() {
+			return current != null ? current.getSid() : previous.getSid();
+		}
+
+		/**
+		 * @return the record in the earlier snapshot, or null if it was added
+		 */
+		public Record getPrevious() {
+			return previous;
+		}
+
+		/**
+		 * @return the record in the later snapshot, or null if it was removed
+		 */
+		public Record getCurrent() {
+			return current;
+		}
+
+		/**
+		 * @return the names of the values that changed
+		 */
+		public List<String> getChangedFields() {
+			return current != null ? current.getChangedFields(previous) : previous.getChangedFields(null);
+		}
+
+		@Override
+		public String toString() {
+			return getKind() + " " + getSid() + " " + getChangedFields();
+		}
+	}
+}
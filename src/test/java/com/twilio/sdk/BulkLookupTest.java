@@ -0,0 +1,146 @@
+package com.twilio.sdk;
+
+import com.twilio.sdk.resource.instance.FakeHttpClient;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BulkLookupTest {
+
+	private static final String PHONE_NUMBER = "/com/twilio/sdk/resource/instance/lookups/phone_number.json";
+
+	private LookupsClient client;
+
+	private final AtomicInteger requests = new AtomicInteger();
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+
+	private final AtomicInteger tooManyRequests = new AtomicInteger();
+
+	private volatile long latency;
+
+	@Before
+	public void setup() throws Exception {
+		HttpClient httpClient = FakeHttpClient.create(new FakeHttpClient.Server() {
+			public HttpResponse respond(final HttpUriRequest request) throws Exception {
+				requests.incrementAndGet();
+				int current = inFlight.incrementAndGet();
+				int max;
+				while ((max = maxInFlight.get()) < current && !maxInFlight.compareAndSet(max, current)) {
+				}
+				try {
+					Thread.sleep(latency);
+				} finally {
+					inFlight.decrementAndGet();
+				}
+				String path = request.getURI().getPath();
+				if (path.contains("+1666")) {
+					throw new Error("broken client");
+				}
+				if (path.contains("+1555")) {
+					return FakeHttpClient.error(404);
+				} else if (path.endsWith("+15108675300") && tooManyRequests.getAndDecrement() > 0) {
+					return FakeHttpClient.error(429);
+				}
+				return FakeHttpClient.resource(200, PHONE_NUMBER);
+			}
+		});
+		client = new LookupsClient("AC0123456789abcdef0123456789abcdef", "0123456789abcdef0123456789abcdef");
+		client.setHttpClient(httpClient);
+	}
+
+	private static Map<String, BulkLookup.Result> collect(final BulkLookup lookup) {
+		Map<String, BulkLookup.Result> results = new HashMap<String, BulkLookup.Result>();
+		for (final BulkLookup.Result result : lookup) {
+			results.put(result.getNumber(), result);
+		}
+		return results;
+	}
+
+	@Test
+	public void testDeduplicatesAndReportsEachNumber() throws Exception {
+		List<String> numbers = Arrays.asList("+15108675309", "+1 (510) 867-5309", "0015108675309", "+15550000000",
+		                                     "not a number");
+		BulkLookup lookup = client.lookupAll(numbers, new LookupOptions().includeCarrierInfo(true));
+		assertEquals(3, lookup.size());
+
+		Map<String, BulkLookup.Result> results = collect(lookup);
+		assertEquals(3, results.size());
+		BulkLookup.Result found = results.get("+15108675309");
+		assertTrue(found.isFound());
+		assertEquals("verizon", found.getPhoneNumber().getCarrierName());
+		assertEquals(Arrays.asList("+15108675309", "+1 (510) 867-5309", "0015108675309"), found.getInputs());
+		assertTrue(results.get("+15550000000").isNotFound());
+		assertTrue(results.get("").getException() instanceof IllegalArgumentException);
+
+		assertNull(lookup.take());
+		assertEquals(2, requests.get());
+		assertEquals(2, lookup.getFailureCount());
+	}
+
+	@Test
+	public void testReportsUnexpectedErrors() throws Exception {
+		BulkLookup lookup = client.lookupAll(Arrays.asList("+16660000000", "+15108675309"),
+		                                     new LookupOptions().concurrency(1));
+		Map<String, BulkLookup.Result> results = collect(lookup);
+		assertEquals(2, results.size());
+		assertEquals("broken client", results.get("+16660000000").getException().getCause().getMessage());
+		assertTrue(results.get("+15108675309").isFound());
+		assertEquals(1, lookup.getFailureCount());
+	}
+
+	@Test
+	public void testRunsConcurrently() throws Exception {
+		latency = 20;
+		List<String> numbers = new ArrayList<String>();
+		for (int i = 0; i < 32; i++) {
+			numbers.add(String.format("+1510867%04d", i));
+		}
+		BulkLookup lookup = client.lookupAll(numbers, new LookupOptions().concurrency(8).bufferSize(4));
+		assertEquals(32, collect(lookup).size());
+		assertEquals(32, requests.get());
+		assertTrue("max in flight " + maxInFlight.get(), maxInFlight.get() > 1);
+		assertTrue(maxInFlight.get() <= 8);
+	}
+
+	@Test
+	public void testRetriesTooManyRequests() throws Exception {
+		tooManyRequests.set(2);
+		BulkLookup lookup = client.lookupAll(Arrays.asList("+15108675300"), new LookupOptions().maxRetries(3, 1));
+		BulkLookup.Result result = lookup.take();
+		assertTrue(result.isFound());
+		assertEquals(2, lookup.getRetryCount());
+		assertEquals(3, lookup.getRequestCount());
+	}
+
+	@Test
+	public void testAnswersFromCacheWithoutRequests() throws Exception {
+		client.setCache(new LookupCache());
+		List<String> numbers = Arrays.asList("+15108675309", "+15550000000");
+		collect(client.lookupAll(numbers));
+		assertEquals(2, requests.get());
+
+		BulkLookup lookup = client.lookupAll(numbers, new LookupOptions().ratePerSecond(1));
+		Map<String, BulkLookup.Result> results = collect(lookup);
+		assertTrue(results.get("+15108675309").isFound());
+		assertTrue(results.get("+15550000000").isNotFound());
+		assertEquals(2, requests.get());
+		assertEquals(0, lookup.getRequestCount());
+		assertEquals(2, lookup.getCachedCount());
+	}
+}
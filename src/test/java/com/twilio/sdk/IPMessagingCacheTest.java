@@ -0,0 +1,125 @@
+package com.twilio.sdk;
+
+import com.twilio.sdk.resource.instance.FakeHttpClient;
+import com.twilio.sdk.resource.instance.ipmessaging.Channel;
+import com.twilio.sdk.resource.instance.ipmessaging.Service;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class IPMessagingCacheTest {
+
+	private static final String IP_MESSAGING = "/com/twilio/sdk/resource/list/ipmessaging/";
+
+	private static final String SERVICE_SID = "ISaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa";
+
+	private static final String CHANNEL_SID = "CHaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa";
+
+	private TwilioIPMessagingClient client;
+
+	private IPMessagingCache cache;
+
+	// "METHOD path" of every request
+	private final List<String> requests = new ArrayList<String>();
+
+	@Before
+	public void setup() throws Exception {
+		HttpClient httpClient = FakeHttpClient.create(new FakeHttpClient.Server() {
+			public HttpResponse respond(final HttpUriRequest request) {
+				String path = request.getURI().getPath();
+				requests.add(request.getMethod() + " " + path);
+				if ("DELETE".equals(request.getMethod())) {
+					return FakeHttpClient.empty(204);
+				}
+				String resource = path.contains("/Roles") ? "role_instance.json"
+						: path.contains("/Users") ? "user_instance.json"
+						: path.contains("/Channels") ? "channel_instance.json"
+						: "service_instance.json";
+				return FakeHttpClient.resource(200, IP_MESSAGING + resource);
+			}
+		});
+		client = new TwilioIPMessagingClient("AC0123456789abcdef0123456789abcdef", "0123456789abcdef0123456789abcdef");
+		client.setHttpClient(httpClient);
+		cache = new IPMessagingCache();
+		client.setCache(cache);
+	}
+
+	@Test
+	public void testCachesLoads() throws Exception {
+		Service service = client.getService(SERVICE_SID);
+		assertEquals("friendly", service.getChannel(CHANNEL_SID).getFriendlyName());
+		assertEquals("unique", client.getService(SERVICE_SID).getChannel(CHANNEL_SID).getUniqueName());
+		assertEquals("aaa", service.getUser("USaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa").getIdentity());
+		assertEquals("aaa", service.getUser("USaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa").getIdentity());
+		assertEquals("admin", service.getRole("RLaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa").getFriendlyName());
+		assertEquals("admin", service.getRole("RLaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa").getFriendlyName());
+		assertNotNull(service.getFriendlyName());
+		assertNotNull(client.getService(SERVICE_SID).getFriendlyName());
+
+		assertEquals(4, requests.size());
+		assertEquals(4, cache.getHitCount());
+		assertEquals(4, cache.getMissCount());
+		assertEquals(4, cache.size());
+	}
+
+	@Test
+	public void testWritesThroughCreateAndUpdate() throws Exception {
+		Service service = client.getService(SERVICE_SID);
+		Channel created = service.createChannel(Collections.singletonMap("UniqueName", "unique"));
+		assertEquals("unique", service.getChannel(created.getSid()).getUniqueName());
+		assertEquals(Collections.singletonList("POST /v1/Services/" + SERVICE_SID + "/Channels"), requests);
+
+		service.getChannel(CHANNEL_SID).update(Collections.singletonMap("FriendlyName", "friendly"));
+		assertEquals("friendly", service.getChannel(CHANNEL_SID).getFriendlyName());
+		assertEquals(2, requests.size());
+		assertEquals(0, cache.getMissCount());
+	}
+
+	@Test
+	public void testDeleteInvalidatesChildren() throws Exception {
+		Service service = client.getService(SERVICE_SID);
+		service.getChannel(CHANNEL_SID).getFriendlyName();
+		service.getFriendlyName();
+		assertEquals(2, cache.size());
+
+		service.delete();
+		assertEquals(0, cache.size());
+		client.getService(SERVICE_SID).getChannel(CHANNEL_SID).getFriendlyName();
+		assertEquals("GET /v1/Services/" + SERVICE_SID + "/Channels/" + CHANNEL_SID, requests.get(requests.size() - 1));
+	}
+
+	@Test
+	public void testEvictsLeastRecentlyUsedAndExpired() {
+		final long[] now = {0};
+		IPMessagingCache small = new IPMessagingCache(60, 2) {
+			@Override
+			protected long currentTimeMillis() {
+				return now[0];
+			}
+		};
+		Map<String, Object> properties = Collections.<String, Object>singletonMap("sid", "CH1");
+		small.put("/a", properties);
+		small.put("/b", properties);
+		assertNotNull(small.get("/a"));
+		small.put("/c", properties);
+		assertNull(small.get("/b"));
+		assertNotNull(small.get("/a"));
+		assertEquals(1, small.getEvictionCount());
+
+		now[0] = 60000;
+		assertNull(small.get("/c"));
+		assertEquals(2, small.getEvictionCount());
+		assertEquals(1, small.size());
+	}
+}
@@ -0,0 +1,138 @@
+package com.twilio.sdk;
+
+import com.twilio.sdk.resource.instance.FakeHttpClient;
+import com.twilio.sdk.resource.instance.lookups.PhoneNumber;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class LookupCacheTest {
+
+	private static final String PHONE_NUMBER = "/com/twilio/sdk/resource/instance/lookups/phone_number.json";
+
+	private LookupsClient client;
+
+	private final AtomicInteger requests = new AtomicInteger();
+
+	@Before
+	public void setup() throws Exception {
+		HttpClient httpClient = FakeHttpClient.create(new FakeHttpClient.Server() {
+			public HttpResponse respond(final HttpUriRequest request) throws Exception {
+				requests.incrementAndGet();
+				if (request.getURI().getPath().endsWith("+15108675309")) {
+					return FakeHttpClient.resource(200, PHONE_NUMBER);
+				}
+				return FakeHttpClient.error(404, "Not found");
+			}
+		});
+		client = new LookupsClient("AC0123456789abcdef0123456789abcdef", "0123456789abcdef0123456789abcdef");
+		client.setHttpClient(httpClient);
+	}
+
+	@Test
+	public void testKeyNormalization() {
+		assertEquals("+15108675309||carrier", LookupCache.key("+1 (510) 867-5309", "US", "Carrier"));
+		assertEquals("+15108675309||", LookupCache.key("0015108675309", null, null));
+		assertEquals("5108675309|US|", LookupCache.key("(510) 867-5309", "us", null));
+	}
+
+	@Test
+	public void testCachesLookups() throws Exception {
+		LookupCache cache = new LookupCache();
+		client.setCache(cache);
+
+		assertEquals("verizon", client.getPhoneNumber("+15108675309", true).getCarrierName());
+		assertEquals("verizon", client.getPhoneNumber("+1 510 867 5309", true).getCarrierName());
+		assertEquals(1, requests.get());
+		assertEquals(1, cache.getHitCount());
+
+		// a carrier lookup does not answer a format lookup
+		assertEquals("(510) 867-5309", client.getPhoneNumber("+15108675309").getFormattedNumber());
+		assertEquals(2, requests.get());
+		assertEquals(2, cache.getMissCount());
+	}
+
+	@Test
+	public void testCachesNotFound() throws Exception {
+		LookupCache cache = new LookupCache();
+		client.setCache(cache);
+
+		for (int i = 0; i < 2; i++) {
+			try {
+				client.getPhoneNumber("+15550000000").getCountryCode();
+				fail("expected a 404");
+			} catch (final RuntimeException e) {
+				assertEquals(404, ((TwilioRestException) e.getCause()).getStatus());
+			}
+		}
+		assertEquals(1, requests.get());
+		assertEquals(1, cache.getNegativeHitCount());
+		assertEquals(0.5, cache.getHitRate(), 0.001);
+	}
+
+	@Test
+	public void testPersistsToFile() throws Exception {
+		File file = File.createTempFile("lookups", ".cache");
+		file.delete();
+		try {
+			LookupCache cache = new LookupCache(3600, 60, 100, file);
+			client.setCache(cache);
+			client.getPhoneNumber("+15108675309", true).getCarrierName();
+			cache.save();
+
+			LookupCache restored = new LookupCache(3600, 60, 100, file);
+			assertEquals(cache.size(), restored.size());
+			client.setCache(restored);
+			PhoneNumber number = client.getPhoneNumber("+15108675309", true);
+			assertEquals("verizon", number.getCarrierName());
+			assertEquals(PhoneNumber.Type.MOBILE, number.getType());
+			assertNull(number.getErrorCode());
+			assertEquals(1, requests.get());
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testExpiry() throws Exception {
+		final long[] now = {1000};
+		LookupCache cache = new LookupCache(60, 10, 2) {
+			@Override
+			protected long currentTimeSeconds() {
+				return now[0];
+			}
+		};
+		cache.put("a", Collections.<String, Object>singletonMap("phone_number", "+1"));
+		assertNotNull(cache.get("a"));
+		now[0] += 60;
+		assertNull(cache.get("a"));
+		assertEquals(1, cache.getEvictionCount());
+	}
+
+	@Test
+	public void testEvictsLeastRecentlyUsed() throws Exception {
+		LookupCache cache = new LookupCache(60, 10, 2);
+		Map<String, Object> properties = Collections.<String, Object>singletonMap("phone_number", "+1");
+		cache.put("a", properties);
+		cache.put("b", properties);
+		assertNotNull(cache.get("a"));
+		cache.put("c", properties);
+		assertNull(cache.get("b"));
+		assertNotNull(cache.get("a"));
+		assertNotNull(cache.get("c"));
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+	}
+}
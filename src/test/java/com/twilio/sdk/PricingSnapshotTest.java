@@ -0,0 +1,103 @@
+package com.twilio.sdk;
+
+import com.twilio.sdk.resource.instance.FakeHttpClient;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PricingSnapshotTest {
+
+	private static final String PRICING = "/com/twilio/sdk/resource/instance/pricing/";
+
+	private TwilioPricingClient client;
+
+	// response bodies by path; a resource name ending in .json is read from the pricing test resources
+	private final Map<String, String> responses = new HashMap<String, String>();
+
+	@Before
+	public void setup() throws Exception {
+		responses.put("/v1/Voice/Countries", "{\"meta\":{\"key\":\"countries\"},\"countries\":["
+				+ "{\"country\":\"Estonia\",\"iso_country\":\"EE\"},{\"country\":\"United States\",\"iso_country\":\"US\"}]}");
+		responses.put("/v1/Voice/Countries/EE", "voice_country.json");
+		responses.put("/v1/Voice/Countries/US", "{\"country\":\"United States\",\"iso_country\":\"US\",\"price_unit\":\"USD\","
+				+ "\"outbound_prefix_prices\":[{\"prefix_list\":[\"1\"],\"friendly_name\":\"United States\","
+				+ "\"base_price\":\"0.013\",\"current_price\":\"0.013\"}]}");
+		responses.put("/v1/Messaging/Countries", "{\"meta\":{\"key\":\"countries\"},\"countries\":["
+				+ "{\"country\":\"Estonia\",\"iso_country\":\"EE\"}]}");
+		responses.put("/v1/Messaging/Countries/EE", "messaging_country.json");
+
+		HttpClient httpClient = FakeHttpClient.create(new FakeHttpClient.Server() {
+			public HttpResponse respond(final HttpUriRequest request) throws Exception {
+				String body = responses.get(request.getURI().getPath());
+				if (body == null) {
+					return FakeHttpClient.error(404, "Not found");
+				}
+				return body.endsWith(".json") ? FakeHttpClient.resource(200, PRICING + body) : FakeHttpClient.json(200, body);
+			}
+		});
+		client = new TwilioPricingClient("AC0123456789abcdef0123456789abcdef", "0123456789abcdef0123456789abcdef");
+		client.setHttpClient(httpClient);
+	}
+
+	@Test
+	public void testResolvesLongestPrefix() throws Exception {
+		PricingSnapshot snapshot = client.getPricingSnapshot();
+
+		assertEquals(7, snapshot.getPrefixCount());
+		assertEquals(30000, snapshot.getCallPriceMicros("+3721234567"));
+		assertEquals(57500, snapshot.getCallPrice("+372 5123 4567").getCurrentPriceMicros());
+		PricingSnapshot.CallPrice other = snapshot.getCallPrice("+37281123456");
+		assertEquals("37281", other.getPrefix());
+		assertEquals("EE", other.getIsoCountry());
+		assertEquals("USD", other.getPriceUnit());
+		assertEquals(0, new BigDecimal("0.013").compareTo(snapshot.getCallPrice("+1 (510) 867-5309").getCurrentPrice()));
+		assertNull(snapshot.getCallPrice("+44207123456"));
+		assertEquals(-1, snapshot.getCallPriceMicros("+44207123456"));
+	}
+
+	@Test
+	public void testResolvesMessagingCountry() throws Exception {
+		PricingSnapshot snapshot = client.getPricingSnapshot();
+
+		assertEquals("Estonia", snapshot.getMessagingCountry("+37250123456").getCountry());
+		assertEquals("275", snapshot.getMessagePrices("+37250123456").get(0).getMcc());
+		assertNull(snapshot.getMessagingCountry("+15108675309"));
+		assertTrue(snapshot.getMessagePrices("+15108675309").isEmpty());
+	}
+
+	@Test
+	public void testFailedRefreshKeepsTables() throws Exception {
+		PricingSnapshot snapshot = new PricingSnapshot(client);
+		try {
+			snapshot.getCallPrice("+15108675309");
+			fail("expected the snapshot to be unloaded");
+		} catch (final IllegalStateException e) {
+			// expected
+		}
+		snapshot.refresh();
+		long loadedAt = snapshot.getLoadedAt();
+
+		responses.remove("/v1/Voice/Countries/US");
+		try {
+			snapshot.refresh();
+			fail("expected the refresh to fail");
+		} catch (final TwilioRestException e) {
+			assertEquals(404, e.getStatus());
+		}
+		assertEquals(1, snapshot.getRefreshCount());
+		assertEquals(1, snapshot.getRefreshFailureCount());
+		assertEquals(loadedAt, snapshot.getLoadedAt());
+		assertEquals(13000, snapshot.getCallPriceMicros("+15108675309"));
+	}
+}
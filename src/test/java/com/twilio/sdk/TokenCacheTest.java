@@ -0,0 +1,149 @@
+package com.twilio.sdk;
+
+import com.twilio.sdk.client.TwilioCapability;
+import com.twilio.sdk.taskrouter.TaskRouterCapabilityTemplate;
+import com.twilio.sdk.taskrouter.TaskRouterWorkerCapability;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class TokenCacheTest {
+
+	private static class ManualClockTokenCache extends TokenCache {
+		private long now = 1000;
+
+		ManualClockTokenCache(long minRemainingTtl, int maxSize) {
+			super(minRemainingTtl, maxSize);
+		}
+
+		@Override
+		protected long currentTimeSeconds() {
+			return now;
+		}
+	}
+
+	@After
+	public void tearDown() {
+		CapabilityToken.setTokenCache(null);
+	}
+
+	@Test
+	public void testReuseUntilThreshold() {
+		ManualClockTokenCache cache = new ManualClockTokenCache(60, 10);
+		cache.put("key", "token", 1000 + 3600);
+
+		assertEquals("token", cache.get("key"));
+		cache.now = 1000 + 3600 - 61;
+		assertEquals("token", cache.get("key"));
+		cache.now = 1000 + 3600 - 60;
+		assertNull(cache.get("key"));
+
+		assertEquals(2, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getEvictionCount());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testEvictExpired() {
+		ManualClockTokenCache cache = new ManualClockTokenCache(60, 10);
+		cache.put("short", "a", 1000 + 120);
+		cache.put("long", "b", 1000 + 3600);
+		cache.now = 1000 + 100;
+
+		assertEquals(1, cache.evictExpired());
+		assertEquals(1, cache.size());
+		assertEquals("b", cache.get("long"));
+	}
+
+	@Test
+	public void testMaxSize() {
+		ManualClockTokenCache cache = new ManualClockTokenCache(60, 2);
+		cache.put("a", "a", 5000);
+		cache.put("b", "b", 5000);
+		assertEquals("a", cache.get("a"));
+		cache.put("c", "c", 5000);
+
+		// b was the least recently used
+		assertEquals(2, cache.size());
+		assertNull(cache.get("b"));
+		assertEquals("a", cache.get("a"));
+		assertEquals("c", cache.get("c"));
+		assertEquals(1, cache.getEvictionCount());
+	}
+
+	@Test
+	public void testKeyHidesSecret() {
+		String key = CapabilityToken.tokenCacheKey("secret", 3600, "AC123", Collections.singleton("scope"));
+		assertFalse(key.contains("secret"));
+	}
+
+	@Test
+	public void testTwilioCapabilityUsesCache() throws Exception {
+		TokenCache cache = new TokenCache();
+		CapabilityToken.setTokenCache(cache);
+
+		TwilioCapability capability = new TwilioCapability("AC123", "secret");
+		capability.allowClientIncoming("alice");
+		String first = capability.generateToken();
+
+		TwilioCapability other = new TwilioCapability("AC123", "secret");
+		other.allowClientIncoming("alice");
+		assertEquals(first, other.generateToken());
+
+		TwilioCapability bob = new TwilioCapability("AC123", "secret");
+		bob.allowClientIncoming("bob");
+		assertFalse(first.equals(bob.generateToken()));
+
+		assertEquals(1, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+	}
+
+	@Test
+	public void testTaskRouterCapabilityUsesCache() throws Exception {
+		TokenCache cache = new TokenCache();
+		CapabilityToken.setTokenCache(cache);
+
+		TaskRouterWorkerCapability capability = new TaskRouterWorkerCapability("AC123", "secret", "WS456", "WK789");
+		capability.allowActivityUpdates();
+		String first = capability.generateToken();
+
+		TaskRouterWorkerCapability other = new TaskRouterWorkerCapability("AC123", "secret", "WS456", "WK789");
+		other.allowActivityUpdates();
+		assertEquals(first, other.generateToken());
+		assertEquals(1, cache.getHitCount());
+
+		// a different lifetime is a different token
+		other.generateToken(600);
+		assertEquals(2, cache.getMissCount());
+
+		// an added policy is a different token
+		other.allowReservationUpdates();
+		assertFalse(first.equals(other.generateToken()));
+		assertEquals(3, cache.getMissCount());
+	}
+
+	@Test
+	public void testTaskRouterTemplateUsesCache() throws Exception {
+		TokenCache cache = new TokenCache();
+		CapabilityToken.setTokenCache(cache);
+
+		TaskRouterWorkerCapability prototype = new TaskRouterWorkerCapability("AC123", "secret", "WS456", "WK789");
+		prototype.allowActivityUpdates();
+		String first = new TaskRouterCapabilityTemplate(prototype).generateToken("WKabc");
+		TaskRouterCapabilityTemplate template = new TaskRouterCapabilityTemplate(prototype);
+		assertEquals(first, template.generateToken("WKabc"));
+		assertFalse(first.equals(template.generateToken("WKdef")));
+
+		// different policies are a different template
+		prototype.allowReservationUpdates();
+		assertFalse(first.equals(new TaskRouterCapabilityTemplate(prototype).generateToken("WKabc")));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(3, cache.getMissCount());
+	}
+}
@@ -0,0 +1,79 @@
+package com.twilio.sdk;
+
+import com.twilio.sdk.client.TwilioCapability;
+import org.apache.commons.codec.binary.Base64;
+import org.junit.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+public class TokenSignerTest {
+
+	private static String referenceEncode(byte[] data) {
+		return new String(Base64.encodeBase64(data)).replace('+', '-').replace('/', '_').replace("=", "");
+	}
+
+	private static String referenceToken(String header, String payload, String secret) throws Exception {
+		String signingInput = referenceEncode(header.getBytes("UTF-8")) + "." + referenceEncode(payload.getBytes("UTF-8"));
+		Mac mac = Mac.getInstance("HmacSHA256");
+		mac.init(new SecretKeySpec(secret.getBytes("UTF-8"), "HmacSHA256"));
+		return signingInput + "." + referenceEncode(mac.doFinal(signingInput.getBytes("UTF-8")));
+	}
+
+	@Test
+	public void testEncodeBase64Url() throws Exception {
+		for (int length = 0; length < 64; length++) {
+			byte[] data = new byte[length];
+			for (int i = 0; i < length; i++) {
+				data[i] = (byte) (i * 37 + 251);
+			}
+			assertEquals(referenceEncode(data), TokenSigner.encodeBase64Url(data));
+		}
+	}
+
+	@Test
+	public void testSignMatchesReference() throws Exception {
+		String payload = "{\"iss\":\"AC123\",\"exp\":\"1450000000\",\"scope\":\"scope:client:incoming?clientName=alice\"}";
+		TokenSigner signer = new TokenSigner("secret");
+
+		assertEquals(referenceToken(TokenSigner.CAPABILITY_HEADER, payload, "secret"), signer.sign(payload));
+		assertEquals(referenceToken(TokenSigner.CAPABILITY_HEADER, payload + " ", "secret"), signer.sign(payload + " "));
+	}
+
+	@Test
+	public void testGetInstanceIsShared() {
+		assertSame(TokenSigner.getInstance("secret"), TokenSigner.getInstance("secret"));
+		assertSame(TokenSigner.getInstance("secret", TokenSigner.ACCESS_TOKEN_HEADER),
+		           TokenSigner.getInstance("secret", TokenSigner.ACCESS_TOKEN_HEADER));
+	}
+
+	@Test
+	public void testDigestHidesSecret() {
+		assertEquals(TokenSigner.digest("secret"), TokenSigner.digest("secret"));
+		assertEquals(43, TokenSigner.digest("secret").length());
+		assertFalse(TokenSigner.digest("secret").equals(TokenSigner.digest("secret2")));
+		assertFalse(TokenSigner.digest("secret").contains("secret"));
+	}
+
+	@Test
+	public void testSignerKeepsSecretDigest() {
+		assertEquals(TokenSigner.digest("secret"), new TokenSigner("secret").getSecretDigest());
+		assertEquals(TokenSigner.digest("secret"), TokenSigner.getInstance("secret").getSecretDigest());
+	}
+
+	@Test
+	public void testCapabilityTokenSignature() throws Exception {
+		TwilioCapability capability = new TwilioCapability("AC123", "secret");
+		capability.allowClientIncoming("alice");
+		String[] parts = capability.generateToken().split("\\.");
+		assertEquals(3, parts.length);
+
+		String payload = new String(Base64.decodeBase64(parts[1]), "UTF-8");
+		String expected = referenceToken(TokenSigner.CAPABILITY_HEADER, payload, "secret");
+		assertEquals(expected, parts[0] + "." + parts[1] + "." + parts[2]);
+	}
+}
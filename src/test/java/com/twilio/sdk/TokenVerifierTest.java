@@ -0,0 +1,126 @@
+package com.twilio.sdk;
+
+import com.twilio.sdk.CapabilityToken.DomainException;
+import com.twilio.sdk.auth.AccessToken;
+import com.twilio.sdk.auth.IpMessagingGrant;
+import com.twilio.sdk.client.TwilioCapability;
+import com.twilio.sdk.taskrouter.TaskRouterWorkerCapability;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TokenVerifierTest {
+
+	private static final String SECRET = "secret";
+
+	@Test
+	public void testDecodeBase64Url() {
+		for (int length = 0; length < 64; length++) {
+			byte[] data = new byte[length];
+			for (int i = 0; i < length; i++) {
+				data[i] = (byte) (i * 53 + 7);
+			}
+			String encoded = TokenSigner.encodeBase64Url(data);
+			byte[] decoded = TokenVerifier.decodeBase64Url(encoded, 0, encoded.length());
+			assertEquals(length, decoded.length);
+			for (int i = 0; i < length; i++) {
+				assertEquals(data[i], decoded[i]);
+			}
+		}
+		assertEquals(null, TokenVerifier.decodeBase64Url("ab+/", 0, 4));
+		assertEquals(null, TokenVerifier.decodeBase64Url("abcde", 0, 5));
+		// "AQ" and "AR" would both decode to 0x01 if the spare bits were ignored
+		assertEquals(1, TokenVerifier.decodeBase64Url("AQ", 0, 2).length);
+		assertEquals(null, TokenVerifier.decodeBase64Url("AR", 0, 2));
+		assertEquals(null, TokenVerifier.decodeBase64Url("AAB", 0, 3));
+	}
+
+	@Test
+	public void testVerifyAccessToken() throws Exception {
+		String jwt = new AccessToken.Builder("AC123", "SK123", SECRET)
+				.identity("alice")
+				.grant(new IpMessagingGrant().setServiceSid("IS123"))
+				.build()
+				.toJWT();
+
+		TokenVerifier.VerifiedToken token = new TokenVerifier(SECRET).verify(jwt);
+		assertEquals("SK123", token.getIssuer());
+		assertEquals("AC123", token.getSubject());
+		assertTrue(token.getExpiration() > System.currentTimeMillis() / 1000L);
+
+		Map<String, Object> grants = token.getGrants();
+		assertEquals("alice", grants.get("identity"));
+		assertEquals("IS123", ((Map<?, ?>) grants.get("ip_messaging")).get("service_sid"));
+	}
+
+	@Test
+	public void testVerifyTaskRouterToken() throws Exception {
+		String jwt = new TaskRouterWorkerCapability("AC123", SECRET, "WS456", "WK789").generateToken();
+
+		TokenVerifier.VerifiedToken token = new TokenVerifier(SECRET).verify(jwt);
+		assertEquals("AC123", token.getIssuer());
+		List<Map<String, Object>> policies = token.getPolicies();
+		assertEquals(6, policies.size());
+		assertEquals("GET", policies.get(0).get("method"));
+	}
+
+	@Test
+	public void testVerifyClientCapabilityToken() throws Exception {
+		TwilioCapability capability = new TwilioCapability.Builder("AC123", SECRET)
+				.allowClientIncoming("alice")
+				.build();
+
+		TokenVerifier.VerifiedToken token = new TokenVerifier(SECRET).verify(capability.generateToken());
+		assertEquals(1, token.getScopes().size());
+		assertEquals("scope:client:incoming?clientName=alice", token.getScopes().get(0));
+	}
+
+	@Test
+	public void testRejectsWrongSecretAndTampering() throws Exception {
+		String jwt = new TaskRouterWorkerCapability("AC123", SECRET, "WS456", "WK789").generateToken();
+
+		assertTrue(new TokenVerifier(SECRET).isValid(jwt));
+		assertFalse(new TokenVerifier("other").isValid(jwt));
+
+		String[] parts = jwt.split("\\.");
+		String tampered = parts[0] + "." + parts[1].substring(1) + "." + parts[2];
+		assertFalse(new TokenVerifier(SECRET).isValid(tampered));
+		assertFalse(new TokenVerifier(SECRET).isValid(parts[0] + "." + parts[1]));
+		assertFalse(new TokenVerifier(SECRET).isValid(null));
+	}
+
+	@Test
+	public void testRejectsNonCanonicalSignature() throws Exception {
+		String jwt = new TaskRouterWorkerCapability("AC123", SECRET, "WS456", "WK789").generateToken();
+		String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+
+		// a 32 byte signature leaves two spare bits in its last character
+		char last = jwt.charAt(jwt.length() - 1);
+		char altered = alphabet.charAt(alphabet.indexOf(last) | 1);
+		assertFalse(new TokenVerifier(SECRET).isValid(jwt.substring(0, jwt.length() - 1) + altered));
+	}
+
+	@Test(expected = DomainException.class)
+	public void testRejectsExpiredToken() throws Exception {
+		String jwt = new TaskRouterWorkerCapability("AC123", SECRET, "WS456", "WK789").generateToken(-10);
+		new TokenVerifier(SECRET).verify(jwt);
+	}
+
+	@Test
+	public void testLeeway() throws Exception {
+		String jwt = new TaskRouterWorkerCapability("AC123", SECRET, "WS456", "WK789").generateToken(-10);
+		assertTrue(new TokenVerifier(SECRET, 60).isValid(jwt));
+	}
+
+	@Test(expected = DomainException.class)
+	public void testRejectsUnsignedAlgorithm() throws Exception {
+		String header = TokenSigner.encodeBase64Url("{\"alg\":\"none\"}".getBytes("UTF-8"));
+		String payload = TokenSigner.encodeBase64Url("{\"iss\":\"AC123\"}".getBytes("UTF-8"));
+		new TokenVerifier(SECRET).verify(header + "." + payload + ".");
+	}
+}
@@ -4,8 +4,20 @@ import com.twilio.sdk.parser.JsonResponseParser;
 import com.twilio.sdk.parser.XmlResponseParser;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 
 /**
@@ -61,4 +73,95 @@ public class TwilioRestResponseTest {
 		response.setContentType("text/html");
 	}
 
+	/**
+	 * Test header lookup.
+	 */
+	@Test
+	public void testTwilioRestResponseHeaders() {
+		TwilioRestResponse response = new TwilioRestResponse("http://example.com/test", "", 304);
+		Map<String, List<String>> headers = new HashMap<String, List<String>>();
+		headers.put("ETag", Collections.singletonList("\"abc\""));
+		headers.put("Link", Arrays.asList("<a>", "<b>"));
+		response.setHeaders(headers);
+
+		assertTrue(response.isNotModified());
+		assertEquals("\"abc\"", response.getHeader("etag"));
+		assertEquals(Arrays.asList("<a>", "<b>"), response.getHeaders("LINK"));
+		assertNull(response.getHeader("Last-Modified"));
+		assertTrue(response.getHeaders("Last-Modified").isEmpty());
+		assertEquals(2, response.getHeaders().size());
+	}
+
+	/**
+	 * Test raw bodies and url splitting.
+	 */
+	@Test
+	public void testTwilioRestResponseBytes() throws Exception {
+		byte[] body = "{\"name\":\"J\u00fcrgen\"}".getBytes("UTF-8");
+		TwilioRestResponse response = new TwilioRestResponse("http://example.com/test?Page=1&PageSize=50", body, 200);
+		assertEquals("http://example.com/test", response.getUrl());
+		assertEquals("Page=1&PageSize=50", response.getQueryString());
+		assertTrue(body == response.getResponseBytes());
+
+		response.setContentType("application/json");
+		assertEquals("{\"name\":\"J\u00fcrgen\"}", response.getResponseText());
+		assertEquals("J\u00fcrgen", response.toMap().get("name"));
+
+		response = new TwilioRestResponse("http://example.com/test", "caf\u00e9".getBytes("ISO-8859-1"), 200);
+		response.setContentType("text/xml; charset=ISO-8859-1");
+		assertEquals("caf\u00e9", response.getResponseText());
+		assertEquals("", response.getQueryString());
+	}
+
+	/**
+	 * Test parsing raw bodies.
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testParsersReadBytes() throws Exception {
+		Charset latin1 = Charset.forName("ISO-8859-1");
+		JsonResponseParser json = new JsonResponseParser();
+		assertEquals("caf\u00e9", json.parse("{\"name\":\"caf\u00e9\"}".getBytes("UTF-8"), Charset.forName("UTF-8")).get("name"));
+		assertEquals("caf\u00e9", json.parse("{\"name\":\"caf\u00e9\"}".getBytes("ISO-8859-1"), latin1).get("name"));
+		assertEquals("caf\u00e9", json.parse(new ByteArrayInputStream("{\"name\":\"caf\u00e9\"}".getBytes("UTF-8")), null)
+				.get("name"));
+
+		XmlResponseParser xml = new XmlResponseParser();
+		byte[] body = "<TwilioResponse><Call><Sid>CA123</Sid><To>caf\u00e9</To></Call></TwilioResponse>".getBytes("ISO-8859-1");
+		Map<String, Object> call = (Map<String, Object>) xml.parse(body, latin1).get("Call");
+		assertEquals("CA123", call.get("Sid"));
+		assertEquals("caf\u00e9", call.get("To"));
+	}
+
+	/**
+	 * Test that an empty JSON body has no properties and a malformed one fails.
+	 */
+	@Test
+	public void testJsonParserRejectsMalformedBodies() throws Exception {
+		JsonResponseParser json = new JsonResponseParser();
+		assertTrue(json.parse(new byte[0], null).isEmpty());
+		try {
+			json.parse("{\"name\":".getBytes("UTF-8"), null);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getCause() instanceof IOException);
+		}
+	}
+
+	/**
+	 * Test that a malformed error body still maps to an exception.
+	 */
+	@Test
+	public void testMalformedErrorBody() throws Exception {
+		TwilioRestResponse response = new TwilioRestResponse("http://example.com/test",
+				"<html>Bad Gateway</html>".getBytes("UTF-8"), 502);
+		response.setContentType("application/json");
+		assertTrue(response.toMap().isEmpty());
+		assertTrue(response.getParser().parse(response).isEmpty());
+
+		TwilioRestException e = TwilioRestException.parseResponse(response);
+		assertEquals(502, e.getStatus());
+		assertEquals(0, e.getErrorCode());
+		assertEquals("", e.getErrorMessage());
+	}
 }
@@ -0,0 +1,84 @@
+package com.twilio.sdk;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class WebhookValidatorRegistryTest {
+
+	private static final String ACCOUNT_SID = "AC123";
+	private static final String OLD_TOKEN = "12345";
+	private static final String NEW_TOKEN = "67890";
+	private static final String URL = "https://mycompany.com/myapp.php?foo=1&bar=2";
+
+	private Map<String, String> params;
+
+	@Before
+	public void setUp() {
+		params = new HashMap<String, String>();
+		params.put("CallSid", "CA1234567890ABCDE");
+		params.put("Caller", "+14158675309");
+		params.put("Digits", "1234");
+		params.put("From", "+14158675309");
+		params.put("To", "+18005551212");
+	}
+
+	private String sign(final String token) {
+		return new TwilioUtils(token).getValidationSignature(URL, params);
+	}
+
+	@Test
+	public void testValidateMatchesTwilioUtils() {
+		WebhookValidatorRegistry registry = new WebhookValidatorRegistry();
+		registry.register(ACCOUNT_SID, OLD_TOKEN);
+
+		assertEquals("RSOYDt4T1cUTdK1PDd93/VVr8B8=", sign(OLD_TOKEN));
+		assertTrue(registry.validateRequest(ACCOUNT_SID, sign(OLD_TOKEN), URL, params));
+		assertFalse(registry.validateRequest(ACCOUNT_SID, sign(NEW_TOKEN), URL, params));
+		assertFalse(registry.validateRequest("AC456", sign(OLD_TOKEN), URL, params));
+	}
+
+	@Test
+	public void testRotateAcceptsCurrentAndPrevious() {
+		WebhookValidatorRegistry registry = new WebhookValidatorRegistry();
+		registry.register(ACCOUNT_SID, OLD_TOKEN);
+		registry.rotate(ACCOUNT_SID, NEW_TOKEN);
+
+		assertEquals(2, registry.getActiveTokenCount(ACCOUNT_SID));
+		assertTrue(registry.validateRequest(ACCOUNT_SID, sign(OLD_TOKEN), URL, params));
+		assertTrue(registry.validateRequest(ACCOUNT_SID, sign(NEW_TOKEN), URL, params));
+
+		registry.retirePrevious(ACCOUNT_SID);
+		assertEquals(1, registry.getActiveTokenCount(ACCOUNT_SID));
+		assertFalse(registry.validateRequest(ACCOUNT_SID, sign(OLD_TOKEN), URL, params));
+		assertTrue(registry.validateRequest(ACCOUNT_SID, sign(NEW_TOKEN), URL, params));
+	}
+
+	@Test
+	public void testRotateDropsOldestToken() {
+		WebhookValidatorRegistry registry = new WebhookValidatorRegistry();
+		registry.rotate(ACCOUNT_SID, "first");
+		registry.rotate(ACCOUNT_SID, OLD_TOKEN);
+		registry.rotate(ACCOUNT_SID, NEW_TOKEN);
+
+		assertEquals(2, registry.getActiveTokenCount(ACCOUNT_SID));
+		assertFalse(registry.validateRequest(ACCOUNT_SID, sign("first"), URL, params));
+		assertTrue(registry.validateRequest(ACCOUNT_SID, sign(OLD_TOKEN), URL, params));
+	}
+
+	@Test
+	public void testRemove() {
+		WebhookValidatorRegistry registry = new WebhookValidatorRegistry();
+		registry.register(ACCOUNT_SID, OLD_TOKEN);
+		registry.remove(ACCOUNT_SID);
+
+		assertFalse(registry.isRegistered(ACCOUNT_SID));
+		assertFalse(registry.validateRequest(ACCOUNT_SID, sign(OLD_TOKEN), URL, params));
+	}
+}
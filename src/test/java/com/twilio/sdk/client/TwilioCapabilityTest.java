@@ -0,0 +1,74 @@
+package com.twilio.sdk.client;
+
+import org.apache.commons.codec.binary.Base64;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TwilioCapabilityTest {
+
+	private static String getScope(String token) throws Exception {
+		String[] parts = token.split("\\.");
+		assertEquals(3, parts.length);
+		String json = new String(Base64.decodeBase64(parts[1]), "UTF-8");
+		JSONObject payload = (JSONObject) new JSONParser().parse(json);
+		return (String) payload.get("scope");
+	}
+
+	@Test
+	public void testGenerateTokenDoesNotDuplicateScopes() throws Exception {
+		TwilioCapability capability = new TwilioCapability("AC123", "secret");
+		capability.allowClientIncoming("alice");
+		capability.allowClientOutgoing("AP123");
+
+		String first = getScope(capability.generateToken());
+		String second = getScope(capability.generateToken(60));
+		assertEquals(first, second);
+		assertEquals(2, first.split(" ").length);
+		assertNull(capability.getScope());
+	}
+
+	@Test
+	public void testBuilder() throws Exception {
+		Map<String, String> params = new HashMap<String, String>();
+		params.put("foo", "bar");
+
+		TwilioCapability capability = new TwilioCapability.Builder("AC123", "secret")
+				.allowClientOutgoing("AP123", params)
+				.allowClientIncoming("alice")
+				.allowEventStream(null)
+				.build();
+
+		params.put("foo", "changed");
+
+		String scope = capability.getScope();
+		assertEquals(scope, getScope(capability.generateToken()));
+		assertEquals(scope, getScope(capability.generateToken(60)));
+		String[] scopes = scope.split(" ");
+		assertEquals(3, scopes.length);
+		assertEquals("scope:client:incoming?clientName=alice", scopes[0]);
+		assertTrue(scopes[1].startsWith("scope:client:outgoing?"));
+		assertTrue(scopes[1].contains("appParams=foo%3Dbar"));
+		assertEquals("scope:stream:subscribe?path=%2F2010-04-01%2FEvents", scopes[2]);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testBuiltCapabilityIsImmutable() {
+		TwilioCapability capability = new TwilioCapability.Builder("AC123", "secret")
+				.allowClientIncoming("alice")
+				.build();
+		capability.allowClientIncoming("bob");
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testBuilderRequiresIncomingClientName() {
+		new TwilioCapability.Builder("AC123", "secret").allowClientIncoming(null).build();
+	}
+}
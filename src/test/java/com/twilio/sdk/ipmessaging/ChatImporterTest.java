@@ -0,0 +1,209 @@
+package com.twilio.sdk.ipmessaging;
+
+import com.twilio.sdk.TwilioIPMessagingClient;
+import com.twilio.sdk.resource.instance.FakeHttpClient;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ChatImporterTest {
+
+	private static final String CHANNELS = "/v1/Services/IS123/Channels";
+
+	private TwilioIPMessagingClient client;
+
+	// "METHOD path param=value ..." of every request, in order
+	private final List<String> requests = Collections.synchronizedList(new ArrayList<String>());
+
+	// sids of the channels created, by unique name
+	private final Map<String, String> channels = new ConcurrentHashMap<String, String>();
+
+	private final AtomicInteger tooManyRequests = new AtomicInteger();
+
+	private final AtomicInteger serverErrors = new AtomicInteger();
+
+	private final AtomicInteger posts = new AtomicInteger();
+
+	private volatile String failingBody;
+
+	@Before
+	public void setup() throws Exception {
+		HttpClient httpClient = FakeHttpClient.create(new FakeHttpClient.Server() {
+			public HttpResponse respond(final HttpUriRequest request) throws Exception {
+				String path = request.getURI().getPath();
+				StringBuilder description = new StringBuilder(request.getMethod() + " " + path);
+				Map<String, String> params = FakeHttpClient.params(request);
+				for (final Map.Entry<String, String> param : params.entrySet()) {
+					description.append(' ').append(param.getKey()).append('=').append(param.getValue());
+				}
+				String body = params.get("Body");
+
+				if ("GET".equals(request.getMethod())) {
+					StringBuilder list = new StringBuilder("{\"sid\":\"CHexisting\",\"unique_name\":\"general\"}");
+					for (final Map.Entry<String, String> channel : channels.entrySet()) {
+						list.append(",{\"sid\":\"").append(channel.getValue()).append("\",\"unique_name\":\"")
+								.append(channel.getKey()).append("\"}");
+					}
+					requests.add(description.toString());
+					return FakeHttpClient.json(200, "{\"meta\":{\"key\":\"channels\"},\"channels\":[" + list + "]}");
+				}
+				posts.incrementAndGet();
+				if (tooManyRequests.getAndDecrement() > 0) {
+					return FakeHttpClient.error(429, "Too many requests");
+				} else if (serverErrors.getAndDecrement() > 0) {
+					return FakeHttpClient.error(503, "Service unavailable");
+				} else if (body != null && body.equals(failingBody)) {
+					return FakeHttpClient.error(400, "Invalid body");
+				}
+				requests.add(description.toString());
+				if (path.equals(CHANNELS)) {
+					String sid = "CH" + params.get("UniqueName");
+					channels.put(params.get("UniqueName"), sid);
+					return FakeHttpClient.json(200, "{\"sid\":\"" + sid + "\"}");
+				}
+				return FakeHttpClient.json(200, "{\"sid\":\"IM123\"}");
+			}
+		});
+		client = new TwilioIPMessagingClient("AC0123456789abcdef0123456789abcdef", "0123456789abcdef0123456789abcdef");
+		client.setHttpClient(httpClient);
+	}
+
+	private List<ImportRecord> history(final int channels, final int messages) {
+		List<ImportRecord> records = new ArrayList<ImportRecord>();
+		for (int i = 0; i < messages; i++) {
+			for (int c = 0; c < channels; c++) {
+				if (i == 0) {
+					records.add(ImportRecord.member("room" + c, "alice"));
+				}
+				records.add(ImportRecord.message("room" + c, "alice", "room" + c + " #" + i));
+			}
+		}
+		return records;
+	}
+
+	private List<String> requestsFor(final String channelSid) {
+		List<String> matching = new ArrayList<String>();
+		synchronized (requests) {
+			for (final String request : requests) {
+				if (request.startsWith("POST " + CHANNELS + "/" + channelSid + "/")) {
+					matching.add(request);
+				}
+			}
+		}
+		return matching;
+	}
+
+	@Test
+	public void testKeepsChannelOrder() throws Exception {
+		tooManyRequests.set(3);
+		ChatImporter.Report report = client.getChatImporter("IS123")
+				.concurrency(4)
+				.backoff(1, 5, TimeUnit.MILLISECONDS)
+				.build()
+				.run(history(6, 20).iterator());
+
+		assertTrue(report.isComplete());
+		assertEquals(6, report.getChannelsCreated());
+		assertEquals(6, report.getMembersCreated());
+		assertEquals(120, report.getMessagesCreated());
+		assertEquals(3, report.getRetryCount());
+		for (int c = 0; c < 6; c++) {
+			List<String> channelRequests = requestsFor("CHroom" + c);
+			assertEquals(21, channelRequests.size());
+			assertTrue(channelRequests.get(0).contains("/Members"));
+			for (int i = 0; i < 20; i++) {
+				assertTrue(channelRequests.get(i + 1).matches(".* Body=room" + c + " #" + i + "( .*)?"));
+			}
+		}
+	}
+
+	@Test
+	public void testUsesExistingChannels() throws Exception {
+		List<ImportRecord> records = new ArrayList<ImportRecord>();
+		records.add(ImportRecord.channel("general", Collections.singletonMap("FriendlyName", "General")));
+		records.add(ImportRecord.message("general", "bob", "hello"));
+		records.add(ImportRecord.channel("random", Collections.singletonMap("FriendlyName", "Random")));
+		ChatImporter.Report report = client.importRecords("IS123", records.iterator());
+
+		assertEquals(1, report.getChannelsCreated());
+		assertEquals(1, report.getMessagesCreated());
+		assertTrue(requests.contains("POST " + CHANNELS + "/CHexisting FriendlyName=General"));
+		assertEquals(1, requestsFor("CHexisting").size());
+		boolean created = false;
+		for (final String request : requests) {
+			created |= request.startsWith("POST " + CHANNELS + " ") && request.contains("UniqueName=random")
+					&& request.contains("FriendlyName=Random");
+		}
+		assertTrue(created);
+	}
+
+	@Test
+	public void testResumesAfterFailure() throws Exception {
+		File file = File.createTempFile("import", ".progress");
+		file.delete();
+		try {
+			ChatImporter.ProgressStore store = new ChatImporter.FileProgressStore(file);
+			failingBody = "room1 #5";
+			ChatImporter.Report report = client.getChatImporter("IS123")
+					.progressStore(store)
+					.checkpointInterval(1)
+					.build()
+					.run(history(3, 10).iterator());
+
+			assertFalse(report.isComplete());
+			assertEquals(Collections.singleton("room1"), report.getFailures().keySet());
+			assertEquals(4, report.getSkippedCount());
+			Map<String, Long> progress = store.load();
+			assertEquals(Long.valueOf(11), progress.get("room0"));
+			assertEquals(Long.valueOf(6), progress.get("room1"));
+
+			failingBody = null;
+			requests.clear();
+			report = client.getChatImporter("IS123")
+					.progressStore(store)
+					.build()
+					.run(history(3, 10).iterator());
+
+			assertTrue(report.isComplete());
+			assertEquals(28, report.getResumedCount());
+			assertEquals(5, report.getMessagesCreated());
+			assertEquals(0, report.getChannelsCreated());
+			List<String> resumed = requestsFor("CHroom1");
+			assertTrue(resumed.get(0).matches(".* Body=room1 #5( .*)?"));
+			assertTrue(resumed.get(4).matches(".* Body=room1 #9( .*)?"));
+			assertEquals(Long.valueOf(11), store.load().get("room1"));
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testDoesNotRepostAfterServerError() throws Exception {
+		serverErrors.set(1);
+		ChatImporter.Report report = client.getChatImporter("IS123")
+				.backoff(1, 5, TimeUnit.MILLISECONDS)
+				.build()
+				.run(history(1, 1).iterator());
+
+		// the channel may have been created, so it is not posted again
+		assertEquals(1, posts.get());
+		assertEquals(0, report.getRetryCount());
+		assertEquals(Collections.singleton("room0"), report.getFailures().keySet());
+		assertEquals(1, report.getSkippedCount());
+	}
+}
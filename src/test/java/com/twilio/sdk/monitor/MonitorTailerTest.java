@@ -0,0 +1,176 @@
+package com.twilio.sdk.monitor;
+
+import com.twilio.sdk.resource.instance.BasicRequestTester;
+import com.twilio.sdk.resource.instance.monitor.Alert;
+import com.twilio.sdk.resource.instance.monitor.Event;
+import com.twilio.sdk.tailer.CheckpointStore;
+import com.twilio.sdk.tailer.MemoryCheckpointStore;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MonitorTailerTest extends BasicRequestTester {
+
+	private static final String ALERTS = "/com/twilio/sdk/resource/list/monitor/alerts.json";
+
+	private static final String EVENTS = "/com/twilio/sdk/resource/list/monitor/events.json";
+
+	private Calendar startDate;
+
+	@Before
+	public void setup() throws Exception {
+		setExpectedServerContentType("application/json");
+		setExpectedServerReturnCode(200);
+		startDate = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+		startDate.clear();
+		startDate.set(2014, Calendar.OCTOBER, 1);
+	}
+
+	@Test
+	public void testPauseResumesOnNextPoll() throws Exception {
+		BlockingQueue<Alert> queue = new ArrayBlockingQueue<Alert>(1);
+		MonitorTailer<Alert> tailer = MonitorTailer.alerts(monitorClient)
+				.queue(queue, MonitorTailer.BackpressurePolicy.PAUSE)
+				.startDate(startDate)
+				.build();
+
+		setExpectedServerAnswer(ALERTS);
+		assertEquals(1, tailer.poll());
+		assertEquals(1, tailer.getPausedCount());
+		// alerts with the same date are delivered in sid order
+		assertEquals("NO7bd5bf2efbdf0500dc321b3a772e9229", tailer.getCheckpoint().getSid());
+		assertEquals("NO7bd5bf2efbdf0500dc321b3a772e9229", queue.poll().getSid());
+
+		setExpectedServerAnswer(ALERTS);
+		assertEquals(1, tailer.poll());
+		assertEquals("NOf9a8decd348f123d17b716658e7b3932", queue.poll().getSid());
+		assertEquals(2, tailer.getDeliveredCount());
+		assertEquals(1, tailer.getDuplicateCount());
+		assertEquals(4, tailer.getFetchedCount());
+		assertEquals(0, tailer.getDroppedCount());
+	}
+
+	@Test
+	public void testDropOldestKeepsNewest() throws Exception {
+		BlockingQueue<Alert> queue = new ArrayBlockingQueue<Alert>(1);
+		MonitorTailer<Alert> tailer = monitorClient.getAlertTailer(queue, MonitorTailer.BackpressurePolicy.DROP_OLDEST);
+
+		setExpectedServerAnswer(ALERTS);
+		assertEquals(2, tailer.poll());
+		assertEquals(1, tailer.getDroppedCount());
+		assertEquals(1, tailer.getQueueSize());
+		assertEquals("NOf9a8decd348f123d17b716658e7b3932", queue.poll().getSid());
+		// the alerts predate the start of the tailer, which never moves its checkpoint back
+		assertNull(tailer.getCheckpoint().getSid());
+	}
+
+	@Test
+	public void testDropNewestIsNotDelivered() throws Exception {
+		BlockingQueue<Alert> queue = new ArrayBlockingQueue<Alert>(1);
+		MonitorTailer<Alert> tailer = MonitorTailer.alerts(monitorClient)
+				.queue(queue, MonitorTailer.BackpressurePolicy.DROP_NEWEST)
+				.startDate(startDate)
+				.build();
+
+		setExpectedServerAnswer(ALERTS);
+		assertEquals(1, tailer.poll());
+		assertEquals(1, tailer.getDroppedCount());
+		assertEquals(1, tailer.getDeliveredCount());
+		assertEquals(1, tailer.getDeliveryLag().getCount());
+		assertEquals("NO7bd5bf2efbdf0500dc321b3a772e9229", queue.poll().getSid());
+
+		// the dropped alert is not remembered, so the overlap offers it again
+		setExpectedServerAnswer(ALERTS);
+		assertEquals(1, tailer.poll());
+		assertEquals("NOf9a8decd348f123d17b716658e7b3932", queue.poll().getSid());
+		assertEquals(2, tailer.getDeliveryLag().getCount());
+	}
+
+	@Test
+	public void testResumeDoesNotRedeliver() throws Exception {
+		CheckpointStore store = new MemoryCheckpointStore();
+		BlockingQueue<Alert> queue = new ArrayBlockingQueue<Alert>(10);
+		MonitorTailer<Alert> first = MonitorTailer.alerts(monitorClient)
+				.queue(queue, MonitorTailer.BackpressurePolicy.BLOCK)
+				.checkpointStore(store)
+				.startDate(startDate)
+				.build();
+		setExpectedServerAnswer(ALERTS);
+		assertEquals(2, first.poll());
+
+		MonitorTailer<Alert> second = MonitorTailer.alerts(monitorClient)
+				.queue(queue, MonitorTailer.BackpressurePolicy.BLOCK)
+				.checkpointStore(store)
+				.build();
+		setExpectedServerAnswer(ALERTS);
+		assertEquals(0, second.poll());
+		setExpectedServerAnswer(ALERTS);
+		assertEquals(0, second.poll());
+		assertEquals(4, second.getDuplicateCount());
+		assertEquals(2, queue.size());
+	}
+
+	@Test(timeout = 10000)
+	public void testCheckpointAgeWhileBlocked() throws Exception {
+		final BlockingQueue<Alert> queue = new ArrayBlockingQueue<Alert>(1);
+		final MonitorTailer<Alert> tailer = MonitorTailer.alerts(monitorClient)
+				.queue(queue, MonitorTailer.BackpressurePolicy.BLOCK)
+				.startDate(startDate)
+				.build();
+		setExpectedServerAnswer(ALERTS);
+		Thread poller = new Thread(new Runnable() {
+			public void run() {
+				try {
+					tailer.poll();
+				} catch (final Exception e) {
+					// reported by the assertions below
+				}
+			}
+		});
+		poller.start();
+		while (queue.remainingCapacity() > 0 || poller.getState() != Thread.State.WAITING) {
+			Thread.sleep(10);
+		}
+
+		// the poll is blocked on the full queue, holding the tailer's lock
+		assertTrue(tailer.getCheckpointAgeMillis() > 0);
+		poller.interrupt();
+		poller.join();
+		assertEquals(1, tailer.getDeliveredCount());
+	}
+
+	@Test
+	public void testTracksLag() throws Exception {
+		final List<Event> received = new ArrayList<Event>();
+		MonitorTailer<Event> tailer = MonitorTailer.events(monitorClient)
+				.listener(new MonitorTailer.Listener<Event>() {
+					public void onItem(final Event event) {
+						received.add(event);
+					}
+				})
+				.startDate(startDate)
+				.build();
+		assertEquals(-1, tailer.getCheckpointAgeMillis());
+		assertEquals(-1, tailer.getLastDeliveryLagMillis());
+
+		setExpectedServerAnswer(EVENTS);
+		assertEquals(1, tailer.poll());
+		assertEquals("AE9ef65da5ad5243fd8336334cf98721ea", received.get(0).getSid());
+		assertTrue(tailer.getLastDeliveryLagMillis() > 0);
+		assertTrue(tailer.getCheckpointAgeMillis() >= tailer.getLastDeliveryLagMillis());
+		assertEquals(1, tailer.getDeliveryLag().getCount());
+		assertTrue(tailer.getLastPollMillis() > 0);
+		assertNull(tailer.getLastError());
+	}
+}
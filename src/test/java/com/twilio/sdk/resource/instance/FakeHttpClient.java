@@ -0,0 +1,131 @@
+package com.twilio.sdk.resource.instance;
+
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.utils.URLEncodedUtils;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * An HttpClient answering each request from a {@link Server}, for tests whose
+ * responses depend on the request. Unlike the single canned response of
+ * {@link BasicRequestTester}, it serves concurrent requests in parallel: it
+ * answers through a default answer, which Mockito does not serialize the way
+ * it does stubbed calls.
+ */
+public final class FakeHttpClient {
+
+	/**
+	 * Answers the requests made through a fake client.
+	 */
+	public interface Server {
+
+		/**
+		 * @param request the request
+		 * @return the response
+		 * @throws Exception to fail the request
+		 */
+		HttpResponse respond(HttpUriRequest request) throws Exception;
+	}
+
+	private FakeHttpClient() {
+	}
+
+	/**
+	 * @param server answers each request
+	 * @return a client sending its requests to the server
+	 */
+	public static HttpClient create(final Server server) {
+		return mock(HttpClient.class, new Answer<Object>() {
+			public Object answer(final InvocationOnMock invocation) throws Throwable {
+				Object[] arguments = invocation.getArguments();
+				if ("execute".equals(invocation.getMethod().getName()) && arguments.length == 1
+						&& arguments[0] instanceof HttpUriRequest) {
+					return server.respond((HttpUriRequest) arguments[0]);
+				}
+				return Mockito.RETURNS_DEFAULTS.answer(invocation);
+			}
+		});
+	}
+
+	/**
+	 * @param status the HTTP status
+	 * @param json the body
+	 * @return a JSON response
+	 */
+	public static HttpResponse json(final int status, final String json) throws IOException {
+		byte[] bytes = json.getBytes("UTF-8");
+		return response(status, new InputStreamEntity(new ByteArrayInputStream(bytes), bytes.length));
+	}
+
+	/**
+	 * @param status the HTTP status
+	 * @param resourceName the class path resource holding the body
+	 * @return a JSON response
+	 */
+	public static HttpResponse resource(final int status, final String resourceName) {
+		return response(status, new InputStreamEntity(FakeHttpClient.class.getResourceAsStream(resourceName), -1));
+	}
+
+	/**
+	 * @param status the HTTP status
+	 * @return a Twilio error response, with error code 20 followed by the status
+	 */
+	public static HttpResponse error(final int status) throws IOException {
+		return error(status, "Failed");
+	}
+
+	/**
+	 * @param status the HTTP status
+	 * @param message the error message
+	 * @return a Twilio error response, with error code 20 followed by the status
+	 */
+	public static HttpResponse error(final int status, final String message) throws IOException {
+		return json(status, "{\"code\":20" + status + ",\"message\":\"" + message + "\",\"status\":" + status + "}");
+	}
+
+	/**
+	 * @param status the HTTP status
+	 * @return a response without a body
+	 */
+	public static HttpResponse empty(final int status) {
+		return response(status, new InputStreamEntity(new ByteArrayInputStream(new byte[0]), 0));
+	}
+
+	/**
+	 * @param request a request
+	 * @return the form parameters of a POST, in order, or an empty map
+	 */
+	public static Map<String, String> params(final HttpUriRequest request) throws IOException {
+		if (!(request instanceof HttpEntityEnclosingRequest)) {
+			return Collections.emptyMap();
+		}
+		Map<String, String> params = new LinkedHashMap<String, String>();
+		for (final NameValuePair pair : URLEncodedUtils.parse(((HttpEntityEnclosingRequest) request).getEntity())) {
+			params.put(pair.getName(), pair.getValue());
+		}
+		return params;
+	}
+
+	private static HttpResponse response(final int status, final InputStreamEntity entity) {
+		BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, status, "");
+		response.setEntity(entity);
+		response.setHeader("Content-Type", "application/json");
+		return response;
+	}
+}
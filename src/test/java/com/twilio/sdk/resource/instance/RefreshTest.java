@@ -0,0 +1,109 @@
+package com.twilio.sdk.resource.instance;
+
+import com.twilio.sdk.IPMessagingCache;
+import com.twilio.sdk.TwilioIPMessagingClient;
+import com.twilio.sdk.resource.instance.ipmessaging.Service;
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RefreshTest {
+
+	private static final String SERVICE_SID = "ISaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa";
+
+	private TwilioIPMessagingClient client;
+
+	// the If-None-Match header of every request, or null
+	private final List<String> conditions = new ArrayList<String>();
+
+	private String etag = "\"v1\"";
+
+	private String friendlyName = "before";
+
+	@Before
+	public void setup() throws Exception {
+		HttpClient httpClient = FakeHttpClient.create(new FakeHttpClient.Server() {
+			public HttpResponse respond(final HttpUriRequest request) throws Exception {
+				Header condition = request.getFirstHeader("If-None-Match");
+				conditions.add(condition == null ? null : condition.getValue());
+
+				if (condition != null && condition.getValue().equals(etag)) {
+					return FakeHttpClient.empty(304);
+				}
+				HttpResponse response = FakeHttpClient.json(200,
+						"{\"sid\":\"" + SERVICE_SID + "\",\"friendly_name\":\"" + friendlyName + "\"}");
+				response.setHeader("ETag", etag);
+				response.setHeader("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT");
+				return response;
+			}
+		});
+		client = new TwilioIPMessagingClient("AC0123456789abcdef0123456789abcdef", "0123456789abcdef0123456789abcdef");
+		client.setHttpClient(httpClient);
+	}
+
+	@Test
+	public void testNotModifiedKeepsProperties() throws Exception {
+		Service service = client.getService(SERVICE_SID);
+		assertNull(service.getETag());
+		assertEquals("before", service.getFriendlyName());
+		assertEquals("\"v1\"", service.getETag());
+		assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", service.getLastModified());
+
+		assertFalse(service.refresh());
+		assertEquals("before", service.getFriendlyName());
+		assertEquals("\"v1\"", service.getETag());
+
+		etag = "\"v2\"";
+		friendlyName = "after";
+		assertTrue(service.refresh());
+		assertEquals("after", service.getFriendlyName());
+		assertEquals("\"v2\"", service.getETag());
+
+		assertNull(conditions.get(0));
+		assertEquals("\"v1\"", conditions.get(1));
+		assertEquals("\"v1\"", conditions.get(2));
+	}
+
+	@Test
+	public void testRefreshLoadsUnloadedResource() throws Exception {
+		Service service = client.getService(SERVICE_SID);
+		assertTrue(service.refresh());
+		assertEquals("before", service.getFriendlyName());
+		assertEquals(1, conditions.size());
+	}
+
+	@Test
+	public void testRefreshesThroughCache() throws Exception {
+		IPMessagingCache cache = new IPMessagingCache();
+		client.setCache(cache);
+		Service service = client.getService(SERVICE_SID);
+		assertEquals("before", service.getFriendlyName());
+		// loaded from the cache, with the validators it was cached with
+		Service cached = client.getService(SERVICE_SID);
+		assertEquals("before", cached.getFriendlyName());
+		assertEquals("\"v1\"", cached.getETag());
+		assertFalse(cached.refresh());
+
+		etag = "\"v2\"";
+		friendlyName = "after";
+		assertTrue(cached.refresh());
+		assertEquals("after", client.getService(SERVICE_SID).getFriendlyName());
+		assertEquals("\"v2\"", cache.getEntry("/v1/Services/" + SERVICE_SID).getETag());
+
+		assertNull(conditions.get(0));
+		assertEquals("\"v1\"", conditions.get(1));
+		assertEquals("\"v1\"", conditions.get(2));
+		assertEquals(3, conditions.size());
+	}
+}
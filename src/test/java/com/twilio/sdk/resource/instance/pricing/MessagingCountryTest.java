@@ -34,5 +34,25 @@ public class MessagingCountryTest extends BasicRequestTester {
         List<MessagingCountry.MessagingPrice> inboundPrices = country.getInboundSmsPrices();
         assertEquals(2, inboundPrices.size());
     }
+
+    @Test
+    public void testGetPriceTables() throws Exception {
+        setExpectedServerReturnCode(200);
+        MessagingCountry country = pricingClient.getMessagingCountry("EE");
+
+        NumberTypePriceTable outbound = country.getOutboundSmsPriceTable();
+        assertEquals(2, outbound.size());
+        assertEquals("275", outbound.getMcc(0));
+        assertEquals("1", outbound.getMnc(0));
+        assertEquals("Estonia mobile", outbound.getCarrier(0));
+        assertEquals(NumberType.MOBILE, outbound.getNumberType(0));
+        assertEquals(75000, outbound.getBasePriceMicros(0));
+        assertEquals(10000, outbound.getMaxCurrentPriceMicros(NumberType.MOBILE));
+        assertEquals(-1, outbound.getMaxCurrentPriceMicros(NumberType.TOLL_FREE));
+
+        NumberTypePriceTable inbound = country.getInboundSmsPriceTable();
+        assertEquals(2, inbound.size());
+        assertEquals(7000, inbound.getCurrentPriceMicros(inbound.indexOf(NumberType.MOBILE)));
+    }
 }
 
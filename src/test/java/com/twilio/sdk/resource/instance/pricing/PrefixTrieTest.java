@@ -0,0 +1,47 @@
+package com.twilio.sdk.resource.instance.pricing;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class PrefixTrieTest {
+
+    @Test
+    public void testLongestPrefixWins() {
+        PrefixTrie trie = new PrefixTrie.Builder().add("372", 0, 100).add("3725", 1, 200).build();
+        assertEquals(2, trie.size());
+        assertEquals(1, trie.indexOf("+3725 123"));
+        assertEquals(0, trie.indexOf("+3726 123"));
+        assertEquals(-1, trie.indexOf("+44"));
+    }
+
+    @Test
+    public void testDuplicatePrefixKeepsHigherPrice() {
+        PrefixTrie trie = new PrefixTrie.Builder().add("372", 0, 100).add("372", 1, 300).add("372", 2, 200).build();
+        assertEquals(1, trie.size());
+        assertEquals(1, trie.indexOf("+372"));
+
+        trie = new PrefixTrie.Builder().add("372", 0, 100).add("372", 1, 100).build();
+        assertEquals(0, trie.indexOf("+372"));
+    }
+
+    @Test
+    public void testNormalizesNumbers() {
+        PrefixTrie trie = new PrefixTrie.Builder().add("372", 0, 100).build();
+        assertEquals(0, trie.indexOf(" +372 5"));
+        assertEquals(0, trie.indexOf("00372 5"));
+        assertEquals(0, trie.indexOf("(372) 5"));
+        assertEquals(-1, trie.indexOf(""));
+    }
+
+    @Test
+    public void testRejectsNonDigitPrefix() {
+        try {
+            new PrefixTrie.Builder().add("37a", 0, 100);
+            fail("Expected IllegalArgumentException");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
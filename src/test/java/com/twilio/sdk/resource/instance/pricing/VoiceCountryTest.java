@@ -9,6 +9,11 @@ import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class VoiceCountryTest extends BasicRequestTester {
 
@@ -44,4 +49,56 @@ public class VoiceCountryTest extends BasicRequestTester {
         assertEquals(new BigDecimal("0.0075"), inboundCallPrice.getBasePrice());
         assertEquals(new BigDecimal("0.0070"), inboundCallPrice.getCurrentPrice());
     }
+
+    @Test
+    public void testGetPriceTables() throws Exception {
+        setExpectedServerReturnCode(200);
+        VoiceCountry country = pricingClient.getVoiceCountry("EE");
+
+        PrefixPriceTable outbound = country.getOutboundPrefixPriceTable();
+        assertEquals(6, outbound.size());
+        assertEquals("372", outbound.getPrefix(0));
+        assertEquals(33000, outbound.getBasePriceMicros(0));
+        assertEquals(30000, outbound.getCurrentPriceMicros(0));
+        // comma separated prefixes are split into rows
+        assertEquals("37282", outbound.getPrefix(5));
+        assertEquals("Programmable Outbound Minute - Other", outbound.getFriendlyName(5));
+        assertEquals(57500, outbound.getCurrentPriceMicros("+372 5555 1234"));
+        assertEquals(465000, outbound.getCurrentPriceMicros("+37240123456"));
+        assertEquals(-1, outbound.getCurrentPriceMicros("+15108675309"));
+        // falls back to the longest prefix that matches completely
+        assertEquals(0, outbound.indexOf("+3728 999"));
+        assertEquals(4, outbound.indexOf("(372) 81"));
+        assertEquals(4, outbound.indexOf("00 372 81"));
+        assertEquals(-1, outbound.indexOf(""));
+        assertSame(outbound, country.getOutboundPrefixPriceTable());
+
+        NumberTypePriceTable inbound = country.getInboundCallPriceTable();
+        assertEquals(2, inbound.size());
+        assertEquals(1, inbound.indexOf(NumberType.NATIONAL));
+        assertEquals(7500, inbound.getBasePriceMicros(1));
+        assertEquals(7000, inbound.getCurrentPriceMicros(1));
+        assertNull(inbound.getCarrier(1));
+
+        // refreshing decodes the tables again
+        setup();
+        assertTrue(country.refresh());
+        assertNotSame(outbound, country.getOutboundPrefixPriceTable());
+        assertNotSame(inbound, country.getInboundCallPriceTable());
+    }
+
+    @Test
+    public void testParsePriceMicros() {
+        assertEquals(57500, PriceMicros.parse("0.0575"));
+        assertEquals(1250000, PriceMicros.parse("1.25"));
+        assertEquals(1, PriceMicros.parse("0.0000005"));
+        assertEquals(-30000, PriceMicros.parse("-.03"));
+        assertEquals(new BigDecimal("0.057500"), PriceMicros.toBigDecimal(57500));
+        try {
+            PriceMicros.parse("0.0.1");
+            fail("expected a NumberFormatException");
+        } catch (final NumberFormatException e) {
+            // expected
+        }
+    }
 }
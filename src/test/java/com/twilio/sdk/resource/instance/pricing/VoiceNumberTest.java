@@ -36,5 +36,10 @@ public class VoiceNumberTest extends BasicRequestTester {
         VoiceNumber.OutboundCallPrice outboundCallPrice = number.getOutboundCallPrice();
         assertEquals(new BigDecimal("0.015"), outboundCallPrice.getBasePrice());
         assertEquals(new BigDecimal("0.015"), outboundCallPrice.getCurrentPrice());
+
+        assertEquals(15000, number.getOutboundCallBasePriceMicros());
+        assertEquals(15000, number.getOutboundCallCurrentPriceMicros());
+        assertEquals(7500, number.getInboundCallBasePriceMicros());
+        assertEquals(7000, number.getInboundCallCurrentPriceMicros());
     }
 }
@@ -7,6 +7,7 @@ import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class TaskQueueStatisticsTest extends BasicRequestTester {
@@ -44,4 +45,17 @@ public class TaskQueueStatisticsTest extends BasicRequestTester {
 		assertTrue(taskQueueStatistics.getTotalTasks() == 1);
 	}
 
+	@Test
+	public void testActivityStatisticsDecodedOnce() throws Exception {
+		setExpectedServerReturnCode(200);
+		TaskQueueStatistics taskQueueStatistics = taskRouterClient
+				.getQueueStatistics("WSaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa", "WQaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+		assertSame(taskQueueStatistics.getActivityStatistics(), taskQueueStatistics.getActivityStatistics());
+
+		ActivityStatistic offline = taskQueueStatistics.getActivityStatistic("WA7bace730cef6eb1d1e9861874d040f8e");
+		assertEquals(Integer.valueOf(1), offline.getWorkers());
+		assertTrue(taskQueueStatistics.getActivityStatistics().contains(offline));
+		assertNull(taskQueueStatistics.getActivityStatistic("WAbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb"));
+	}
+
 }
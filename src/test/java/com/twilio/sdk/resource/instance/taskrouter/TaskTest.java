@@ -1,14 +1,18 @@
 package com.twilio.sdk.resource.instance.taskrouter;
 
 import com.twilio.sdk.resource.instance.BasicRequestTester;
+import org.json.simple.JSONObject;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class TaskTest extends BasicRequestTester {
@@ -47,6 +51,24 @@ public class TaskTest extends BasicRequestTester {
 		assertEquals(60, task.getTimeout());
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testParseAttributesReturnsMutableCopy() throws Exception {
+		Map<String, Object> properties = new HashMap<String, Object>();
+		properties.put("attributes", "{\"skills\": [\"support\"], \"level\": 3}");
+		Task task = new Task(taskRouterClient, properties);
+
+		Map<String, Object> attributes = task.parseAttributes();
+		assertTrue(attributes instanceof JSONObject);
+		assertEquals(Long.valueOf(3), attributes.get("level"));
+		attributes.put("level", 4L);
+		((List<Object>) attributes.get("skills")).add("sales");
+
+		assertEquals(Long.valueOf(3), task.parseAttributes().get("level"));
+		assertFalse(task.getParsedAttributes().contains("skills", "sales"));
+		assertSame(task.getParsedAttributes(), task.getParsedAttributes());
+	}
+
 	@Test
 	public void testDeleteTask() throws Exception {
 		setExpectedServerAnswer(null);
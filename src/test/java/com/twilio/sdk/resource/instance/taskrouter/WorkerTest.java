@@ -2,6 +2,7 @@ package com.twilio.sdk.resource.instance.taskrouter;
 
 import com.twilio.sdk.resource.instance.BasicRequestTester;
 
+import org.json.simple.parser.ParseException;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -10,6 +11,7 @@ import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class WorkerTest extends BasicRequestTester {
@@ -46,6 +48,35 @@ public class WorkerTest extends BasicRequestTester {
 		assertEquals("WAaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa", worker.getActivitySid());
 	}
 
+	@Test
+	public void testParsedAttributesAreCached() throws Exception {
+		Map<String, Object> properties = new HashMap<String, Object>();
+		properties.put("attributes", "{\"skills\": [\"support\", \"sales\"], \"level\": 3}");
+		Worker worker = new Worker(taskRouterClient, properties);
+
+		Attributes attributes = worker.getParsedAttributes();
+		assertSame(attributes, worker.getParsedAttributes());
+		assertTrue(attributes.contains("skills", "sales"));
+		assertEquals(Long.valueOf(3), attributes.getLong("level"));
+		assertEquals(Long.valueOf(3), worker.parseAttributes().get("level"));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testParsedAttributesAreImmutable() throws Exception {
+		Map<String, Object> properties = new HashMap<String, Object>();
+		properties.put("attributes", "{\"skills\": [\"support\"]}");
+		Worker worker = new Worker(taskRouterClient, properties);
+
+		worker.getParsedAttributes().getList("skills").add("sales");
+	}
+
+	@Test(expected = ParseException.class)
+	public void testInvalidAttributes() throws Exception {
+		Map<String, Object> properties = new HashMap<String, Object>();
+		properties.put("attributes", "[\"support\"]");
+		new Worker(taskRouterClient, properties).parseAttributes();
+	}
+
 	@Test
 	public void testDeleteWorker() throws Exception {
 		setExpectedServerAnswer(null);
@@ -34,4 +34,16 @@ public class WorkersStatisticsTest extends BasicRequestTester {
 		assertTrue(workersStatistics.getTotalWorkers() == 3);
 	}
 
+	@Test
+	public void testActivityDurations() throws Exception {
+		setExpectedServerReturnCode(200);
+		WorkersStatistics workersStatistics = taskRouterClient.getWorkersStatistics("WSaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+		ActivityDuration busy = workersStatistics.getActivityDuration("WA9843334d72887cf31b7b47e84d7028eb");
+		assertEquals("Busy", busy.getFriendlyName());
+		assertEquals(Double.valueOf(0.0), busy.getAverage());
+		assertEquals(Integer.valueOf(0), busy.getMaximum());
+		assertEquals(Integer.valueOf(0), busy.getMinimum());
+		assertEquals(Integer.valueOf(1), workersStatistics.getActivityStatistic("WAaab092792e5297899a99c20eb39a7442").getWorkers());
+	}
+
 }
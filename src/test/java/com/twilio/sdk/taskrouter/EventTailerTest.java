@@ -0,0 +1,120 @@
+package com.twilio.sdk.taskrouter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.twilio.sdk.resource.instance.BasicRequestTester;
+import com.twilio.sdk.resource.instance.taskrouter.Event;
+import com.twilio.sdk.tailer.CheckpointStore;
+import com.twilio.sdk.tailer.FileCheckpointStore;
+
+public class EventTailerTest extends BasicRequestTester {
+
+    private static final String WORKSPACE_SID = "WSaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa";
+    private static final String EVENTS = "/com/twilio/sdk/resource/list/taskrouter/events.json";
+
+    private Calendar startDate;
+
+    @Before
+    public void setup() throws Exception {
+        setExpectedServerContentType("application/json");
+        setExpectedServerReturnCode(200);
+        startDate = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        startDate.clear();
+        startDate.set(2015, Calendar.FEBRUARY, 7);
+    }
+
+    @Test
+    public void testPollDeduplicates() throws Exception {
+        BlockingQueue<Event> queue = new ArrayBlockingQueue<Event>(10);
+        EventTailer tailer = new EventTailer.Builder(taskRouterClient, WORKSPACE_SID)
+                .queue(queue)
+                .startDate(startDate)
+                .build();
+
+        setExpectedServerAnswer(EVENTS);
+        assertEquals(1, tailer.poll());
+        assertEquals("EVaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa", queue.poll().getSid());
+        assertEquals("EVaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa", tailer.getCheckpoint().getSid());
+
+        setExpectedServerAnswer(EVENTS);
+        assertEquals(0, tailer.poll());
+        assertEquals(1, tailer.getDeliveredCount());
+        assertEquals(1, tailer.getDuplicateCount());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testFailedListenerRetries() throws Exception {
+        final List<Event> received = new ArrayList<Event>();
+        final boolean[] fail = {true};
+        EventTailer tailer = new EventTailer.Builder(taskRouterClient, WORKSPACE_SID)
+                .listener(new EventTailer.Listener() {
+                    public void onEvent(final Event event) {
+                        if (fail[0]) {
+                            throw new IllegalStateException("unavailable");
+                        }
+                        received.add(event);
+                    }
+                })
+                .startDate(startDate)
+                .build();
+
+        setExpectedServerAnswer(EVENTS);
+        assertEquals(0, tailer.poll());
+        assertTrue(tailer.getLastError() instanceof IllegalStateException);
+        assertNull(tailer.getCheckpoint().getSid());
+
+        fail[0] = false;
+        setExpectedServerAnswer(EVENTS);
+        assertEquals(1, tailer.poll());
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    public void testResumesFromStoredCheckpoint() throws Exception {
+        File file = File.createTempFile("tailer", ".checkpoint");
+        file.delete();
+        try {
+            CheckpointStore store = new FileCheckpointStore(file);
+            final List<Event> received = new ArrayList<Event>();
+            EventTailer.Listener listener = new EventTailer.Listener() {
+                public void onEvent(final Event event) {
+                    received.add(event);
+                }
+            };
+
+            setExpectedServerAnswer(EVENTS);
+            EventTailer first = new EventTailer.Builder(taskRouterClient, WORKSPACE_SID)
+                    .listener(listener).checkpointStore(store).startDate(startDate).build();
+            assertEquals(1, first.poll());
+            assertEquals(first.getCheckpoint(), store.load());
+
+            setExpectedServerAnswer(EVENTS);
+            EventTailer second = taskRouterClient.getEventTailer(WORKSPACE_SID, listener, store);
+            assertEquals(0, second.poll());
+            assertEquals(1, received.size());
+
+            // the events skipped on resume are remembered, so the next overlap skips them too
+            setExpectedServerAnswer(EVENTS);
+            assertEquals(0, second.poll());
+            assertEquals(1, received.size());
+            assertEquals(2, second.getDuplicateCount());
+        } finally {
+            file.delete();
+        }
+    }
+}
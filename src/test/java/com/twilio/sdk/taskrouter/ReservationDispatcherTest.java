@@ -0,0 +1,165 @@
+package com.twilio.sdk.taskrouter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.util.EntityUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.twilio.sdk.TwilioTaskRouterClient;
+import com.twilio.sdk.resource.instance.FakeHttpClient;
+import com.twilio.sdk.resource.instance.taskrouter.Event;
+
+public class ReservationDispatcherTest {
+
+    private static final String WORKSPACE_SID = "WSaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa";
+    private static final String RESERVATION = "/com/twilio/sdk/resource/instance/taskrouter/reservation.json";
+
+    private TwilioTaskRouterClient client;
+
+    private final List<String> requests = new ArrayList<String>();
+
+    @Before
+    public void setup() throws Exception {
+        HttpClient httpClient = FakeHttpClient.create(new FakeHttpClient.Server() {
+            public HttpResponse respond(final HttpUriRequest request) throws Exception {
+                String body = EntityUtils.toString(((HttpEntityEnclosingRequestBase) request).getEntity());
+                synchronized (requests) {
+                    requests.add(request.getURI().getPath() + " " + body);
+                }
+                return FakeHttpClient.resource(200, RESERVATION);
+            }
+        });
+        client = new TwilioTaskRouterClient("AC0123456789abcdef0123456789abcdef", "0123456789abcdef0123456789abcdef");
+        client.setHttpClient(httpClient);
+    }
+
+    private static Map<String, String> webhook(final String eventType, final String reservationSid) {
+        Map<String, String> params = new HashMap<String, String>();
+        params.put("EventType", eventType);
+        params.put("WorkspaceSid", WORKSPACE_SID);
+        params.put("TaskSid", "WTaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+        params.put("ResourceSid", reservationSid);
+        params.put("WorkerSid", "WKaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+        params.put("TaskAttributes", "{\"language\":\"english\"}");
+        return params;
+    }
+
+    @Test
+    public void testAcceptAndReject() throws Exception {
+        final CountDownLatch handled = new CountDownLatch(2);
+        ReservationDispatcher dispatcher = new ReservationDispatcher.Builder(client, WORKSPACE_SID,
+                new ReservationDispatcher.Handler() {
+                    public void onReservation(final ReservationDispatcher.ReservationContext reservation)
+                            throws Exception {
+                        try {
+                            if (reservation.getReservationSid().endsWith("1")) {
+                                assertEquals("{\"language\":\"english\"}", reservation.getTaskAttributes());
+                                reservation.accept();
+                            } else {
+                                reservation.reject("WAaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+                            }
+                        } finally {
+                            handled.countDown();
+                        }
+                    }
+                }).threads(2).build();
+
+        assertTrue(dispatcher.dispatchWebhook(webhook("reservation.created", "WRaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa1")));
+        assertTrue(dispatcher.dispatchWebhook(webhook("reservation.created", "WRaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa2")));
+        assertFalse(dispatcher.dispatchWebhook(webhook("reservation.created", "WRaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa1")));
+        assertFalse(dispatcher.dispatchWebhook(webhook("task.created", "WTaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa")));
+
+        assertTrue(handled.await(5, TimeUnit.SECONDS));
+        assertTrue(dispatcher.shutdown(5, TimeUnit.SECONDS));
+
+        assertEquals(2, dispatcher.getDispatchedCount());
+        assertEquals(1, dispatcher.getDuplicateCount());
+        assertEquals(0, dispatcher.getFailureCount());
+        assertEquals(2, dispatcher.getRequestLatency().getCount());
+        assertEquals(2, dispatcher.getTotalLatency().getCount());
+        assertEquals(2, dispatcher.getHandlerLatency().getCount());
+
+        List<String> sorted = new ArrayList<String>(requests);
+        Collections.sort(sorted);
+        assertEquals(2, sorted.size());
+        assertEquals("/v1/Workspaces/" + WORKSPACE_SID
+                + "/Tasks/WTaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa/Reservations/WRaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa1"
+                + " ReservationStatus=accepted", sorted.get(0));
+        assertTrue(sorted.get(1).contains("ReservationStatus=rejected"));
+        assertTrue(sorted.get(1).contains("WorkerActivitySid=WAaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa"));
+    }
+
+    private Event event(final String reservationSid) {
+        Map<String, Object> properties = new HashMap<String, Object>();
+        properties.put("event_type", "reservation.created");
+        properties.put("resource_sid", reservationSid);
+        properties.put("event_data", Collections.singletonMap("task_sid", "WTaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa"));
+        return new Event(client, properties);
+    }
+
+    @Test
+    public void testDropsMalformedEvents() throws Exception {
+        ReservationDispatcher dispatcher = new ReservationDispatcher.Builder(client, WORKSPACE_SID,
+                new ReservationDispatcher.Handler() {
+                    public void onReservation(final ReservationDispatcher.ReservationContext reservation) {
+                    }
+                }).threads(1).build();
+
+        dispatcher.onEvent(event(null));
+        assertFalse(dispatcher.dispatchWebhook(webhook("reservation.created", "")));
+        assertEquals(2, dispatcher.getMalformedCount());
+        assertEquals(0, dispatcher.getDispatchedCount());
+        assertTrue(dispatcher.shutdown(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRefusesWhenQueueIsFull() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        ReservationDispatcher dispatcher = new ReservationDispatcher.Builder(client, WORKSPACE_SID,
+                new ReservationDispatcher.Handler() {
+                    public void onReservation(final ReservationDispatcher.ReservationContext reservation)
+                            throws Exception {
+                        release.await();
+                    }
+                }).threads(1).queueCapacity(1).build();
+
+        assertTrue(dispatcher.dispatchWebhook(webhook("reservation.created", "WRaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa1")));
+        // wait for the only thread to pick up the first reservation
+        for (int i = 0; i < 500 && dispatcher.getQueueLatency().getCount() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(dispatcher.dispatchWebhook(webhook("reservation.created", "WRaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa2")));
+        assertFalse(dispatcher.dispatchWebhook(webhook("reservation.created", "WRaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa3")));
+        assertEquals(1, dispatcher.getRefusedCount());
+
+        // a tailer must see the refusal, or it would count the event as delivered
+        try {
+            dispatcher.onEvent(event("WRaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa3"));
+            fail("Expected the event to be refused");
+        } catch (final RejectedExecutionException e) {
+            assertEquals(2, dispatcher.getRefusedCount());
+        }
+
+        release.countDown();
+        assertTrue(dispatcher.shutdown(5, TimeUnit.SECONDS));
+        assertEquals(2, dispatcher.getHandlerLatency().getCount());
+        assertTrue(requests.isEmpty());
+    }
+}
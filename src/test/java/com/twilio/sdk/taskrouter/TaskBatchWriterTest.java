@@ -0,0 +1,183 @@
+package com.twilio.sdk.taskrouter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.twilio.sdk.TwilioRestException;
+import com.twilio.sdk.TwilioTaskRouterClient;
+import com.twilio.sdk.internal.RequestFailures;
+import com.twilio.sdk.resource.instance.FakeHttpClient;
+import com.twilio.sdk.resource.instance.taskrouter.Task;
+
+public class TaskBatchWriterTest {
+
+    private static final String WORKSPACE_SID = "WSaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa";
+    private static final String TASK = "/com/twilio/sdk/resource/instance/taskrouter/task.json";
+
+    private TwilioTaskRouterClient client;
+
+    // the status each request answers with, 200 once exhausted
+    private final List<Integer> statuses = new ArrayList<Integer>();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @Before
+    public void setup() throws Exception {
+        HttpClient httpClient = FakeHttpClient.create(new FakeHttpClient.Server() {
+            public HttpResponse respond(final HttpUriRequest request) throws Exception {
+                int status = 200;
+                synchronized (statuses) {
+                    if (!statuses.isEmpty()) {
+                        status = statuses.remove(0);
+                    }
+                }
+                requests.incrementAndGet();
+                return status == 200 ? FakeHttpClient.resource(200, TASK) : FakeHttpClient.error(status);
+            }
+        });
+        client = new TwilioTaskRouterClient("AC0123456789abcdef0123456789abcdef", "0123456789abcdef0123456789abcdef");
+        client.setHttpClient(httpClient);
+    }
+
+    @Test
+    public void testCreateAndUpdate() throws Exception {
+        final AtomicInteger successes = new AtomicInteger();
+        TaskBatchWriter writer = new TaskBatchWriter.Builder(client, WORKSPACE_SID)
+                .concurrency(4)
+                .queueCapacity(5)
+                .listener(new TaskBatchWriter.Listener() {
+                    public void onSuccess(final String taskSid, final Task task) {
+                        successes.incrementAndGet();
+                    }
+
+                    public void onFailure(final String taskSid, final Map<String, String> params, final Exception e) {
+                    }
+                })
+                .build();
+
+        List<Future<Task>> results = new ArrayList<Future<Task>>();
+        Map<String, String> attributes = new HashMap<String, String>();
+        attributes.put("type", "support");
+        for (int i = 0; i < 20; i++) {
+            results.add(writer.create("WFaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa", attributes, 1, null));
+        }
+        results.add(writer.update("WTaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa", attributes));
+        writer.close();
+
+        for (final Future<Task> result : results) {
+            assertEquals("WTaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa", result.get().getSid());
+        }
+        assertEquals(21, writer.getSubmittedCount());
+        assertEquals(21, writer.getSucceededCount());
+        assertEquals(21, successes.get());
+        assertEquals(0, writer.getQueuedCount());
+        assertTrue(writer.getMaxLatencyMillis() >= writer.getAverageLatencyMillis());
+    }
+
+    @Test
+    public void testRetriesTooManyRequests() throws Exception {
+        statuses.add(429);
+        statuses.add(429);
+        TaskBatchWriter writer = new TaskBatchWriter.Builder(client, WORKSPACE_SID)
+                .concurrency(1)
+                .backoff(1, 5, TimeUnit.MILLISECONDS)
+                .build();
+
+        Future<Task> result = writer.create(new HashMap<String, String>());
+        assertEquals("WTaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa", result.get().getSid());
+        writer.close();
+        assertEquals(2, writer.getRetryCount());
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    public void testDoesNotRetryClientErrors() throws Exception {
+        statuses.add(400);
+        TaskBatchWriter writer = new TaskBatchWriter.Builder(client, WORKSPACE_SID)
+                .concurrency(1)
+                .backoff(1, 5, TimeUnit.MILLISECONDS)
+                .build();
+
+        Future<Task> result = writer.create(new HashMap<String, String>());
+        try {
+            result.get();
+            fail("Expected the request to fail");
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof TwilioRestException);
+        }
+        writer.close();
+        assertEquals(1, writer.getFailedCount());
+        assertEquals(0, writer.getRetryCount());
+    }
+
+    @Test
+    public void testRetriesServerErrorsOfUpdatesOnly() throws Exception {
+        statuses.add(503);
+        TaskBatchWriter writer = new TaskBatchWriter.Builder(client, WORKSPACE_SID)
+                .concurrency(1)
+                .backoff(1, 5, TimeUnit.MILLISECONDS)
+                .build();
+
+        // the create may have succeeded despite the 503, so it is not sent again
+        try {
+            writer.create(new HashMap<String, String>()).get();
+            fail("Expected the request to fail");
+        } catch (final ExecutionException e) {
+            assertEquals(503, RequestFailures.status((Exception) e.getCause()));
+        }
+        assertEquals(1, requests.get());
+
+        statuses.add(503);
+        assertEquals("WTaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa",
+                writer.update("WTaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa", new HashMap<String, String>()).get().getSid());
+        assertTrue(writer.close(1, TimeUnit.SECONDS));
+        assertEquals(3, requests.get());
+        assertEquals(1, writer.getRetryCount());
+    }
+
+    @Test
+    public void testFailingListenerKeepsSuccess() throws Exception {
+        final AtomicInteger failures = new AtomicInteger();
+        TaskBatchWriter writer = new TaskBatchWriter.Builder(client, WORKSPACE_SID)
+                .concurrency(1)
+                .listener(new TaskBatchWriter.Listener() {
+                    public void onSuccess(final String taskSid, final Task task) {
+                        throw new IllegalStateException("listener bug");
+                    }
+
+                    public void onFailure(final String taskSid, final Map<String, String> params, final Exception e) {
+                        failures.incrementAndGet();
+                    }
+                })
+                .build();
+
+        assertEquals("WTaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa", writer.create(new HashMap<String, String>()).get().getSid());
+        writer.close();
+        assertEquals(1, requests.get());
+        assertEquals(1, writer.getSucceededCount());
+        assertEquals(0, writer.getFailedCount());
+        assertEquals(0, failures.get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRejectsAfterClose() throws Exception {
+        TaskBatchWriter writer = client.getTaskBatchWriter(WORKSPACE_SID, 1, 0);
+        writer.close();
+        writer.create(new HashMap<String, String>());
+    }
+}
@@ -362,4 +362,38 @@ public class TaskRouterCapabilityTest {
 
     }
 
+    private static JSONObject decodePayload(final String token) throws Exception {
+        final String[] parts = token.split("\\.");
+        assertEquals(3, parts.length);
+        return (JSONObject) new JSONParser().parse(new String(Base64.decodeBase64(parts[1]), "UTF-8"));
+    }
+
+    @Test
+    public void testTemplateMatchesCapability() throws Exception {
+        final TaskRouterWorkerCapability prototype = new TaskRouterWorkerCapability("AC123", "foobar", "WS456", "WK789");
+        prototype.allowActivityUpdates();
+        prototype.allowReservationUpdates();
+        final TaskRouterCapabilityTemplate template = new TaskRouterCapabilityTemplate(prototype);
+
+        final TaskRouterWorkerCapability capability = new TaskRouterWorkerCapability("AC123", "foobar", "WS456", "WKabc");
+        capability.allowActivityUpdates();
+        capability.allowReservationUpdates();
+
+        final JSONObject expected = decodePayload(capability.generateToken());
+        final JSONObject actual = decodePayload(template.generateToken("WKabc"));
+        assertEquals("WKabc", actual.get("worker_sid"));
+        assertEquals("WKabc", actual.get("friendly_name"));
+        assertEquals(expected.get("policies"), actual.get("policies"));
+        expected.remove("exp");
+        actual.remove("exp");
+        assertEquals(expected, actual);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTemplateRejectsOtherChannelTypes() throws Exception {
+        final TaskRouterCapabilityTemplate template =
+                new TaskRouterCapabilityTemplate(new TaskRouterWorkerCapability("AC123", "foobar", "WS456", "WK789"));
+        template.generateToken("WQ789");
+    }
+
 }
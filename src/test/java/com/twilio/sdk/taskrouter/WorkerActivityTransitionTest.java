@@ -0,0 +1,146 @@
+package com.twilio.sdk.taskrouter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.twilio.sdk.TwilioRestException;
+import com.twilio.sdk.TwilioTaskRouterClient;
+import com.twilio.sdk.internal.RequestFailures;
+import com.twilio.sdk.resource.instance.FakeHttpClient;
+import com.twilio.sdk.resource.instance.taskrouter.Workspace;
+
+public class WorkerActivityTransitionTest {
+
+    private static final String WORKSPACE_SID = "WSaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa";
+    private static final String ACTIVITY_SID = "WAaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa";
+    private static final String WORKER = "/com/twilio/sdk/resource/instance/taskrouter/worker.json";
+
+    private TwilioTaskRouterClient client;
+
+    // the status each request answers with, 200 once exhausted
+    private final List<Integer> statuses = new ArrayList<Integer>();
+    private final Set<String> updated = new HashSet<String>();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @Before
+    public void setup() throws Exception {
+        HttpClient httpClient = FakeHttpClient.create(new FakeHttpClient.Server() {
+            public HttpResponse respond(final HttpUriRequest request) throws Exception {
+                String path = request.getURI().getPath();
+                Map<String, String> params = FakeHttpClient.params(request);
+                requests.incrementAndGet();
+                int status = 200;
+                synchronized (statuses) {
+                    if (!statuses.isEmpty()) {
+                        status = statuses.remove(0);
+                    }
+                    if (path.endsWith("WKmissing")) {
+                        status = 404;
+                    }
+                    if (status == 200) {
+                        assertEquals(Collections.singletonMap("ActivitySid", ACTIVITY_SID), params);
+                        updated.add(path.substring(path.lastIndexOf('/') + 1));
+                    }
+                }
+                return status == 200 ? FakeHttpClient.resource(200, WORKER) : FakeHttpClient.error(status);
+            }
+        });
+        client = new TwilioTaskRouterClient("AC0123456789abcdef0123456789abcdef", "0123456789abcdef0123456789abcdef");
+        client.setHttpClient(httpClient);
+    }
+
+    private static List<String> workers(final int count) {
+        List<String> sids = new ArrayList<String>();
+        for (int i = 0; i < count; i++) {
+            sids.add(String.format("WK%032d", i));
+        }
+        return sids;
+    }
+
+    @Test
+    public void testMovesEveryWorkerOnce() throws Exception {
+        List<String> sids = workers(20);
+        List<String> withDuplicates = new ArrayList<String>(sids);
+        withDuplicates.addAll(sids.subList(0, 5));
+
+        WorkerActivityTransition.Report report = new Workspace(client, WORKSPACE_SID)
+                .transitionWorkers(withDuplicates, ACTIVITY_SID);
+
+        assertTrue(report.isComplete());
+        assertEquals(20, report.getMoved().size());
+        assertEquals(new HashSet<String>(sids), updated);
+        assertEquals(ACTIVITY_SID, report.getActivitySid());
+    }
+
+    @Test
+    public void testSlowsDownOnTooManyRequests() throws Exception {
+        synchronized (statuses) {
+            statuses.addAll(Arrays.asList(429, 429, 429));
+        }
+        WorkerActivityTransition transition = new WorkerActivityTransition.Builder(client, WORKSPACE_SID, ACTIVITY_SID)
+                .concurrency(1)
+                .rate(40, 1, 40)
+                .rateStep(0)
+                .backoff(1, 1, TimeUnit.MILLISECONDS)
+                .build();
+
+        WorkerActivityTransition.Report report = transition.run(workers(3));
+
+        assertTrue(report.isComplete());
+        assertEquals(3, report.getRateLimitedCount());
+        assertEquals(3, report.getRetryCount());
+        // three 429s in quick succession halve the rate once
+        assertEquals(20.0, report.getFinalRate(), 0.01);
+    }
+
+    @Test
+    public void testRetriesServerErrorsOnlyHere() throws Exception {
+        synchronized (statuses) {
+            statuses.addAll(Arrays.asList(503, 503));
+        }
+        WorkerActivityTransition transition = new WorkerActivityTransition.Builder(client, WORKSPACE_SID, ACTIVITY_SID)
+                .concurrency(1)
+                .maxRetries(1)
+                .backoff(1, 1, TimeUnit.MILLISECONDS)
+                .build();
+
+        WorkerActivityTransition.Report report = transition.run(workers(1));
+
+        // one request per attempt; the client does not retry the 503 again
+        assertFalse(report.isComplete());
+        assertEquals(503, RequestFailures.status(report.getFailures().values().iterator().next()));
+        assertEquals(1, report.getRetryCount());
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testReportsFailures() throws Exception {
+        List<String> sids = workers(3);
+        sids.add("WKmissing");
+        WorkerActivityTransition.Report report = client.transitionWorkers(WORKSPACE_SID, sids, ACTIVITY_SID);
+
+        assertFalse(report.isComplete());
+        assertEquals(3, report.getMoved().size());
+        assertEquals(1, report.getFailures().size());
+        TwilioRestException failure = (TwilioRestException) report.getFailures().get("WKmissing");
+        assertEquals(404, failure.getStatus());
+        assertEquals(0, report.getRetryCount());
+    }
+}
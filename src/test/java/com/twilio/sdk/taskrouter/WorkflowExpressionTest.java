@@ -0,0 +1,94 @@
+package com.twilio.sdk.taskrouter;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.json.simple.JSONValue;
+import org.junit.Test;
+
+public class WorkflowExpressionTest {
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> json(final String json) {
+        return (Map<String, Object>) JSONValue.parse(json);
+    }
+
+    @Test
+    public void testComparisons() {
+        Map<String, Object> task = json("{\"type\":\"support\",\"priority\":5,\"vip\":true,\"score\":2.5}");
+        assertTrue(WorkflowExpression.compile("type == 'support'").matches(task));
+        assertTrue(WorkflowExpression.compile("type = \"support\"").matches(task));
+        assertFalse(WorkflowExpression.compile("type != 'support'").matches(task));
+        assertTrue(WorkflowExpression.compile("priority > 4").matches(task));
+        assertTrue(WorkflowExpression.compile("priority >= 5.0").matches(task));
+        assertFalse(WorkflowExpression.compile("priority < 5").matches(task));
+        assertTrue(WorkflowExpression.compile("score <= 2.5").matches(task));
+        assertTrue(WorkflowExpression.compile("vip == true").matches(task));
+        assertFalse(WorkflowExpression.compile("type > 5").matches(task));
+    }
+
+    @Test
+    public void testLogicalOperators() {
+        Map<String, Object> task = json("{\"type\":\"sales\",\"priority\":1}");
+        assertTrue(WorkflowExpression.compile("type == 'sales' AND priority == 1").matches(task));
+        assertTrue(WorkflowExpression.compile("type == 'support' or priority == 1").matches(task));
+        assertTrue(WorkflowExpression.compile("NOT (type == 'support')").matches(task));
+        assertTrue(WorkflowExpression.compile("!(type == 'support') && (priority < 2 || priority > 10)").matches(task));
+        assertFalse(WorkflowExpression.compile("type == 'support' || priority == 2").matches(task));
+    }
+
+    @Test
+    public void testArraysAndNestedAttributes() {
+        Map<String, Object> task = json("{\"language\":\"es\",\"customer\":{\"tier\":\"gold\"},\"tags\":[\"billing\",\"urgent\"]}");
+        assertTrue(WorkflowExpression.compile("language IN ['en', 'es']").matches(task));
+        assertFalse(WorkflowExpression.compile("language NOT IN ['en', 'es']").matches(task));
+        assertTrue(WorkflowExpression.compile("customer.tier == 'gold'").matches(task));
+        assertTrue(WorkflowExpression.compile("task.customer.tier == 'gold'").matches(task));
+        assertTrue(WorkflowExpression.compile("tags HAS 'urgent'").matches(task));
+        assertTrue(WorkflowExpression.compile("tags CONTAINS 'billing'").matches(task));
+        assertFalse(WorkflowExpression.compile("tags HAS 'sales'").matches(task));
+    }
+
+    @Test
+    public void testMissingAttributes() {
+        Map<String, Object> task = json("{}");
+        assertFalse(WorkflowExpression.compile("type == 'support'").matches(task));
+        assertTrue(WorkflowExpression.compile("type != 'support'").matches(task));
+        assertFalse(WorkflowExpression.compile("priority > 1").matches(task));
+        assertFalse(WorkflowExpression.compile("customer.tier == 'gold'").matches(task));
+        assertFalse(WorkflowExpression.compile("tags HAS 'urgent'").matches(task));
+        assertTrue(WorkflowExpression.compile("type NOT IN ['a']").matches(task));
+    }
+
+    @Test
+    public void testTargetExpression() {
+        Map<String, Object> task = json("{\"language\":\"fr\",\"skill\":\"billing\"}");
+        Map<String, Object> worker = json("{\"languages\":[\"en\",\"fr\"],\"skills\":[\"billing\"],\"level\":3}");
+        WorkflowExpression expression = WorkflowExpression.compileTarget(
+                "languages HAS task.language AND task.skill IN worker.skills AND level >= 2");
+        assertTrue(expression.matches(task, worker));
+        assertFalse(expression.matches(json("{\"language\":\"de\",\"skill\":\"billing\"}"), worker));
+    }
+
+    @Test
+    public void testAlwaysTrue() {
+        assertTrue(WorkflowExpression.compile("1 == 1").matches(json("{}")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnbalancedParentheses() {
+        WorkflowExpression.compile("(type == 'support'");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingOperand() {
+        WorkflowExpression.compile("type ==");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnterminatedString() {
+        WorkflowExpression.compile("type == 'support");
+    }
+}
@@ -0,0 +1,104 @@
+package com.twilio.sdk.taskrouter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.json.simple.JSONValue;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WorkflowSimulatorTest {
+
+    private static final String CONFIGURATION = "{\"task_routing\":{\"filters\":["
+            + "{\"expression\":\"type == 'sales'\",\"friendly_name\":\"sales\",\"targets\":["
+            + "{\"queue\":\"WQ1\",\"expression\":\"task.language IN worker.languages\"},{\"queue\":\"WQ2\"}]},"
+            + "{\"expression\":\"type == 'support' AND priority > 5\",\"targets\":[{\"queue\":\"WQ3\"}]}],"
+            + "\"default_filter\":{\"queue\":\"WQ0\"}}}";
+
+    private WorkflowSimulator simulator;
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> json(final String json) {
+        return (Map<String, Object>) JSONValue.parse(json);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        simulator = new WorkflowSimulator(WorkflowConfiguration.parse(CONFIGURATION));
+    }
+
+    @Test
+    public void testRoute() {
+        WorkflowSimulator.Route route = simulator.route(json("{\"type\":\"sales\"}"));
+        assertEquals("WQ1", route.getQueue());
+        assertEquals("sales", route.getRuleName());
+
+        route = simulator.route(json("{\"type\":\"support\",\"priority\":9}"));
+        assertEquals("WQ3", route.getQueue());
+        assertEquals("rule 1", route.getRuleName());
+
+        route = simulator.route(json("{\"type\":\"support\",\"priority\":1}"));
+        assertEquals("WQ0", route.getQueue());
+        assertTrue(route.isDefault());
+        assertNull(route.getRule());
+    }
+
+    @Test
+    public void testRouteWithWorkers() {
+        List<Map<String, Object>> workers = Arrays.asList(json("{\"languages\":[\"en\"]}"));
+        assertEquals("WQ1", simulator.route(json("{\"type\":\"sales\",\"language\":\"en\"}"), workers).getQueue());
+        assertEquals("WQ2", simulator.route(json("{\"type\":\"sales\",\"language\":\"fr\"}"), workers).getQueue());
+
+        WorkflowRuleTarget target = simulator.route(json("{\"type\":\"sales\"}")).getTarget();
+        assertEquals(1, simulator.getEligibleWorkers(json("{\"language\":\"en\"}"), target, workers).size());
+        assertEquals(0, simulator.getEligibleWorkers(json("{\"language\":\"fr\"}"), target, workers).size());
+    }
+
+    @Test
+    public void testSimulate() throws Exception {
+        List<Map<String, Object>> tasks = new ArrayList<Map<String, Object>>();
+        for (int i = 0; i < 1000; i++) {
+            tasks.add(json("{\"type\":\"" + (i % 2 == 0 ? "sales" : "support") + "\",\"priority\":" + (i % 10) + "}"));
+        }
+
+        WorkflowSimulator.Result parallel = simulator.simulate(tasks, 4);
+        WorkflowSimulator.Result serial = simulator.simulate(tasks, 1);
+
+        assertEquals(1000, parallel.getTaskCount());
+        assertEquals(Long.valueOf(500), parallel.getQueueCounts().get("WQ1"));
+        assertEquals(Long.valueOf(200), parallel.getQueueCounts().get("WQ3"));
+        assertEquals(Long.valueOf(300), parallel.getQueueCounts().get("WQ0"));
+        assertEquals(Arrays.asList(500L, 200L), parallel.getRuleCounts());
+        assertEquals(300, parallel.getDefaultCount());
+        assertEquals(0.5, parallel.getQueueDistribution().get("WQ1"), 0.0001);
+        assertEquals(serial.getQueueCounts(), parallel.getQueueCounts());
+        assertEquals(serial.getRuleCounts(), parallel.getRuleCounts());
+    }
+
+    @Test
+    public void testCountsRulesByPosition() throws Exception {
+        WorkflowSimulator duplicates = new WorkflowSimulator(WorkflowConfiguration.parse("{\"task_routing\":{\"filters\":["
+                + "{\"expression\":\"type == 'sales'\",\"friendly_name\":\"same\",\"targets\":[{\"queue\":\"WQ1\"}]},"
+                + "{\"expression\":\"type == 'support'\",\"friendly_name\":\"same\",\"targets\":[{\"queue\":\"WQ2\"}]}]}}"));
+        List<Map<String, Object>> tasks = Arrays.asList(json("{\"type\":\"sales\"}"), json("{\"type\":\"support\"}"),
+                json("{\"type\":\"support\"}"));
+
+        WorkflowSimulator.Result result = duplicates.simulate(tasks, 1);
+        assertEquals(Arrays.asList(1L, 2L), result.getRuleCounts());
+        assertEquals(1, duplicates.route(tasks.get(1)).getRuleIndex());
+        assertEquals(-1, duplicates.route(json("{\"type\":\"other\"}")).getRuleIndex());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsRuleWithoutTargets() throws Exception {
+        WorkflowConfiguration configuration = WorkflowConfiguration.parse(CONFIGURATION);
+        configuration.getWorkflowRules().get(0).setWorkflowRuleTargets(new ArrayList<WorkflowRuleTarget>());
+        new WorkflowSimulator(configuration);
+    }
+}
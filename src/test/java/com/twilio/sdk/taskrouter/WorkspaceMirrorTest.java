@@ -0,0 +1,225 @@
+package com.twilio.sdk.taskrouter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.twilio.sdk.TwilioTaskRouterClient;
+import com.twilio.sdk.resource.instance.FakeHttpClient;
+import com.twilio.sdk.resource.instance.taskrouter.Event;
+
+public class WorkspaceMirrorTest {
+
+    private static final String WORKSPACE_SID = "WSaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa";
+    private static final String IDLE = "WAaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa";
+    private static final String OFFLINE = "WAbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb";
+    private static final String SPANISH = "WQaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa";
+
+    private static String meta(final String key) {
+        return "\"meta\": {\"key\": \"" + key + "\", \"next_page_url\": null, \"page\": 0, \"page_size\": 1000}";
+    }
+
+    private static final String ACTIVITIES = "{\"activities\": ["
+            + "{\"sid\": \"" + IDLE + "\", \"friendly_name\": \"Idle\", \"available\": true},"
+            + "{\"sid\": \"" + OFFLINE + "\", \"friendly_name\": \"Offline\", \"available\": false}"
+            + "], " + meta("activities") + "}";
+
+    private static final String QUEUES = "{\"task_queues\": ["
+            + "{\"sid\": \"" + SPANISH + "\", \"friendly_name\": \"Spanish\", \"target_workers\": \"languages HAS 'es'\"}"
+            + "], " + meta("task_queues") + "}";
+
+    private static final String WORKERS = "{\"workers\": ["
+            + worker("WKaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa1", "Ana", IDLE, true,
+                     "{\\\"languages\\\": [\\\"en\\\", \\\"es\\\"], \\\"skills\\\": {\\\"level\\\": 3}}") + ","
+            + worker("WKaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa2", "Bob", OFFLINE, false,
+                     "{\\\"languages\\\": [\\\"es\\\"], \\\"skills\\\": {\\\"level\\\": 5}}") + ","
+            + worker("WKaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa3", "Cy", IDLE, true,
+                     "{\\\"languages\\\": [\\\"en\\\"]}")
+            + "], " + meta("workers") + "}";
+
+    private static String worker(final String sid, final String name, final String activity,
+                                 final boolean available, final String attributes) {
+        return "{\"sid\": \"" + sid + "\", \"friendly_name\": \"" + name + "\", \"activity_sid\": \"" + activity
+                + "\", \"available\": " + available + ", \"attributes\": \"" + attributes
+                + "\", \"date_updated\": \"2015-02-07T00:00:00Z\"}";
+    }
+
+    private TwilioTaskRouterClient client;
+    private final Map<String, String> answers = new HashMap<String, String>();
+    private final AtomicInteger requests = new AtomicInteger();
+    // run when the Workers are requested, i.e. in the middle of a load
+    private volatile Runnable onWorkers;
+
+    @Before
+    public void setup() throws Exception {
+        answers.put("/Activities", ACTIVITIES);
+        answers.put("/TaskQueues", QUEUES);
+        answers.put("/Workers", WORKERS);
+
+        HttpClient httpClient = FakeHttpClient.create(new FakeHttpClient.Server() {
+            public HttpResponse respond(final HttpUriRequest request) throws Exception {
+                requests.incrementAndGet();
+                String path = request.getURI().getPath();
+                if (path.endsWith("/Workers") && onWorkers != null) {
+                    onWorkers.run();
+                }
+                String body = null;
+                for (final Map.Entry<String, String> e : answers.entrySet()) {
+                    if (path.endsWith(e.getKey())) {
+                        body = e.getValue();
+                    }
+                }
+                return body == null ? FakeHttpClient.error(404, "Not found") : FakeHttpClient.json(200, body);
+            }
+        });
+        client = new TwilioTaskRouterClient("AC0123456789abcdef0123456789abcdef", "0123456789abcdef0123456789abcdef");
+        client.setHttpClient(httpClient);
+    }
+
+    private static List<String> names(final List<WorkspaceMirror.MirroredWorker> workers) {
+        List<String> names = new ArrayList<String>();
+        for (final WorkspaceMirror.MirroredWorker worker : workers) {
+            names.add(worker.getFriendlyName());
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    private Event workerEvent(final String type, final String sid, final String name, final String activity,
+                              final String attributes, final String date) {
+        Map<String, Object> data = new HashMap<String, Object>();
+        data.put("worker_sid", sid);
+        data.put("worker_name", name);
+        data.put("worker_activity_sid", activity);
+        data.put("worker_attributes", attributes);
+        Map<String, Object> properties = new HashMap<String, Object>();
+        properties.put("sid", "EV" + sid.substring(2));
+        properties.put("event_type", type);
+        properties.put("resource_sid", sid);
+        properties.put("event_date", date);
+        properties.put("event_data", data);
+        return new Event(client, properties);
+    }
+
+    @Test
+    public void testIndexedLookups() throws Exception {
+        WorkspaceMirror mirror = client.getWorkspaceMirror(WORKSPACE_SID);
+        mirror.load();
+        assertEquals(3, requests.get());
+
+        assertEquals(3, mirror.getWorkers().size());
+        assertEquals(2, mirror.getActivities().size());
+        assertEquals("Spanish", mirror.getTaskQueue(SPANISH).getFriendlyName());
+        assertEquals("Idle", mirror.getWorker("WKaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa1").getActivityName());
+
+        assertEquals("[Ana, Cy]", names(mirror.getWorkersByActivity(IDLE)).toString());
+        assertEquals("[Ana, Cy]", names(mirror.getAvailableWorkers()).toString());
+        assertEquals("[Ana, Bob]", names(mirror.getWorkersByAttribute("languages", "es")).toString());
+        assertEquals("[Bob]", names(mirror.getWorkersByAttribute("skills.level", 5.0)).toString());
+        assertTrue(mirror.getWorkersByAttribute("skills.level", 4).isEmpty());
+        assertEquals("[Ana, Bob]", names(mirror.getWorkersForQueue(SPANISH)).toString());
+        assertEquals("[Ana]", names(mirror.getAvailableWorkers(SPANISH)).toString());
+        assertEquals(Integer.valueOf(2), mirror.getQueueSizes().get(SPANISH));
+
+        // lookups never make requests
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    public void testAppliesWorkerEvents() throws Exception {
+        WorkspaceMirror mirror = client.getWorkspaceMirror(WORKSPACE_SID);
+        mirror.load();
+
+        mirror.onEvent(workerEvent("worker.activity.update", "WKaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa2", "Bob", IDLE,
+                                   "{\"languages\": [\"es\", \"fr\"]}", "2015-02-07T01:00:00Z"));
+        mirror.onEvent(workerEvent("worker.attributes.update", "WKaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa3", "Cy", IDLE,
+                                   "{\"languages\": [\"es\"]}", "2015-02-07T01:00:00Z"));
+        // older than the load, so ignored
+        mirror.onEvent(workerEvent("worker.activity.update", "WKaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa1", "Ana", OFFLINE,
+                                   "{}", "2015-02-06T00:00:00Z"));
+        assertEquals(3, requests.get());
+        assertEquals(3, mirror.getAppliedEventCount());
+        assertEquals(0, mirror.getRefetchCount());
+
+        assertEquals("[Ana, Bob, Cy]", names(mirror.getAvailableWorkers(SPANISH)).toString());
+        assertEquals("[Bob]", names(mirror.getWorkersByAttribute("languages", "fr")).toString());
+        assertTrue(mirror.getWorkersByAttribute("skills.level", 5).isEmpty());
+        assertTrue(mirror.getWorkersByActivity(OFFLINE).isEmpty());
+
+        mirror.onEvent(workerEvent("worker.deleted", "WKaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa2", "Bob", IDLE, "{}",
+                                   "2015-02-07T02:00:00Z"));
+        assertNull(mirror.getWorker("WKaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa2"));
+        assertEquals("[Ana, Cy]", names(mirror.getWorkersForQueue(SPANISH)).toString());
+    }
+
+    @Test
+    public void testRefetchesActivities() throws Exception {
+        WorkspaceMirror mirror = client.getWorkspaceMirror(WORKSPACE_SID);
+        mirror.load();
+
+        answers.put("/Activities/" + OFFLINE, "{\"sid\": \"" + OFFLINE
+                + "\", \"friendly_name\": \"Offline\", \"available\": true}");
+        Map<String, Object> properties = new HashMap<String, Object>();
+        properties.put("sid", "EVaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+        properties.put("event_type", "activity.updated");
+        properties.put("resource_sid", OFFLINE);
+        mirror.onEvent(new Event(client, properties));
+
+        assertEquals(1, mirror.getRefetchCount());
+        assertTrue(mirror.getActivity(OFFLINE).isAvailable());
+        assertEquals("[Ana, Bob]", names(mirror.getAvailableWorkers(SPANISH)).toString());
+
+        properties.put("event_type", "task-queue.deleted");
+        properties.put("resource_sid", SPANISH);
+        mirror.onEvent(new Event(client, properties));
+        assertNull(mirror.getTaskQueue(SPANISH));
+        assertTrue(mirror.getWorkersForQueue(SPANISH).isEmpty());
+        assertFalse(mirror.getWorkers().isEmpty());
+    }
+
+    @Test
+    public void testKeepsEventsAppliedDuringLoad() throws Exception {
+        final WorkspaceMirror mirror = client.getWorkspaceMirror(WORKSPACE_SID);
+        onWorkers = new Runnable() {
+            public void run() {
+                try {
+                    mirror.onEvent(workerEvent("worker.activity.update", "WKaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa3", "Cy",
+                                               OFFLINE, "{\"languages\": [\"en\"]}", "2015-02-07T01:00:00Z"));
+                    // older than the loaded Worker, so ignored on replay
+                    mirror.onEvent(workerEvent("worker.activity.update", "WKaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa1", "Ana",
+                                               OFFLINE, "{}", "2015-02-06T00:00:00Z"));
+                    mirror.onEvent(workerEvent("worker.deleted", "WKaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa2", "Bob", OFFLINE,
+                                               "{}", "2015-02-07T01:00:00Z"));
+                } catch (final Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+        mirror.load();
+
+        assertEquals("[Cy]", names(mirror.getWorkersByActivity(OFFLINE)).toString());
+        assertEquals("[Ana]", names(mirror.getAvailableWorkers()).toString());
+        assertNull(mirror.getWorker("WKaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa2"));
+        assertEquals("[Ana]", names(mirror.getWorkersForQueue(SPANISH)).toString());
+
+        // replayed once only
+        onWorkers = null;
+        mirror.load();
+        assertEquals("[Ana, Bob, Cy]", names(mirror.getWorkers()).toString());
+    }
+}
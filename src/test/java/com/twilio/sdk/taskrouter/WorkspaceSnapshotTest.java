@@ -0,0 +1,102 @@
+package com.twilio.sdk.taskrouter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.twilio.sdk.TwilioTaskRouterClient;
+import com.twilio.sdk.resource.instance.FakeHttpClient;
+import com.twilio.sdk.resource.instance.taskrouter.TaskQueueStatistics;
+
+public class WorkspaceSnapshotTest {
+
+    private static final String WORKSPACE_SID = "WSd6e0d090f90bba4edbcd1e6d7795266f";
+    private static final String RESOURCES = "/com/twilio/sdk/resource/";
+
+    private TwilioTaskRouterClient client;
+
+    private volatile String workspaceStatistics = "instance/taskrouter/workspace_statistics.json";
+
+    @Before
+    public void setup() throws Exception {
+        HttpClient httpClient = FakeHttpClient.create(new FakeHttpClient.Server() {
+            public HttpResponse respond(final HttpUriRequest request) {
+                String uri = request.getURI().toString();
+                String resource;
+                if (uri.contains("/TaskQueues/Statistics")) {
+                    assertTrue(uri.contains("PageSize=1000"));
+                    resource = "list/taskrouter/task_queues_statistics.json";
+                } else if (uri.contains("/Workers/Statistics")) {
+                    resource = "instance/taskrouter/workers_statistics.json";
+                } else {
+                    resource = workspaceStatistics;
+                }
+                return FakeHttpClient.resource(200, RESOURCES + resource);
+            }
+        });
+        client = new TwilioTaskRouterClient("AC0123456789abcdef0123456789abcdef", "0123456789abcdef0123456789abcdef");
+        client.setHttpClient(httpClient);
+    }
+
+    @Test
+    public void testTake() throws Exception {
+        WorkspaceSnapshot snapshot = client.getWorkspaceSnapshot(WORKSPACE_SID);
+
+        assertEquals(2, snapshot.getQueues().size());
+        WorkspaceSnapshot.QueueRecord queue = snapshot.getQueue("WQf4cc33f256d080c6cd3995e806592040");
+        assertEquals(1, queue.getTotalEligibleWorkers());
+        assertEquals(Integer.valueOf(1), queue.getActivityWorkers().get("WAfd46acd050a4b54144c9071ae149f852"));
+
+        assertEquals(3, snapshot.getWorkers().getTotalWorkers());
+        assertEquals(2, snapshot.getWorkers().getReservationsAccepted());
+
+        assertEquals(WORKSPACE_SID, snapshot.getWorkspace().getSid());
+        assertEquals(1, snapshot.getWorkspace().getAssignedTasks());
+        assertEquals(4, snapshot.diff(null).size());
+    }
+
+    @Test
+    public void testRecordWithoutSid() {
+        TaskQueueStatistics statistics = mock(TaskQueueStatistics.class);
+        WorkspaceSnapshot.QueueRecord a = new WorkspaceSnapshot.QueueRecord(statistics);
+        WorkspaceSnapshot.QueueRecord b = new WorkspaceSnapshot.QueueRecord(statistics);
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertTrue(a.getChangedFields(b).isEmpty());
+        assertEquals(16, a.getChangedFields(null).size());
+        assertEquals(16, a.toMap().size());
+    }
+
+    @Test
+    public void testDiff() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            WorkspaceSnapshot first = client.getWorkspaceSnapshot(WORKSPACE_SID, null, executor);
+            WorkspaceSnapshot second = client.getWorkspaceSnapshot(WORKSPACE_SID, null, executor);
+            assertTrue(second.diff(first).isEmpty());
+
+            workspaceStatistics = "instance/taskrouter/workspace_statistics_changed.json";
+            WorkspaceSnapshot third = client.getWorkspaceSnapshot(WORKSPACE_SID, null, executor);
+            List<WorkspaceSnapshot.Change> changes = third.diff(second);
+            assertEquals(1, changes.size());
+            assertEquals(WorkspaceSnapshot.Change.Kind.CHANGED, changes.get(0).getKind());
+            assertEquals(WORKSPACE_SID, changes.get(0).getSid());
+            assertEquals(2, changes.get(0).getChangedFields().size());
+            assertTrue(changes.get(0).getChangedFields().contains("pending_tasks"));
+            assertTrue(changes.get(0).getChangedFields().contains("total_tasks"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}